@@ -0,0 +1,41 @@
+package com.swimming_pool.management.benchmarks;
+
+import com.swimming_pool.management.util.ClientDataUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк преобразования номера телефона между форматами сущности и DTO в {@link ClientDataUtils}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClientDataUtilsBenchmark {
+
+    private final String entityPhone = "9378901234";
+
+    private final String dtoPhone = "+79378901234";
+
+    @Benchmark
+    public String formatPhoneForDTO() {
+        return ClientDataUtils.formatPhoneForDTO(entityPhone);
+    }
+
+    @Benchmark
+    public String formatPhoneForEntity() {
+        return ClientDataUtils.formatPhoneForEntity(dtoPhone);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.swimming_pool.management.benchmarks;
+
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк разбора и форматирования даты и времени в {@link DateTimeUtils}, через которые проходит каждый запрос
+ * к эндпоинтам записей.
+ * <p>Бенчмарки с суффиксом {@code WithFormatter} выполняют те же операции через {@link DateTimeFormatter}
+ * и служат базой для сравнения
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateTimeUtilsBenchmark {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:00");
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:00");
+
+    private final String date = "15.07.2025";
+
+    private final String dateTime = "15.07.2025 14:00";
+
+    private final String time = "14:00";
+
+    private final LocalDate localDate = LocalDate.of(2025, 7, 15);
+
+    private final LocalDateTime localDateTime = LocalDateTime.of(2025, 7, 15, 14, 0);
+
+    private final LocalTime localTime = LocalTime.of(14, 0);
+
+    @Benchmark
+    public LocalDate parseToLocalDate() {
+        return DateTimeUtils.parseToLocalDate(date);
+    }
+
+    @Benchmark
+    public LocalDateTime parseToLocalDateTime() {
+        return DateTimeUtils.parseToLocalDateTime(dateTime);
+    }
+
+    @Benchmark
+    public LocalTime parseToLocalTime() {
+        return DateTimeUtils.parseToLocalTime(time);
+    }
+
+    @Benchmark
+    public String formatToDateString() {
+        return DateTimeUtils.formatToDateString(localDate);
+    }
+
+    @Benchmark
+    public String formatToDateTimeString() {
+        return DateTimeUtils.formatToDateTimeString(localDateTime);
+    }
+
+    @Benchmark
+    public String formatToTimeString() {
+        return DateTimeUtils.formatToTimeString(localTime);
+    }
+
+    @Benchmark
+    public LocalDate parseToLocalDateWithFormatter() {
+        return LocalDate.parse(date, DATE_FORMAT);
+    }
+
+    @Benchmark
+    public LocalDateTime parseToLocalDateTimeWithFormatter() {
+        return LocalDateTime.parse(dateTime, DATE_TIME_FORMAT);
+    }
+
+    @Benchmark
+    public LocalTime parseToLocalTimeWithFormatter() {
+        return LocalTime.parse(time, TIME_FORMAT);
+    }
+
+    @Benchmark
+    public String formatToDateStringWithFormatter() {
+        return DATE_FORMAT.format(localDate);
+    }
+
+    @Benchmark
+    public String formatToDateTimeStringWithFormatter() {
+        return DATE_TIME_FORMAT.format(localDateTime);
+    }
+
+    @Benchmark
+    public String formatToTimeStringWithFormatter() {
+        return TIME_FORMAT.format(localTime);
+    }
+
+}
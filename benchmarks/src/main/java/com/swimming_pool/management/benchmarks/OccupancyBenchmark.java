@@ -0,0 +1,194 @@
+package com.swimming_pool.management.benchmarks;
+
+import com.swimming_pool.management.occupancy.SlotOccupancy;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Бенчмарк пропускной способности проверки лимитов при добавлении записи.
+ * <p>Сравниваются проверка по занятости в памяти {@link SlotOccupancy} (допуск записи и её освобождение, чтобы
+ * занятость не заполнялась) и три запроса {@code COUNT} к таблице {@code orders} на встроенной PostgreSQL,
+ * которые выполняет добавление записи без движка занятости. Таблица заполнена записями на 2 месяца вперёд
+ * по 10 записей на каждый час рабочего дня
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class OccupancyBenchmark {
+
+    private static final LocalDate START_DATE = LocalDate.of(2030, 1, 1);
+
+    private static final int DAYS = 61;
+
+    private static final int OPEN_HOUR = 10;
+
+    private static final int CLOSE_HOUR = 20;
+
+    private static final int LIMIT_PER_HOUR = 10;
+
+    private static final SlotOccupancy.DailyLimits LIMITS = new SlotOccupancy.DailyLimits(LIMIT_PER_HOUR + 1, 4);
+
+    @Benchmark
+    public SlotOccupancy.Rejection occupancy(OccupancyState state, ClientState client) {
+        LocalDateTime dateTime = client.nextDateTime();
+        SlotOccupancy.Rejection rejection = state.occupancy.tryAdmit(client.clientId, List.of(dateTime),
+                date -> LIMITS);
+        if (rejection == null) {
+            state.occupancy.release(client.clientId, dateTime);
+        }
+        return rejection;
+    }
+
+    @Benchmark
+    public long databaseCounts(DatabaseState state, ConnectionState connection, ClientState client)
+            throws SQLException {
+        LocalDateTime dateTime = client.nextDateTime();
+        Timestamp slot = Timestamp.valueOf(dateTime);
+        connection.countForClient.setLong(1, client.clientId);
+        connection.countForClient.setTimestamp(2, Timestamp.valueOf(dateTime.toLocalDate().atStartOfDay()));
+        connection.countForClient.setTimestamp(3, Timestamp.valueOf(dateTime.toLocalDate().atTime(LocalTime.MAX)));
+        long count = count(connection.countForClient);
+        connection.countForClient.setTimestamp(2, slot);
+        connection.countForClient.setTimestamp(3, slot);
+        count += count(connection.countForClient);
+        connection.countForSlot.setTimestamp(1, slot);
+        return count + count(connection.countForSlot);
+    }
+
+    private static long count(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /**
+     * Занятость в памяти, заполненная так же, как таблица в {@link DatabaseState}
+     */
+    @State(Scope.Benchmark)
+    public static class OccupancyState {
+
+        private final SlotOccupancy occupancy = new SlotOccupancy();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            long clientId = 0;
+            for (int day = 0; day < DAYS; day++) {
+                for (int hour = OPEN_HOUR; hour < CLOSE_HOUR; hour++) {
+                    for (int i = 0; i < LIMIT_PER_HOUR; i++) {
+                        occupancy.add(clientId++, START_DATE.plusDays(day).atTime(hour, 0));
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Встроенная PostgreSQL с таблицей {@code orders} и индексом по дате с временем и статусу, как в миграциях
+     */
+    @State(Scope.Benchmark)
+    public static class DatabaseState {
+
+        private EmbeddedPostgres postgres;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            postgres = EmbeddedPostgres.builder().start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE orders (id BIGSERIAL PRIMARY KEY, client_id BIGINT NOT NULL, " +
+                        "datetime TIMESTAMP NOT NULL, status VARCHAR(20) NOT NULL)");
+                statement.execute("INSERT INTO orders (client_id, datetime, status) " +
+                        "SELECT row_number() OVER (), d + make_interval(hours => h), 'RESERVED' " +
+                        "FROM generate_series(DATE '" + START_DATE + "', DATE '" + START_DATE.plusDays(DAYS - 1) +
+                        "', INTERVAL '1 day') AS d, generate_series(" + OPEN_HOUR + ", " + (CLOSE_HOUR - 1) +
+                        ") AS h, generate_series(1, " + LIMIT_PER_HOUR + ")");
+                statement.execute("CREATE INDEX idx_orders_datetime_status ON orders (datetime, status)");
+                statement.execute("ANALYZE orders");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            postgres.close();
+        }
+
+    }
+
+    /**
+     * Соединение потока с подготовленными запросами {@code COUNT} из {@code OrderRepository}
+     */
+    @State(Scope.Thread)
+    public static class ConnectionState {
+
+        private Connection connection;
+
+        private PreparedStatement countForClient;
+
+        private PreparedStatement countForSlot;
+
+        @Setup(Level.Trial)
+        public void setUp(DatabaseState database) throws SQLException {
+            connection = database.postgres.getPostgresDatabase().getConnection();
+            countForClient = connection.prepareStatement("SELECT COUNT(*) FROM orders WHERE client_id = ? " +
+                    "AND status = 'RESERVED' AND datetime BETWEEN ? AND ?");
+            countForSlot = connection.prepareStatement("SELECT COUNT(*) FROM orders WHERE datetime = ? " +
+                    "AND status = 'RESERVED'");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+
+    }
+
+    /**
+     * Клиент потока, добавляющий записи на случайные таймслоты
+     */
+    @State(Scope.Thread)
+    public static class ClientState {
+
+        private static final AtomicLong CLIENT_IDS = new AtomicLong(1_000_000);
+
+        private final long clientId = CLIENT_IDS.incrementAndGet();
+
+        private LocalDateTime nextDateTime() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return START_DATE.plusDays(random.nextInt(DAYS)).atTime(random.nextInt(OPEN_HOUR, CLOSE_HOUR), 0);
+        }
+
+    }
+
+}
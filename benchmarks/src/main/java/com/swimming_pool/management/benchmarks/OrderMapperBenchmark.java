@@ -0,0 +1,101 @@
+package com.swimming_pool.management.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swimming_pool.management.mapper.OrderMapper;
+import com.swimming_pool.management.model.dto.response.OrderResponseDTO;
+import com.swimming_pool.management.model.dto.response.TimeSlotDTO;
+import com.swimming_pool.management.model.entity.Client;
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.enums.OrderStatus;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк маппинга таймслотов и записей в DTO ответов через {@link OrderMapper}.
+ * <p>Количество таймслотов соответствует рабочему дню бассейна, количество записей - заполненному дню.
+ * Сериализация таймслотов в JSON сравнивается для прямой сериализации {@link DailySlotCounts}
+ * и сериализации списка {@link TimeSlotDTO}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderMapperBenchmark {
+
+    @Param({"10", "100"})
+    private int orderCount;
+
+    private final OrderMapper orderMapper = Mappers.getMapper(OrderMapper.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DailySlotCounts timeSlots;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        timeSlots = new DailySlotCounts();
+        for (int hour = 10; hour < 20; hour++) {
+            timeSlots.put(DailySlotCounts.indexOf(LocalTime.of(hour, 0)), hour % 10);
+        }
+        LocalDate date = LocalDate.of(2025, 7, 15);
+        orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            Client client = Client.Builder.newBuilder()
+                    .name("Клиент " + i)
+                    .phone("9378901234")
+                    .email("client" + i + "@mail.ru")
+                    .build();
+            client.setId((long) i);
+            Order order = Order.Builder.newBuilder()
+                    .client(client)
+                    .dateTime(date.atTime(10 + i % 10, 0))
+                    .status(OrderStatus.RESERVED)
+                    .build();
+            order.setId((long) i);
+            orders.add(order);
+        }
+    }
+
+    @Benchmark
+    public List<TimeSlotDTO> toTimeSlotDTOList() {
+        return orderMapper.toTimeSlotDTOList(timeSlots);
+    }
+
+    @Benchmark
+    public byte[] serializeDailySlotCounts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(timeSlots);
+    }
+
+    @Benchmark
+    public byte[] serializeTimeSlotDTOList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderMapper.toTimeSlotDTOList(timeSlots));
+    }
+
+    @Benchmark
+    public List<OrderResponseDTO> toOrderResponseDTOList() {
+        return orderMapper.toOrderResponseDTOList(orders);
+    }
+
+}
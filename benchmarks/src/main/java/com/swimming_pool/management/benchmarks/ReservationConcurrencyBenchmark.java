@@ -0,0 +1,175 @@
+package com.swimming_pool.management.benchmarks;
+
+import com.swimming_pool.management.SwimmingPoolManagementRestApiApplication;
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.facade.OrderFacadeService;
+import com.swimming_pool.management.model.dto.request.OrderReservationDTO;
+import com.swimming_pool.management.model.dto.response.OrderIdResponseDTO;
+import com.swimming_pool.management.service.SlotInventoryService;
+import com.swimming_pool.management.util.DateTimeUtils;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк стратегий защиты лимитов записей {@code ReservationConcurrencyStrategy} при одновременном добавлении
+ * записей через {@link OrderFacadeService}.
+ * <p>Нагрузка {@code uniform} - записи случайных клиентов на случайные таймслоты будних дней на 2 месяца вперёд,
+ * {@code hot-slot} - записи случайных клиентов на один таймслот. Приложение запускается без веб-сервера
+ * на встроенной PostgreSQL, лимиты записей увеличены, чтобы записи не упирались в них. Помимо пропускной
+ * способности и перцентилей задержек (в том числе p0.99, режим {@code SampleTime}) выводятся количества
+ * добавленных записей ({@code created}), отказов по правилам ({@code rejected}) и отказов из-за одновременных
+ * изменений ({@code aborted}), по которым считается доля прерванных запросов
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ReservationConcurrencyBenchmark {
+
+    private static final int CLIENT_COUNT = 100_000;
+
+    @Param({"none", "slot-row-lock", "advisory-lock", "serializable"})
+    private String strategy;
+
+    @Param({"uniform", "hot-slot"})
+    private String workload;
+
+    private EmbeddedPostgres postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private OrderFacadeService orderFacadeService;
+
+    /**
+     * Идентификатор первого из клиентов, добавленных для бенчмарка, идентификаторы остальных следуют за ним
+     */
+    private long firstClientId;
+
+    private final List<String> dateTimes = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplication(SwimmingPoolManagementRestApiApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.datasource.hikari.maximum-pool-size=16",
+                "--spring.jpa.open-in-view=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+                "--reservation-concurrency.strategy=" + strategy
+        );
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("DELETE FROM holidays");
+        jdbcTemplate.execute("UPDATE work_hours SET limit_per_hour = 1000000, daily_limit_per_clients = 24");
+        context.getBean(SlotInventoryService.class).refresh();
+        firstClientId = jdbcTemplate.queryForObject("WITH inserted AS (INSERT INTO clients (name, phone, email, " +
+                "created_at, modified_at) SELECT 'Клиент ' || i, '7' || lpad(i::text, 9, '0'), " +
+                "'bench' || i || '@mail.ru', now(), now() FROM generate_series(1, " + CLIENT_COUNT + ") AS i " +
+                "RETURNING id) SELECT min(id) FROM inserted", Long.class);
+        orderFacadeService = context.getBean(OrderFacadeService.class);
+
+        LocalDate date = LocalDate.now().plusDays(1);
+        LocalDate lastDate = LocalDate.now().plusMonths(2).minusDays(1);
+        for (; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            for (int hour = 10; hour < 20; hour++) {
+                dateTimes.add(DateTimeUtils.formatToDateTimeString(date.atTime(hour, 0)));
+            }
+            if ("hot-slot".equals(workload)) {
+                dateTimes.subList(1, dateTimes.size()).clear();
+                break;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public OrderIdResponseDTO reserve(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OrderReservationDTO reservation = new OrderReservationDTO();
+        reservation.setClientId(firstClientId + random.nextInt(CLIENT_COUNT));
+        reservation.setDatetime(dateTimes.get(random.nextInt(dateTimes.size())));
+        try {
+            OrderIdResponseDTO response = orderFacadeService.reserve(reservation, null);
+            outcomes.created++;
+            return response;
+        } catch (SwimmingPoolManagementException ex) {
+            if (ex.getErrorCode() == ErrorCode.CONFLICT) {
+                outcomes.aborted++;
+            } else {
+                // превышение лимитов
+                outcomes.rejected++;
+            }
+            return null;
+        } catch (DataIntegrityViolationException ex) {
+            // повторная запись клиента на тот же таймслот
+            outcomes.rejected++;
+            return null;
+        }
+    }
+
+    /**
+     * Количества результатов добавления записей потоком за итерацию
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+
+        public long created;
+
+        public long rejected;
+
+        public long aborted;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            created = 0;
+            rejected = 0;
+            aborted = 0;
+        }
+
+    }
+
+}
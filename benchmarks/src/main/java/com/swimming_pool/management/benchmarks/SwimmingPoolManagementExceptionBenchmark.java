@@ -0,0 +1,41 @@
+package com.swimming_pool.management.benchmarks;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк создания {@link SwimmingPoolManagementException}: отказа по правилу бизнес-логики без стека вызовов
+ * и внутренней ошибки со стеком вызовов
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SwimmingPoolManagementExceptionBenchmark {
+
+    private final String message = "Лимит записей в час на 15.07.2025 превышен, доступный лимит часов 0";
+
+    @Benchmark
+    public SwimmingPoolManagementException rejection() {
+        return new SwimmingPoolManagementException(ErrorCode.BAD_REQUEST, message);
+    }
+
+    @Benchmark
+    public SwimmingPoolManagementException internalError() {
+        return new SwimmingPoolManagementException(ErrorCode.INTERNAL_SERVER_ERROR, message);
+    }
+
+}
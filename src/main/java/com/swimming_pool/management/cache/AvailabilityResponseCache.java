@@ -0,0 +1,219 @@
+package com.swimming_pool.management.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swimming_pool.management.event.ReservationsChangedEvent;
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
+import com.swimming_pool.management.model.slot.TimeSlotGrid;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Кэш сериализованных ответов со свободными таймслотами по датам.
+ * <p>Для каждой даты хранится готовое JSON-тело ответа и его вариант, сжатый gzip, которые записываются в ответ
+ * без маппинга и сериализации, а также количества свободных мест {@link DailySlotCounts}, по которым тело
+ * построено и по которым отвечаются запросы свободных мест на интервал времени. После фиксации транзакции,
+ * изменившей записи на дату ({@link ReservationsChangedEvent}), тело даты строится заново при следующем запросе;
+ * одновременные запросы на одну дату получают результат одного вычисления {@link SingleFlight} с названием
+ * {@code timetable.available} в метрике {@link SingleFlight#METRIC_NAME}. Тело на текущую дату также строится
+ * заново, когда первый показываемый таймслот {@link TimeSlotGrid#getFirstListedSlot} сдвигается, чтобы уже
+ * начавшиеся таймслоты не предлагались для записи. После окончания даты тело удаляется
+ */
+@Component
+public class AvailabilityResponseCache {
+
+    /**
+     * Поколения тел ответов по датам. Изменение записей на дату заменяет её поколение, поэтому тело, вычисленное
+     * до изменения, не попадает в кэш
+     */
+    private final ConcurrentHashMap<LocalDate, Generation> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Объединение одновременных вычислений тела ответа по поколению даты
+     */
+    private final SingleFlight<Generation, Entry> availableFlight;
+
+    /**
+     * Сериализатор тел ответов в JSON
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Сетка таймслотов суток
+     */
+    private final TimeSlotGrid timeSlotGrid;
+
+    /**
+     * Конструктор для инициализации {@link ObjectMapper}, {@link TimeSlotGrid} и объединения вычислений тел ответов
+     *
+     * @param objectMapper сериализатор тел ответов в JSON
+     * @param timeSlotGrid сетка таймслотов суток
+     * @param meterRegistry реестр метрик
+     */
+    public AvailabilityResponseCache(ObjectMapper objectMapper, TimeSlotGrid timeSlotGrid,
+                                     MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.timeSlotGrid = timeSlotGrid;
+        this.availableFlight = new SingleFlight<>("timetable.available", meterRegistry);
+    }
+
+    /**
+     * Получение тела ответа со свободными таймслотами на дату, с вычислением при его отсутствии в кэше
+     *
+     * @param date дата
+     * @param loader вычисление свободных таймслотов на дату
+     * @return тело ответа
+     */
+    public SerializedBody get(LocalDate date, Supplier<DailySlotCounts> loader) {
+        return load(date, loader).body();
+    }
+
+    /**
+     * Получение количества свободных мест по таймслотам на дату, с вычислением при его отсутствии в кэше.
+     * <p>Возвращаемый объект разделяется между запросами и не должен изменяться
+     *
+     * @param date дата
+     * @param loader вычисление свободных таймслотов на дату
+     * @return количество свободных мест по таймслотам
+     */
+    public DailySlotCounts getSlotCounts(LocalDate date, Supplier<DailySlotCounts> loader) {
+        return load(date, loader).slotCounts();
+    }
+
+    /**
+     * Сброс тел ответов на даты, записи на которые изменились
+     *
+     * @param event событие изменения записей
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationsChanged(ReservationsChangedEvent event) {
+        for (LocalDate date : event.getDates()) {
+            generations.remove(date);
+        }
+    }
+
+    /**
+     * Сброс всех тел ответов
+     */
+    public void clear() {
+        generations.clear();
+    }
+
+    /**
+     * Получение количеств и тела ответа на дату, с вычислением при их отсутствии в кэше или устаревании.
+     * <p>Количества и тело устаревают, если с момента их вычисления сдвинулся первый таймслот, с которого они
+     * строятся: на текущую дату - первый показываемый таймслот, на остальные даты - начало суток. Поэтому тело
+     * на дату, вычисленное накануне, также строится заново, когда дата становится текущей. На прошедшую дату
+     * количества вычисляются при каждом запросе, чтобы вычисление отклонило запрос. Вычисления объединяются
+     * по поколению даты, поэтому запрос после изменения записей не получает результат вычисления, начатого до него
+     *
+     * @param date дата
+     * @param loader вычисление свободных таймслотов на дату
+     * @return количества свободных мест и тело ответа
+     */
+    private Entry load(LocalDate date, Supplier<DailySlotCounts> loader) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDateTime firstSlot = date.equals(today) ? timeSlotGrid.getFirstListedSlot(now) : date.atStartOfDay();
+        Generation generation = generations.computeIfAbsent(date, d -> new Generation());
+        Entry entry = generation.entry;
+        if (isValid(entry, date, today, firstSlot)) {
+            return entry;
+        }
+        return availableFlight.execute(generation, () -> {
+            Entry current = generation.entry;
+            if (isValid(current, date, today, firstSlot)) {
+                return current;
+            }
+            Entry loaded;
+            try {
+                DailySlotCounts slotCounts = loader.get();
+                loaded = new Entry(firstSlot, slotCounts, serialize(slotCounts));
+            } catch (RuntimeException ex) {
+                generations.remove(date, generation);
+                throw ex;
+            }
+            generation.entry = loaded;
+            generations.keySet().removeIf(cachedDate -> cachedDate.isBefore(today));
+            return loaded;
+        });
+    }
+
+    /**
+     * Проверка, что количества и тело ответа вычислены и не устарели
+     *
+     * @param entry количества и тело ответа или {@code null}
+     * @param date дата
+     * @param today текущая дата
+     * @param firstSlot первый таймслот, с которого строятся количества на дату в текущий момент
+     * @return {@code true}, если количества и тело можно вернуть без вычисления
+     */
+    private boolean isValid(Entry entry, LocalDate date, LocalDate today, LocalDateTime firstSlot) {
+        return entry != null && !date.isBefore(today) && !entry.firstSlot().isBefore(firstSlot);
+    }
+
+    /**
+     * Сериализация количеств свободных мест в JSON-тело ответа и его вариант, сжатый gzip
+     *
+     * @param slotCounts количество свободных мест по таймслотам
+     * @return сериализованное тело ответа
+     */
+    private SerializedBody serialize(DailySlotCounts slotCounts) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(slotCounts);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length);
+            try (GZIPOutputStream gzipStream = new GZIPOutputStream(gzip)) {
+                gzipStream.write(json);
+            }
+            return new SerializedBody(json, gzip.toByteArray());
+        } catch (IOException ex) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "Ошибка сериализации свободных таймслотов: " + ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Поколение тела ответа на дату
+     */
+    private static final class Generation {
+
+        /**
+         * Количества и тело ответа, {@code null} до их вычисления
+         */
+        private volatile Entry entry;
+
+    }
+
+    /**
+     * Количества свободных мест на дату и построенное по ним тело ответа
+     *
+     * @param firstSlot первый таймслот, с которого построены количества
+     * @param slotCounts количество свободных мест по таймслотам
+     * @param body сериализованное тело ответа
+     */
+    private record Entry(LocalDateTime firstSlot, DailySlotCounts slotCounts, SerializedBody body) {
+    }
+
+    /**
+     * Сериализованное тело ответа
+     *
+     * @param json JSON-тело ответа
+     * @param gzip JSON-тело ответа, сжатое gzip
+     */
+    public record SerializedBody(byte[] json, byte[] gzip) {
+    }
+
+}
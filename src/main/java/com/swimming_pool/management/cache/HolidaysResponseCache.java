@@ -0,0 +1,112 @@
+package com.swimming_pool.management.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.dto.response.HolidayResponseDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Кэш сериализованного ответа со всеми праздничными днями.
+ * <p>Хранится готовое JSON-тело ответа и его ETag - хэш тела, по которому клиенты повторно запрашивают праздничные
+ * дни условным запросом и получают ответ без тела, пока праздничные дни не изменились. Тело сбрасывается вместе
+ * с перестроением календаря графика и строится заново при следующем запросе; одновременные запросы получают
+ * результат одного вычисления
+ */
+@Component
+public class HolidaysResponseCache {
+
+    /**
+     * Текущее поколение тела ответа. Сброс заменяет поколение, поэтому тело, вычисленное до изменения праздничных
+     * дней, не попадает в кэш
+     */
+    private volatile Generation generation = new Generation();
+
+    /**
+     * Сериализатор тела ответа в JSON
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Конструктор для инициализации {@link ObjectMapper}
+     *
+     * @param objectMapper сериализатор тела ответа в JSON
+     */
+    public HolidaysResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Получение тела ответа со всеми праздничными днями, с вычислением при его отсутствии в кэше
+     *
+     * @param loader вычисление списка праздничных дней
+     * @return тело ответа с ETag
+     */
+    public TaggedBody get(Supplier<List<HolidayResponseDTO>> loader) {
+        Generation current = generation;
+        TaggedBody body = current.body;
+        if (body != null) {
+            return body;
+        }
+        synchronized (current) {
+            body = current.body;
+            if (body == null) {
+                body = serialize(loader.get());
+                current.body = body;
+            }
+        }
+        return body;
+    }
+
+    /**
+     * Сброс тела ответа
+     */
+    public void clear() {
+        generation = new Generation();
+    }
+
+    /**
+     * Сериализация праздничных дней в JSON-тело ответа с вычислением его ETag
+     *
+     * @param holidays список праздничных дней
+     * @return тело ответа с ETag
+     */
+    private TaggedBody serialize(List<HolidayResponseDTO> holidays) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(holidays);
+            return new TaggedBody(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException ex) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "Ошибка сериализации праздничных дней: " + ex.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Поколение тела ответа
+     */
+    private static final class Generation {
+
+        /**
+         * Тело ответа, {@code null} до его вычисления
+         */
+        private volatile TaggedBody body;
+
+    }
+
+    /**
+     * Сериализованное тело ответа
+     *
+     * @param json JSON-тело ответа
+     * @param eTag ETag тела ответа в кавычках
+     */
+    public record TaggedBody(byte[] json, String eTag) {
+    }
+
+}
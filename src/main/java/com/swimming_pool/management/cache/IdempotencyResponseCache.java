@@ -0,0 +1,81 @@
+package com.swimming_pool.management.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Локальный кэш ответов на запросы с ключом идемпотентности.
+ * <p>Ограничен по количеству элементов (вытесняются самые давно использованные) и по времени жизни элемента,
+ * поэтому повторы запроса, пришедшие на тот же узел, обслуживаются без обращения к БД
+ */
+@Component
+public class IdempotencyResponseCache {
+
+    /**
+     * Элементы кэша в порядке доступа к ним
+     */
+    private final LinkedHashMap<String, CachedResponse> entries;
+
+    /**
+     * Время жизни элемента в миллисекундах
+     */
+    private final long ttlMillis;
+
+    /**
+     * Конструктор для инициализации кэша
+     *
+     * @param maxSize максимальное количество элементов кэша
+     * @param ttl время жизни элемента
+     */
+    public IdempotencyResponseCache(@Value("${idempotency.cache-max-size:10000}") int maxSize,
+                                    @Value("${idempotency.ttl:PT24H}") Duration ttl) {
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Получение сохранённого ответа, если срок его хранения не истёк
+     *
+     * @param key ключ кэша
+     * @return сохранённый ответ или {@code null}
+     */
+    public synchronized CachedResponse get(String key) {
+        CachedResponse cachedResponse = entries.get(key);
+        if (cachedResponse != null && cachedResponse.expiresAtMillis() < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return cachedResponse;
+    }
+
+    /**
+     * Сохранение ответа в кэш
+     *
+     * @param key ключ кэша
+     * @param requestHash SHA-256 тела запроса
+     * @param response ответ на запрос
+     */
+    public synchronized void put(String key, String requestHash, Object response) {
+        entries.put(key, new CachedResponse(requestHash, response, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Сохранённый ответ на запрос
+     *
+     * @param requestHash SHA-256 тела исходного запроса
+     * @param response ответ на исходный запрос
+     * @param expiresAtMillis момент истечения срока хранения в миллисекундах
+     */
+    public record CachedResponse(String requestHash, Object response, long expiresAtMillis) {
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.swimming_pool.management.cache;
+
+import com.swimming_pool.management.model.entity.WorkHour;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Календарь действующего рабочего графика по датам горизонта записей.
+ * <p>График каждой даты горизонта вычисляется заранее с учётом праздничных дней и особых графиков и хранится
+ * в массиве, индексируемом номером дня от начала горизонта, поэтому получение графика на дату не обращается к БД
+ * и выполняется за постоянное время. Календарь заменяется целиком, читающие потоки видят либо прежний, либо новый
+ * календарь. Для дат вне горизонта и до первой загрузки график не возвращается
+ */
+@Component
+public class ScheduleCalendar {
+
+    /**
+     * Количество месяцев, на которые доступны записи
+     */
+    private static final int HORIZON_MONTHS = 2;
+
+    /**
+     * Текущий снимок календаря. Перестроение заменяет снимок целиком, поэтому чтение графика не блокируется
+     */
+    private volatile Snapshot snapshot = new Snapshot(0, new WorkHour[0]);
+
+    /**
+     * Получение последней даты горизонта записей.
+     * <p>Горизонт содержит ещё один день после 2 месяцев, на которые доступны записи, чтобы после полуночи
+     * последняя дата горизонта была доступна до его продвижения
+     *
+     * @param today текущая дата
+     * @return последняя дата горизонта (включительно)
+     */
+    public static LocalDate getHorizonEndDate(LocalDate today) {
+        return today.plusMonths(HORIZON_MONTHS).plusDays(1);
+    }
+
+    /**
+     * Получение действующего графика на дату
+     *
+     * @param date дата
+     * @return график на дату или {@code null}, если дата вне календаря
+     */
+    public WorkHour get(LocalDate date) {
+        Snapshot current = snapshot;
+        long index = date.toEpochDay() - current.startEpochDay;
+        if (index < 0 || index >= current.workHours.length) {
+            return null;
+        }
+        return current.workHours[(int) index];
+    }
+
+    /**
+     * Замена календаря графиками на последовательные даты
+     *
+     * @param startDate первая дата календаря
+     * @param workHours графики на последовательные даты, начиная с первой
+     */
+    public void replace(LocalDate startDate, List<WorkHour> workHours) {
+        snapshot = new Snapshot(startDate.toEpochDay(), workHours.toArray(WorkHour[]::new));
+    }
+
+    /**
+     * Неизменяемый календарь: номер первого дня и графики на последовательные дни
+     *
+     * @param startEpochDay номер первого дня календаря от начала эпохи
+     * @param workHours графики на последовательные дни, начиная с первого
+     */
+    private record Snapshot(long startEpochDay, WorkHour[] workHours) {
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.swimming_pool.management.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одновременных одинаковых вычислений (single-flight).
+ * <p>Пока вычисление по ключу выполняется, остальные запросы с тем же ключом не запускают своё, а дожидаются
+ * и получают его результат или исключение. Результат не кэшируется: запрос, пришедший после завершения
+ * вычисления, запускает новое, поэтому видит все зафиксированные к этому моменту изменения.
+ * <p>Количество выполненных и объединённых запросов публикуется в метрике {@code single_flight.requests}
+ * с тегами {@code name} и {@code outcome} ({@code executed} / {@code coalesced})
+ *
+ * @param <K> тип ключа вычисления
+ * @param <V> тип результата вычисления
+ */
+public final class SingleFlight<K, V> {
+
+    /**
+     * Название метрики с количеством запросов
+     */
+    public static final String METRIC_NAME = "single_flight.requests";
+
+    /**
+     * Выполняющиеся вычисления по ключам
+     */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * Счётчик запросов, запустивших вычисление
+     */
+    private final Counter executed;
+
+    /**
+     * Счётчик запросов, получивших результат уже выполнявшегося вычисления
+     */
+    private final Counter coalesced;
+
+    /**
+     * Конструктор для инициализации счётчиков запросов
+     *
+     * @param name название объединяемого вычисления для тега метрики
+     * @param meterRegistry реестр метрик
+     */
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder(METRIC_NAME)
+                .description("Запросы, объединяемые в одно вычисление")
+                .tag("name", name)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(METRIC_NAME)
+                .description("Запросы, объединяемые в одно вычисление")
+                .tag("name", name)
+                .tag("outcome", "coalesced")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выполнение вычисления по ключу или ожидание результата уже выполняющегося вычисления с тем же ключом
+     *
+     * @param key ключ вычисления
+     * @param loader вычисление
+     * @return результат вычисления
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = calls.putIfAbsent(key, own);
+        if (inFlight != null) {
+            coalesced.increment();
+            return await(inFlight);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            own.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            calls.remove(key, own);
+        }
+    }
+
+    /**
+     * Ожидание результата выполняющегося вычисления
+     *
+     * @param inFlight выполняющееся вычисление
+     * @return результат вычисления
+     */
+    private V await(CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+}
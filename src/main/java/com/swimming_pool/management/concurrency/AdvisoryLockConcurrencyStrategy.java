@@ -0,0 +1,92 @@
+package com.swimming_pool.management.concurrency;
+
+import com.swimming_pool.management.repository.OrderRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Стратегия с рекомендательными блокировками PostgreSQL уровня транзакции ({@code pg_advisory_xact_lock}).
+ * <p>Блокируются ключ клиента на дату (лимит в день и пересечения записей клиента) и ключи таймслотов (лимит
+ * в час). Ключ таймслота - номер минуты от начала эпохи, ключ клиента на дату - отрицательное число
+ * из идентификатора клиента и номера дня, поэтому ключи разных видов не пересекаются. Ключи блокируются
+ * по возрастанию одним запросом, строки в таблицах не блокируются
+ */
+@Component
+@ConditionalOnProperty(name = ReservationConcurrencyStrategy.PROPERTY, havingValue = "advisory-lock")
+public class AdvisoryLockConcurrencyStrategy implements ReservationConcurrencyStrategy {
+
+    /**
+     * Множитель идентификатора клиента в ключе клиента на дату, больше любого номера дня от начала эпохи
+     */
+    private static final long CLIENT_KEY_MULTIPLIER = 1_000_000L;
+
+    /**
+     * Шаблон транзакций добавления записей
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Репозиторий для управления записями в БД
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * Конструктор для инициализации шаблона транзакций добавления записей и {@link OrderRepository}
+     *
+     * @param transactionManager менеджер транзакций
+     * @param orderRepository репозиторий для управления записями в БД
+     */
+    public AdvisoryLockConcurrencyStrategy(PlatformTransactionManager transactionManager,
+                                           OrderRepository orderRepository) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Выполнение добавления записей в транзакции с уровнем изоляции по умолчанию.
+     * <p>Если транзакция уже открыта, добавление выполняется в ней
+     *
+     * @param reservation добавление записей
+     * @param <T> тип результата добавления записей
+     * @return результат добавления записей
+     */
+    @Override
+    public <T> T execute(Supplier<T> reservation) {
+        return transactionTemplate.execute(status -> reservation.get());
+    }
+
+    /**
+     * Захват рекомендательных блокировок клиента на даты записей и таймслотов до конца текущей транзакции
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем добавляемых записей, упорядоченные по возрастанию
+     */
+    @Override
+    public void lock(Long clientId, List<LocalDateTime> dateTimes) {
+        long[] keys = new long[2 * dateTimes.size()];
+        int index = 0;
+        long lastEpochDay = Long.MIN_VALUE;
+        for (LocalDateTime dateTime : dateTimes) {
+            long epochDay = dateTime.toLocalDate().toEpochDay();
+            if (epochDay != lastEpochDay) {
+                keys[index++] = -(clientId * CLIENT_KEY_MULTIPLIER + epochDay);
+                lastEpochDay = epochDay;
+            }
+        }
+        for (LocalDateTime dateTime : dateTimes) {
+            keys[index++] = dateTime.toEpochSecond(ZoneOffset.UTC) / 60;
+        }
+        long[] sortedKeys = Arrays.copyOf(keys, index);
+        Arrays.sort(sortedKeys);
+        orderRepository.lockAdvisory(sortedKeys);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.swimming_pool.management.concurrency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Стратегия без дополнительных блокировок: записи добавляются в транзакции с уровнем изоляции по умолчанию.
+ * <p>Лимит записей в час и дневной лимит клиента защищены условными обновлениями строк таймслота
+ * и счётчика клиента на дату, которые блокируют эти строки до конца транзакции, а повторная запись клиента
+ * на таймслот - уникальным индексом, поэтому одновременные запросы не превышают лимиты и без блокировок стратегии.
+ * Используется по умолчанию
+ */
+@Component
+@ConditionalOnProperty(name = ReservationConcurrencyStrategy.PROPERTY, havingValue = "none", matchIfMissing = true)
+public class NoLockConcurrencyStrategy implements ReservationConcurrencyStrategy {
+
+    /**
+     * Шаблон транзакций добавления записей
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Конструктор для инициализации шаблона транзакций добавления записей
+     *
+     * @param transactionManager менеджер транзакций
+     */
+    public NoLockConcurrencyStrategy(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Выполнение добавления записей в транзакции с уровнем изоляции по умолчанию.
+     * <p>Если транзакция уже открыта, добавление выполняется в ней
+     *
+     * @param reservation добавление записей
+     * @param <T> тип результата добавления записей
+     * @return результат добавления записей
+     */
+    @Override
+    public <T> T execute(Supplier<T> reservation) {
+        return transactionTemplate.execute(status -> reservation.get());
+    }
+
+    /**
+     * Блокировки не захватываются
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем добавляемых записей, упорядоченные по возрастанию
+     */
+    @Override
+    public void lock(Long clientId, List<LocalDateTime> dateTimes) {
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.swimming_pool.management.concurrency;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Стратегия защиты лимитов записей в час и в день на клиента от одновременного добавления записей.
+ * <p>Добавление записей выполняется через {@link #execute(Supplier)} в транзакции стратегии, а перед проверкой
+ * лимитов вызывается {@link #lock(Long, List)}. Стратегия выбирается свойством
+ * {@code reservation-concurrency.strategy}: {@code none}, {@code slot-row-lock}, {@code advisory-lock}
+ * или {@code serializable}
+ */
+public interface ReservationConcurrencyStrategy {
+
+    /**
+     * Название свойства с выбранной стратегией
+     */
+    String PROPERTY = "reservation-concurrency.strategy";
+
+    /**
+     * Выполнение добавления записей в транзакции стратегии.
+     * <p>Если транзакция уже открыта, добавление выполняется в ней
+     *
+     * @param reservation добавление записей
+     * @param <T> тип результата добавления записей
+     * @return результат добавления записей
+     */
+    <T> T execute(Supplier<T> reservation);
+
+    /**
+     * Защита лимитов клиента и таймслотов до конца текущей транзакции
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем добавляемых записей, упорядоченные по возрастанию
+     */
+    void lock(Long clientId, List<LocalDateTime> dateTimes);
+
+}
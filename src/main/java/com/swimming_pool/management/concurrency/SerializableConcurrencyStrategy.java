@@ -0,0 +1,153 @@
+package com.swimming_pool.management.concurrency;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Стратегия с уровнем изоляции {@code SERIALIZABLE}: PostgreSQL прерывает одну из пересекающихся транзакций
+ * ошибкой сериализации, и добавление записей повторяется в новой транзакции не больше
+ * {@code reservation-concurrency.max-attempts} раз со случайной паузой до
+ * {@code reservation-concurrency.retry-backoff}, умноженной на номер попытки. Если все попытки прерваны,
+ * запрос отклоняется с {@link ErrorCode#CONFLICT}. Блокировки не захватываются.
+ * <p>Если транзакция уже открыта, добавление выполняется в ней без повторов.
+ * <p>Прерванные транзакции учитываются в метрике {@code reservation.concurrency.aborts} с тегом {@code outcome}
+ * ({@code retried} / {@code exhausted})
+ */
+@Component
+@ConditionalOnProperty(name = ReservationConcurrencyStrategy.PROPERTY, havingValue = "serializable")
+public class SerializableConcurrencyStrategy implements ReservationConcurrencyStrategy {
+
+    /**
+     * Название счётчика прерванных транзакций
+     */
+    public static final String ABORT_COUNTER = "reservation.concurrency.aborts";
+
+    /**
+     * Шаблон транзакций добавления записей с уровнем изоляции {@code SERIALIZABLE}
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Максимальное количество попыток добавления записей
+     */
+    private final int maxAttempts;
+
+    /**
+     * Максимальная пауза перед первым повтором
+     */
+    private final long retryBackoffNanos;
+
+    /**
+     * Счётчик прерванных транзакций, после которых добавление записей повторено
+     */
+    private final Counter retried;
+
+    /**
+     * Счётчик прерванных транзакций, после которых попытки закончились
+     */
+    private final Counter exhausted;
+
+    /**
+     * Конструктор для инициализации шаблона транзакций, настроек повторов и счётчиков прерванных транзакций
+     *
+     * @param transactionManager менеджер транзакций
+     * @param maxAttempts максимальное количество попыток добавления записей
+     * @param retryBackoff максимальная пауза перед первым повтором
+     * @param meterRegistry реестр метрик
+     */
+    public SerializableConcurrencyStrategy(PlatformTransactionManager transactionManager,
+                                           @Value("${reservation-concurrency.max-attempts:5}") int maxAttempts,
+                                           @Value("${reservation-concurrency.retry-backoff:PT0.005S}")
+                                           Duration retryBackoff,
+                                           MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.retried = Counter.builder(ABORT_COUNTER)
+                .description("Транзакции добавления записей, прерванные из-за ошибки сериализации")
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder(ABORT_COUNTER)
+                .description("Транзакции добавления записей, прерванные из-за ошибки сериализации")
+                .tag("outcome", "exhausted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Выполнение добавления записей в транзакции {@code SERIALIZABLE} с повтором после ошибки сериализации.
+     * <p>Если транзакция уже открыта, добавление выполняется в ней без повторов
+     *
+     * @param reservation добавление записей
+     * @param <T> тип результата добавления записей
+     * @return результат добавления записей
+     */
+    @Override
+    public <T> T execute(Supplier<T> reservation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return reservation.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> reservation.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    exhausted.increment();
+                    throw new SwimmingPoolManagementException(
+                            ErrorCode.CONFLICT,
+                            "Не удалось добавить запись из-за одновременного добавления других записей, " +
+                                    "повторите запрос"
+                    );
+                }
+                retried.increment();
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Блокировки не захватываются, пересечения транзакций обнаруживает PostgreSQL
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем добавляемых записей, упорядоченные по возрастанию
+     */
+    @Override
+    public void lock(Long clientId, List<LocalDateTime> dateTimes) {
+    }
+
+    /**
+     * Случайная пауза перед повтором добавления записей
+     *
+     * @param attempt номер прерванной попытки
+     */
+    private void backOff(int attempt) {
+        if (retryBackoffNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(retryBackoffNanos * attempt));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SwimmingPoolManagementException(ErrorCode.SERVICE_UNAVAILABLE,
+                    "Добавление записи прервано, повторите запрос позже");
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.swimming_pool.management.concurrency;
+
+import com.swimming_pool.management.repository.ClientRepository;
+import com.swimming_pool.management.repository.OrderRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Стратегия с пессимистичными блокировками строк: строка клиента блокируется {@code SELECT ... FOR UPDATE}
+ * (лимит в день и пересечения записей клиента), строки таймслотов в таблице {@code slot_locks} - вставкой
+ * с {@code ON CONFLICT DO UPDATE} (лимит в час). Таймслоты блокируются по возрастанию, чтобы избежать
+ * взаимных блокировок
+ */
+@Component
+@ConditionalOnProperty(name = ReservationConcurrencyStrategy.PROPERTY, havingValue = "slot-row-lock")
+public class SlotRowLockConcurrencyStrategy implements ReservationConcurrencyStrategy {
+
+    /**
+     * Шаблон транзакций добавления записей
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Репозиторий для управления клиентами в БД
+     */
+    private final ClientRepository clientRepository;
+
+    /**
+     * Репозиторий для управления записями в БД
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * Конструктор для инициализации шаблона транзакций добавления записей, {@link ClientRepository}
+     * и {@link OrderRepository}
+     *
+     * @param transactionManager менеджер транзакций
+     * @param clientRepository репозиторий для управления клиентами в БД
+     * @param orderRepository репозиторий для управления записями в БД
+     */
+    public SlotRowLockConcurrencyStrategy(PlatformTransactionManager transactionManager,
+                                          ClientRepository clientRepository, OrderRepository orderRepository) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clientRepository = clientRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Выполнение добавления записей в транзакции с уровнем изоляции по умолчанию.
+     * <p>Если транзакция уже открыта, добавление выполняется в ней
+     *
+     * @param reservation добавление записей
+     * @param <T> тип результата добавления записей
+     * @return результат добавления записей
+     */
+    @Override
+    public <T> T execute(Supplier<T> reservation) {
+        return transactionTemplate.execute(status -> reservation.get());
+    }
+
+    /**
+     * Блокировка строки клиента и строк таймслотов записей до конца текущей транзакции
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем добавляемых записей, упорядоченные по возрастанию
+     */
+    @Override
+    public void lock(Long clientId, List<LocalDateTime> dateTimes) {
+        clientRepository.lockById(clientId);
+        orderRepository.lockSlots(dateTimes.toArray(LocalDateTime[]::new));
+    }
+
+}
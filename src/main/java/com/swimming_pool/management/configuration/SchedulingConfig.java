@@ -0,0 +1,13 @@
+package com.swimming_pool.management.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Конфигурация для выполнения периодических фоновых задач приложения
+ * (например, очистки устаревших ответов на запросы с ключом идемпотентности)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
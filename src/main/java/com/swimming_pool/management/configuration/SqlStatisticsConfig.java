@@ -0,0 +1,30 @@
+package com.swimming_pool.management.configuration;
+
+import com.swimming_pool.management.metrics.SqlStatisticsInterceptor;
+import com.swimming_pool.management.metrics.SqlStatisticsSessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Конфигурация Hibernate для сбора статистики обращений к БД в рамках HTTP-запроса
+ */
+@Configuration
+public class SqlStatisticsConfig {
+
+    /**
+     * Подключение слушателя событий сессий и перехватчика загрузки сущностей, собирающих статистику
+     *
+     * @return настройщик свойств Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    SqlStatisticsSessionEventListener.class.getName());
+            properties.put(AvailableSettings.INTERCEPTOR, new SqlStatisticsInterceptor());
+        };
+    }
+
+}
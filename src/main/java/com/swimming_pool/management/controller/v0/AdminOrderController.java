@@ -0,0 +1,54 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.facade.OrderFacadeService;
+import com.swimming_pool.management.model.dto.request.RangeCancellationDTO;
+import com.swimming_pool.management.model.dto.response.OrderIdResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST-контроллер для административного управления записями клиентов
+ */
+@RestController
+@Validated
+@RequestMapping("${api-base-path}/admin/timetable")
+@Tag(name = "Администрирование записей", description = "Административное управление записями клиентов")
+public class AdminOrderController {
+
+    /**
+     * Фасад-сервис для работы с DTO записей клиентов
+     */
+    private final OrderFacadeService orderFacadeService;
+
+    /**
+     * Конструктор для инициализации {@link OrderFacadeService}
+     *
+     * @param orderFacadeService фасад-сервис для работы с DTO записей клиентов
+     */
+    public AdminOrderController(OrderFacadeService orderFacadeService) {
+        this.orderFacadeService = orderFacadeService;
+    }
+
+    /**
+     * Обработчик PUT запроса для отмены всех записей по интервалу дат с временами
+     *
+     * @param rangeCancellationDTO объект с интервалом дат с временами
+     * @return список объектов с идентификаторами отменённых записей
+     */
+    @PutMapping("/cancel/range")
+    @Operation(summary = "Отмена всех записей по интервалу дат с временами",
+            description = "Позволяет отменить все занятые записи в указанном интервале, например, при внеплановом " +
+                    "закрытии бассейна. Уже прошедшие записи интервала не отменяются")
+    public List<OrderIdResponseDTO> cancelInRange(@Valid @RequestBody RangeCancellationDTO rangeCancellationDTO) {
+        return orderFacadeService.cancelReservationsInRange(rangeCancellationDTO);
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.facade.HolidayFacadeService;
+import com.swimming_pool.management.facade.ScheduleOverrideFacadeService;
+import com.swimming_pool.management.model.dto.request.HolidayYearDTO;
+import com.swimming_pool.management.model.dto.request.ScheduleOverrideDTO;
+import com.swimming_pool.management.model.dto.response.HolidayResponseDTO;
+import com.swimming_pool.management.model.dto.response.ScheduleOverrideResponseDTO;
+import com.swimming_pool.management.util.DateTimeUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST-контроллер для административного управления рабочим графиком бассейна
+ */
+@RestController
+@Validated
+@RequestMapping("${api-base-path}/admin/schedule")
+@Tag(name = "Администрирование графика", description = "Управление особыми графиками на отдельные даты и праздничными днями")
+public class AdminScheduleController {
+
+    /**
+     * Фасад-сервис для работы с DTO особых графиков
+     */
+    private final ScheduleOverrideFacadeService scheduleOverrideFacadeService;
+
+    /**
+     * Фасад-сервис для работы с DTO праздничных дней
+     */
+    private final HolidayFacadeService holidayFacadeService;
+
+    /**
+     * Конструктор для инициализации {@link ScheduleOverrideFacadeService} и {@link HolidayFacadeService}
+     *
+     * @param scheduleOverrideFacadeService фасад-сервис для работы с DTO особых графиков
+     * @param holidayFacadeService фасад-сервис для работы с DTO праздничных дней
+     */
+    public AdminScheduleController(ScheduleOverrideFacadeService scheduleOverrideFacadeService,
+                                   HolidayFacadeService holidayFacadeService) {
+        this.scheduleOverrideFacadeService = scheduleOverrideFacadeService;
+        this.holidayFacadeService = holidayFacadeService;
+    }
+
+    /**
+     * Обработчик GET запроса для получения особых графиков по интервалу дат
+     *
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     * @return список объектов с данными особых графиков
+     */
+    @GetMapping("/overrides")
+    @Operation(summary = "Получение особых графиков по интервалу дат",
+            description = "Предоставляет особые графики (сокращённые дни, соревнования, уменьшенная вместимость) " +
+                    "на даты указанного интервала")
+    public List<ScheduleOverrideResponseDTO> getOverrides(@RequestParam(value = "startDate")
+                                                          @Pattern(regexp = DateTimeUtils.DATE_REGEXP,
+                                                                  message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+                                                          String startDate,
+                                                          @RequestParam(value = "endDate")
+                                                          @Pattern(regexp = DateTimeUtils.DATE_REGEXP,
+                                                                  message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+                                                          String endDate) {
+        return scheduleOverrideFacadeService.getByDateRange(startDate, endDate);
+    }
+
+    /**
+     * Обработчик PUT запроса для добавления или замены особого графика на дату
+     *
+     * @param scheduleOverrideDTO объект с данными особого графика
+     * @return объект с данными сохранённого особого графика
+     */
+    @PutMapping("/override")
+    @Operation(summary = "Добавление или замена особого графика на дату",
+            description = "Позволяет задать на дату особые рабочие часы и лимиты записей. Незаполненные поля берутся " +
+                    "из основного графика. Свободные таймслоты на дату пересчитываются сразу, существующие записи " +
+                    "не отменяются")
+    public ScheduleOverrideResponseDTO saveOverride(@Valid @RequestBody ScheduleOverrideDTO scheduleOverrideDTO) {
+        return scheduleOverrideFacadeService.save(scheduleOverrideDTO);
+    }
+
+    /**
+     * Обработчик DELETE запроса для удаления особого графика на дату
+     *
+     * @param date дата особого графика
+     */
+    @DeleteMapping("/override")
+    @Operation(summary = "Удаление особого графика на дату",
+            description = "Позволяет вернуть на дату основной график")
+    public void deleteOverride(@RequestParam(value = "date")
+                               @Pattern(regexp = DateTimeUtils.DATE_REGEXP,
+                                       message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+                               String date) {
+        scheduleOverrideFacadeService.delete(date);
+    }
+
+    /**
+     * Обработчик PUT запроса для замены праздничных дней года
+     *
+     * @param holidayYearDTO объект с годом и его праздничными днями
+     * @return список объектов с данными праздничных дней года после замены
+     */
+    @PutMapping("/holidays")
+    @Operation(summary = "Замена праздничных дней года",
+            description = "Позволяет одним запросом задать все праздничные дни года: праздничные дни из списка " +
+                    "добавляются или заменяют описание существующих, остальные праздничные дни года удаляются. " +
+                    "Свободные таймслоты на изменённые даты пересчитываются сразу, существующие записи не отменяются")
+    public List<HolidayResponseDTO> replaceHolidays(@Valid @RequestBody HolidayYearDTO holidayYearDTO) {
+        return holidayFacadeService.replaceForYear(holidayYearDTO);
+    }
+
+    /**
+     * Обработчик DELETE запроса для удаления всех праздничных дней года
+     *
+     * @param year год
+     */
+    @DeleteMapping("/holidays")
+    @Operation(summary = "Удаление праздничных дней года",
+            description = "Позволяет удалить все праздничные дни года, после чего на их даты действует " +
+                    "повседневный график")
+    public void deleteHolidays(@RequestParam(value = "year")
+                               @Min(value = 2000, message = "Год праздничных дней должен быть от 2000 до 2100")
+                               @Max(value = 2100, message = "Год праздничных дней должен быть от 2000 до 2100")
+                               int year) {
+        holidayFacadeService.deleteForYear(year);
+    }
+
+}
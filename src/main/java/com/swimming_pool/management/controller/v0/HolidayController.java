@@ -0,0 +1,63 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.cache.HolidaysResponseCache.TaggedBody;
+import com.swimming_pool.management.facade.HolidayFacadeService;
+import com.swimming_pool.management.model.dto.response.HolidayResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер для получения праздничных дней
+ */
+@RestController
+@RequestMapping("${api-base-path}/holidays")
+@Tag(name = "Праздничные дни", description = "Получение праздничных дней, в которые действует праздничный график")
+public class HolidayController {
+
+    /**
+     * Фасад-сервис для работы с DTO праздничных дней
+     */
+    private final HolidayFacadeService holidayFacadeService;
+
+    /**
+     * Конструктор для инициализации {@link HolidayFacadeService}
+     *
+     * @param holidayFacadeService фасад-сервис для работы с DTO праздничных дней
+     */
+    public HolidayController(HolidayFacadeService holidayFacadeService) {
+        this.holidayFacadeService = holidayFacadeService;
+    }
+
+    /**
+     * Обработчик GET запроса для получения всех праздничных дней.
+     * <p>Ответ содержит ETag, при совпадении которого с заголовком {@code If-None-Match} запроса возвращается
+     * статус 304 без тела
+     *
+     * @return JSON-тело ответа со списком праздничных дней
+     */
+    @GetMapping
+    @Operation(summary = "Получение всех праздничных дней",
+            description = "Предоставляет список всех праздничных дней, упорядоченный по дате. Ответ можно хранить " +
+                    "на клиенте и перепроверять условным запросом с заголовком If-None-Match")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = HolidayResponseDTO.class))))
+    public ResponseEntity<byte[]> getAll() {
+        TaggedBody body = holidayFacadeService.getAllBody();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(body.eTag())
+                .body(body.json());
+    }
+
+}
@@ -1,25 +1,43 @@
 package com.swimming_pool.management.controller.v0;
 
+import com.swimming_pool.management.cache.AvailabilityResponseCache.SerializedBody;
 import com.swimming_pool.management.facade.OrderFacadeService;
 import com.swimming_pool.management.model.dto.request.MultiHourReservationDTO;
 import com.swimming_pool.management.model.dto.request.OrderCancellationDTO;
 import com.swimming_pool.management.model.dto.request.OrderReservationDTO;
+import com.swimming_pool.management.model.dto.request.SeriesCancellationDTO;
+import com.swimming_pool.management.model.dto.request.SeriesReservationDTO;
 import com.swimming_pool.management.model.dto.response.OrderIdResponseDTO;
 import com.swimming_pool.management.model.dto.response.OrderResponseDTO;
+import com.swimming_pool.management.model.dto.response.SeriesResponseDTO;
 import com.swimming_pool.management.model.dto.response.TimeSlotDTO;
+import com.swimming_pool.management.model.dto.response.WindowAvailabilityDTO;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
 import com.swimming_pool.management.util.DateTimeUtils;
+import com.swimming_pool.management.util.HttpHeaderUtils;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -36,6 +54,11 @@ import java.util.List;
 @Tag(name = "Записи клиентов", description = "Управление бронированием времени в бассейне")
 public class OrderController {
 
+    /**
+     * Заголовок с ключом идемпотентности для безопасного повтора запросов на добавление записей
+     */
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     /**
      * Фасад-сервис для работы с DTO записей клиентов
      */
@@ -54,32 +77,74 @@ public class OrderController {
      * Обработчик GET запроса для получения занятых записей на определённую дату
      *
      * @param date дата в виде строки
-     * @return список занятых таймслотов с записями {@link TimeSlotDTO} на указанную дату
+     * @return количество занятых записей по таймслотам на указанную дату в формате списка {@link TimeSlotDTO}
      */
     @GetMapping("/all")
     @Operation(summary = "Получение занятых записей на определённую дату",
             description = "Предоставляет список занятых таймслотов с записями на указанную дату")
-    public List<TimeSlotDTO> getAll(@RequestParam(value = "date")
-                                    @Pattern(regexp = DateTimeUtils.DATE_REGEXP,
-                                            message = "Дата должна быть в формате ДД.ММ.ГГГГ")
-                                    String date) {
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = TimeSlotDTO.class))))
+    public DailySlotCounts getAll(@RequestParam(value = "date")
+                                  @Pattern(regexp = DateTimeUtils.DATE_REGEXP,
+                                          message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+                                  String date) {
         return orderFacadeService.getReservedSlotsForDate(date);
     }
 
     /**
-     * Обработчик GET запроса для получения доступных записей на определённую дату
+     * Обработчик GET запроса для получения доступных записей на определённую дату.
+     * <p>Возвращает заранее сериализованное тело ответа, сжатое gzip, если клиент его принимает
      *
      * @param date дата в виде строки
+     * @param acceptEncoding значение заголовка {@code Accept-Encoding}
      * @return список свободных таймслотов для записи {@link TimeSlotDTO} на указанную дату
      */
     @GetMapping("/available")
     @Operation(summary = "Получение доступных записей на определённую дату",
             description = "Предоставляет список свободных таймслотов для записи на указанную дату")
-    public List<TimeSlotDTO> getAvailable(@RequestParam(value = "date")
-                                          @Pattern(regexp = DateTimeUtils.DATE_REGEXP,
-                                                  message = "Дата должна быть в формате ДД.ММ.ГГГГ")
-                                          String date) {
-        return orderFacadeService.getAvailableSlotsForDate(date);
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = TimeSlotDTO.class))))
+    public ResponseEntity<byte[]> getAvailable(@RequestParam(value = "date")
+                                               @Pattern(regexp = DateTimeUtils.DATE_REGEXP,
+                                                       message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+                                               String date,
+                                               @Parameter(hidden = true)
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                               String acceptEncoding) {
+        SerializedBody body = orderFacadeService.getAvailableSlotsBodyForDate(date);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (HttpHeaderUtils.acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    /**
+     * Обработчик GET запроса для получения количества мест, свободных на весь интервал времени
+     *
+     * @param datetime дата и время начала интервала в виде строки
+     * @param minutes длительность интервала в минутах
+     * @return объект с интервалом и количеством клиентов, которые могут записаться на весь интервал
+     */
+    @GetMapping("/available/window")
+    @Operation(summary = "Получение количества мест, свободных на интервал времени",
+            description = "Предоставляет количество клиентов, которые могут записаться на все таймслоты интервала. " +
+                    "Начало интервала должно совпадать с началом таймслота, а длительность - быть кратной " +
+                    "длительности таймслота")
+    public WindowAvailabilityDTO getAvailableForWindow(@RequestParam(value = "datetime")
+                                                       @Pattern(regexp = DateTimeUtils.DATETIME_REGEXP,
+                                                               message = "Дата и время должны быть в формате " +
+                                                                       "ДД.ММ.ГГГГ ЧЧ:ММ")
+                                                       String datetime,
+                                                       @RequestParam(value = "minutes")
+                                                       @Min(value = 1, message = "Длительность интервала должна " +
+                                                               "быть от 1 до 1440 минут")
+                                                       @Max(value = 1440, message = "Длительность интервала должна " +
+                                                               "быть от 1 до 1440 минут")
+                                                       Integer minutes) {
+        return orderFacadeService.getAvailableForWindow(datetime, minutes);
     }
 
     /**
@@ -119,30 +184,56 @@ public class OrderController {
      * Обработчик POST запроса для добавления записи клиента на определённые дату и время
      *
      * @param orderReservationDTO объект с данными для добавления записи
+     * @param idempotencyKey ключ идемпотентности запроса
      * @return объект с идентификатором добавленной записи
      */
     @PostMapping("/reserve")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Добавить запись клиента на определённые дату и время",
-            description = "Позволяет записать клиента на посещение бассейна в указанные дату и время")
-    public OrderIdResponseDTO reserve(@Valid @RequestBody OrderReservationDTO orderReservationDTO) {
-        return orderFacadeService.reserve(orderReservationDTO);
+            description = "Позволяет записать клиента на посещение бассейна в указанные дату и время. Повтор " +
+                    "запроса с тем же заголовком Idempotency-Key возвращает ответ исходного запроса")
+    public OrderIdResponseDTO reserve(@Valid @RequestBody OrderReservationDTO orderReservationDTO,
+                                      @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+                                      @Size(max = 100, message = "Длина ключа идемпотентности должна быть " +
+                                              "не более 100 символов")
+                                      String idempotencyKey) {
+        return orderFacadeService.reserve(orderReservationDTO, idempotencyKey);
     }
 
     /**
      * Обработчик POST запроса для добавления записей клиента на определённые дату и время на несколько часов подряд
      *
      * @param multiHourReservationDTO объект с данными для добавления записей на несколько часов подряд
+     * @param idempotencyKey ключ идемпотентности запроса
      * @return список объектов с идентификаторами добавленных записей.
      */
     @PostMapping("/reserve/multi-hour")
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Добавить записи клиента на определённые дату и время на несколько часов подряд",
             description = " Позволяет записать клиента на посещение бассейна в указанные дату и время " +
-                    "на несколько часов подряд")
+                    "на несколько часов подряд. Повтор запроса с тем же заголовком Idempotency-Key возвращает " +
+                    "ответ исходного запроса")
     public List<OrderIdResponseDTO> reserveForMultiHours(
-            @Valid @RequestBody MultiHourReservationDTO multiHourReservationDTO) {
-        return orderFacadeService.reserveForMultiHours(multiHourReservationDTO);
+            @Valid @RequestBody MultiHourReservationDTO multiHourReservationDTO,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false)
+            @Size(max = 100, message = "Длина ключа идемпотентности должна быть не более 100 символов")
+            String idempotencyKey) {
+        return orderFacadeService.reserveForMultiHours(multiHourReservationDTO, idempotencyKey);
+    }
+
+    /**
+     * Обработчик POST запроса для добавления серии регулярных записей клиента по дням недели и времени
+     *
+     * @param seriesReservationDTO объект с данными для добавления серии регулярных записей
+     * @return объект с идентификатором серии и добавленными записями серии
+     */
+    @PostMapping("/reserve/series")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Добавить серию регулярных записей клиента",
+            description = "Позволяет записать клиента на посещение бассейна по указанным дням недели в указанное " +
+                    "время на несколько недель вперёд")
+    public SeriesResponseDTO reserveSeries(@Valid @RequestBody SeriesReservationDTO seriesReservationDTO) {
+        return orderFacadeService.reserveSeries(seriesReservationDTO);
     }
 
     /**
@@ -157,4 +248,16 @@ public class OrderController {
         orderFacadeService.cancelReservation(orderCancellationDTO);
     }
 
+    /**
+     * Обработчик PUT запроса для отмены серии регулярных записей клиента
+     *
+     * @param seriesCancellationDTO объект с данными о клиенте и серии записей
+     */
+    @PutMapping("/cancel/series")
+    @Operation(summary = "Отмена серии регулярных записей клиента",
+            description = "Позволяет отменить все предстоящие записи серии клиента")
+    public void cancelSeries(@Valid @RequestBody SeriesCancellationDTO seriesCancellationDTO) {
+        orderFacadeService.cancelSeries(seriesCancellationDTO);
+    }
+
 }
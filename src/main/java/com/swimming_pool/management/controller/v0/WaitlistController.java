@@ -0,0 +1,88 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.facade.WaitlistFacadeService;
+import com.swimming_pool.management.model.dto.request.WaitlistJoinDTO;
+import com.swimming_pool.management.model.dto.request.WaitlistLeaveDTO;
+import com.swimming_pool.management.model.dto.response.WaitlistEntryResponseDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Pattern;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST-контроллер для управления листом ожидания заполненных таймслотов
+ */
+@RestController
+@Validated
+@RequestMapping("${api-base-path}/timetable/waitlist")
+@Tag(name = "Лист ожидания", description = "Управление очередью ожидания на заполненные таймслоты")
+public class WaitlistController {
+
+    /**
+     * Фасад-сервис для работы с DTO листа ожидания
+     */
+    private final WaitlistFacadeService waitlistFacadeService;
+
+    /**
+     * Конструктор для инициализации {@link WaitlistFacadeService}
+     *
+     * @param waitlistFacadeService фасад-сервис для работы с DTO листа ожидания
+     */
+    public WaitlistController(WaitlistFacadeService waitlistFacadeService) {
+        this.waitlistFacadeService = waitlistFacadeService;
+    }
+
+    /**
+     * Обработчик POST запроса для добавления клиента в лист ожидания заполненного таймслота
+     *
+     * @param waitlistJoinDTO объект с данными для добавления в лист ожидания
+     * @return объект с данными о добавленной заявке и её позиции в очереди
+     */
+    @PostMapping("/join")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Встать в лист ожидания заполненного таймслота",
+            description = "Позволяет клиенту встать в очередь на заполненные дату и время. При отмене чьей-либо " +
+                    "записи на это время первая подходящая заявка очереди автоматически становится записью")
+    public WaitlistEntryResponseDTO join(@Valid @RequestBody WaitlistJoinDTO waitlistJoinDTO) {
+        return waitlistFacadeService.join(waitlistJoinDTO);
+    }
+
+    /**
+     * Обработчик GET запроса для получения заявки в листе ожидания с её позицией в очереди
+     *
+     * @param entryId идентификатор заявки в виде строки
+     * @return объект с данными о заявке и её позиции в очереди
+     */
+    @GetMapping("/position")
+    @Operation(summary = "Получение позиции в листе ожидания",
+            description = "Предоставляет статус заявки в листе ожидания и её текущую позицию в очереди")
+    public WaitlistEntryResponseDTO getPosition(@RequestParam(value = "entryId")
+                                                @Pattern(regexp = "^\\d+$",
+                                                        message = "ID заявки должен быть числом")
+                                                String entryId) {
+        return waitlistFacadeService.getPosition(entryId);
+    }
+
+    /**
+     * Обработчик PUT запроса для выхода клиента из листа ожидания
+     *
+     * @param waitlistLeaveDTO объект с данными о клиенте и заявке
+     */
+    @PutMapping("/leave")
+    @Operation(summary = "Выход из листа ожидания",
+            description = "Позволяет клиенту покинуть очередь ожидания таймслота")
+    public void leave(@Valid @RequestBody WaitlistLeaveDTO waitlistLeaveDTO) {
+        waitlistFacadeService.leave(waitlistLeaveDTO);
+    }
+
+}
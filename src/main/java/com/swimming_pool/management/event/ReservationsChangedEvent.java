@@ -0,0 +1,51 @@
+package com.swimming_pool.management.event;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Событие изменения занятости бассейна: добавление или отмена записей на определённые даты, а также изменение
+ * вместимости таймслотов на эти даты.
+ * <p>Публикуется сервисами записей и таймслотов, чтобы компоненты с производным от записей состоянием (кэши доступности,
+ * счётчики) обновили данные по затронутым датам
+ */
+public class ReservationsChangedEvent {
+
+    /**
+     * Даты, на которые изменились записи
+     */
+    private final Set<LocalDate> dates;
+
+    /**
+     * Конструктор для создания события по датам, на которые изменились записи
+     *
+     * @param dates даты, на которые изменились записи
+     */
+    public ReservationsChangedEvent(Collection<LocalDate> dates) {
+        this.dates = new TreeSet<>(dates);
+    }
+
+    /**
+     * Создание события изменения записей на одну дату
+     *
+     * @param date дата, на которую изменились записи
+     * @return событие изменения записей
+     */
+    public static ReservationsChangedEvent of(LocalDate date) {
+        return new ReservationsChangedEvent(Set.of(date));
+    }
+
+    public Set<LocalDate> getDates() {
+        return dates;
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationsChangedEvent{" +
+                "dates=" + dates +
+                '}';
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.swimming_pool.management.event;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Событие изменения рабочего графика на определённые даты: добавление, изменение или удаление особого графика
+ * или праздничных дней.
+ * <p>Публикуется сервисами графика, чтобы компоненты с производным от графика состоянием (календарь графика,
+ * таймслоты на горизонт записей, ответ с праздничными днями) перестроили данные по затронутым датам
+ */
+public class ScheduleChangedEvent {
+
+    /**
+     * Даты, на которые изменился график
+     */
+    private final Set<LocalDate> dates;
+
+    /**
+     * Конструктор для создания события по датам, на которые изменился график
+     *
+     * @param dates даты, на которые изменился график
+     */
+    public ScheduleChangedEvent(Collection<LocalDate> dates) {
+        this.dates = new TreeSet<>(dates);
+    }
+
+    /**
+     * Создание события изменения графика на одну дату
+     *
+     * @param date дата, на которую изменился график
+     * @return событие изменения графика
+     */
+    public static ScheduleChangedEvent of(LocalDate date) {
+        return new ScheduleChangedEvent(Set.of(date));
+    }
+
+    public Set<LocalDate> getDates() {
+        return dates;
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleChangedEvent{" +
+                "dates=" + dates +
+                '}';
+    }
+
+}
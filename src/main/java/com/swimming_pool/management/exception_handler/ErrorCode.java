@@ -11,7 +11,8 @@ public enum ErrorCode {
     NOT_FOUND(1001, "Ресурс не найден", HttpStatus.NOT_FOUND),
     VALIDATION_ERROR(1002, "Ошибка валидации", HttpStatus.UNPROCESSABLE_ENTITY),
     CONFLICT(1003, "Конфликт данных", HttpStatus.CONFLICT),
-    INTERNAL_SERVER_ERROR (1004, "Внутренняя ошибка сервера", HttpStatus.INTERNAL_SERVER_ERROR);
+    INTERNAL_SERVER_ERROR (1004, "Внутренняя ошибка сервера", HttpStatus.INTERNAL_SERVER_ERROR),
+    SERVICE_UNAVAILABLE(1005, "Сервис перегружен", HttpStatus.SERVICE_UNAVAILABLE);
 
     /**
      * Внутренний код ошибки
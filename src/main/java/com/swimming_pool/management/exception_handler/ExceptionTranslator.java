@@ -1,10 +1,14 @@
 package com.swimming_pool.management.exception_handler;
 
 import com.swimming_pool.management.model.dto.response.ErrorResponseDTO;
+import com.swimming_pool.management.util.DataIntegrityUtils;
+import com.swimming_pool.management.util.DateTimeUtils;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.validation.FieldError;
@@ -12,6 +16,9 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -26,7 +33,29 @@ public class ExceptionTranslator {
     private static final Logger log = LoggerFactory.getLogger(ExceptionTranslator.class);
 
     /**
-     * Обработчик кастомного исключения приложения
+     * Шаблон значений ключа нарушенного уникального индекса в описании ошибки PostgreSQL
+     */
+    private static final Pattern RESERVED_ORDER_KEY_PATTERN = Pattern.compile(
+            "\\(client_id, datetime\\)=\\((\\d+), (\\d{4}-\\d{2}-\\d{2}) (\\d{2}:\\d{2})");
+
+    /**
+     * Логирование отклонённых запросов с ограничением частоты
+     */
+    private final RejectionLogger rejectionLogger;
+
+    /**
+     * Конструктор для инициализации {@link RejectionLogger}
+     *
+     * @param rejectionLogger логирование отклонённых запросов с ограничением частоты
+     */
+    public ExceptionTranslator(RejectionLogger rejectionLogger) {
+        this.rejectionLogger = rejectionLogger;
+    }
+
+    /**
+     * Обработчик кастомного исключения приложения.
+     * <p>Отказы по правилам бизнес-логики (ошибки клиента) и отказы при перегрузке логируются с ограничением частоты
+     * через {@link RejectionLogger}, внутренние ошибки - с уровнем ERROR и стеком вызовов
      *
      * @param ex обрабатываемое исключение {@link SwimmingPoolManagementException}
      * @return информация об ошибке
@@ -36,7 +65,11 @@ public class ExceptionTranslator {
             @NonNull SwimmingPoolManagementException ex) {
         ErrorCode errorCode = ex.getErrorCode();
         String message = ex.getMessage();
-        log.error("Common error: {}", message);
+        if (errorCode == ErrorCode.INTERNAL_SERVER_ERROR) {
+            log.error("Common error: {}", message, ex);
+        } else {
+            rejectionLogger.reject(errorCode, message);
+        }
         return ResponseEntity
                 .status(errorCode.getStatus())
                 .body(new ErrorResponseDTO(errorCode, message));
@@ -62,7 +95,46 @@ public class ExceptionTranslator {
                     .map(ConstraintViolation::getMessage)
                     .collect(Collectors.joining(", "));
         }
-        log.error("Validation error in {}: {}", ex.getClass().getSimpleName(), message);
+        rejectionLogger.reject(errorCode, message);
+        return ResponseEntity
+                .status(errorCode.getStatus())
+                .body(new ErrorResponseDTO(errorCode, message));
+    }
+
+    /**
+     * Обработчик нарушений ограничений целостности БД.
+     * <p>Нарушение уникального индекса занятых записей клиента означает повторную запись клиента на тот же таймслот
+     * и возвращается как отказ по правилу бизнес-логики, остальные нарушения - как внутренние ошибки
+     *
+     * @param ex обрабатываемое исключение {@link DataIntegrityViolationException}
+     * @return информация об ошибке
+     */
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponseDTO> handleDataIntegrityViolationException(
+            @NonNull DataIntegrityViolationException ex) {
+        if (!DataIntegrityUtils.isReservedOrderDuplicate(ex)) {
+            return handleOtherException(ex);
+        }
+        ErrorCode errorCode = ErrorCode.BAD_REQUEST;
+        String message = reservationAlreadyExistsMessage(ex.getMostSpecificCause().getMessage());
+        rejectionLogger.reject(errorCode, message);
+        return ResponseEntity
+                .status(errorCode.getStatus())
+                .body(new ErrorResponseDTO(errorCode, message));
+    }
+
+    /**
+     * Обработчик ошибок оптимистичной блокировки: сущность изменена одновременным запросом после её чтения
+     *
+     * @param ex обрабатываемое исключение {@link OptimisticLockingFailureException}
+     * @return информация об ошибке
+     */
+    @ExceptionHandler
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(
+            @NonNull OptimisticLockingFailureException ex) {
+        ErrorCode errorCode = ErrorCode.CONFLICT;
+        String message = "Данные изменены одновременным запросом, повторите запрос";
+        rejectionLogger.reject(errorCode, message);
         return ResponseEntity
                 .status(errorCode.getStatus())
                 .body(new ErrorResponseDTO(errorCode, message));
@@ -84,4 +156,20 @@ public class ExceptionTranslator {
                 .body(new ErrorResponseDTO(errorCode, message));
     }
 
+    /**
+     * Формирование сообщения о повторной записи клиента по описанию нарушения уникального индекса
+     *
+     * @param causeMessage описание ошибки PostgreSQL со значениями ключа индекса
+     * @return сообщение с клиентом и датой с временем записи, если они есть в описании ошибки
+     */
+    private String reservationAlreadyExistsMessage(String causeMessage) {
+        Matcher matcher = RESERVED_ORDER_KEY_PATTERN.matcher(causeMessage);
+        if (!matcher.find()) {
+            return "Запись клиента на это время уже существует";
+        }
+        LocalDateTime dateTime = LocalDateTime.parse(matcher.group(2) + "T" + matcher.group(3));
+        return "Запись клиента c ID " + matcher.group(1) + " на " + DateTimeUtils.formatToDateTimeString(dateTime) +
+                " уже существует";
+    }
+
 }
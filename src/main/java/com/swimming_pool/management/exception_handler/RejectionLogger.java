@@ -0,0 +1,91 @@
+package com.swimming_pool.management.exception_handler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Логирование отклонённых запросов (ошибок клиента) с ограничением частоты.
+ * <p>Для каждого кода ошибки {@link ErrorCode} в течение интервала логируется только первый отказ с его сообщением,
+ * остальные подсчитываются и выводятся одной сводкой по кодам ошибок в конце интервала
+ */
+@Component
+public class RejectionLogger {
+
+    /**
+     * Логгер отклонённых запросов
+     */
+    private static final Logger log = LoggerFactory.getLogger(RejectionLogger.class);
+
+    /**
+     * Интервал, в течение которого для кода ошибки логируется одно сообщение
+     */
+    private final long intervalNanos;
+
+    /**
+     * Количество отказов по кодам ошибок с момента последней сводки
+     */
+    private final Map<ErrorCode, LongAdder> counts = new EnumMap<>(ErrorCode.class);
+
+    /**
+     * Время, начиная с которого по коду ошибки может быть залогировано следующее сообщение
+     */
+    private final Map<ErrorCode, AtomicLong> nextLogTimes = new EnumMap<>(ErrorCode.class);
+
+    /**
+     * Конструктор для инициализации интервала логирования и счётчиков отказов по всем кодам ошибок
+     *
+     * @param interval интервал, в течение которого для кода ошибки логируется одно сообщение
+     */
+    public RejectionLogger(@Value("${rejection-log.interval:PT1M}") Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        long now = System.nanoTime();
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            counts.put(errorCode, new LongAdder());
+            nextLogTimes.put(errorCode, new AtomicLong(now));
+        }
+    }
+
+    /**
+     * Учёт отклонённого запроса
+     *
+     * @param errorCode код ошибки
+     * @param message сообщение об ошибке
+     */
+    public void reject(ErrorCode errorCode, String message) {
+        counts.get(errorCode).increment();
+        AtomicLong nextLogTime = nextLogTimes.get(errorCode);
+        long now = System.nanoTime();
+        long next = nextLogTime.get();
+        if (now - next >= 0 && nextLogTime.compareAndSet(next, now + intervalNanos)) {
+            log.warn("Request rejected ({}): {}", errorCode, message);
+        }
+    }
+
+    /**
+     * Вывод сводки отказов по кодам ошибок за прошедший интервал
+     */
+    @Scheduled(fixedRateString = "${rejection-log.interval:PT1M}", initialDelayString = "${rejection-log.interval:PT1M}")
+    public void logSummary() {
+        StringJoiner summary = new StringJoiner(", ");
+        for (Map.Entry<ErrorCode, LongAdder> entry : counts.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                summary.add(entry.getKey() + "=" + count);
+            }
+        }
+        if (summary.length() > 0) {
+            log.warn("Requests rejected since last summary: {}", summary);
+        }
+    }
+
+}
@@ -1,7 +1,10 @@
 package com.swimming_pool.management.exception_handler;
 
 /**
- * Кастомное исключение для управления ошибками в приложении с привязкой кода {@link ErrorCode}
+ * Кастомное исключение для управления ошибками в приложении с привязкой кода {@link ErrorCode}.
+ * <p>Стек вызовов заполняется только для внутренних ошибок {@link ErrorCode#INTERNAL_SERVER_ERROR}: отказы по правилам
+ * бизнес-логики ожидаемы, а заполнение стека при каждом отказе заметно нагружает процессор при наплыве записей.
+ * Подавленные исключения не накапливаются
  */
 public class SwimmingPoolManagementException extends RuntimeException {
 
@@ -17,7 +20,7 @@ public class SwimmingPoolManagementException extends RuntimeException {
      * @param message текстовое описание ошибки
      */
     public SwimmingPoolManagementException(ErrorCode errorCode, String message) {
-        super(message);
+        super(message, null, false, errorCode == ErrorCode.INTERNAL_SERVER_ERROR);
         this.errorCode = errorCode;
     }
 
@@ -0,0 +1,37 @@
+package com.swimming_pool.management.facade;
+
+import com.swimming_pool.management.cache.HolidaysResponseCache.TaggedBody;
+import com.swimming_pool.management.model.dto.request.HolidayYearDTO;
+import com.swimming_pool.management.model.dto.response.HolidayResponseDTO;
+import com.swimming_pool.management.model.entity.Holiday;
+
+import java.util.List;
+
+/**
+ * Фасад-сервис для управления праздничными днями, используя DTO на основе сущности {@link Holiday}
+ */
+public interface HolidayFacadeService {
+
+    /**
+     * Получение сериализованного ответа со всеми праздничными днями
+     *
+     * @return JSON-тело ответа со списком праздничных дней и его ETag
+     */
+    TaggedBody getAllBody();
+
+    /**
+     * Замена праздничных дней года
+     *
+     * @param holidayYearDTO объект с годом и его праздничными днями
+     * @return список объектов с данными праздничных дней года после замены
+     */
+    List<HolidayResponseDTO> replaceForYear(HolidayYearDTO holidayYearDTO);
+
+    /**
+     * Удаление всех праздничных дней года
+     *
+     * @param year год
+     */
+    void deleteForYear(int year);
+
+}
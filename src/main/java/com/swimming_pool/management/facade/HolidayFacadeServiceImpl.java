@@ -0,0 +1,81 @@
+package com.swimming_pool.management.facade;
+
+import com.swimming_pool.management.cache.HolidaysResponseCache;
+import com.swimming_pool.management.cache.HolidaysResponseCache.TaggedBody;
+import com.swimming_pool.management.mapper.HolidayMapper;
+import com.swimming_pool.management.model.dto.request.HolidayYearDTO;
+import com.swimming_pool.management.model.dto.response.HolidayResponseDTO;
+import com.swimming_pool.management.model.entity.Holiday;
+import com.swimming_pool.management.service.HolidayService;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Реализация фасад-сервиса для управления праздничными днями, используя DTO на основе сущности {@link Holiday}
+ */
+@Service
+public class HolidayFacadeServiceImpl implements HolidayFacadeService {
+
+    /**
+     * Сервис для работы с сущностью праздничного дня
+     */
+    private final HolidayService holidayService;
+
+    /**
+     * Маппер для преобразования между DTO и сущностью праздничного дня
+     */
+    private final HolidayMapper holidayMapper;
+
+    /**
+     * Кэш сериализованного ответа со всеми праздничными днями
+     */
+    private final HolidaysResponseCache holidaysResponseCache;
+
+    /**
+     * Конструктор для инициализации {@link HolidayService}, {@link HolidayMapper} и {@link HolidaysResponseCache}
+     *
+     * @param holidayService сервис для работы с сущностью праздничного дня
+     * @param holidayMapper маппер для преобразования между DTO и сущностью праздничного дня
+     * @param holidaysResponseCache кэш сериализованного ответа со всеми праздничными днями
+     */
+    public HolidayFacadeServiceImpl(HolidayService holidayService, HolidayMapper holidayMapper,
+                                    HolidaysResponseCache holidaysResponseCache) {
+        this.holidayService = holidayService;
+        this.holidayMapper = holidayMapper;
+        this.holidaysResponseCache = holidaysResponseCache;
+    }
+
+    /**
+     * Получение сериализованного ответа со всеми праздничными днями из кэша
+     *
+     * @return JSON-тело ответа со списком праздничных дней и его ETag
+     */
+    @Override
+    public TaggedBody getAllBody() {
+        return holidaysResponseCache.get(() -> holidayMapper.toResponseDTOList(holidayService.getAll()));
+    }
+
+    /**
+     * Замена праздничных дней года
+     *
+     * @param holidayYearDTO объект с годом и его праздничными днями
+     * @return список объектов с данными праздничных дней года после замены
+     */
+    @Override
+    public List<HolidayResponseDTO> replaceForYear(HolidayYearDTO holidayYearDTO) {
+        List<Holiday> holidays = holidayMapper.toEntityList(holidayYearDTO.getHolidays());
+        return holidayMapper.toResponseDTOList(holidayService.replaceForYear(holidayYearDTO.getYear(), holidays));
+    }
+
+    /**
+     * Удаление всех праздничных дней года
+     *
+     * @param year год
+     */
+    @Override
+    public void deleteForYear(int year) {
+        holidayService.deleteForYear(year);
+    }
+
+}
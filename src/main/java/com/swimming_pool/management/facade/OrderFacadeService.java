@@ -1,12 +1,19 @@
 package com.swimming_pool.management.facade;
 
+import com.swimming_pool.management.cache.AvailabilityResponseCache.SerializedBody;
 import com.swimming_pool.management.model.dto.request.MultiHourReservationDTO;
 import com.swimming_pool.management.model.dto.request.OrderCancellationDTO;
 import com.swimming_pool.management.model.dto.request.OrderReservationDTO;
+import com.swimming_pool.management.model.dto.request.RangeCancellationDTO;
+import com.swimming_pool.management.model.dto.request.SeriesCancellationDTO;
+import com.swimming_pool.management.model.dto.request.SeriesReservationDTO;
 import com.swimming_pool.management.model.dto.response.OrderIdResponseDTO;
 import com.swimming_pool.management.model.dto.response.OrderResponseDTO;
+import com.swimming_pool.management.model.dto.response.SeriesResponseDTO;
 import com.swimming_pool.management.model.dto.response.TimeSlotDTO;
+import com.swimming_pool.management.model.dto.response.WindowAvailabilityDTO;
 import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
 
 import java.util.List;
 
@@ -19,17 +26,27 @@ public interface OrderFacadeService {
      * Получение занятых записей на определённую дату
      *
      * @param date дата в виде строки
-     * @return список занятых таймслотов с записями {@link TimeSlotDTO} на указанную дату
+     * @return количество занятых записей по таймслотам на указанную дату
      */
-    List<TimeSlotDTO> getReservedSlotsForDate(String date);
+    DailySlotCounts getReservedSlotsForDate(String date);
 
     /**
-     * Получение доступных записей на определённую дату
+     * Получение доступных записей на определённую дату в виде сериализованного тела ответа
      *
      * @param date дата в виде строки
-     * @return список свободных таймслотов для записи {@link TimeSlotDTO} на указанную дату
+     * @return JSON-тело ответа со списком свободных таймслотов для записи {@link TimeSlotDTO} на указанную дату
+     * и его вариант, сжатый gzip
      */
-    List<TimeSlotDTO> getAvailableSlotsForDate(String date);
+    SerializedBody getAvailableSlotsBodyForDate(String date);
+
+    /**
+     * Получение количества мест, свободных на весь интервал времени
+     *
+     * @param datetime дата и время начала интервала в виде строки
+     * @param minutes длительность интервала в минутах
+     * @return объект с интервалом и количеством клиентов, которые могут записаться на весь интервал
+     */
+    WindowAvailabilityDTO getAvailableForWindow(String datetime, Integer minutes);
 
     /**
      * Получение записей клиента по его ФИО
@@ -51,17 +68,20 @@ public interface OrderFacadeService {
      * Добавление записи на определённые дату и время
      *
      * @param orderReservationDTO объект с данными для добавления записи
+     * @param idempotencyKey ключ идемпотентности запроса, может отсутствовать
      * @return объект с идентификатором добавленной записи
      */
-    OrderIdResponseDTO reserve(OrderReservationDTO orderReservationDTO);
+    OrderIdResponseDTO reserve(OrderReservationDTO orderReservationDTO, String idempotencyKey);
 
     /**
      * Добавление записей с определённых даты и времени на несколько часов подряд
      *
      * @param multiHourReservationDTO объект с данными для добавления записей на несколько часов подряд
+     * @param idempotencyKey ключ идемпотентности запроса, может отсутствовать
      * @return список объектов с идентификаторами добавленных записей.
      */
-    List<OrderIdResponseDTO> reserveForMultiHours(MultiHourReservationDTO multiHourReservationDTO);
+    List<OrderIdResponseDTO> reserveForMultiHours(MultiHourReservationDTO multiHourReservationDTO,
+                                                  String idempotencyKey);
 
     /**
      * Отмена записи клиента на определённые дату и время
@@ -70,4 +90,27 @@ public interface OrderFacadeService {
      */
     void cancelReservation(OrderCancellationDTO orderCancellationDTO);
 
+    /**
+     * Добавление серии регулярных записей по дням недели и времени на несколько недель
+     *
+     * @param seriesReservationDTO объект с данными для добавления серии регулярных записей
+     * @return объект с идентификатором серии и добавленными записями серии
+     */
+    SeriesResponseDTO reserveSeries(SeriesReservationDTO seriesReservationDTO);
+
+    /**
+     * Отмена серии регулярных записей клиента
+     *
+     * @param seriesCancellationDTO объект с данными о клиенте и серии записей
+     */
+    void cancelSeries(SeriesCancellationDTO seriesCancellationDTO);
+
+    /**
+     * Отмена всех записей по интервалу дат с временами (например, при закрытии бассейна)
+     *
+     * @param rangeCancellationDTO объект с интервалом дат с временами
+     * @return список объектов с идентификаторами отменённых записей
+     */
+    List<OrderIdResponseDTO> cancelReservationsInRange(RangeCancellationDTO rangeCancellationDTO);
+
 }
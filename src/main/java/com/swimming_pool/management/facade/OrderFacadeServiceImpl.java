@@ -1,20 +1,34 @@
 package com.swimming_pool.management.facade;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.swimming_pool.management.cache.AvailabilityResponseCache;
+import com.swimming_pool.management.cache.AvailabilityResponseCache.SerializedBody;
+import com.swimming_pool.management.cache.SingleFlight;
 import com.swimming_pool.management.mapper.OrderMapper;
 import com.swimming_pool.management.model.dto.request.MultiHourReservationDTO;
 import com.swimming_pool.management.model.dto.request.OrderCancellationDTO;
 import com.swimming_pool.management.model.dto.request.OrderReservationDTO;
+import com.swimming_pool.management.model.dto.request.RangeCancellationDTO;
+import com.swimming_pool.management.model.dto.request.SeriesCancellationDTO;
+import com.swimming_pool.management.model.dto.request.SeriesReservationDTO;
 import com.swimming_pool.management.model.dto.response.OrderIdResponseDTO;
 import com.swimming_pool.management.model.dto.response.OrderResponseDTO;
-import com.swimming_pool.management.model.dto.response.TimeSlotDTO;
+import com.swimming_pool.management.model.dto.response.SeriesResponseDTO;
+import com.swimming_pool.management.model.dto.response.WindowAvailabilityDTO;
 import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
+import com.swimming_pool.management.occupancy.ReservationProcessor;
+import com.swimming_pool.management.service.IdempotencyService;
 import com.swimming_pool.management.service.OrderService;
 import com.swimming_pool.management.util.DateTimeUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalTime;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Реализация фасад-сервиса для управления записями клиентов на бассейн, используя DTO на основе сущности {@link Order}
@@ -33,42 +47,92 @@ public class OrderFacadeServiceImpl implements OrderFacadeService {
     private final OrderMapper orderMapper;
 
     /**
-     * Конструктор для инициализации {@link OrderService} и {@link OrderMapper}
+     * Сервис для обработки запросов с ключом идемпотентности
+     */
+    private final IdempotencyService idempotencyService;
+
+    /**
+     * Кэш сериализованных ответов со свободными таймслотами по датам
+     */
+    private final AvailabilityResponseCache availabilityResponseCache;
+
+    /**
+     * Обработчик добавления записей с одним писателем на каждую группу дат
+     */
+    private final ReservationProcessor reservationProcessor;
+
+    /**
+     * Объединение одновременных запросов занятых таймслотов на одну дату
+     */
+    private final SingleFlight<LocalDate, DailySlotCounts> reservedSlotsFlight;
+
+    /**
+     * Конструктор для инициализации {@link OrderService}, {@link OrderMapper}, {@link IdempotencyService},
+     * {@link AvailabilityResponseCache}, {@link ReservationProcessor} и объединения одновременных запросов таймслотов
      *
      * @param orderService сервис для работы с сущностью записи
      * @param orderMapper маппер для преобразования между DTO и сущностью записи
+     * @param idempotencyService сервис для обработки запросов с ключом идемпотентности
+     * @param availabilityResponseCache кэш сериализованных ответов со свободными таймслотами
+     * @param reservationProcessor обработчик добавления записей с одним писателем на каждую группу дат
+     * @param meterRegistry реестр метрик для учёта объединённых запросов
      */
-    public OrderFacadeServiceImpl(OrderService orderService, OrderMapper orderMapper) {
+    public OrderFacadeServiceImpl(OrderService orderService, OrderMapper orderMapper,
+                                  IdempotencyService idempotencyService,
+                                  AvailabilityResponseCache availabilityResponseCache,
+                                  ReservationProcessor reservationProcessor, MeterRegistry meterRegistry) {
         this.orderService = orderService;
         this.orderMapper = orderMapper;
+        this.idempotencyService = idempotencyService;
+        this.availabilityResponseCache = availabilityResponseCache;
+        this.reservationProcessor = reservationProcessor;
+        this.reservedSlotsFlight = new SingleFlight<>("timetable.reserved", meterRegistry);
     }
 
     /**
-     * Получение занятых записей на определённую дату
+     * Получение занятых записей на определённую дату.
+     * <p>Одновременные запросы на одну дату получают результат одного вычисления
      *
      * @param date дата в виде строки
-     * @return список занятых таймслотов с записями {@link TimeSlotDTO} на указанную дату
+     * @return количество занятых записей по таймслотам на указанную дату
      */
     @Override
-    public List<TimeSlotDTO> getReservedSlotsForDate(String date) {
-        Map<LocalTime, Integer> reservedSlotsForDate = orderService.getReservedSlotCountsForDate(
-                DateTimeUtils.parseToLocalDate(date)
-        );
-        return orderMapper.toTimeSlotDTOList(reservedSlotsForDate);
+    public DailySlotCounts getReservedSlotsForDate(String date) {
+        LocalDate localDate = DateTimeUtils.parseToLocalDate(date);
+        return reservedSlotsFlight.execute(localDate, () -> orderService.getReservedSlotCountsForDate(localDate));
     }
 
     /**
-     * Получение доступных записей на определённую дату
+     * Получение доступных записей на определённую дату в виде сериализованного тела ответа.
+     * <p>Тело берётся из {@link AvailabilityResponseCache}, который вычисляет его при отсутствии
      *
      * @param date дата в виде строки
-     * @return список свободных таймслотов для записи {@link TimeSlotDTO} на указанную дату
+     * @return JSON-тело ответа со списком свободных таймслотов для записи {@link TimeSlotDTO} на указанную дату
+     * и его вариант, сжатый gzip
      */
     @Override
-    public List<TimeSlotDTO> getAvailableSlotsForDate(String date) {
-        Map<LocalTime, Integer> availableSlotsForDate = orderService.getAvailableSlotCountsForDate(
-                DateTimeUtils.parseToLocalDate(date)
-        );
-        return orderMapper.toTimeSlotDTOList(availableSlotsForDate);
+    public SerializedBody getAvailableSlotsBodyForDate(String date) {
+        LocalDate localDate = DateTimeUtils.parseToLocalDate(date);
+        return availabilityResponseCache.get(localDate, () -> orderService.getAvailableSlotCountsForDate(localDate));
+    }
+
+    /**
+     * Получение количества мест, свободных на весь интервал времени.
+     * <p>Свободные места на дату интервала берутся из {@link AvailabilityResponseCache}, как и для списка свободных
+     * таймслотов
+     *
+     * @param datetime дата и время начала интервала в виде строки
+     * @param minutes длительность интервала в минутах
+     * @return объект с интервалом и количеством клиентов, которые могут записаться на весь интервал
+     */
+    @Override
+    public WindowAvailabilityDTO getAvailableForWindow(String datetime, Integer minutes) {
+        LocalDateTime startDateTime = DateTimeUtils.parseToLocalDateTime(datetime);
+        LocalDate localDate = startDateTime.toLocalDate();
+        DailySlotCounts availableSlots = availabilityResponseCache.getSlotCounts(localDate,
+                () -> orderService.getAvailableSlotCountsForDate(localDate));
+        int count = orderService.getAvailableCountForWindow(availableSlots, startDateTime, minutes);
+        return orderMapper.toWindowAvailabilityDTO(startDateTime, minutes, count);
     }
 
     /**
@@ -96,32 +160,48 @@ public class OrderFacadeServiceImpl implements OrderFacadeService {
     }
 
     /**
-     * Добавление записи на определённые дату и время
+     * Добавление записи на определённые дату и время.
+     * <p>При включённом {@link ReservationProcessor} запись добавляется писателем её даты
      *
      * @param orderReservationDTO объект с данными для добавления записи
+     * @param idempotencyKey ключ идемпотентности запроса, может отсутствовать
      * @return объект с идентификатором добавленной записи
      */
     @Override
-    public OrderIdResponseDTO reserve(OrderReservationDTO orderReservationDTO) {
-        Long clientId = orderReservationDTO.getClientId();
-        Order newOrder = orderMapper.toEntity(orderReservationDTO);
-        Order createdOrder = orderService.reserve(newOrder, clientId);
-        return orderMapper.toOrderIdResponseDTO(createdOrder);
+    public OrderIdResponseDTO reserve(OrderReservationDTO orderReservationDTO, String idempotencyKey) {
+        return idempotencyService.execute("reserve", idempotencyKey, orderReservationDTO,
+                new TypeReference<>() {
+                },
+                () -> {
+                    Long clientId = orderReservationDTO.getClientId();
+                    Order newOrder = orderMapper.toEntity(orderReservationDTO);
+                    Order createdOrder = reservationProcessor.isEnabled()
+                            ? orderService.reserveWithProcessor(newOrder, clientId)
+                            : orderService.reserve(newOrder, clientId);
+                    return orderMapper.toOrderIdResponseDTO(createdOrder);
+                });
     }
 
     /**
      * Добавление записей с определённых даты и времени на несколько часов подряд
      *
      * @param multiHourReservationDTO объект с данными для добавления записей на несколько часов подряд
+     * @param idempotencyKey ключ идемпотентности запроса, может отсутствовать
      * @return список объектов с идентификаторами добавленных записей.
      */
     @Override
-    public List<OrderIdResponseDTO> reserveForMultiHours(MultiHourReservationDTO multiHourReservationDTO) {
-        Long clientId = multiHourReservationDTO.getClientId();
-        Integer hourCount = multiHourReservationDTO.getHourCount();
-        Order newOrder = orderMapper.toEntity(multiHourReservationDTO);
-        List<Order> createdOrders = orderService.reserveForMultiHours(newOrder, clientId, hourCount);
-        return orderMapper.toOrderIdResponseDTOList(createdOrders);
+    public List<OrderIdResponseDTO> reserveForMultiHours(MultiHourReservationDTO multiHourReservationDTO,
+                                                         String idempotencyKey) {
+        return idempotencyService.execute("reserve-multi-hour", idempotencyKey, multiHourReservationDTO,
+                new TypeReference<>() {
+                },
+                () -> {
+                    Long clientId = multiHourReservationDTO.getClientId();
+                    Integer hourCount = multiHourReservationDTO.getHourCount();
+                    Order newOrder = orderMapper.toEntity(multiHourReservationDTO);
+                    List<Order> createdOrders = orderService.reserveForMultiHours(newOrder, clientId, hourCount);
+                    return orderMapper.toOrderIdResponseDTOList(createdOrders);
+                });
     }
 
     /**
@@ -136,4 +216,45 @@ public class OrderFacadeServiceImpl implements OrderFacadeService {
         orderService.cancelReservation(clientId, orderId);
     }
 
+    /**
+     * Добавление серии регулярных записей по дням недели и времени на несколько недель
+     *
+     * @param seriesReservationDTO объект с данными для добавления серии регулярных записей
+     * @return объект с идентификатором серии и добавленными записями серии
+     */
+    @Override
+    public SeriesResponseDTO reserveSeries(SeriesReservationDTO seriesReservationDTO) {
+        Long clientId = seriesReservationDTO.getClientId();
+        ReservationSeries newSeries = orderMapper.toEntity(seriesReservationDTO);
+        List<Order> createdOrders = orderService.reserveSeries(newSeries, clientId);
+        return orderMapper.toSeriesResponseDTO(newSeries, createdOrders);
+    }
+
+    /**
+     * Отмена серии регулярных записей клиента
+     *
+     * @param seriesCancellationDTO объект с данными о клиенте и серии записей
+     */
+    @Override
+    public void cancelSeries(SeriesCancellationDTO seriesCancellationDTO) {
+        Long clientId = seriesCancellationDTO.getClientId();
+        Long seriesId = Long.valueOf(seriesCancellationDTO.getSeriesId());
+        orderService.cancelSeries(clientId, seriesId);
+    }
+
+    /**
+     * Отмена всех записей по интервалу дат с временами (например, при закрытии бассейна)
+     *
+     * @param rangeCancellationDTO объект с интервалом дат с временами
+     * @return список объектов с идентификаторами отменённых записей
+     */
+    @Override
+    public List<OrderIdResponseDTO> cancelReservationsInRange(RangeCancellationDTO rangeCancellationDTO) {
+        List<OrderSlot> cancelledOrders = orderService.cancelReservationsInRange(
+                DateTimeUtils.parseToLocalDateTime(rangeCancellationDTO.getStartDatetime()),
+                DateTimeUtils.parseToLocalDateTime(rangeCancellationDTO.getEndDatetime())
+        );
+        return orderMapper.toOrderIdResponseDTOListFromSlots(cancelledOrders);
+    }
+
 }
@@ -0,0 +1,38 @@
+package com.swimming_pool.management.facade;
+
+import com.swimming_pool.management.model.dto.request.ScheduleOverrideDTO;
+import com.swimming_pool.management.model.dto.response.ScheduleOverrideResponseDTO;
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+
+import java.util.List;
+
+/**
+ * Фасад-сервис для управления особыми графиками, используя DTO на основе сущности {@link ScheduleOverride}
+ */
+public interface ScheduleOverrideFacadeService {
+
+    /**
+     * Получение особых графиков по интервалу дат
+     *
+     * @param startDate начальная дата интервала в виде строки
+     * @param endDate конечная дата интервала (включительно) в виде строки
+     * @return список объектов с данными особых графиков
+     */
+    List<ScheduleOverrideResponseDTO> getByDateRange(String startDate, String endDate);
+
+    /**
+     * Добавление особого графика на дату или замена существующего особого графика на эту дату
+     *
+     * @param scheduleOverrideDTO объект с данными особого графика
+     * @return объект с данными сохранённого особого графика
+     */
+    ScheduleOverrideResponseDTO save(ScheduleOverrideDTO scheduleOverrideDTO);
+
+    /**
+     * Удаление особого графика на дату
+     *
+     * @param date дата особого графика в виде строки
+     */
+    void delete(String date);
+
+}
@@ -0,0 +1,79 @@
+package com.swimming_pool.management.facade;
+
+import com.swimming_pool.management.mapper.ScheduleOverrideMapper;
+import com.swimming_pool.management.model.dto.request.ScheduleOverrideDTO;
+import com.swimming_pool.management.model.dto.response.ScheduleOverrideResponseDTO;
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+import com.swimming_pool.management.service.ScheduleOverrideService;
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Реализация фасад-сервиса для управления особыми графиками, используя DTO на основе сущности
+ * {@link ScheduleOverride}
+ */
+@Service
+public class ScheduleOverrideFacadeServiceImpl implements ScheduleOverrideFacadeService {
+
+    /**
+     * Сервис для работы с сущностью особого графика
+     */
+    private final ScheduleOverrideService scheduleOverrideService;
+
+    /**
+     * Маппер для преобразования между DTO и сущностью особого графика
+     */
+    private final ScheduleOverrideMapper scheduleOverrideMapper;
+
+    /**
+     * Конструктор для инициализации {@link ScheduleOverrideService} и {@link ScheduleOverrideMapper}
+     *
+     * @param scheduleOverrideService сервис для работы с сущностью особого графика
+     * @param scheduleOverrideMapper маппер для преобразования между DTO и сущностью особого графика
+     */
+    public ScheduleOverrideFacadeServiceImpl(ScheduleOverrideService scheduleOverrideService,
+                                             ScheduleOverrideMapper scheduleOverrideMapper) {
+        this.scheduleOverrideService = scheduleOverrideService;
+        this.scheduleOverrideMapper = scheduleOverrideMapper;
+    }
+
+    /**
+     * Получение особых графиков по интервалу дат
+     *
+     * @param startDate начальная дата интервала в виде строки
+     * @param endDate конечная дата интервала (включительно) в виде строки
+     * @return список объектов с данными особых графиков
+     */
+    @Override
+    public List<ScheduleOverrideResponseDTO> getByDateRange(String startDate, String endDate) {
+        return scheduleOverrideMapper.toResponseDTOList(scheduleOverrideService.getByDateRange(
+                DateTimeUtils.parseToLocalDate(startDate),
+                DateTimeUtils.parseToLocalDate(endDate)
+        ));
+    }
+
+    /**
+     * Добавление особого графика на дату или замена существующего особого графика на эту дату
+     *
+     * @param scheduleOverrideDTO объект с данными особого графика
+     * @return объект с данными сохранённого особого графика
+     */
+    @Override
+    public ScheduleOverrideResponseDTO save(ScheduleOverrideDTO scheduleOverrideDTO) {
+        ScheduleOverride override = scheduleOverrideMapper.toEntity(scheduleOverrideDTO);
+        return scheduleOverrideMapper.toResponseDTO(scheduleOverrideService.save(override));
+    }
+
+    /**
+     * Удаление особого графика на дату
+     *
+     * @param date дата особого графика в виде строки
+     */
+    @Override
+    public void delete(String date) {
+        scheduleOverrideService.delete(DateTimeUtils.parseToLocalDate(date));
+    }
+
+}
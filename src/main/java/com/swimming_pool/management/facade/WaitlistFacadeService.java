@@ -0,0 +1,36 @@
+package com.swimming_pool.management.facade;
+
+import com.swimming_pool.management.model.dto.request.WaitlistJoinDTO;
+import com.swimming_pool.management.model.dto.request.WaitlistLeaveDTO;
+import com.swimming_pool.management.model.dto.response.WaitlistEntryResponseDTO;
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+
+/**
+ * Фасад-сервис для управления листом ожидания, используя DTO на основе сущности {@link WaitlistEntry}
+ */
+public interface WaitlistFacadeService {
+
+    /**
+     * Добавление клиента в лист ожидания заполненного таймслота
+     *
+     * @param waitlistJoinDTO объект с данными для добавления в лист ожидания
+     * @return объект с данными о добавленной заявке и её позиции в очереди
+     */
+    WaitlistEntryResponseDTO join(WaitlistJoinDTO waitlistJoinDTO);
+
+    /**
+     * Получение заявки в листе ожидания с её текущей позицией в очереди
+     *
+     * @param entryId идентификатор заявки в виде строки
+     * @return объект с данными о заявке и её позиции в очереди
+     */
+    WaitlistEntryResponseDTO getPosition(String entryId);
+
+    /**
+     * Выход клиента из листа ожидания
+     *
+     * @param waitlistLeaveDTO объект с данными о клиенте и заявке
+     */
+    void leave(WaitlistLeaveDTO waitlistLeaveDTO);
+
+}
@@ -0,0 +1,73 @@
+package com.swimming_pool.management.facade;
+
+import com.swimming_pool.management.mapper.WaitlistMapper;
+import com.swimming_pool.management.model.dto.request.WaitlistJoinDTO;
+import com.swimming_pool.management.model.dto.request.WaitlistLeaveDTO;
+import com.swimming_pool.management.model.dto.response.WaitlistEntryResponseDTO;
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+import com.swimming_pool.management.service.WaitlistService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Реализация фасад-сервиса для управления листом ожидания, используя DTO на основе сущности {@link WaitlistEntry}
+ */
+@Service
+public class WaitlistFacadeServiceImpl implements WaitlistFacadeService {
+
+    /**
+     * Сервис для работы с сущностью заявки в листе ожидания
+     */
+    private final WaitlistService waitlistService;
+
+    /**
+     * Маппер для преобразования между DTO и сущностью заявки в листе ожидания
+     */
+    private final WaitlistMapper waitlistMapper;
+
+    /**
+     * Конструктор для инициализации {@link WaitlistService} и {@link WaitlistMapper}
+     *
+     * @param waitlistService сервис для работы с сущностью заявки в листе ожидания
+     * @param waitlistMapper маппер для преобразования между DTO и сущностью заявки в листе ожидания
+     */
+    public WaitlistFacadeServiceImpl(WaitlistService waitlistService, WaitlistMapper waitlistMapper) {
+        this.waitlistService = waitlistService;
+        this.waitlistMapper = waitlistMapper;
+    }
+
+    /**
+     * Добавление клиента в лист ожидания заполненного таймслота
+     *
+     * @param waitlistJoinDTO объект с данными для добавления в лист ожидания
+     * @return объект с данными о добавленной заявке и её позиции в очереди
+     */
+    @Override
+    public WaitlistEntryResponseDTO join(WaitlistJoinDTO waitlistJoinDTO) {
+        WaitlistEntry entry = waitlistMapper.toEntity(waitlistJoinDTO);
+        WaitlistEntry savedEntry = waitlistService.join(entry, waitlistJoinDTO.getClientId());
+        return waitlistMapper.toWaitlistEntryResponseDTO(savedEntry, waitlistService.getPosition(savedEntry));
+    }
+
+    /**
+     * Получение заявки в листе ожидания с её текущей позицией в очереди
+     *
+     * @param entryId идентификатор заявки в виде строки
+     * @return объект с данными о заявке и её позиции в очереди
+     */
+    @Override
+    public WaitlistEntryResponseDTO getPosition(String entryId) {
+        WaitlistEntry entry = waitlistService.getById(Long.valueOf(entryId));
+        return waitlistMapper.toWaitlistEntryResponseDTO(entry, waitlistService.getPosition(entry));
+    }
+
+    /**
+     * Выход клиента из листа ожидания
+     *
+     * @param waitlistLeaveDTO объект с данными о клиенте и заявке
+     */
+    @Override
+    public void leave(WaitlistLeaveDTO waitlistLeaveDTO) {
+        waitlistService.leave(waitlistLeaveDTO.getClientId(), Long.valueOf(waitlistLeaveDTO.getEntryId()));
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.swimming_pool.management.mapper;
+
+import com.swimming_pool.management.model.dto.request.HolidayDTO;
+import com.swimming_pool.management.model.dto.response.HolidayResponseDTO;
+import com.swimming_pool.management.model.entity.Holiday;
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * Маппер для преобразований между сущностью {@link Holiday} и связанных с ним DTO
+ */
+@Mapper(componentModel = "spring", imports = DateTimeUtils.class)
+public interface HolidayMapper {
+
+    /**
+     * Маппинг DTO праздничного дня в сущность
+     *
+     * @param holidayDTO DTO праздничного дня
+     * @return сущность праздничного дня
+     */
+    @Mapping(target = "date", expression = "java(DateTimeUtils.parseToLocalDate(holidayDTO.getDate()))")
+    Holiday toEntity(HolidayDTO holidayDTO);
+
+    /**
+     * Маппинг из списка DTO праздничных дней в список сущностей
+     *
+     * @param holidayDTOs список DTO праздничных дней
+     * @return список сущностей праздничных дней
+     */
+    List<Holiday> toEntityList(List<HolidayDTO> holidayDTOs);
+
+    /**
+     * Маппинг из сущности в DTO с данными праздничного дня
+     *
+     * @param holiday сущность праздничного дня
+     * @return DTO с данными праздничного дня
+     */
+    @Mapping(target = "date", expression = "java(DateTimeUtils.formatToDateString(holiday.getDate()))")
+    HolidayResponseDTO toResponseDTO(Holiday holiday);
+
+    /**
+     * Маппинг из списка сущностей в список DTO с данными праздничных дней
+     *
+     * @param holidays список сущностей праздничных дней
+     * @return список DTO с данными праздничных дней
+     */
+    List<HolidayResponseDTO> toResponseDTOList(List<Holiday> holidays);
+
+}
@@ -2,18 +2,23 @@ package com.swimming_pool.management.mapper;
 
 import com.swimming_pool.management.model.dto.request.MultiHourReservationDTO;
 import com.swimming_pool.management.model.dto.request.OrderReservationDTO;
+import com.swimming_pool.management.model.dto.request.SeriesReservationDTO;
 import com.swimming_pool.management.model.dto.response.OrderIdResponseDTO;
 import com.swimming_pool.management.model.dto.response.OrderResponseDTO;
+import com.swimming_pool.management.model.dto.response.SeriesResponseDTO;
 import com.swimming_pool.management.model.dto.response.TimeSlotDTO;
+import com.swimming_pool.management.model.dto.response.WindowAvailabilityDTO;
 import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
 import com.swimming_pool.management.util.DateTimeUtils;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Маппер для преобразований между сущностью {@link Order} и связанных с ним DTO
@@ -38,6 +43,23 @@ public interface OrderMapper {
      */
     List<OrderIdResponseDTO> toOrderIdResponseDTOList(List<Order> orders);
 
+    /**
+     * Маппинг из проекции записи в DTO с ID записи
+     *
+     * @param orderSlot проекция записи
+     * @return DTO с ID записи
+     */
+    @Mapping(target = "orderId", source = "orderSlot.id")
+    OrderIdResponseDTO toOrderIdResponseDTO(OrderSlot orderSlot);
+
+    /**
+     * Маппинг из списка проекций записей в список DTO с ID записи
+     *
+     * @param orderSlots список проекций записей
+     * @return список DTO с ID записи
+     */
+    List<OrderIdResponseDTO> toOrderIdResponseDTOListFromSlots(List<OrderSlot> orderSlots);
+
     /**
      * Маппинг из сущности в DTO со всеми данными о записи
      *
@@ -70,22 +92,34 @@ public interface OrderMapper {
     TimeSlotDTO toTimeSlotDTO(String time, int count);
 
     /**
-     * Маппинг в список DTO таймслотов на основе ассоциативного массива, содержащего временные слоты.
-     * <p>Дефолтный метод, собирающий список через маппинг каждого элемента
+     * Маппинг в список DTO таймслотов на основе количества записей по таймслотам дня.
+     * <p>Дефолтный метод, собирающий список через маппинг каждого таймслота. Эндпоинты таймслотов сериализуют
+     * {@link DailySlotCounts} напрямую, без промежуточного списка DTO
      *
-     * @param timeSlots ассоциативный массив, содержащий пары: время и количество записей на это время
+     * @param timeSlots количество записей по таймслотам
      * @return список DTO таймслотов
      */
-    default List<TimeSlotDTO> toTimeSlotDTOList(Map<LocalTime, Integer> timeSlots) {
-        return timeSlots.entrySet().stream()
-                .map(entry -> {
-                            String time = DateTimeUtils.formatToTimeString(entry.getKey());
-                            return toTimeSlotDTO(time, entry.getValue());
-                        }
-                )
-                .collect(Collectors.toList());
+    default List<TimeSlotDTO> toTimeSlotDTOList(DailySlotCounts timeSlots) {
+        List<TimeSlotDTO> timeSlotDTOs = new ArrayList<>(timeSlots.size());
+        timeSlots.forEach((index, count) -> timeSlotDTOs.add(
+                toTimeSlotDTO(DateTimeUtils.formatToTimeString(DailySlotCounts.toTime(index)), count)
+        ));
+        return timeSlotDTOs;
     }
 
+    /**
+     * Маппинг в DTO интервала времени со свободными местами на основе входных данных
+     *
+     * @param datetime дата и время начала интервала
+     * @param minutes длительность интервала в минутах
+     * @param count количество мест, свободных на весь интервал
+     * @return DTO интервала времени
+     */
+    @Mapping(target = "datetime", expression = "java(DateTimeUtils.formatToDateTimeString(datetime))")
+    @Mapping(target = "minutes", source = "minutes")
+    @Mapping(target = "count", source = "count")
+    WindowAvailabilityDTO toWindowAvailabilityDTO(LocalDateTime datetime, int minutes, int count);
+
     /**
      * Маппинг DTO для добавления записи в сущность
      *
@@ -106,4 +140,28 @@ public interface OrderMapper {
             expression = "java(DateTimeUtils.parseToLocalDateTime(multiHourReservationDTO.getInitialDatetime()))")
     Order toEntity(MultiHourReservationDTO multiHourReservationDTO);
 
+    /**
+     * Маппинг DTO добавления серии регулярных записей в сущность серии
+     *
+     * @param seriesReservationDTO DTO для добавления серии регулярных записей
+     * @return сущность серии записей
+     */
+    @Mapping(target = "time", expression = "java(DateTimeUtils.parseToLocalTime(seriesReservationDTO.getTime()))")
+    @Mapping(target = "startDate",
+            expression = "java(DateTimeUtils.parseToLocalDate(seriesReservationDTO.getStartDate()))")
+    @Mapping(target = "endDate", expression = "java(DateTimeUtils.parseToLocalDate(seriesReservationDTO.getStartDate())" +
+            ".plusWeeks(seriesReservationDTO.getWeekCount()).minusDays(1))")
+    ReservationSeries toEntity(SeriesReservationDTO seriesReservationDTO);
+
+    /**
+     * Маппинг сущности серии записей и добавленных записей серии в DTO серии
+     *
+     * @param series сущность серии записей
+     * @param orders список добавленных записей серии
+     * @return DTO серии записей
+     */
+    @Mapping(target = "seriesId", source = "series.id")
+    @Mapping(target = "orders", source = "orders")
+    SeriesResponseDTO toSeriesResponseDTO(ReservationSeries series, List<Order> orders);
+
 }
@@ -0,0 +1,52 @@
+package com.swimming_pool.management.mapper;
+
+import com.swimming_pool.management.model.dto.request.ScheduleOverrideDTO;
+import com.swimming_pool.management.model.dto.response.ScheduleOverrideResponseDTO;
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * Маппер для преобразований между сущностью {@link ScheduleOverride} и связанных с ним DTO
+ */
+@Mapper(componentModel = "spring", imports = DateTimeUtils.class)
+public interface ScheduleOverrideMapper {
+
+    /**
+     * Маппинг DTO особого графика в сущность
+     *
+     * @param scheduleOverrideDTO DTO особого графика
+     * @return сущность особого графика
+     */
+    @Mapping(target = "date", expression = "java(DateTimeUtils.parseToLocalDate(scheduleOverrideDTO.getDate()))")
+    @Mapping(target = "startTime", expression = "java(scheduleOverrideDTO.getStartTime() == null ? null : " +
+            "DateTimeUtils.parseToLocalTime(scheduleOverrideDTO.getStartTime()))")
+    @Mapping(target = "endTime", expression = "java(scheduleOverrideDTO.getEndTime() == null ? null : " +
+            "DateTimeUtils.parseToLocalTime(scheduleOverrideDTO.getEndTime()))")
+    ScheduleOverride toEntity(ScheduleOverrideDTO scheduleOverrideDTO);
+
+    /**
+     * Маппинг из сущности в DTO с данными особого графика
+     *
+     * @param override сущность особого графика
+     * @return DTO с данными особого графика
+     */
+    @Mapping(target = "date", expression = "java(DateTimeUtils.formatToDateString(override.getDate()))")
+    @Mapping(target = "startTime", expression = "java(override.getStartTime() == null ? null : " +
+            "DateTimeUtils.formatToTimeString(override.getStartTime()))")
+    @Mapping(target = "endTime", expression = "java(override.getEndTime() == null ? null : " +
+            "DateTimeUtils.formatToTimeString(override.getEndTime()))")
+    ScheduleOverrideResponseDTO toResponseDTO(ScheduleOverride override);
+
+    /**
+     * Маппинг из списка сущностей в список DTO с данными особых графиков
+     *
+     * @param overrides список сущностей особых графиков
+     * @return список DTO с данными особых графиков
+     */
+    List<ScheduleOverrideResponseDTO> toResponseDTOList(List<ScheduleOverride> overrides);
+
+}
@@ -0,0 +1,42 @@
+package com.swimming_pool.management.mapper;
+
+import com.swimming_pool.management.model.dto.request.WaitlistJoinDTO;
+import com.swimming_pool.management.model.dto.response.WaitlistEntryResponseDTO;
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+/**
+ * Маппер для преобразований между сущностью {@link WaitlistEntry} и связанных с ним DTO
+ */
+@Mapper(componentModel = "spring", imports = DateTimeUtils.class)
+public interface WaitlistMapper {
+
+    /**
+     * Маппинг DTO для добавления в лист ожидания в сущность
+     *
+     * @param waitlistJoinDTO DTO для добавления в лист ожидания
+     * @return сущность заявки в листе ожидания
+     */
+    @Mapping(target = "dateTime",
+            expression = "java(DateTimeUtils.parseToLocalDateTime(waitlistJoinDTO.getDatetime()))")
+    WaitlistEntry toEntity(WaitlistJoinDTO waitlistJoinDTO);
+
+    /**
+     * Маппинг из сущности и позиции в очереди в DTO с данными о заявке в листе ожидания
+     *
+     * @param entry сущность заявки в листе ожидания
+     * @param position позиция заявки в очереди ожидания
+     * @return DTO с данными о заявке в листе ожидания
+     */
+    @Mapping(target = "entryId", source = "entry.id")
+    @Mapping(target = "clientId", source = "entry.client.id")
+    @Mapping(target = "datetime",
+            expression = "java(DateTimeUtils.formatToDateTimeString(entry.getDateTime()))")
+    @Mapping(target = "status", source = "entry.status")
+    @Mapping(target = "position", source = "position")
+    @Mapping(target = "orderId", source = "entry.order.id")
+    WaitlistEntryResponseDTO toWaitlistEntryResponseDTO(WaitlistEntry entry, long position);
+
+}
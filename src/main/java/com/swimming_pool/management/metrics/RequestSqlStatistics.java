@@ -0,0 +1,119 @@
+package com.swimming_pool.management.metrics;
+
+/**
+ * Статистика обращений к БД в рамках одного HTTP-запроса.
+ * <p>Привязывается к потоку обработки запроса в {@link SqlStatisticsFilter} и заполняется слушателями Hibernate
+ * {@link SqlStatisticsSessionEventListener} и {@link SqlStatisticsInterceptor}. Вне запроса статистика
+ * не собирается
+ */
+public final class RequestSqlStatistics {
+
+    /**
+     * Статистика запроса, обрабатываемого текущим потоком
+     */
+    private static final ThreadLocal<RequestSqlStatistics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Количество выполненных SQL-запросов (пакет запросов считается одним)
+     */
+    private int statementCount;
+
+    /**
+     * Количество завершённых транзакций (фиксаций и откатов)
+     */
+    private int transactionCount;
+
+    /**
+     * Количество загруженных из БД сущностей
+     */
+    private int entityLoadCount;
+
+    /**
+     * Суммарное время удержания соединений с БД в наносекундах
+     */
+    private long connectionHoldNanos;
+
+    /**
+     * Момент получения текущего удерживаемого соединения, 0 - если соединение не удерживается
+     */
+    private long connectionAcquiredAt;
+
+    private RequestSqlStatistics() {
+    }
+
+    /**
+     * Начало сбора статистики для запроса, обрабатываемого текущим потоком
+     *
+     * @return статистика запроса
+     */
+    static RequestSqlStatistics start() {
+        RequestSqlStatistics statistics = new RequestSqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Окончание сбора статистики для текущего потока
+     */
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Получение статистики запроса, обрабатываемого текущим потоком
+     *
+     * @return статистика запроса или {@code null}, если поток не обрабатывает HTTP-запрос
+     */
+    static RequestSqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted() {
+        statementCount++;
+    }
+
+    void transactionCompleted() {
+        transactionCount++;
+    }
+
+    void entityLoaded() {
+        entityLoadCount++;
+    }
+
+    void connectionAcquired() {
+        connectionAcquiredAt = System.nanoTime();
+    }
+
+    void connectionReleased() {
+        if (connectionAcquiredAt != 0) {
+            connectionHoldNanos += System.nanoTime() - connectionAcquiredAt;
+            connectionAcquiredAt = 0;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Получение количества обращений к БД по сети: SQL-запросы и завершения транзакций
+     *
+     * @return количество обращений к БД
+     */
+    public int getRoundTripCount() {
+        return statementCount + transactionCount;
+    }
+
+    public int getEntityLoadCount() {
+        return entityLoadCount;
+    }
+
+    public long getConnectionHoldNanos() {
+        return connectionHoldNanos;
+    }
+
+}
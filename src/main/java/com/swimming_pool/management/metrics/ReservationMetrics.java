@@ -0,0 +1,193 @@
+package com.swimming_pool.management.metrics;
+
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.util.DataIntegrityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Метрики этапов добавления записей.
+ * <p>{@code reservation.stage} - таймер каждого этапа с тегами {@code operation}, {@code stage} и {@code outcome}
+ * ({@code passed} / {@code rejected}).
+ * <p>{@code reservation.rejections} - счётчик отказов в добавлении записей с тегами {@code operation}
+ * и {@code reason} - правилом, по которому отказано. Повторная запись клиента на тот же таймслот, отклонённая
+ * уникальным индексом при сохранении, учитывается с правилом этапа {@link Stage#DUPLICATE_CHECK}
+ */
+@Component
+public class ReservationMetrics {
+
+    /**
+     * Название таймера этапов добавления записей
+     */
+    public static final String STAGE_TIMER = "reservation.stage";
+
+    /**
+     * Название счётчика отказов в добавлении записей
+     */
+    public static final String REJECTION_COUNTER = "reservation.rejections";
+
+    /**
+     * Таймеры успешно пройденных этапов по операции и этапу
+     */
+    private final Timer[][] passedTimers;
+
+    /**
+     * Таймеры этапов, завершившихся отказом, по операции и этапу
+     */
+    private final Timer[][] rejectedTimers;
+
+    /**
+     * Счётчики отказов по операции и этапу
+     */
+    private final Counter[][] rejectionCounters;
+
+    /**
+     * Реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Конструктор для регистрации таймеров и счётчиков всех операций и этапов
+     *
+     * @param meterRegistry реестр метрик
+     */
+    public ReservationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Operation[] operations = Operation.values();
+        Stage[] stages = Stage.values();
+        passedTimers = new Timer[operations.length][stages.length];
+        rejectedTimers = new Timer[operations.length][stages.length];
+        rejectionCounters = new Counter[operations.length][stages.length];
+        for (Operation operation : operations) {
+            for (Stage stage : stages) {
+                passedTimers[operation.ordinal()][stage.ordinal()] = stageTimer(operation, stage, "passed");
+                rejectedTimers[operation.ordinal()][stage.ordinal()] = stageTimer(operation, stage, "rejected");
+                rejectionCounters[operation.ordinal()][stage.ordinal()] = Counter.builder(REJECTION_COUNTER)
+                        .description("Отказы в добавлении записей по правилам")
+                        .tag("operation", operation.tag)
+                        .tag("reason", stage.rejectionReason)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Выполнение этапа добавления записей с замером времени и учётом отказа.
+     * <p>Отказом считаются исключение приложения и нарушение ограничения целостности БД при сохранении записей.
+     * Нарушение уникального индекса занятых записей клиента учитывается как отказ по правилу повторной записи
+     *
+     * @param operation операция добавления записей
+     * @param stage этап
+     * @param action действие этапа
+     * @param <T> тип результата этапа
+     * @return результат этапа
+     */
+    public <T> T record(Operation operation, Stage stage, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = action.get();
+            sample.stop(passedTimers[operation.ordinal()][stage.ordinal()]);
+            return result;
+        } catch (SwimmingPoolManagementException ex) {
+            sample.stop(rejectedTimers[operation.ordinal()][stage.ordinal()]);
+            rejectionCounters[operation.ordinal()][stage.ordinal()].increment();
+            throw ex;
+        } catch (DataIntegrityViolationException ex) {
+            sample.stop(rejectedTimers[operation.ordinal()][stage.ordinal()]);
+            Stage rejectionStage = DataIntegrityUtils.isReservedOrderDuplicate(ex) ? Stage.DUPLICATE_CHECK : stage;
+            rejectionCounters[operation.ordinal()][rejectionStage.ordinal()].increment();
+            throw ex;
+        }
+    }
+
+    /**
+     * Выполнение этапа добавления записей без результата с замером времени и учётом отказа
+     *
+     * @param operation операция добавления записей
+     * @param stage этап
+     * @param action действие этапа
+     */
+    public void record(Operation operation, Stage stage, Runnable action) {
+        record(operation, stage, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Регистрация таймера этапа с гистограммой для расчёта перцентилей в диапазоне от 1 мс до 5 с
+     *
+     * @param operation операция добавления записей
+     * @param stage этап
+     * @param outcome результат этапа
+     * @return таймер этапа
+     */
+    private Timer stageTimer(Operation operation, Stage stage, String outcome) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Время выполнения этапов добавления записей")
+                .tag("operation", operation.tag)
+                .tag("stage", stage.tag)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Перечисление операций добавления записей
+     */
+    public enum Operation {
+
+        RESERVE("reserve"),
+        RESERVE_MULTI_HOUR("reserve_multi_hour");
+
+        /**
+         * Значение тега метрики
+         */
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+
+    }
+
+    /**
+     * Перечисление этапов добавления записей с правилом, по которому этап отказывает в добавлении
+     */
+    public enum Stage {
+
+        CLIENT_LOOKUP("client_lookup", "client_not_found"),
+        DATETIME_RANGE_CHECK("datetime_range_check", "datetime_out_of_range"),
+        SCHEDULE_CHECK("schedule_check", "outside_work_hours"),
+        DAILY_LIMIT_CHECK("daily_limit_check", "daily_limit_exceeded"),
+        DUPLICATE_CHECK("duplicate_check", "already_reserved"),
+        HOURLY_LIMIT_CHECK("hourly_limit_check", "hourly_limit_exceeded"),
+        LANE_ALLOCATION("lane_allocation", "no_free_lane"),
+        INSERT("insert", "insert_failed");
+
+        /**
+         * Значение тега этапа
+         */
+        private final String tag;
+
+        /**
+         * Значение тега правила, по которому этап отказывает в добавлении
+         */
+        private final String rejectionReason;
+
+        Stage(String tag, String rejectionReason) {
+            this.tag = tag;
+            this.rejectionReason = rejectionReason;
+        }
+
+    }
+
+}
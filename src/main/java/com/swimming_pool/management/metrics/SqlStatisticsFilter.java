@@ -0,0 +1,130 @@
+package com.swimming_pool.management.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Фильтр, собирающий статистику обращений к БД {@link RequestSqlStatistics} для каждого HTTP-запроса.
+ * <p>Статистика публикуется в метриках по эндпоинтам ({@code sql.statements}, {@code sql.entity.loads},
+ * {@code jdbc.connection.hold}) и, если включено свойством {@code sql-statistics.response-headers.enabled},
+ * в отладочных заголовках ответа {@code X-Sql-Statements}, {@code X-Sql-Transactions}, {@code X-Sql-Entity-Loads}
+ * и {@code X-Sql-Connection-Hold-Ms}
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    /**
+     * Заголовок ответа с количеством выполненных SQL-запросов
+     */
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+
+    /**
+     * Заголовок ответа с количеством завершённых транзакций
+     */
+    public static final String TRANSACTIONS_HEADER = "X-Sql-Transactions";
+
+    /**
+     * Заголовок ответа с количеством загруженных сущностей
+     */
+    public static final String ENTITY_LOADS_HEADER = "X-Sql-Entity-Loads";
+
+    /**
+     * Заголовок ответа со временем удержания соединений с БД в миллисекундах
+     */
+    public static final String CONNECTION_HOLD_HEADER = "X-Sql-Connection-Hold-Ms";
+
+    /**
+     * Реестр метрик
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Признак добавления отладочных заголовков со статистикой в ответ
+     */
+    private final boolean responseHeadersEnabled;
+
+    /**
+     * Конструктор для инициализации {@link MeterRegistry} и настройки отладочных заголовков
+     *
+     * @param meterRegistry реестр метрик
+     * @param responseHeadersEnabled признак добавления отладочных заголовков со статистикой в ответ
+     */
+    public SqlStatisticsFilter(MeterRegistry meterRegistry,
+                               @Value("${sql-statistics.response-headers.enabled:false}")
+                               boolean responseHeadersEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeadersEnabled = responseHeadersEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        // Тело ответа буферизуется, чтобы заголовки можно было добавить после обработки запроса
+        ContentCachingResponseWrapper cachingResponse = responseHeadersEnabled
+                ? new ContentCachingResponseWrapper(response)
+                : null;
+        RequestSqlStatistics statistics = RequestSqlStatistics.start();
+        try {
+            filterChain.doFilter(request, cachingResponse != null ? cachingResponse : response);
+        } finally {
+            RequestSqlStatistics.stop();
+            record(request, statistics);
+            if (cachingResponse != null) {
+                cachingResponse.setHeader(STATEMENTS_HEADER, String.valueOf(statistics.getStatementCount()));
+                cachingResponse.setHeader(TRANSACTIONS_HEADER, String.valueOf(statistics.getTransactionCount()));
+                cachingResponse.setHeader(ENTITY_LOADS_HEADER, String.valueOf(statistics.getEntityLoadCount()));
+                cachingResponse.setHeader(CONNECTION_HOLD_HEADER,
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(statistics.getConnectionHoldNanos())));
+                cachingResponse.copyBodyToResponse();
+            }
+        }
+    }
+
+    /**
+     * Публикация статистики запроса в метриках с тегами метода и шаблона пути эндпоинта
+     *
+     * @param request HTTP-запрос
+     * @param statistics статистика обращений к БД в рамках запроса
+     */
+    private void record(@NonNull HttpServletRequest request, @NonNull RequestSqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        DistributionSummary.builder("sql.statements")
+                .description("Количество SQL-запросов на HTTP-запрос")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getStatementCount());
+        DistributionSummary.builder("sql.entity.loads")
+                .description("Количество загруженных сущностей на HTTP-запрос")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getEntityLoadCount());
+        Timer.builder("jdbc.connection.hold")
+                .description("Время удержания соединений с БД на HTTP-запрос")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getConnectionHoldNanos(), TimeUnit.NANOSECONDS);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.swimming_pool.management.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Перехватчик Hibernate, считающий загруженные из БД сущности в {@link RequestSqlStatistics}
+ */
+public class SqlStatisticsInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.entityLoaded();
+        }
+        return false;
+    }
+
+}
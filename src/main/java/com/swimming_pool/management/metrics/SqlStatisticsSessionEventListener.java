@@ -0,0 +1,52 @@
+package com.swimming_pool.management.metrics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Слушатель событий сессии Hibernate, считающий выполненные SQL-запросы, завершённые транзакции и время удержания
+ * соединений с БД в {@link RequestSqlStatistics}.
+ * <p>Создаётся Hibernate для каждой сессии, поэтому должен иметь конструктор без параметров
+ */
+public class SqlStatisticsSessionEventListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.statementExecuted();
+        }
+    }
+
+    @Override
+    public void transactionCompletion(boolean successful) {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.transactionCompleted();
+        }
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.connectionAcquired();
+        }
+    }
+
+    @Override
+    public void jdbcConnectionReleaseStart() {
+        RequestSqlStatistics statistics = RequestSqlStatistics.current();
+        if (statistics != null) {
+            statistics.connectionReleased();
+        }
+    }
+
+}
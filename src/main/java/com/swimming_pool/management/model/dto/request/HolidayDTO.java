@@ -0,0 +1,47 @@
+package com.swimming_pool.management.model.dto.request;
+
+import com.swimming_pool.management.model.entity.Holiday;
+import com.swimming_pool.management.util.DateTimeUtils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO для добавления сущности праздничного дня {@link Holiday}
+ */
+@Schema(description = "Данные праздничного дня")
+public class HolidayDTO {
+
+    /**
+     * Дата праздничного дня
+     */
+    @NotBlank(message = "Не введена дата праздничного дня")
+    @Pattern(regexp = DateTimeUtils.DATE_REGEXP, message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+    @Schema(description = "Дата праздничного дня", example = "01.01.2025")
+    private String date;
+
+    /**
+     * Описание праздничного дня
+     */
+    @Size(max = 255, message = "Длина описания праздничного дня должна быть не больше 255 символов")
+    @Schema(description = "Описание праздничного дня", example = "Новый год")
+    private String description;
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.swimming_pool.management.model.dto.request;
+
+import com.swimming_pool.management.model.entity.Holiday;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO для замены сущностей праздничных дней {@link Holiday} за год
+ */
+@Schema(description = "Праздничные дни года, заменяющие все праздничные дни этого года")
+public class HolidayYearDTO {
+
+    /**
+     * Год
+     */
+    @NotNull(message = "Не введён год праздничных дней")
+    @Min(value = 2000, message = "Год праздничных дней должен быть от 2000 до 2100")
+    @Max(value = 2100, message = "Год праздничных дней должен быть от 2000 до 2100")
+    @Schema(description = "Год праздничных дней", example = "2025")
+    private Integer year;
+
+    /**
+     * Праздничные дни года
+     */
+    @NotNull(message = "Не введены праздничные дни года")
+    @Size(max = 366, message = "Праздничных дней в году не может быть больше 366")
+    @ArraySchema(schema = @Schema(implementation = HolidayDTO.class))
+    private List<@Valid HolidayDTO> holidays;
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public List<HolidayDTO> getHolidays() {
+        return holidays;
+    }
+
+    public void setHolidays(List<HolidayDTO> holidays) {
+        this.holidays = holidays;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.swimming_pool.management.model.dto.request;
+
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.util.DateTimeUtils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * DTO для отмены всех записей {@link Order} по интервалу дат с временами
+ */
+@Schema(description = "Интервал дат с временами для отмены всех записей (например, при закрытии бассейна)")
+public class RangeCancellationDTO {
+
+    /**
+     * Дата и время начала интервала (включительно)
+     */
+    @NotBlank(message = "Не введены дата и время начала интервала")
+    @Pattern(regexp = DateTimeUtils.DATETIME_REGEXP, message = "Некорректные дата и время начала интервала")
+    @Schema(description = "Дата и время начала интервала (включительно)", example = "21.12.2024 12:00")
+    private String startDatetime;
+
+    /**
+     * Дата и время окончания интервала (не включительно)
+     */
+    @NotBlank(message = "Не введены дата и время окончания интервала")
+    @Pattern(regexp = DateTimeUtils.DATETIME_REGEXP, message = "Некорректные дата и время окончания интервала")
+    @Schema(description = "Дата и время окончания интервала (не включительно)", example = "21.12.2024 16:00")
+    private String endDatetime;
+
+    public String getStartDatetime() {
+        return startDatetime;
+    }
+
+    public void setStartDatetime(String startDatetime) {
+        this.startDatetime = startDatetime;
+    }
+
+    public String getEndDatetime() {
+        return endDatetime;
+    }
+
+    public void setEndDatetime(String endDatetime) {
+        this.endDatetime = endDatetime;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.swimming_pool.management.model.dto.request;
+
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+import com.swimming_pool.management.util.DateTimeUtils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO для добавления или замены сущности особого графика {@link ScheduleOverride}
+ */
+@Schema(description = "Данные особого графика на дату, незаполненные поля берутся из основного графика")
+public class ScheduleOverrideDTO {
+
+    /**
+     * Дата особого графика
+     */
+    @NotBlank(message = "Не введена дата особого графика")
+    @Pattern(regexp = DateTimeUtils.DATE_REGEXP, message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+    @Schema(description = "Дата особого графика", example = "30.12.2024")
+    private String date;
+
+    /**
+     * Начало рабочего дня
+     */
+    @Pattern(regexp = DateTimeUtils.TIME_REGEXP, message = "Некорректно введено начало рабочего дня")
+    @Schema(description = "Начало рабочего дня", example = "10:00")
+    private String startTime;
+
+    /**
+     * Конец рабочего дня
+     */
+    @Pattern(regexp = DateTimeUtils.TIME_REGEXP, message = "Некорректно введён конец рабочего дня")
+    @Schema(description = "Конец рабочего дня", example = "16:00")
+    private String endTime;
+
+    /**
+     * Лимит записей в час
+     */
+    @Min(value = 0, message = "Лимит записей в час не может быть отрицательным")
+    @Schema(description = "Лимит записей в час, 0 - запись на дату закрыта", example = "5")
+    private Integer limitPerHour;
+
+    /**
+     * Лимит записей в день для клиентов
+     */
+    @Min(value = 1, message = "Лимит записей в день для клиентов должен быть не меньше 1")
+    @Schema(description = "Лимит записей в день для клиентов", example = "1")
+    private Integer dailyLimitPerClients;
+
+    /**
+     * Описание особого графика
+     */
+    @Size(max = 255, message = "Длина описания особого графика должна быть не больше 255 символов")
+    @Schema(description = "Описание особого графика", example = "Соревнования")
+    private String description;
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+    }
+
+    public Integer getLimitPerHour() {
+        return limitPerHour;
+    }
+
+    public void setLimitPerHour(Integer limitPerHour) {
+        this.limitPerHour = limitPerHour;
+    }
+
+    public Integer getDailyLimitPerClients() {
+        return dailyLimitPerClients;
+    }
+
+    public void setDailyLimitPerClients(Integer dailyLimitPerClients) {
+        this.dailyLimitPerClients = dailyLimitPerClients;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+}
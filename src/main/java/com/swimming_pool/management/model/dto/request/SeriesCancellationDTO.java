@@ -0,0 +1,44 @@
+package com.swimming_pool.management.model.dto.request;
+
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO для отмены существующей серии регулярных записей {@link ReservationSeries}
+ */
+@Schema(description = "Данные для отмены серии регулярных записей клиента")
+public class SeriesCancellationDTO {
+
+    /**
+     * Идентификатор клиента
+     */
+    @NotNull(message = "Не введён ID клиента")
+    @Schema(description = "ID клиента", example = "1")
+    private Long clientId;
+
+    /**
+     * Идентификатор серии записей в виде строки
+     */
+    @NotBlank(message = "Не введён ID серии записей")
+    @Schema(description = "ID серии записей", example = "1")
+    private String seriesId;
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.swimming_pool.management.model.dto.request;
+
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import com.swimming_pool.management.util.DateTimeUtils;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+/**
+ * DTO для создания сущности серии регулярных записей {@link ReservationSeries}
+ */
+@Schema(description = "Данные для добавления серии регулярных записей по дням недели")
+public class SeriesReservationDTO {
+
+    /**
+     * Идентификатор клиента
+     */
+    @NotNull(message = "Не введён ID клиента")
+    @Schema(description = "ID клиента", example = "1")
+    private Long clientId;
+
+    /**
+     * Дни недели посещения бассейна
+     */
+    @NotEmpty(message = "Не введены дни недели посещения бассейна")
+    @ArraySchema(schema = @Schema(description = "День недели посещения бассейна", example = "TUESDAY"))
+    private List<DayOfWeek> daysOfWeek;
+
+    /**
+     * Время посещения бассейна
+     */
+    @NotBlank(message = "Не введено время посещения бассейна")
+    @Pattern(regexp = DateTimeUtils.TIME_REGEXP, message = "Некорректно введено время посещения бассейна")
+    @Schema(description = "Время посещения бассейна", example = "18:00")
+    private String time;
+
+    /**
+     * Дата начала серии записей
+     */
+    @NotBlank(message = "Не введена дата начала серии записей")
+    @Pattern(regexp = DateTimeUtils.DATE_REGEXP, message = "Дата должна быть в формате ДД.ММ.ГГГГ")
+    @Schema(description = "Дата начала серии записей", example = "21.12.2024")
+    private String startDate;
+
+    /**
+     * Количество недель серии записей
+     */
+    @NotNull(message = "Не введено количество недель серии записей")
+    @Min(value = 1, message = "Количество недель серии записей должно быть от 1 до 9")
+    @Max(value = 9, message = "Количество недель серии записей должно быть от 1 до 9")
+    @Schema(description = "Количество недель серии записей", example = "8")
+    private Integer weekCount;
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public List<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(List<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public String getTime() {
+        return time;
+    }
+
+    public void setTime(String time) {
+        this.time = time;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public Integer getWeekCount() {
+        return weekCount;
+    }
+
+    public void setWeekCount(Integer weekCount) {
+        this.weekCount = weekCount;
+    }
+
+}
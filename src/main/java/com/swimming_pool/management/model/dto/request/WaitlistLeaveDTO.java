@@ -0,0 +1,44 @@
+package com.swimming_pool.management.model.dto.request;
+
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO для выхода из листа ожидания по заявке {@link WaitlistEntry}
+ */
+@Schema(description = "Данные для выхода клиента из листа ожидания")
+public class WaitlistLeaveDTO {
+
+    /**
+     * Идентификатор клиента
+     */
+    @NotNull(message = "Не введён ID клиента")
+    @Schema(description = "ID клиента", example = "1")
+    private Long clientId;
+
+    /**
+     * Идентификатор заявки в листе ожидания в виде строки
+     */
+    @NotBlank(message = "Не введён ID заявки в листе ожидания")
+    @Schema(description = "ID заявки в листе ожидания", example = "1")
+    private String entryId;
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(String entryId) {
+        this.entryId = entryId;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.swimming_pool.management.model.dto.response;
+
+import com.swimming_pool.management.model.entity.Holiday;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO с данными праздничного дня {@link Holiday}
+ */
+@Schema(description = "Праздничный день")
+public class HolidayResponseDTO {
+
+    @Schema(description = "Дата праздничного дня", example = "01.01.2025")
+    private String date;
+
+    @Schema(description = "Описание праздничного дня", example = "Новый год")
+    private String description;
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.swimming_pool.management.model.dto.response;
+
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO с данными особого графика {@link ScheduleOverride}
+ */
+@Schema(description = "Особый график на дату")
+public class ScheduleOverrideResponseDTO {
+
+    @Schema(description = "Дата особого графика", example = "30.12.2024")
+    private String date;
+
+    @Schema(description = "Начало рабочего дня, null - по основному графику", example = "10:00")
+    private String startTime;
+
+    @Schema(description = "Конец рабочего дня, null - по основному графику", example = "16:00")
+    private String endTime;
+
+    @Schema(description = "Лимит записей в час, null - по основному графику", example = "5")
+    private Integer limitPerHour;
+
+    @Schema(description = "Лимит записей в день для клиентов, null - по основному графику", example = "1")
+    private Integer dailyLimitPerClients;
+
+    @Schema(description = "Описание особого графика", example = "Соревнования")
+    private String description;
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+    }
+
+    public Integer getLimitPerHour() {
+        return limitPerHour;
+    }
+
+    public void setLimitPerHour(Integer limitPerHour) {
+        this.limitPerHour = limitPerHour;
+    }
+
+    public Integer getDailyLimitPerClients() {
+        return dailyLimitPerClients;
+    }
+
+    public void setDailyLimitPerClients(Integer dailyLimitPerClients) {
+        this.dailyLimitPerClients = dailyLimitPerClients;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+}
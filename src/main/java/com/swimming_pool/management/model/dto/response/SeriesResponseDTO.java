@@ -0,0 +1,42 @@
+package com.swimming_pool.management.model.dto.response;
+
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO с идентификатором серии регулярных записей {@link ReservationSeries} и добавленными записями серии
+ */
+@Schema(description = "Серия регулярных записей")
+public class SeriesResponseDTO {
+
+    /**
+     * Идентификатор серии записей в виде строки
+     */
+    @Schema(description = "ID серии записей", example = "1")
+    private String seriesId;
+
+    /**
+     * Добавленные записи серии
+     */
+    @Schema(description = "Добавленные записи серии")
+    private List<OrderResponseDTO> orders;
+
+    public String getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public List<OrderResponseDTO> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<OrderResponseDTO> orders) {
+        this.orders = orders;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.swimming_pool.management.model.dto.response;
+
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+import com.swimming_pool.management.model.enums.WaitlistStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO с информацией о заявке в листе ожидания на основе сущности {@link WaitlistEntry}
+ */
+@Schema(description = "Данные о заявке в листе ожидания")
+public class WaitlistEntryResponseDTO {
+
+    /**
+     * Идентификатор заявки в виде строки
+     */
+    @Schema(description = "ID заявки в листе ожидания", example = "1")
+    private String entryId;
+
+    /**
+     * Идентификатор клиента
+     */
+    @Schema(description = "ID клиента", example = "1")
+    private Long clientId;
+
+    /**
+     * Дата и время посещения бассейна
+     */
+    @Schema(description = "Дата и время посещения бассейна", example = "21.12.2024 12:00")
+    private String datetime;
+
+    /**
+     * Статус заявки
+     */
+    @Schema(description = "Статус заявки", example = "WAITING")
+    private WaitlistStatus status;
+
+    /**
+     * Позиция заявки в очереди ожидания, 0 - если заявка уже не ожидает
+     */
+    @Schema(description = "Позиция в очереди ожидания", example = "1")
+    private Long position;
+
+    /**
+     * Идентификатор записи, в которую продвинута заявка, в виде строки
+     */
+    @Schema(description = "ID записи, добавленной из листа ожидания", example = "1")
+    private String orderId;
+
+    public String getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(String entryId) {
+        this.entryId = entryId;
+    }
+
+    public Long getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(Long clientId) {
+        this.clientId = clientId;
+    }
+
+    public String getDatetime() {
+        return datetime;
+    }
+
+    public void setDatetime(String datetime) {
+        this.datetime = datetime;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.swimming_pool.management.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO c информацией об интервале времени и количеством мест, свободных во всех его таймслотах
+ */
+@Schema(description = "Интервал времени с количеством мест, свободных на весь интервал")
+public class WindowAvailabilityDTO {
+
+    @Schema(description = "Дата и время начала интервала")
+    private String datetime;
+
+    @Schema(description = "Длительность интервала в минутах")
+    private Integer minutes;
+
+    @Schema(description = "Количество клиентов, которые могут записаться на весь интервал")
+    private Integer count;
+
+    public String getDatetime() {
+        return datetime;
+    }
+
+    public void setDatetime(String datetime) {
+        this.datetime = datetime;
+    }
+
+    public Integer getMinutes() {
+        return minutes;
+    }
+
+    public void setMinutes(Integer minutes) {
+        this.minutes = minutes;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.swimming_pool.management.model.entity;
+
+import com.swimming_pool.management.model.enums.IdempotencyStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Сущность сохранённого ответа на запрос с ключом идемпотентности.
+ * <p>Создаётся и обновляется только атомарными запросами репозитория, поэтому билдера не имеет
+ */
+@Entity
+@Table(name = "idempotency_records")
+public class IdempotencyRecord extends BaseEntity {
+
+    /**
+     * Операция, к которой относится ключ
+     */
+    @Column(name = "operation")
+    private String operation;
+
+    /**
+     * Ключ идемпотентности, переданный клиентом
+     */
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 тела исходного запроса в шестнадцатеричном виде
+     */
+    @Column(name = "request_hash")
+    private String requestHash;
+
+    /**
+     * Статус обработки запроса
+     */
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private IdempotencyStatus status;
+
+    /**
+     * Сериализованный в JSON ответ на исходный запрос
+     */
+    @Column(name = "response_body")
+    private String responseBody;
+
+    /**
+     * Дата и время, после которых ключ можно использовать повторно
+     */
+    @Column(name = "expires_at")
+    private ZonedDateTime expiresAt;
+
+    public IdempotencyRecord() {
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public IdempotencyStatus getStatus() {
+        return status;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+    public ZonedDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IdempotencyRecord record)) return false;
+        return Objects.equals(id, record.id) && Objects.equals(operation, record.operation)
+                && Objects.equals(idempotencyKey, record.idempotencyKey);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, operation, idempotencyKey);
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotencyRecord{" +
+                "id=" + id +
+                ", operation='" + operation + '\'' +
+                ", idempotencyKey='" + idempotencyKey + '\'' +
+                ", status=" + status +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+
+}
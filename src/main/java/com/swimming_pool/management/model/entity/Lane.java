@@ -0,0 +1,78 @@
+package com.swimming_pool.management.model.entity;
+
+import com.swimming_pool.management.model.enums.LaneActivity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Сущность дорожки бассейна
+ */
+@Entity
+@Immutable
+@Table(name = "lanes")
+public class Lane {
+
+    /**
+     * Идентификатор сущности
+     */
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    /**
+     * Название дорожки
+     */
+    @Column(name = "name")
+    private String name;
+
+    /**
+     * Вид занятий на дорожке
+     */
+    @Column(name = "activity")
+    @Enumerated(EnumType.STRING)
+    private LaneActivity activity;
+
+    /**
+     * Количество записей на дорожку в один таймслот
+     */
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LaneActivity getActivity() {
+        return activity;
+    }
+
+    public void setActivity(LaneActivity activity) {
+        this.activity = activity;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
+}
@@ -11,6 +11,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import org.springframework.lang.NonNull;
 
 import java.time.LocalDateTime;
@@ -43,6 +44,27 @@ public class Order extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    /**
+     * Серия регулярных записей, к которой относится запись, может отсутствовать
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private ReservationSeries series;
+
+    /**
+     * Дорожка, на которую распределена запись, может отсутствовать
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "lane_id")
+    private Lane lane;
+
+    /**
+     * Версия записи для оптимистичной блокировки
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     public Order() {
     }
 
@@ -50,6 +72,8 @@ public class Order extends BaseEntity {
         setClient(builder.client);
         setDateTime(builder.dateTime);
         setStatus(builder.status);
+        setSeries(builder.series);
+        setLane(builder.lane);
     }
 
     public Client getClient() {
@@ -76,6 +100,26 @@ public class Order extends BaseEntity {
         this.status = status;
     }
 
+    public ReservationSeries getSeries() {
+        return series;
+    }
+
+    public void setSeries(ReservationSeries series) {
+        this.series = series;
+    }
+
+    public Lane getLane() {
+        return lane;
+    }
+
+    public void setLane(Lane lane) {
+        this.lane = lane;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -105,6 +149,8 @@ public class Order extends BaseEntity {
         private Client client;
         private LocalDateTime dateTime;
         private OrderStatus status;
+        private ReservationSeries series;
+        private Lane lane;
 
         private Builder() {
         }
@@ -128,6 +174,16 @@ public class Order extends BaseEntity {
             return this;
         }
 
+        public Builder series(ReservationSeries val) {
+            series = val;
+            return this;
+        }
+
+        public Builder lane(Lane val) {
+            lane = val;
+            return this;
+        }
+
         public Order build() {
             if (client == null || dateTime == null || status == null) {
                 throw new SwimmingPoolManagementException(
@@ -0,0 +1,234 @@
+package com.swimming_pool.management.model.entity;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.enums.SeriesStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.springframework.lang.NonNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Сущность серии регулярных записей на бассейн (например, «каждый вторник и четверг в 18:00 на 8 недель»)
+ */
+@Entity
+@Table(name = "reservation_series")
+public class ReservationSeries extends BaseEntity {
+
+    /**
+     * Клиент, для которого добавлена серия записей
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
+    /**
+     * Дни недели посещения бассейна через запятую, например {@code TUESDAY,THURSDAY}
+     */
+    @Column(name = "days_of_week")
+    private String daysOfWeek;
+
+    /**
+     * Время посещения бассейна
+     */
+    @Column(name = "time")
+    private LocalTime time;
+
+    /**
+     * Дата начала серии
+     */
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    /**
+     * Дата окончания серии (включительно)
+     */
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    /**
+     * Статус серии записей
+     */
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private SeriesStatus status;
+
+    public ReservationSeries() {
+    }
+
+    private ReservationSeries(@NonNull Builder builder) {
+        setClient(builder.client);
+        setDaysOfWeek(builder.daysOfWeek);
+        setTime(builder.time);
+        setStartDate(builder.startDate);
+        setEndDate(builder.endDate);
+        setStatus(builder.status);
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public void setClient(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Получение дней недели посещения бассейна в виде множества
+     *
+     * @return множество дней недели
+     */
+    public Set<DayOfWeek> getDaysOfWeek() {
+        if (daysOfWeek == null || daysOfWeek.isEmpty()) {
+            return EnumSet.noneOf(DayOfWeek.class);
+        }
+        return Arrays.stream(daysOfWeek.split(","))
+                .map(DayOfWeek::valueOf)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(DayOfWeek.class)));
+    }
+
+    /**
+     * Установка дней недели посещения бассейна
+     *
+     * @param daysOfWeek множество дней недели
+     */
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek == null ? null : EnumSet.copyOf(daysOfWeek).stream()
+                .map(DayOfWeek::name)
+                .collect(Collectors.joining(","));
+    }
+
+    public LocalTime getTime() {
+        return time;
+    }
+
+    public void setTime(LocalTime time) {
+        this.time = time;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public SeriesStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SeriesStatus status) {
+        this.status = status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReservationSeries series)) return false;
+        return Objects.equals(id, series.id) && Objects.equals(daysOfWeek, series.daysOfWeek) &&
+                Objects.equals(time, series.time) && Objects.equals(startDate, series.startDate) &&
+                Objects.equals(endDate, series.endDate) && status == series.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, daysOfWeek, time, startDate, endDate, status);
+    }
+
+    @Override
+    public String toString() {
+        return "ReservationSeries{" +
+                "id=" + id +
+                ", daysOfWeek='" + daysOfWeek + '\'' +
+                ", time=" + time +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", status=" + status +
+                '}';
+    }
+
+    /**
+     * Билдер для создания сущности серии записей
+     */
+    public static final class Builder {
+        private Client client;
+        private Set<DayOfWeek> daysOfWeek;
+        private LocalTime time;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private SeriesStatus status;
+
+        private Builder() {
+        }
+
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        public Builder client(Client val) {
+            client = val;
+            return this;
+        }
+
+        public Builder daysOfWeek(Set<DayOfWeek> val) {
+            daysOfWeek = val;
+            return this;
+        }
+
+        public Builder time(LocalTime val) {
+            time = val;
+            return this;
+        }
+
+        public Builder startDate(LocalDate val) {
+            startDate = val;
+            return this;
+        }
+
+        public Builder endDate(LocalDate val) {
+            endDate = val;
+            return this;
+        }
+
+        public Builder status(SeriesStatus val) {
+            status = val;
+            return this;
+        }
+
+        public ReservationSeries build() {
+            if (daysOfWeek == null || daysOfWeek.isEmpty() || time == null || startDate == null
+                    || endDate == null || status == null) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.INTERNAL_SERVER_ERROR,
+                        "ReservationSeries: обязательные поля (daysOfWeek, time, startDate, endDate, status) " +
+                                "должны быть заполнены"
+                );
+            }
+            return new ReservationSeries(this);
+        }
+    }
+
+}
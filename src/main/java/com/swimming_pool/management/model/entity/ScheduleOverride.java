@@ -0,0 +1,225 @@
+package com.swimming_pool.management.model.entity;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import org.springframework.lang.NonNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Сущность особых рабочих часов и лимитов на отдельную дату (сокращённый день, соревнования, уменьшенная
+ * вместимость) поверх основного графика {@link WorkHour}.
+ * <p>Незаполненные поля берутся из основного графика, действующего на дату
+ */
+@Entity
+@Table(name = "schedule_overrides")
+public class ScheduleOverride extends BaseEntity {
+
+    /**
+     * Дата, на которую действует особый график
+     */
+    @Column(name = "date")
+    private LocalDate date;
+
+    /**
+     * Начало рабочего дня в часах
+     */
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
+    /**
+     * Конец рабочего дня в часах
+     */
+    @Column(name = "end_time")
+    private LocalTime endTime;
+
+    /**
+     * Лимит записей в час
+     */
+    @Column(name = "limit_per_hour")
+    private Integer limitPerHour;
+
+    /**
+     * Лимит записей в день для клиентов
+     */
+    @Column(name = "daily_limit_per_clients")
+    private Integer dailyLimitPerClients;
+
+    /**
+     * Описание особого графика
+     */
+    @Column(name = "description")
+    private String description;
+
+    public ScheduleOverride() {
+    }
+
+    private ScheduleOverride(@NonNull Builder builder) {
+        setDate(builder.date);
+        setStartTime(builder.startTime);
+        setEndTime(builder.endTime);
+        setLimitPerHour(builder.limitPerHour);
+        setDailyLimitPerClients(builder.dailyLimitPerClients);
+        setDescription(builder.description);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Integer getLimitPerHour() {
+        return limitPerHour;
+    }
+
+    public void setLimitPerHour(Integer limitPerHour) {
+        this.limitPerHour = limitPerHour;
+    }
+
+    public Integer getDailyLimitPerClients() {
+        return dailyLimitPerClients;
+    }
+
+    public void setDailyLimitPerClients(Integer dailyLimitPerClients) {
+        this.dailyLimitPerClients = dailyLimitPerClients;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Применение особого графика к основному графику на дату
+     *
+     * @param workHour основной график на дату
+     * @return новый график, поля которого заменены заполненными полями особого графика
+     */
+    public WorkHour applyTo(@NonNull WorkHour workHour) {
+        WorkHour effective = new WorkHour();
+        effective.setId(workHour.getId());
+        effective.setHoliday(workHour.getHoliday());
+        effective.setStartTime(startTime != null ? startTime : workHour.getStartTime());
+        effective.setEndTime(endTime != null ? endTime : workHour.getEndTime());
+        effective.setLimitPerHour(limitPerHour != null ? limitPerHour : workHour.getLimitPerHour());
+        effective.setDailyLimitPerClients(dailyLimitPerClients != null ?
+                dailyLimitPerClients : workHour.getDailyLimitPerClients());
+        return effective;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ScheduleOverride override)) return false;
+        return Objects.equals(id, override.id) && Objects.equals(date, override.date) &&
+                Objects.equals(startTime, override.startTime) && Objects.equals(endTime, override.endTime) &&
+                Objects.equals(limitPerHour, override.limitPerHour) &&
+                Objects.equals(dailyLimitPerClients, override.dailyLimitPerClients) &&
+                Objects.equals(description, override.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, date, startTime, endTime, limitPerHour, dailyLimitPerClients, description);
+    }
+
+    @Override
+    public String toString() {
+        return "ScheduleOverride{" +
+                "id=" + id +
+                ", date=" + date +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", limitPerHour=" + limitPerHour +
+                ", dailyLimitPerClients=" + dailyLimitPerClients +
+                ", description='" + description + '\'' +
+                '}';
+    }
+
+    /**
+     * Билдер для создания сущности особого графика
+     */
+    public static final class Builder {
+        private LocalDate date;
+        private LocalTime startTime;
+        private LocalTime endTime;
+        private Integer limitPerHour;
+        private Integer dailyLimitPerClients;
+        private String description;
+
+        private Builder() {
+        }
+
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        public Builder date(LocalDate val) {
+            date = val;
+            return this;
+        }
+
+        public Builder startTime(LocalTime val) {
+            startTime = val;
+            return this;
+        }
+
+        public Builder endTime(LocalTime val) {
+            endTime = val;
+            return this;
+        }
+
+        public Builder limitPerHour(Integer val) {
+            limitPerHour = val;
+            return this;
+        }
+
+        public Builder dailyLimitPerClients(Integer val) {
+            dailyLimitPerClients = val;
+            return this;
+        }
+
+        public Builder description(String val) {
+            description = val;
+            return this;
+        }
+
+        public ScheduleOverride build() {
+            if (date == null) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.INTERNAL_SERVER_ERROR,
+                        "ScheduleOverride: обязательное поле date должно быть заполнено"
+                );
+            }
+            return new ScheduleOverride(this);
+        }
+    }
+
+}
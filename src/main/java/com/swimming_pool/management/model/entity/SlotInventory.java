@@ -0,0 +1,63 @@
+package com.swimming_pool.management.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сущность таймслота на горизонт записей с вместимостью и количеством занятых записей.
+ * <p>Создаётся и обновляется только атомарными запросами репозитория, поэтому билдера не имеет
+ */
+@Entity
+@Immutable
+@Table(name = "slot_inventory")
+public class SlotInventory {
+
+    /**
+     * Дата с временем начала таймслота
+     */
+    @Id
+    @Column(name = "datetime")
+    private LocalDateTime dateTime;
+
+    /**
+     * Вместимость таймслота (лимит записей в час), 0 - таймслот вне рабочего графика
+     */
+    @Column(name = "capacity")
+    private Integer capacity;
+
+    /**
+     * Количество занятых записей на таймслот
+     */
+    @Column(name = "reserved")
+    private Integer reserved;
+
+    public SlotInventory() {
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public Integer getReserved() {
+        return reserved;
+    }
+
+    /**
+     * Получение количества свободных мест таймслота
+     *
+     * @return вместимость за вычетом занятых записей
+     */
+    public int getAvailable() {
+        return capacity - reserved;
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.swimming_pool.management.model.entity;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.enums.WaitlistStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.springframework.lang.NonNull;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Сущность заявки в листе ожидания на заполненный таймслот
+ */
+@Entity
+@Table(name = "waitlist_entries")
+public class WaitlistEntry extends BaseEntity {
+
+    /**
+     * Клиент, ожидающий освобождения места
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "client_id")
+    private Client client;
+
+    /**
+     * Дата и время ожидаемого таймслота
+     */
+    @Column(name = "datetime")
+    private LocalDateTime dateTime;
+
+    /**
+     * Статус заявки
+     */
+    @Column(name = "status")
+    @Enumerated(EnumType.STRING)
+    private WaitlistStatus status;
+
+    /**
+     * Запись, добавленная при продвижении заявки из листа ожидания
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id")
+    private Order order;
+
+    public WaitlistEntry() {
+    }
+
+    private WaitlistEntry(@NonNull Builder builder) {
+        setClient(builder.client);
+        setDateTime(builder.dateTime);
+        setStatus(builder.status);
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public void setClient(Client client) {
+        this.client = client;
+    }
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public void setDateTime(LocalDateTime dateTime) {
+        this.dateTime = dateTime;
+    }
+
+    public WaitlistStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WaitlistStatus status) {
+        this.status = status;
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    public void setOrder(Order order) {
+        this.order = order;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WaitlistEntry entry)) return false;
+        return Objects.equals(id, entry.id) && Objects.equals(dateTime, entry.dateTime) && status == entry.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, dateTime, status);
+    }
+
+    @Override
+    public String toString() {
+        return "WaitlistEntry{" +
+                "id=" + id +
+                ", dateTime=" + dateTime +
+                ", status=" + status +
+                '}';
+    }
+
+    /**
+     * Билдер для создания сущности заявки в листе ожидания
+     */
+    public static final class Builder {
+        private Client client;
+        private LocalDateTime dateTime;
+        private WaitlistStatus status;
+
+        private Builder() {
+        }
+
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        public Builder client(Client val) {
+            client = val;
+            return this;
+        }
+
+        public Builder dateTime(LocalDateTime val) {
+            dateTime = val;
+            return this;
+        }
+
+        public Builder status(WaitlistStatus val) {
+            status = val;
+            return this;
+        }
+
+        public WaitlistEntry build() {
+            if (client == null || dateTime == null || status == null) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.INTERNAL_SERVER_ERROR,
+                        "WaitlistEntry: обязательные поля (client, dateTime, status) должны быть заполнены"
+                );
+            }
+            return new WaitlistEntry(this);
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.swimming_pool.management.model.enums;
+
+/**
+ * Перечисление статусов обработки запросов с ключом идемпотентности
+ */
+public enum IdempotencyStatus {
+
+    PENDING("Обрабатывается"),
+    COMPLETED("Обработан, ответ сохранён");
+
+    /**
+     * Описание статуса
+     */
+    private final String description;
+
+    IdempotencyStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
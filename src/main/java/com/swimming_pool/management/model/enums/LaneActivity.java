@@ -0,0 +1,24 @@
+package com.swimming_pool.management.model.enums;
+
+/**
+ * Перечисление видов занятий на дорожках бассейна
+ */
+public enum LaneActivity {
+
+    LAP_SWIM("Свободное плавание"),
+    LESSON("Занятия с тренером");
+
+    /**
+     * Описание вида занятий
+     */
+    private final String description;
+
+    LaneActivity(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.swimming_pool.management.model.enums;
+
+/**
+ * Перечисление статусов серий регулярных записей
+ */
+public enum SeriesStatus {
+
+    ACTIVE("Действует"),
+    CANCELLED("Отменена");
+
+    /**
+     * Описание статуса
+     */
+    private final String description;
+
+    SeriesStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
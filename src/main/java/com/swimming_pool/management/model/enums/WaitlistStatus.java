@@ -0,0 +1,26 @@
+package com.swimming_pool.management.model.enums;
+
+/**
+ * Перечисление статусов заявок в листе ожидания
+ */
+public enum WaitlistStatus {
+
+    WAITING("Ожидает"),
+    PROMOTED("Переведена в запись"),
+    REJECTED("Отклонена при продвижении: превышен лимит записей клиента или запись уже существует"),
+    CANCELLED("Отменена");
+
+    /**
+     * Описание статуса
+     */
+    private final String description;
+
+    WaitlistStatus(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.swimming_pool.management.model.projection;
+
+/**
+ * Проекция отменённой записи с признаком ожидающих заявок листа ожидания на её таймслот
+ */
+public interface CancelledOrderSlot extends OrderSlot {
+
+    /**
+     * Получение признака ожидающих заявок листа ожидания на таймслот записи на момент её отмены
+     *
+     * @return {@code true}, если место записи может быть передано заявке из листа ожидания
+     */
+    boolean isWaitlisted();
+
+}
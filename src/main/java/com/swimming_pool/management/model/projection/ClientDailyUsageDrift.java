@@ -0,0 +1,38 @@
+package com.swimming_pool.management.model.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Проекция расхождения счётчика таймслотов записей клиента на дату с занятыми записями
+ */
+public interface ClientDailyUsageDrift {
+
+    /**
+     * Получение идентификатора клиента
+     *
+     * @return идентификатор клиента
+     */
+    Long getClientId();
+
+    /**
+     * Получение даты записей
+     *
+     * @return дата
+     */
+    LocalDate getDate();
+
+    /**
+     * Получение количества таймслотов занятых записей клиента на дату
+     *
+     * @return количество таймслотов по записям
+     */
+    Integer getSlots();
+
+    /**
+     * Получение количества таймслотов в счётчике клиента на дату
+     *
+     * @return количество таймслотов по счётчику
+     */
+    Integer getCountedSlots();
+
+}
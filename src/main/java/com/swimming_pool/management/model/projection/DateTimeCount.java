@@ -0,0 +1,24 @@
+package com.swimming_pool.management.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция результата группировки записей: дата с временем и количество записей на неё
+ */
+public interface DateTimeCount {
+
+    /**
+     * Получение даты с временем
+     *
+     * @return дата с временем
+     */
+    LocalDateTime getDateTime();
+
+    /**
+     * Получение количества записей на дату с временем
+     *
+     * @return количество записей
+     */
+    Long getCount();
+
+}
@@ -0,0 +1,38 @@
+package com.swimming_pool.management.model.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция записи, содержащая только идентификаторы записи, клиента и дорожки и дату с временем посещения
+ */
+public interface OrderSlot {
+
+    /**
+     * Получение идентификатора записи
+     *
+     * @return идентификатор записи
+     */
+    Long getId();
+
+    /**
+     * Получение идентификатора клиента
+     *
+     * @return идентификатор клиента
+     */
+    Long getClientId();
+
+    /**
+     * Получение даты с временем посещения бассейна
+     *
+     * @return дата с временем
+     */
+    LocalDateTime getDateTime();
+
+    /**
+     * Получение идентификатора дорожки, на которую распределена запись
+     *
+     * @return идентификатор дорожки или {@code null}, если запись не распределена по дорожкам
+     */
+    Long getLaneId();
+
+}
@@ -0,0 +1,235 @@
+package com.swimming_pool.management.model.slot;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.swimming_pool.management.model.dto.response.TimeSlotDTO;
+
+import java.time.LocalTime;
+
+/**
+ * Количество записей по таймслотам одного дня.
+ * <p>Сутки делятся на 15-минутные отрезки, таймслот любой длительности {@link TimeSlotGrid} хранится в отрезке
+ * своего начала. Количества хранятся в массиве, индексируемом номером отрезка, а отрезки, для которых таймслот
+ * существует, - в битовой маске, без упаковки чисел и создания элементов ассоциативного массива. Таймслоты
+ * перебираются по возрастанию времени.
+ * <p>Минимум количества по интервалу таймслотов вычисляется за O(log n) по {@link SlotCapacityTree}, которое
+ * строится при первом таком запросе и далее изменяется вместе с количествами.
+ * <p>Заполняется сервисом при вычислении и далее только читается. Сериализуется в JSON в виде списка
+ * {@link TimeSlotDTO}
+ */
+@JsonSerialize(using = DailySlotCountsSerializer.class)
+public final class DailySlotCounts {
+
+    /**
+     * Длительность отрезка суток в минутах
+     */
+    public static final int SLOT_MINUTES = 15;
+
+    /**
+     * Количество отрезков в сутках
+     */
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    /**
+     * Количество записей по отрезкам суток
+     */
+    private final int[] counts = new int[SLOTS_PER_DAY];
+
+    /**
+     * Битовая маска отрезков, для которых таймслот существует: бит {@code index % 64} элемента {@code index / 64}
+     */
+    private final long[] slotMask = new long[(SLOTS_PER_DAY + Long.SIZE - 1) / Long.SIZE];
+
+    /**
+     * Дерево минимумов количеств, {@code null} до первого запроса минимума
+     */
+    private volatile SlotCapacityTree capacityTree;
+
+    /**
+     * Получение номера отрезка суток, в который попадает время
+     *
+     * @param time время
+     * @return номер отрезка суток
+     */
+    public static int indexOf(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    /**
+     * Получение времени начала отрезка суток
+     *
+     * @param index номер отрезка суток
+     * @return время начала отрезка
+     */
+    public static LocalTime toTime(int index) {
+        int minuteOfDay = index * SLOT_MINUTES;
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+
+    /**
+     * Добавление таймслота с начальным количеством записей
+     *
+     * @param index номер отрезка начала таймслота
+     * @param count количество записей
+     */
+    public void put(int index, int count) {
+        counts[index] = count;
+        slotMask[index / Long.SIZE] |= 1L << index;
+        updateTree(index);
+    }
+
+    /**
+     * Увеличение количества записей таймслота на единицу, с добавлением таймслота при его отсутствии
+     *
+     * @param index номер отрезка начала таймслота
+     */
+    public void increment(int index) {
+        counts[index]++;
+        slotMask[index / Long.SIZE] |= 1L << index;
+        updateTree(index);
+    }
+
+    /**
+     * Уменьшение количества записей существующего таймслота на единицу
+     *
+     * @param index номер отрезка начала таймслота
+     */
+    public void decrementIfPresent(int index) {
+        if (contains(index)) {
+            counts[index]--;
+            updateTree(index);
+        }
+    }
+
+    /**
+     * Проверка наличия таймслота
+     *
+     * @param index номер отрезка начала таймслота
+     * @return {@code true}, если таймслот существует
+     */
+    public boolean contains(int index) {
+        return (slotMask[index / Long.SIZE] & (1L << index)) != 0;
+    }
+
+    /**
+     * Получение количества записей таймслота
+     *
+     * @param index номер отрезка начала таймслота
+     * @return количество записей, для отсутствующего таймслота - 0
+     */
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Получение количества таймслотов
+     *
+     * @return количество таймслотов
+     */
+    public int size() {
+        int size = 0;
+        for (long mask : slotMask) {
+            size += Long.bitCount(mask);
+        }
+        return size;
+    }
+
+    /**
+     * Получение количества таймслотов, начинающихся в интервале отрезков
+     *
+     * @param fromIndex номер первого отрезка интервала
+     * @param toIndex номер отрезка после интервала (не включительно)
+     * @return количество таймслотов
+     */
+    public int size(int fromIndex, int toIndex) {
+        int size = 0;
+        for (int word = fromIndex / Long.SIZE; word * Long.SIZE < toIndex; word++) {
+            long mask = slotMask[word];
+            int wordStart = word * Long.SIZE;
+            if (fromIndex > wordStart) {
+                mask &= -1L << (fromIndex - wordStart);
+            }
+            if (toIndex - wordStart < Long.SIZE) {
+                mask &= (1L << (toIndex - wordStart)) - 1;
+            }
+            size += Long.bitCount(mask);
+        }
+        return size;
+    }
+
+    /**
+     * Проверка отсутствия таймслотов
+     *
+     * @return {@code true}, если нет ни одного таймслота
+     */
+    public boolean isEmpty() {
+        for (long mask : slotMask) {
+            if (mask != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Получение минимального количества записей среди таймслотов, начинающихся в интервале отрезков, за O(log n)
+     *
+     * @param fromIndex номер первого отрезка интервала
+     * @param toIndex номер отрезка после интервала (не включительно)
+     * @return минимальное количество записей или {@link Integer#MAX_VALUE}, если в интервале нет таймслотов
+     */
+    public int getMinCount(int fromIndex, int toIndex) {
+        SlotCapacityTree tree = capacityTree;
+        if (tree == null) {
+            int[] values = new int[SLOTS_PER_DAY];
+            for (int index = 0; index < SLOTS_PER_DAY; index++) {
+                values[index] = contains(index) ? counts[index] : Integer.MAX_VALUE;
+            }
+            tree = new SlotCapacityTree(values);
+            capacityTree = tree;
+        }
+        return tree.min(fromIndex, toIndex);
+    }
+
+    /**
+     * Перебор таймслотов по возрастанию времени
+     *
+     * @param consumer обработчик номера отрезка начала таймслота и количества записей
+     */
+    public void forEach(SlotConsumer consumer) {
+        for (int word = 0; word < slotMask.length; word++) {
+            for (long mask = slotMask[word]; mask != 0; mask &= mask - 1) {
+                int index = word * Long.SIZE + Long.numberOfTrailingZeros(mask);
+                consumer.accept(index, counts[index]);
+            }
+        }
+    }
+
+    /**
+     * Изменение значения отрезка в дереве минимумов, если оно уже построено
+     *
+     * @param index номер отрезка
+     */
+    private void updateTree(int index) {
+        SlotCapacityTree tree = capacityTree;
+        if (tree != null) {
+            tree.set(index, counts[index]);
+        }
+    }
+
+    /**
+     * Обработчик таймслота
+     */
+    @FunctionalInterface
+    public interface SlotConsumer {
+
+        /**
+         * Обработка таймслота
+         *
+         * @param index номер отрезка начала таймслота
+         * @param count количество записей
+         */
+        void accept(int index, int count);
+
+    }
+
+}
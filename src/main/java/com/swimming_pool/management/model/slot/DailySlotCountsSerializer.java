@@ -0,0 +1,36 @@
+package com.swimming_pool.management.model.slot;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.swimming_pool.management.model.dto.response.TimeSlotDTO;
+import com.swimming_pool.management.util.DateTimeUtils;
+
+import java.io.IOException;
+
+/**
+ * Сериализатор {@link DailySlotCounts} в JSON-массив таймслотов в формате {@link TimeSlotDTO}
+ * без создания промежуточных DTO
+ */
+public class DailySlotCountsSerializer extends StdSerializer<DailySlotCounts> {
+
+    public DailySlotCountsSerializer() {
+        super(DailySlotCounts.class);
+    }
+
+    @Override
+    public void serialize(DailySlotCounts slotCounts, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartArray(slotCounts, slotCounts.size());
+        for (int index = 0; index < DailySlotCounts.SLOTS_PER_DAY; index++) {
+            if (slotCounts.contains(index)) {
+                generator.writeStartObject();
+                generator.writeStringField("time", DateTimeUtils.formatToTimeString(DailySlotCounts.toTime(index)));
+                generator.writeNumberField("count", slotCounts.getCount(index));
+                generator.writeEndObject();
+            }
+        }
+        generator.writeEndArray();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.swimming_pool.management.model.slot;
+
+import java.util.Arrays;
+
+/**
+ * Дерево отрезков минимумов над отрезками суток {@link DailySlotCounts}.
+ * <p>Листья хранят значения отрезков, внутренние узлы - минимум своих потомков, поэтому минимум по любому
+ * интервалу отрезков и изменение значения одного отрезка выполняются за O(log n), где n - количество отрезков.
+ * Дерево хранится в массиве снизу вверх: корень в ячейке 1, потомки узла {@code i} - в ячейках {@code 2i}
+ * и {@code 2i + 1}, листья - начиная с ячейки {@code size}.
+ * <p>Отрезки без таймслота хранят {@link Integer#MAX_VALUE} и не влияют на минимум
+ */
+final class SlotCapacityTree {
+
+    /**
+     * Количество листьев: ближайшая сверху к количеству отрезков суток степень двойки
+     */
+    private final int size;
+
+    /**
+     * Узлы дерева
+     */
+    private final int[] nodes;
+
+    /**
+     * Построение дерева по значениям отрезков за O(n)
+     *
+     * @param values значения отрезков, {@link Integer#MAX_VALUE} - отрезок без таймслота
+     */
+    SlotCapacityTree(int[] values) {
+        size = Integer.highestOneBit(Math.max(1, values.length - 1)) << 1;
+        nodes = new int[2 * size];
+        Arrays.fill(nodes, Integer.MAX_VALUE);
+        System.arraycopy(values, 0, nodes, size, values.length);
+        for (int node = size - 1; node > 0; node--) {
+            nodes[node] = Math.min(nodes[2 * node], nodes[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Изменение значения отрезка
+     *
+     * @param index номер отрезка
+     * @param value новое значение, {@link Integer#MAX_VALUE} - отрезок без таймслота
+     */
+    void set(int index, int value) {
+        int node = index + size;
+        nodes[node] = value;
+        for (node >>= 1; node > 0; node >>= 1) {
+            nodes[node] = Math.min(nodes[2 * node], nodes[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Получение минимума значений по интервалу отрезков
+     *
+     * @param fromIndex номер первого отрезка интервала
+     * @param toIndex номер отрезка после интервала (не включительно)
+     * @return минимум значений или {@link Integer#MAX_VALUE}, если в интервале нет таймслотов
+     */
+    int min(int fromIndex, int toIndex) {
+        int min = Integer.MAX_VALUE;
+        for (int left = fromIndex + size, right = toIndex + size; left < right; left >>= 1, right >>= 1) {
+            if ((left & 1) != 0) {
+                min = Math.min(min, nodes[left++]);
+            }
+            if ((right & 1) != 0) {
+                min = Math.min(min, nodes[--right]);
+            }
+        }
+        return min;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.swimming_pool.management.model.slot;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сетка таймслотов суток с длительностью таймслота из свойства {@code time-slot.duration}.
+ * <p>Таймслоты начинаются в моменты, кратные длительности от начала суток. Допустимые длительности - 15, 30
+ * и 60 минут, поэтому начало каждого таймслота совпадает с одним из 15-минутных отрезков суток
+ * {@link DailySlotCounts}, а каждый час делится на целое число таймслотов
+ */
+@Component
+public class TimeSlotGrid {
+
+    /**
+     * Количество минут в сутках
+     */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Длительность таймслота в минутах
+     */
+    private final int minutes;
+
+    public TimeSlotGrid(@Value("${time-slot.duration:PT1H}") Duration duration) {
+        long durationMinutes = duration.toMinutes();
+        if (!Duration.ofMinutes(durationMinutes).equals(duration) || durationMinutes <= 0
+                || durationMinutes % DailySlotCounts.SLOT_MINUTES != 0 || 60 % durationMinutes != 0) {
+            throw new IllegalStateException("time-slot.duration must be PT15M, PT30M or PT1H, but was " + duration);
+        }
+        this.minutes = (int) durationMinutes;
+    }
+
+    /**
+     * Получение длительности таймслота в минутах
+     *
+     * @return длительность таймслота в минутах
+     */
+    public int getMinutes() {
+        return minutes;
+    }
+
+    /**
+     * Получение количества таймслотов в часе
+     *
+     * @return количество таймслотов в часе
+     */
+    public int getSlotsPerHour() {
+        return 60 / minutes;
+    }
+
+    /**
+     * Получение количества таймслотов в интервале из целого числа часов
+     *
+     * @param hours количество часов
+     * @return количество таймслотов
+     */
+    public int getSlotCount(int hours) {
+        return hours * getSlotsPerHour();
+    }
+
+    /**
+     * Получение количества часов в интервале из таймслотов
+     *
+     * @param slotCount количество таймслотов
+     * @return количество часов, дробное, если таймслоты не составляют целого числа часов
+     */
+    public BigDecimal getHours(long slotCount) {
+        return BigDecimal.valueOf(slotCount * minutes).divide(BigDecimal.valueOf(60)).stripTrailingZeros();
+    }
+
+    /**
+     * Проверка совпадения времени с началом таймслота
+     *
+     * @param time время
+     * @return {@code true}, если с этого времени начинается таймслот
+     */
+    public boolean isSlotStart(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % minutes == 0;
+    }
+
+    /**
+     * Получение начала таймслота, в который попадает дата с временем
+     *
+     * @param dateTime дата с временем
+     * @return дата с временем начала таймслота
+     */
+    public LocalDateTime truncate(LocalDateTime dateTime) {
+        int minuteOfDay = dateTime.getHour() * 60 + dateTime.getMinute();
+        return dateTime.toLocalDate().atStartOfDay().plusMinutes(minuteOfDay - minuteOfDay % minutes);
+    }
+
+    /**
+     * Получение начала первого таймслота текущей даты, который показывается для записи: таймслота, в который
+     * попадает момент через час от текущего
+     *
+     * @param now текущие дата и время
+     * @return дата с временем начала первого показываемого таймслота
+     */
+    public LocalDateTime getFirstListedSlot(LocalDateTime now) {
+        return truncate(now.plusHours(1));
+    }
+
+    /**
+     * Получение начал таймслотов в интервале времени
+     *
+     * @param startTime начало интервала
+     * @param endTime конец интервала (не включительно)
+     * @return начала таймслотов по возрастанию
+     */
+    public List<LocalTime> getSlotStarts(LocalTime startTime, LocalTime endTime) {
+        int startSecond = startTime.toSecondOfDay();
+        int endSecond = endTime.toSecondOfDay();
+        int firstMinute = (startSecond + minutes * 60 - 1) / (minutes * 60) * minutes;
+        List<LocalTime> slotStarts = new ArrayList<>();
+        for (int minute = firstMinute; minute * 60 < endSecond && minute < MINUTES_PER_DAY; minute += minutes) {
+            slotStarts.add(LocalTime.of(minute / 60, minute % 60));
+        }
+        return slotStarts;
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.swimming_pool.management.occupancy;
+
+import com.swimming_pool.management.model.entity.Lane;
+import com.swimming_pool.management.model.enums.LaneActivity;
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.repository.LaneRepository;
+import com.swimming_pool.management.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Движок распределения записей клиентов по дорожкам бассейна в памяти для развёртывания на одном узле.
+ * <p>Включается свойством {@code lane-allocation.enabled}. При запуске приложения загружаются дорожки свободного
+ * плавания {@link LaneActivity#LAP_SWIM} и занятость дорожек ещё не прошедшими записями, после чего дорожки
+ * для добавляемых записей выбираются по {@link LaneOccupancy} без запросов к БД. Лимит записей в час графика
+ * по-прежнему проверяется по таймслотам, а движок только распределяет допущенные записи: если суммарная вместимость
+ * дорожек не меньше лимита, дорожка для допущенной записи находится всегда. Распределённые записи освобождаются
+ * при откате транзакции, а отменённые записи - только после её фиксации. Изменения дорожек и записей в БД в обход
+ * приложения учитываются после перезапуска
+ */
+@Component
+public class LaneAllocationEngine {
+
+    /**
+     * Логгер движка
+     */
+    private static final Logger log = LoggerFactory.getLogger(LaneAllocationEngine.class);
+
+    /**
+     * Признак включения движка
+     */
+    private final boolean enabled;
+
+    /**
+     * Репозиторий для получения дорожек из БД
+     */
+    private final LaneRepository laneRepository;
+
+    /**
+     * Репозиторий для управления записями в БД
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * Занятость дорожек, {@code null} до загрузки
+     */
+    private volatile LaneOccupancy occupancy;
+
+    /**
+     * Конструктор для инициализации признака включения движка, {@link LaneRepository} и {@link OrderRepository}
+     *
+     * @param enabled признак включения движка
+     * @param laneRepository репозиторий для получения дорожек из БД
+     * @param orderRepository репозиторий для управления записями в БД
+     */
+    public LaneAllocationEngine(@Value("${lane-allocation.enabled:false}") boolean enabled,
+                                LaneRepository laneRepository, OrderRepository orderRepository) {
+        this.enabled = enabled;
+        this.laneRepository = laneRepository;
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Загрузка дорожек и их занятости ещё не прошедшими записями из БД
+     */
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        List<Lane> lanes = laneRepository.findByActivity(LaneActivity.LAP_SWIM);
+        LaneOccupancy loadedOccupancy = new LaneOccupancy(lanes);
+        LocalDate today = LocalDate.now();
+        List<OrderSlot> reservedSlots = orderRepository.findReservedSlotsByDateTimeRange(
+                today.atStartOfDay(),
+                today.plusMonths(2).atTime(LocalTime.MAX)
+        );
+        for (OrderSlot orderSlot : reservedSlots) {
+            if (orderSlot.getLaneId() != null) {
+                loadedOccupancy.add(orderSlot.getLaneId(), orderSlot.getDateTime());
+            }
+        }
+        occupancy = loadedOccupancy;
+        log.info("Lane allocation engine loaded {} lanes and {} reservations", lanes.size(), reservedSlots.size());
+    }
+
+    /**
+     * Признак включения движка
+     *
+     * @return {@code true}, если записи распределяются по дорожкам
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Распределение записей на даты с временем по дорожкам и их учёт.
+     * <p>Учтённые записи освобождаются, если текущая транзакция не будет зафиксирована
+     *
+     * @param dateTimes различные даты с временем записей
+     * @return дорожки в порядке дат с временем или {@code null}, если хотя бы на один таймслот нет свободной дорожки
+     */
+    public List<Lane> tryAllocate(List<LocalDateTime> dateTimes) {
+        LaneOccupancy currentOccupancy = occupancy;
+        List<Lane> lanes = currentOccupancy.tryAllocate(dateTimes);
+        if (lanes != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        for (int i = 0; i < dateTimes.size(); i++) {
+                            currentOccupancy.release(lanes.get(i).getId(), dateTimes.get(i));
+                        }
+                    }
+                }
+            });
+        }
+        return lanes;
+    }
+
+    /**
+     * Освобождение распределённых записей после фиксации текущей транзакции.
+     * Записи, не распределённые по дорожкам, игнорируются
+     *
+     * @param orderSlots освобождаемые записи
+     */
+    public void releaseAfterCommit(List<OrderSlot> orderSlots) {
+        if (!enabled || orderSlots.isEmpty()) {
+            return;
+        }
+        LaneOccupancy currentOccupancy = occupancy;
+        afterCommit(() -> {
+            for (OrderSlot orderSlot : orderSlots) {
+                if (orderSlot.getLaneId() != null) {
+                    currentOccupancy.release(orderSlot.getLaneId(), orderSlot.getDateTime());
+                }
+            }
+        });
+    }
+
+    /**
+     * Дорожка записи, переводимой из листа ожидания на таймслот отменённой записи.
+     * <p>Дорожка отменённой записи передаётся без изменения занятости, поэтому место на ней не может быть занято
+     * другим клиентом. Если отменённая запись не распределена по дорожкам (например, добавлена до включения движка),
+     * переводимая запись распределяется на свободную дорожку таймслота {@link #tryAllocate}
+     *
+     * @param cancelledOrder отменённая запись
+     * @return дорожка переводимой записи или {@code null}, если на таймслоте нет свободной дорожки
+     */
+    public Lane allocateForPromotion(OrderSlot cancelledOrder) {
+        if (cancelledOrder.getLaneId() != null) {
+            return occupancy.getLane(cancelledOrder.getLaneId());
+        }
+        List<Lane> lanes = tryAllocate(List.of(cancelledOrder.getDateTime()));
+        return lanes != null ? lanes.get(0) : null;
+    }
+
+    /**
+     * Освобождение после фиксации текущей транзакции дорожки {@link #allocateForPromotion}, если перевод из листа
+     * ожидания не состоялся. Дорожка отменённой записи не освобождается: её освобождает отмена записи
+     *
+     * @param cancelledOrder отменённая запись
+     * @param lane дорожка, полученная для переводимой записи
+     */
+    public void releaseUnpromoted(OrderSlot cancelledOrder, Lane lane) {
+        if (cancelledOrder.getLaneId() != null) {
+            return;
+        }
+        LaneOccupancy currentOccupancy = occupancy;
+        afterCommit(() -> currentOccupancy.release(lane.getId(), cancelledOrder.getDateTime()));
+    }
+
+    /**
+     * Удаление занятости дорожек на прошедшие даты
+     */
+    @Scheduled(fixedDelayString = "${lane-allocation.cleanup-interval:PT1H}")
+    public void removePastDates() {
+        LaneOccupancy currentOccupancy = occupancy;
+        if (currentOccupancy != null) {
+            currentOccupancy.removeBefore(LocalDate.now());
+        }
+    }
+
+    /**
+     * Выполнение действия после фиксации текущей транзакции или сразу, если транзакции нет
+     *
+     * @param action действие
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
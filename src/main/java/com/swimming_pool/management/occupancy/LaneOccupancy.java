@@ -0,0 +1,353 @@
+package com.swimming_pool.management.occupancy;
+
+import com.swimming_pool.management.model.entity.Lane;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Занятость дорожек бассейна в памяти: количество записей на каждую дорожку в каждый таймслот.
+ * <p>Для каждой дорожки хранится битовая маска заполненных таймслотов по 15-минутным отрезкам суток
+ * {@link DailySlotCounts}, поэтому проверка, свободна ли дорожка на все таймслоты записи, - несколько побитовых
+ * операций, а допуск записи на одну дорожку выполняется за O(количество дорожек). Если ни одна дорожка не свободна
+ * на все таймслоты, записи распределяются по участкам: на каждом участке выбирается дорожка, свободная дольше
+ * остальных, поэтому клиент меняет дорожку минимальное число раз.
+ * <p>Состояние разбито по датам с блокировкой на каждую дату, как в {@link SlotOccupancy}. Распределение на несколько
+ * дат захватывает блокировки дат по возрастанию
+ */
+public class LaneOccupancy {
+
+    /**
+     * Дорожки в порядке предпочтения при распределении
+     */
+    private final Lane[] lanes;
+
+    /**
+     * Номера дорожек по идентификатору
+     */
+    private final Map<Long, Integer> laneIndexes = new HashMap<>();
+
+    /**
+     * Занятость дорожек по датам
+     */
+    private final ConcurrentHashMap<LocalDate, DayLanes> days = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор для инициализации дорожек, на которые распределяются записи
+     *
+     * @param lanes дорожки в порядке предпочтения при распределении
+     */
+    public LaneOccupancy(List<Lane> lanes) {
+        this.lanes = lanes.toArray(new Lane[0]);
+        for (int lane = 0; lane < this.lanes.length; lane++) {
+            laneIndexes.put(this.lanes[lane].getId(), lane);
+        }
+    }
+
+    /**
+     * Распределение записей на даты с временем по дорожкам и их учёт, если на каждый таймслот нашлась дорожка.
+     * <p>Записи одной даты распределяются на одну дорожку, если она свободна на все их таймслоты. Если хотя бы
+     * на один таймслот свободной дорожки нет, ни одна запись не учитывается
+     *
+     * @param dateTimes различные даты с временем записей
+     * @return дорожки в порядке дат с временем или {@code null}, если распределить записи нельзя
+     */
+    public List<Lane> tryAllocate(List<LocalDateTime> dateTimes) {
+        Map<LocalDate, List<Integer>> positionsByDate = new TreeMap<>();
+        for (int position = 0; position < dateTimes.size(); position++) {
+            positionsByDate.computeIfAbsent(dateTimes.get(position).toLocalDate(), date -> new ArrayList<>())
+                    .add(position);
+        }
+
+        List<DayLanes> lockedDays = new ArrayList<>(positionsByDate.size());
+        try {
+            for (LocalDate date : positionsByDate.keySet()) {
+                lockedDays.add(lockDay(date));
+            }
+            List<int[]> slotIndexesByDay = new ArrayList<>(lockedDays.size());
+            List<int[]> lanesByDay = new ArrayList<>(lockedDays.size());
+            int dayIndex = 0;
+            for (List<Integer> positions : positionsByDate.values()) {
+                int[] slotIndexes = new int[positions.size()];
+                for (int i = 0; i < slotIndexes.length; i++) {
+                    slotIndexes[i] = DailySlotCounts.indexOf(dateTimes.get(positions.get(i)).toLocalTime());
+                }
+                int[] dayLanes = lockedDays.get(dayIndex++).allocate(slotIndexes);
+                if (dayLanes == null) {
+                    return null;
+                }
+                slotIndexesByDay.add(slotIndexes);
+                lanesByDay.add(dayLanes);
+            }
+
+            Lane[] allocated = new Lane[dateTimes.size()];
+            dayIndex = 0;
+            for (List<Integer> positions : positionsByDate.values()) {
+                DayLanes day = lockedDays.get(dayIndex);
+                int[] slotIndexes = slotIndexesByDay.get(dayIndex);
+                int[] dayLanes = lanesByDay.get(dayIndex++);
+                for (int i = 0; i < slotIndexes.length; i++) {
+                    day.add(dayLanes[i], slotIndexes[i]);
+                    allocated[positions.get(i)] = lanes[dayLanes[i]];
+                }
+            }
+            return Arrays.asList(allocated);
+        } finally {
+            for (DayLanes day : lockedDays) {
+                day.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Получение дорожки по идентификатору
+     *
+     * @param laneId идентификатор дорожки
+     * @return дорожка или {@code null}, если записи на неё не распределяются
+     */
+    public Lane getLane(long laneId) {
+        Integer lane = laneIndexes.get(laneId);
+        return lane != null ? lanes[lane] : null;
+    }
+
+    /**
+     * Учёт записи на дорожку без проверки вместимости (загрузка из БД, перевод из листа ожидания).
+     * Запись на неизвестную дорожку игнорируется
+     *
+     * @param laneId идентификатор дорожки
+     * @param dateTime дата с временем записи
+     */
+    public void add(long laneId, LocalDateTime dateTime) {
+        Integer lane = laneIndexes.get(laneId);
+        if (lane == null) {
+            return;
+        }
+        DayLanes day = lockDay(dateTime.toLocalDate());
+        try {
+            day.add(lane, DailySlotCounts.indexOf(dateTime.toLocalTime()));
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Освобождение записи на дорожку. Запись, которая не учтена, игнорируется
+     *
+     * @param laneId идентификатор дорожки
+     * @param dateTime дата с временем записи
+     */
+    public void release(long laneId, LocalDateTime dateTime) {
+        Integer lane = laneIndexes.get(laneId);
+        DayLanes day = days.get(dateTime.toLocalDate());
+        if (lane == null || day == null) {
+            return;
+        }
+        day.lock.lock();
+        try {
+            day.release(lane, DailySlotCounts.indexOf(dateTime.toLocalTime()));
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Получение количества учтённых записей на дорожку на дату с временем
+     *
+     * @param laneId идентификатор дорожки
+     * @param dateTime дата с временем
+     * @return количество записей
+     */
+    public int getCount(long laneId, LocalDateTime dateTime) {
+        Integer lane = laneIndexes.get(laneId);
+        DayLanes day = days.get(dateTime.toLocalDate());
+        if (lane == null || day == null) {
+            return 0;
+        }
+        day.lock.lock();
+        try {
+            return day.counts[lane][DailySlotCounts.indexOf(dateTime.toLocalTime())];
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Удаление занятости на даты раньше указанной
+     *
+     * @param date дата, занятость до которой удаляется
+     */
+    public void removeBefore(LocalDate date) {
+        days.keySet().removeIf(day -> day.isBefore(date));
+    }
+
+    /**
+     * Захват блокировки даты. Если после захвата занятость даты уже удалена, захватывается её новая занятость
+     *
+     * @param date дата
+     * @return занятость даты с захваченной блокировкой
+     */
+    private DayLanes lockDay(LocalDate date) {
+        while (true) {
+            DayLanes day = days.computeIfAbsent(date, d -> new DayLanes(lanes));
+            day.lock.lock();
+            if (days.get(date) == day) {
+                return day;
+            }
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Занятость дорожек одной даты. Все поля изменяются только под блокировкой даты
+     */
+    private static final class DayLanes {
+
+        /**
+         * Количество слов битовой маски отрезков суток
+         */
+        private static final int MASK_WORDS = (DailySlotCounts.SLOTS_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+        /**
+         * Блокировка даты
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Вместимость дорожек
+         */
+        private final int[] capacities;
+
+        /**
+         * Количество записей по дорожкам и отрезкам суток
+         */
+        private final int[][] counts;
+
+        /**
+         * Битовые маски заполненных таймслотов по дорожкам: бит {@code index % 64} элемента {@code index / 64}
+         * установлен, если количество записей на дорожку в отрезке достигло её вместимости
+         */
+        private final long[][] fullMasks;
+
+        /**
+         * Конструктор для инициализации вместимости дорожек и пустой занятости даты
+         *
+         * @param lanes дорожки в порядке предпочтения при распределении
+         */
+        private DayLanes(Lane[] lanes) {
+            capacities = new int[lanes.length];
+            for (int lane = 0; lane < lanes.length; lane++) {
+                capacities[lane] = lanes[lane].getCapacity();
+            }
+            counts = new int[lanes.length][DailySlotCounts.SLOTS_PER_DAY];
+            fullMasks = new long[lanes.length][MASK_WORDS];
+        }
+
+        /**
+         * Выбор дорожек для таймслотов без их учёта
+         *
+         * @param slotIndexes различные отрезки суток таймслотов
+         * @return номера дорожек для таймслотов или {@code null}, если хотя бы на один таймслот свободной дорожки нет
+         */
+        private int[] allocate(int[] slotIndexes) {
+            long[] requestMask = new long[MASK_WORDS];
+            for (int slotIndex : slotIndexes) {
+                requestMask[slotIndex / Long.SIZE] |= 1L << slotIndex;
+            }
+            int[] allocated = new int[slotIndexes.length];
+            for (int lane = 0; lane < capacities.length; lane++) {
+                if (isFreeFor(lane, requestMask)) {
+                    Arrays.fill(allocated, lane);
+                    return allocated;
+                }
+            }
+
+            int position = 0;
+            while (position < slotIndexes.length) {
+                int bestLane = -1;
+                int bestEnd = position;
+                for (int lane = 0; lane < capacities.length; lane++) {
+                    int end = position;
+                    while (end < slotIndexes.length && !isFull(lane, slotIndexes[end])) {
+                        end++;
+                    }
+                    if (end > bestEnd) {
+                        bestLane = lane;
+                        bestEnd = end;
+                    }
+                }
+                if (bestLane < 0) {
+                    return null;
+                }
+                Arrays.fill(allocated, position, bestEnd, bestLane);
+                position = bestEnd;
+            }
+            return allocated;
+        }
+
+        /**
+         * Проверка, что дорожка не заполнена ни в одном таймслоте записи
+         *
+         * @param lane номер дорожки
+         * @param requestMask битовая маска отрезков суток таймслотов записи
+         * @return {@code true}, если на дорожке есть место во всех таймслотах
+         */
+        private boolean isFreeFor(int lane, long[] requestMask) {
+            long[] fullMask = fullMasks[lane];
+            for (int word = 0; word < MASK_WORDS; word++) {
+                if ((fullMask[word] & requestMask[word]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Проверка, что дорожка заполнена в отрезке суток
+         *
+         * @param lane номер дорожки
+         * @param slotIndex отрезок суток
+         * @return {@code true}, если количество записей достигло вместимости дорожки
+         */
+        private boolean isFull(int lane, int slotIndex) {
+            return (fullMasks[lane][slotIndex / Long.SIZE] & (1L << slotIndex)) != 0;
+        }
+
+        /**
+         * Учёт записи на дорожку в отрезке суток
+         *
+         * @param lane номер дорожки
+         * @param slotIndex отрезок суток
+         */
+        private void add(int lane, int slotIndex) {
+            if (++counts[lane][slotIndex] >= capacities[lane]) {
+                fullMasks[lane][slotIndex / Long.SIZE] |= 1L << slotIndex;
+            }
+        }
+
+        /**
+         * Освобождение записи на дорожку в отрезке суток. Отрезок без записей не изменяется
+         *
+         * @param lane номер дорожки
+         * @param slotIndex отрезок суток
+         */
+        private void release(int lane, int slotIndex) {
+            if (counts[lane][slotIndex] == 0) {
+                return;
+            }
+            if (--counts[lane][slotIndex] < capacities[lane]) {
+                fullMasks[lane][slotIndex / Long.SIZE] &= ~(1L << slotIndex);
+            }
+        }
+
+    }
+
+}
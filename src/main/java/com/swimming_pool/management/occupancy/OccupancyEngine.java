@@ -0,0 +1,196 @@
+package com.swimming_pool.management.occupancy;
+
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.model.slot.TimeSlotGrid;
+import com.swimming_pool.management.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Движок допуска записей по занятости таймслотов в памяти для развёртывания на одном узле.
+ * <p>Включается свойством {@code occupancy-engine.enabled}. При запуске приложения занятость всех ещё не прошедших
+ * записей загружается из БД, после чего лимиты записей в час и в день на клиента и пересечения записей клиента
+ * проверяются по {@link SlotOccupancy} без запросов к БД. Записи по-прежнему сохраняются в БД в транзакции
+ * запроса: учтённые движком записи освобождаются при откате транзакции, а отменённые записи освобождаются только
+ * после её фиксации. Изменения записей в БД в обход приложения и другими узлами движком не учитываются.
+ * <p>Движок поддерживает только часовые таймслоты {@link TimeSlotGrid}
+ */
+@Component
+public class OccupancyEngine {
+
+    /**
+     * Логгер движка
+     */
+    private static final Logger log = LoggerFactory.getLogger(OccupancyEngine.class);
+
+    /**
+     * Занятость таймслотов
+     */
+    private final SlotOccupancy occupancy = new SlotOccupancy();
+
+    /**
+     * Признак включения движка
+     */
+    private final boolean enabled;
+
+    /**
+     * Репозиторий для управления записями в БД, из которого загружается занятость таймслотов
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * Конструктор для инициализации {@link OrderRepository} и признака включения движка.
+     * <p>Включение движка при нечасовых таймслотах отклоняется при запуске приложения
+     *
+     * @param enabled признак включения движка
+     * @param orderRepository репозиторий для управления записями в БД
+     * @param timeSlotGrid сетка таймслотов суток, длительность таймслотов которой проверяется
+     */
+    public OccupancyEngine(@Value("${occupancy-engine.enabled:false}") boolean enabled,
+                           OrderRepository orderRepository, TimeSlotGrid timeSlotGrid) {
+        if (enabled && timeSlotGrid.getSlotsPerHour() != 1) {
+            throw new IllegalStateException("occupancy-engine.enabled requires time-slot.duration to be PT1H");
+        }
+        this.enabled = enabled;
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Загрузка занятости всех ещё не прошедших записей из БД
+     */
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        occupancy.clear();
+        LocalDate today = LocalDate.now();
+        List<OrderSlot> reservedSlots = orderRepository.findReservedSlotsByDateTimeRange(
+                today.atStartOfDay(),
+                today.plusMonths(2).atTime(LocalTime.MAX)
+        );
+        for (OrderSlot orderSlot : reservedSlots) {
+            occupancy.add(orderSlot.getClientId(), orderSlot.getDateTime());
+        }
+        log.info("Occupancy engine loaded {} reservations", reservedSlots.size());
+    }
+
+    /**
+     * Признак включения движка
+     *
+     * @return {@code true}, если проверки лимитов выполняются движком
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Проверка лимитов и учёт записей клиента на даты с временем.
+     * <p>Учтённые записи освобождаются, если текущая транзакция не будет зафиксирована
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем записей, упорядоченные по возрастанию
+     * @param limits лимиты на дату
+     * @return {@code null}, если записи учтены, иначе нарушенное правило
+     */
+    public SlotOccupancy.Rejection tryAdmit(long clientId, List<LocalDateTime> dateTimes,
+                                            Function<LocalDate, SlotOccupancy.DailyLimits> limits) {
+        SlotOccupancy.Rejection rejection = occupancy.tryAdmit(clientId, dateTimes, limits);
+        if (rejection == null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        dateTimes.forEach(dateTime -> occupancy.release(clientId, dateTime));
+                    }
+                }
+            });
+        }
+        return rejection;
+    }
+
+    /**
+     * Освобождение записи клиента
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTime дата с временем записи
+     */
+    public void release(long clientId, LocalDateTime dateTime) {
+        occupancy.release(clientId, dateTime);
+    }
+
+    /**
+     * Учёт записи клиента без проверки лимитов после фиксации текущей транзакции
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTime дата с временем записи
+     */
+    public void addAfterCommit(long clientId, LocalDateTime dateTime) {
+        if (enabled) {
+            afterCommit(() -> occupancy.add(clientId, dateTime));
+        }
+    }
+
+    /**
+     * Освобождение записей после фиксации текущей транзакции
+     *
+     * @param orderSlots освобождаемые записи
+     */
+    public void releaseAfterCommit(List<OrderSlot> orderSlots) {
+        if (enabled && !orderSlots.isEmpty()) {
+            afterCommit(() -> orderSlots.forEach(orderSlot ->
+                    occupancy.release(orderSlot.getClientId(), orderSlot.getDateTime())));
+        }
+    }
+
+    /**
+     * Освобождение записи клиента после фиксации текущей транзакции
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTime дата с временем записи
+     */
+    public void releaseAfterCommit(long clientId, LocalDateTime dateTime) {
+        if (enabled) {
+            afterCommit(() -> occupancy.release(clientId, dateTime));
+        }
+    }
+
+    /**
+     * Удаление занятости на прошедшие даты
+     */
+    @Scheduled(fixedDelayString = "${occupancy-engine.cleanup-interval:PT1H}")
+    public void removePastDates() {
+        occupancy.removeBefore(LocalDate.now());
+    }
+
+    /**
+     * Выполнение действия после фиксации текущей транзакции или сразу, если транзакции нет
+     *
+     * @param action действие
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+}
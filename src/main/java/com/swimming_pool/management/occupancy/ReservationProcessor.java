@@ -0,0 +1,613 @@
+package com.swimming_pool.management.occupancy;
+
+import com.swimming_pool.management.event.ReservationsChangedEvent;
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.repository.OrderRepository;
+import com.swimming_pool.management.service.ClientDailyUsageService;
+import com.swimming_pool.management.service.SlotInventoryService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Обработчик добавления записей с одним писателем на каждую группу дат.
+ * <p>Включается свойством {@code reservation-processor.enabled} вместе с {@link OccupancyEngine}. Даты распределены
+ * по {@code reservation-processor.shards} писателям по номеру дня, у каждого писателя своя ограниченная очередь
+ * команд. Писатель забирает из очереди все накопившиеся команды (не больше
+ * {@code reservation-processor.max-batch-size}), проверяет лимиты каждой команды по занятости в памяти и добавляет
+ * допущенные записи в БД одной транзакцией.
+ * При ненулевом {@code reservation-processor.batch-window} писатель после первой команды ждёт следующие команды
+ * в течение этого окна, пока пакет не заполнится, чтобы под нагрузкой фиксировать больше записей одной транзакцией.
+ * Если транзакция пакета не зафиксирована, его записи добавляются по одной, поэтому ошибка одной записи
+ * завершает отказом только её запрос.
+ * Поскольку записи на дату добавляет только её писатель, блокировки дат {@link SlotOccupancy} для него не
+ * конкурируют между собой, их захватывают лишь отмены и добавления записей в обход обработчика.
+ * <p>Если очередь писателя заполнена или результат не получен за {@code reservation-processor.timeout},
+ * запрос отклоняется с {@link ErrorCode#SERVICE_UNAVAILABLE}, а его команда отменяется: писатель пропускает
+ * отменённые команды и не добавляет их записи. Если писатель уже начал добавлять запись команды, запрос дожидается
+ * результата добавления. Обработчик требует {@code spring.jpa.open-in-view=false}:
+ * иначе ожидающие писателя запросы удерживают соединения с БД до своего завершения и писателю может не хватить
+ * соединения из пула. Записи писателей не распределяются по дорожкам, поэтому обработчик не включается
+ * вместе с {@link LaneAllocationEngine}.
+ * <p>{@code reservation.batch.size} - количество команд в пакете писателя, {@code reservation.batch.wait} - время
+ * от постановки команды в очередь до начала обработки её пакета, {@code reservation.batch.commit} - время
+ * транзакции добавления допущенных записей пакета
+ */
+@Component
+public class ReservationProcessor {
+
+    /**
+     * Логгер обработчика
+     */
+    private static final Logger log = LoggerFactory.getLogger(ReservationProcessor.class);
+
+    /**
+     * Признак включения обработчика
+     */
+    private final boolean enabled;
+
+    /**
+     * Очереди команд писателей
+     */
+    private final List<BlockingQueue<Command>> queues;
+
+    /**
+     * Максимальное количество записей, добавляемых писателем одной транзакцией
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Время ожидания следующих команд пакета после первой команды
+     */
+    private final long batchWindowNanos;
+
+    /**
+     * Время ожидания места в очереди и результата добавления записи
+     */
+    private final long timeoutNanos;
+
+    /**
+     * Количество команд в пакетах писателей
+     */
+    private final DistributionSummary batchSize;
+
+    /**
+     * Время от постановки команды в очередь до начала обработки её пакета
+     */
+    private final Timer batchWait;
+
+    /**
+     * Время транзакций добавления записей пакетов
+     */
+    private final Timer batchCommit;
+
+    /**
+     * Потоки писателей, запущенные при включённом обработчике
+     */
+    private final List<Thread> writers = new ArrayList<>();
+
+    /**
+     * Движок занятости таймслотов в памяти, по которому писатели проверяют лимиты
+     */
+    private final OccupancyEngine occupancyEngine;
+
+    /**
+     * Репозиторий для управления записями в БД
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * Сервис для управления счётчиками записей клиентов по датам
+     */
+    private final ClientDailyUsageService clientDailyUsageService;
+
+    /**
+     * Сервис для управления таймслотами горизонта записей
+     */
+    private final SlotInventoryService slotInventoryService;
+
+    /**
+     * Шаблон транзакций добавления записей пакетов
+     */
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Публикатор событий изменения записей
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Конструктор для инициализации настроек, очередей и метрик писателей и зависимостей обработчика.
+     * <p>Несовместимые настройки отклоняются при запуске приложения
+     *
+     * @param enabled признак включения обработчика
+     * @param shards количество писателей
+     * @param queueCapacity вместимость очереди команд каждого писателя
+     * @param maxBatchSize максимальное количество записей, добавляемых писателем одной транзакцией
+     * @param batchWindow время ожидания следующих команд пакета после первой команды
+     * @param timeout время ожидания места в очереди и результата добавления записи
+     * @param openInView признак открытия сессии JPA на всё время обработки HTTP-запроса
+     * @param occupancyEngine движок занятости таймслотов в памяти
+     * @param laneAllocationEngine движок распределения записей по дорожкам, с которым обработчик несовместим
+     * @param orderRepository репозиторий для управления записями в БД
+     * @param clientDailyUsageService сервис для управления счётчиками записей клиентов по датам
+     * @param slotInventoryService сервис для управления таймслотами горизонта записей
+     * @param transactionManager менеджер транзакций
+     * @param eventPublisher публикатор событий изменения записей
+     * @param meterRegistry реестр метрик
+     */
+    public ReservationProcessor(@Value("${reservation-processor.enabled:false}") boolean enabled,
+                                @Value("${reservation-processor.shards:4}") int shards,
+                                @Value("${reservation-processor.queue-capacity:1024}") int queueCapacity,
+                                @Value("${reservation-processor.max-batch-size:64}") int maxBatchSize,
+                                @Value("${reservation-processor.batch-window:PT0S}") Duration batchWindow,
+                                @Value("${reservation-processor.timeout:PT5S}") Duration timeout,
+                                @Value("${spring.jpa.open-in-view:true}") boolean openInView,
+                                OccupancyEngine occupancyEngine, LaneAllocationEngine laneAllocationEngine,
+                                OrderRepository orderRepository,
+                                ClientDailyUsageService clientDailyUsageService,
+                                SlotInventoryService slotInventoryService,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        if (enabled && !occupancyEngine.isEnabled()) {
+            throw new IllegalStateException(
+                    "reservation-processor.enabled requires occupancy-engine.enabled to be true");
+        }
+        if (enabled && laneAllocationEngine.isEnabled()) {
+            throw new IllegalStateException(
+                    "reservation-processor.enabled does not support lane-allocation.enabled");
+        }
+        if (enabled && openInView) {
+            throw new IllegalStateException(
+                    "reservation-processor.enabled requires spring.jpa.open-in-view to be false");
+        }
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.occupancyEngine = occupancyEngine;
+        this.orderRepository = orderRepository;
+        this.clientDailyUsageService = clientDailyUsageService;
+        this.slotInventoryService = slotInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.queues = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        this.batchSize = DistributionSummary.builder("reservation.batch.size")
+                .description("Количество команд в пакетах писателей записей")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) maxBatchSize)
+                .register(meterRegistry);
+        this.batchWait = Timer.builder("reservation.batch.wait")
+                .description("Время от постановки команды добавления записи в очередь до обработки её пакета")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+        this.batchCommit = Timer.builder("reservation.batch.commit")
+                .description("Время транзакций добавления записей пакетов")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(meterRegistry);
+    }
+
+    /**
+     * Запуск писателей
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        for (int shard = 0; shard < queues.size(); shard++) {
+            BlockingQueue<Command> queue = queues.get(shard);
+            Thread writer = new Thread(() -> runWriter(queue), "reservation-writer-" + shard);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Остановка писателей. Команды, оставшиеся в очередях, завершаются отказом
+     */
+    @PreDestroy
+    public void stop() {
+        writers.forEach(Thread::interrupt);
+        for (Thread writer : writers) {
+            try {
+                writer.join(TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        for (BlockingQueue<Command> queue : queues) {
+            List<Command> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            remaining.forEach(command -> command.result.completeExceptionally(overloadedException()));
+        }
+    }
+
+    /**
+     * Признак включения обработчика
+     *
+     * @return {@code true}, если записи добавляются через писателей
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Добавление записи писателем её даты с ожиданием результата.
+     * <p>Если результат не получен за отведённое время или ожидание прервано, команда отменяется, и писатель её
+     * пропускает. Если писатель уже начал добавлять запись команды, результат добавления ожидается до конца
+     *
+     * @param order запись с клиентом, датой с временем и статусом
+     * @param limits лимиты записей на дату записи
+     * @return результат добавления записи
+     */
+    public Result reserve(Order order, SlotOccupancy.DailyLimits limits) {
+        LocalDateTime dateTime = order.getDateTime();
+        Command command = new Command(order, limits, System.nanoTime(), new CompletableFuture<>(),
+                new AtomicReference<>(CommandState.QUEUED));
+        BlockingQueue<Command> queue = queues.get(
+                (int) Math.floorMod(dateTime.toLocalDate().toEpochDay(), (long) queues.size()));
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            if (!queue.offer(command, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw overloadedException();
+            }
+            return command.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return abandon(command);
+        } catch (TimeoutException ex) {
+            return abandon(command);
+        } catch (ExecutionException ex) {
+            throw commandException(ex.getCause());
+        }
+    }
+
+    /**
+     * Отмена команды, результата которой не дождались.
+     * <p>Команда, ещё не взятая писателем на добавление записи, завершается отказом. Если писатель уже добавляет
+     * запись команды или команда уже завершена, возвращается её результат
+     *
+     * @param command команда добавления записи
+     * @return результат добавления записи команды, взятой писателем
+     */
+    private Result abandon(Command command) {
+        if (command.state.compareAndSet(CommandState.QUEUED, CommandState.ABANDONED)) {
+            SwimmingPoolManagementException ex = overloadedException();
+            if (command.result.completeExceptionally(ex)) {
+                throw ex;
+            }
+        }
+        try {
+            return command.result.join();
+        } catch (CompletionException ex) {
+            throw commandException(ex.getCause());
+        }
+    }
+
+    /**
+     * Исключение, которым завершилась команда добавления записи
+     *
+     * @param cause причина завершения команды ошибкой
+     * @return исключение для запроса на добавление записи
+     */
+    private RuntimeException commandException(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new SwimmingPoolManagementException(ErrorCode.INTERNAL_SERVER_ERROR, cause.getMessage());
+    }
+
+    /**
+     * Цикл писателя: сбор пакета команд, проверка лимитов и групповое добавление допущенных записей.
+     * <p>Ошибка обработки команды завершает отказом только эту команду. Непредвиденная ошибка обработки пакета
+     * завершает отказом его незавершённые команды и освобождает их учтённые записи, после чего писатель
+     * продолжает обрабатывать очередь
+     *
+     * @param queue очередь команд писателя
+     */
+    private void runWriter(BlockingQueue<Command> queue) {
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        List<Command> admitted = new ArrayList<>(maxBatchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                collectBatch(queue, batch);
+                long startedAt = System.nanoTime();
+                batchSize.record(batch.size());
+                for (Command command : batch) {
+                    admit(command, startedAt, admitted);
+                }
+                if (!admitted.isEmpty()) {
+                    insert(admitted);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Reservation batch of {} commands failed", batch.size(), ex);
+                failPending(batch, admitted, ex);
+            } finally {
+                batch.clear();
+                admitted.clear();
+            }
+        }
+    }
+
+    /**
+     * Проверка лимитов записи команды и её учёт в занятости. Команда с нарушенным правилом завершается отказом,
+     * команда, при обработке которой произошла ошибка, - этой ошибкой. Отменённая команда пропускается
+     *
+     * @param command команда добавления записи
+     * @param startedAt время начала обработки пакета по {@link System#nanoTime()}
+     * @param admitted команды с допущенными записями, в которые добавляется команда при допуске
+     */
+    private void admit(Command command, long startedAt, List<Command> admitted) {
+        if (command.result.isDone()) {
+            return;
+        }
+        try {
+            batchWait.record(startedAt - command.enqueuedAt, TimeUnit.NANOSECONDS);
+            Order order = command.order;
+            SlotOccupancy.Rejection rejection = occupancyEngine.tryAdmit(order.getClient().getId(),
+                    List.of(order.getDateTime()), date -> command.limits);
+            if (rejection != null) {
+                command.result.complete(new Result(null, rejection));
+            } else {
+                admitted.add(command);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Reservation command for {} failed", command.order.getDateTime(), ex);
+            command.result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Завершение отказом незавершённых команд пакета с освобождением учтённых записей допущенных команд
+     *
+     * @param batch команды пакета
+     * @param admitted команды с допущенными записями
+     * @param ex ошибка обработки пакета
+     */
+    private void failPending(List<Command> batch, List<Command> admitted, RuntimeException ex) {
+        for (Command command : admitted) {
+            if (command.state.get() != CommandState.WRITING || !command.result.isDone()) {
+                try {
+                    occupancyEngine.release(command.order.getClient().getId(), command.order.getDateTime());
+                } catch (RuntimeException releaseEx) {
+                    log.error("Failed to release reservation for {}", command.order.getDateTime(), releaseEx);
+                }
+            }
+        }
+        for (Command command : batch) {
+            command.result.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * Дополнение пакета командами, накопившимися в очереди и поступившими в течение окна ожидания пакета.
+     * <p>При прерывании писателя сбор прекращается, а собранный пакет обрабатывается
+     *
+     * @param queue очередь команд писателя
+     * @param batch пакет с первой командой
+     */
+    private void collectBatch(BlockingQueue<Command> queue, List<Command> batch) {
+        long deadline = System.nanoTime() + batchWindowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            try {
+                Command command = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (command == null) {
+                    return;
+                }
+                batch.add(command);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Добавление допущенных записей одной транзакцией.
+     * <p>Перед транзакцией команды берутся писателем на добавление записи, а отменённые к этому моменту команды
+     * исключаются из пакета с освобождением их учтённых записей. Если транзакция пакета из нескольких записей
+     * не зафиксирована, записи добавляются повторно по одной в отдельных транзакциях, чтобы ошибка одной записи
+     * (например, удаление клиента после проверки) завершила отказом только её команду
+     *
+     * @param admitted команды с допущенными записями
+     */
+    private void insert(List<Command> admitted) {
+        admitted.removeIf(this::abandoned);
+        if (admitted.isEmpty()) {
+            return;
+        }
+        List<Order> orders = admitted.stream().map(Command::order).toList();
+        long startedAt = System.nanoTime();
+        List<Order> savedOrders;
+        try {
+            savedOrders = save(orders);
+        } catch (RuntimeException ex) {
+            if (admitted.size() == 1) {
+                fail(admitted.get(0), ex);
+                return;
+            }
+            log.warn("Reservation batch of {} orders failed, retrying orders one by one", orders.size(), ex);
+            for (Command command : admitted) {
+                insertOne(command);
+            }
+            return;
+        }
+        batchCommit.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        for (int i = 0; i < admitted.size(); i++) {
+            admitted.get(i).result.complete(new Result(savedOrders.get(i), null));
+        }
+    }
+
+    /**
+     * Взятие команды писателем на добавление записи. Если команда отменена не дождавшимся результата запросом,
+     * её учтённая запись освобождается
+     *
+     * @param command команда с допущенной записью
+     * @return {@code true}, если команда отменена и её запись не добавляется
+     */
+    private boolean abandoned(Command command) {
+        if (command.state.compareAndSet(CommandState.QUEUED, CommandState.WRITING)) {
+            return false;
+        }
+        occupancyEngine.release(command.order.getClient().getId(), command.order.getDateTime());
+        return true;
+    }
+
+    /**
+     * Добавление записи одной команды отдельной транзакцией после ошибки транзакции её пакета.
+     * <p>Сохраняется копия записи, так как после отката транзакции пакета у записи остаются идентификатор и версия
+     *
+     * @param command команда с допущенной записью
+     */
+    private void insertOne(Command command) {
+        Order order = command.order;
+        Order copy = Order.Builder.newBuilder()
+                .client(order.getClient())
+                .dateTime(order.getDateTime())
+                .status(order.getStatus())
+                .series(order.getSeries())
+                .lane(order.getLane())
+                .build();
+        long startedAt = System.nanoTime();
+        try {
+            Order savedOrder = save(List.of(copy)).get(0);
+            batchCommit.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            command.result.complete(new Result(savedOrder, null));
+        } catch (RuntimeException ex) {
+            fail(command, ex);
+        }
+    }
+
+    /**
+     * Сохранение записей, учёт их в счётчиках клиентов и таймслотах одной транзакцией
+     *
+     * @param orders записи
+     * @return сохранённые записи в том же порядке
+     */
+    private List<Order> save(List<Order> orders) {
+        return transactionTemplate.execute(status -> {
+            List<Order> saved = orderRepository.saveAll(orders);
+            clientDailyUsageService.addReservedSlots(saved);
+            slotInventoryService.addReserved(saved.stream().map(Order::getDateTime).toList());
+            eventPublisher.publishEvent(new ReservationsChangedEvent(
+                    saved.stream().map(order -> order.getDateTime().toLocalDate()).toList()
+            ));
+            return saved;
+        });
+    }
+
+    /**
+     * Завершение команды ошибкой добавления записи с освобождением её учтённой записи
+     *
+     * @param command команда с допущенной записью
+     * @param ex ошибка добавления записи
+     */
+    private void fail(Command command, RuntimeException ex) {
+        log.error("Reservation for {} failed", command.order.getDateTime(), ex);
+        occupancyEngine.release(command.order.getClient().getId(), command.order.getDateTime());
+        command.result.completeExceptionally(ex);
+    }
+
+    /**
+     * Исключение о том, что запрос на добавление записи не обработан за отведённое время
+     *
+     * @return исключение с кодом {@link ErrorCode#SERVICE_UNAVAILABLE}
+     */
+    private SwimmingPoolManagementException overloadedException() {
+        return new SwimmingPoolManagementException(
+                ErrorCode.SERVICE_UNAVAILABLE,
+                "Не удалось добавить запись: превышено время ожидания обработки, повторите запрос позже"
+        );
+    }
+
+    /**
+     * Команда добавления записи
+     *
+     * @param order запись
+     * @param limits лимиты записей на дату записи
+     * @param enqueuedAt время постановки команды в очередь по {@link System#nanoTime()}
+     * @param result результат добавления записи
+     * @param state состояние команды
+     */
+    private record Command(Order order, SlotOccupancy.DailyLimits limits, long enqueuedAt,
+                           CompletableFuture<Result> result, AtomicReference<CommandState> state) {
+    }
+
+    /**
+     * Состояние команды добавления записи
+     */
+    private enum CommandState {
+
+        /**
+         * Команда ожидает писателя
+         */
+        QUEUED,
+
+        /**
+         * Писатель добавляет запись команды, команда не может быть отменена
+         */
+        WRITING,
+
+        /**
+         * Команда отменена не дождавшимся результата запросом, её запись не добавляется
+         */
+        ABANDONED
+
+    }
+
+    /**
+     * Результат добавления записи
+     *
+     * @param order добавленная запись, {@code null} при отказе
+     * @param rejection нарушенное правило, {@code null}, если запись добавлена
+     */
+    public record Result(Order order, SlotOccupancy.Rejection rejection) {
+    }
+
+}
@@ -0,0 +1,292 @@
+package com.swimming_pool.management.occupancy;
+
+import com.swimming_pool.management.model.slot.DailySlotCounts;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Занятость часовых таймслотов в памяти: количество записей на каждый таймслот и часы, занятые каждым клиентом
+ * в течение дня.
+ * <p>Состояние разбито по датам, у каждой даты своя блокировка, поэтому добавления записей на разные даты
+ * не ждут друг друга. Проверка лимитов и учёт добавленных записей выполняются под блокировкой даты одной операцией,
+ * поэтому одновременные добавления не превышают лимиты. Добавление на несколько дат захватывает блокировки дат
+ * по возрастанию.
+ * <p>Поддерживаются только часовые таймслоты: занятые клиентом часы хранятся битовой маской по часам суток
+ */
+public class SlotOccupancy {
+
+    /**
+     * Занятость по датам
+     */
+    private final ConcurrentHashMap<LocalDate, DayOccupancy> days = new ConcurrentHashMap<>();
+
+    /**
+     * Проверка лимитов и учёт записей клиента на даты с временем, если ни один лимит не нарушен.
+     * <p>Для каждой даты сначала проверяется лимит записей в день на клиента, затем по каждому времени - отсутствие
+     * записи клиента и лимит записей в час. При нарушении хотя бы одного правила ни одна запись не учитывается
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем записей, упорядоченные по возрастанию
+     * @param limits лимиты на дату, вычисляются до захвата блокировок
+     * @return {@code null}, если записи учтены, иначе нарушенное правило
+     */
+    public Rejection tryAdmit(long clientId, List<LocalDateTime> dateTimes, Function<LocalDate, DailyLimits> limits) {
+        Map<LocalDate, List<LocalDateTime>> dateTimesByDate = new TreeMap<>();
+        for (LocalDateTime dateTime : dateTimes) {
+            dateTimesByDate.computeIfAbsent(dateTime.toLocalDate(), date -> new ArrayList<>()).add(dateTime);
+        }
+        Map<LocalDate, DailyLimits> limitsByDate = new HashMap<>();
+        for (LocalDate date : dateTimesByDate.keySet()) {
+            limitsByDate.put(date, limits.apply(date));
+        }
+
+        List<DayOccupancy> lockedDays = new ArrayList<>(dateTimesByDate.size());
+        try {
+            for (LocalDate date : dateTimesByDate.keySet()) {
+                lockedDays.add(lockDay(date));
+            }
+            int index = 0;
+            for (Map.Entry<LocalDate, List<LocalDateTime>> entry : dateTimesByDate.entrySet()) {
+                Rejection rejection = lockedDays.get(index++)
+                        .check(clientId, entry.getValue(), limitsByDate.get(entry.getKey()));
+                if (rejection != null) {
+                    return rejection;
+                }
+            }
+            index = 0;
+            for (List<LocalDateTime> dateTimesForDate : dateTimesByDate.values()) {
+                DayOccupancy day = lockedDays.get(index++);
+                for (LocalDateTime dateTime : dateTimesForDate) {
+                    day.add(clientId, dateTime.getHour());
+                }
+            }
+            return null;
+        } finally {
+            for (DayOccupancy day : lockedDays) {
+                day.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Учёт записи клиента на дату с временем без проверки лимитов (загрузка из БД, перевод из листа ожидания)
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTime дата с временем записи
+     */
+    public void add(long clientId, LocalDateTime dateTime) {
+        DayOccupancy day = lockDay(dateTime.toLocalDate());
+        try {
+            day.add(clientId, dateTime.getHour());
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Освобождение записи клиента на дату с временем. Запись, которая не учтена, игнорируется
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTime дата с временем записи
+     */
+    public void release(long clientId, LocalDateTime dateTime) {
+        DayOccupancy day = days.get(dateTime.toLocalDate());
+        if (day == null) {
+            return;
+        }
+        day.lock.lock();
+        try {
+            day.release(clientId, dateTime.getHour());
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Получение количества учтённых записей на дату с временем
+     *
+     * @param dateTime дата с временем
+     * @return количество записей
+     */
+    public int getCount(LocalDateTime dateTime) {
+        DayOccupancy day = days.get(dateTime.toLocalDate());
+        if (day == null) {
+            return 0;
+        }
+        day.lock.lock();
+        try {
+            return day.slotCounts.getCount(DailySlotCounts.indexOf(dateTime.toLocalTime()));
+        } finally {
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Удаление занятости на даты раньше указанной
+     *
+     * @param date дата, занятость до которой удаляется
+     */
+    public void removeBefore(LocalDate date) {
+        days.keySet().removeIf(day -> day.isBefore(date));
+    }
+
+    /**
+     * Удаление занятости на все даты
+     */
+    public void clear() {
+        days.clear();
+    }
+
+    /**
+     * Захват блокировки даты. Если после захвата занятость даты уже удалена, захватывается её новая занятость
+     *
+     * @param date дата
+     * @return занятость даты с захваченной блокировкой
+     */
+    private DayOccupancy lockDay(LocalDate date) {
+        while (true) {
+            DayOccupancy day = days.computeIfAbsent(date, d -> new DayOccupancy());
+            day.lock.lock();
+            if (days.get(date) == day) {
+                return day;
+            }
+            day.lock.unlock();
+        }
+    }
+
+    /**
+     * Занятость таймслотов одной даты. Все поля изменяются только под блокировкой даты
+     */
+    private static final class DayOccupancy {
+
+        /**
+         * Блокировка даты, под которой проверяются и изменяются записи на дату
+         */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /**
+         * Количество записей по часовым таймслотам
+         */
+        private final DailySlotCounts slotCounts = new DailySlotCounts();
+
+        /**
+         * Занятые клиентами часы: бит {@code 1 << hour} установлен, если у клиента есть запись на этот час
+         */
+        private final Map<Long, Integer> clientHours = new HashMap<>();
+
+        /**
+         * Проверка лимитов записей клиента на таймслоты даты без их учёта
+         *
+         * @param clientId идентификатор клиента
+         * @param dateTimes даты с временем записей на эту дату
+         * @param limits лимиты записей на дату
+         * @return нарушенное правило или {@code null}, если ни один лимит не нарушен
+         */
+        private Rejection check(long clientId, List<LocalDateTime> dateTimes, DailyLimits limits) {
+            int hours = clientHours.getOrDefault(clientId, 0);
+            int clientCount = Integer.bitCount(hours);
+            if (clientCount + dateTimes.size() > limits.dailyLimitPerClient()) {
+                return new Rejection(Reason.DAILY_LIMIT_EXCEEDED, dateTimes.get(0),
+                        limits.dailyLimitPerClient() - clientCount);
+            }
+            for (LocalDateTime dateTime : dateTimes) {
+                int hour = dateTime.getHour();
+                if ((hours & (1 << hour)) != 0) {
+                    return new Rejection(Reason.ALREADY_RESERVED, dateTime, 0);
+                }
+                int count = slotCounts.getCount(slotIndex(hour));
+                if (count >= limits.limitPerHour()) {
+                    return new Rejection(Reason.HOURLY_LIMIT_EXCEEDED, dateTime, limits.limitPerHour() - count);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Учёт записи клиента на часовой таймслот. Повторный учёт той же записи игнорируется
+         *
+         * @param clientId идентификатор клиента
+         * @param hour час таймслота
+         */
+        private void add(long clientId, int hour) {
+            int hours = clientHours.getOrDefault(clientId, 0);
+            if ((hours & (1 << hour)) != 0) {
+                return;
+            }
+            clientHours.put(clientId, hours | (1 << hour));
+            slotCounts.increment(slotIndex(hour));
+        }
+
+        /**
+         * Освобождение записи клиента на часовой таймслот. Неучтённая запись игнорируется
+         *
+         * @param clientId идентификатор клиента
+         * @param hour час таймслота
+         */
+        private void release(long clientId, int hour) {
+            Integer hours = clientHours.get(clientId);
+            if (hours == null || (hours & (1 << hour)) == 0) {
+                return;
+            }
+            int remainingHours = hours & ~(1 << hour);
+            if (remainingHours == 0) {
+                clientHours.remove(clientId);
+            } else {
+                clientHours.put(clientId, remainingHours);
+            }
+            slotCounts.decrementIfPresent(slotIndex(hour));
+        }
+
+        /**
+         * Номер часового таймслота в количествах записей {@link DailySlotCounts}
+         *
+         * @param hour час таймслота
+         * @return номер таймслота
+         */
+        private static int slotIndex(int hour) {
+            return DailySlotCounts.indexOf(LocalTime.of(hour, 0));
+        }
+
+    }
+
+    /**
+     * Лимиты записей на дату
+     *
+     * @param limitPerHour лимит записей в час
+     * @param dailyLimitPerClient лимит записей в день на клиента
+     */
+    public record DailyLimits(int limitPerHour, int dailyLimitPerClient) {
+    }
+
+    /**
+     * Нарушенное правило добавления записей
+     *
+     * @param reason правило
+     * @param dateTime дата с временем, на которой нарушено правило
+     * @param availableCount доступный лимит записей
+     */
+    public record Rejection(Reason reason, LocalDateTime dateTime, long availableCount) {
+    }
+
+    /**
+     * Перечисление правил добавления записей
+     */
+    public enum Reason {
+
+        DAILY_LIMIT_EXCEEDED,
+        ALREADY_RESERVED,
+        HOURLY_LIMIT_EXCEEDED
+
+    }
+
+}
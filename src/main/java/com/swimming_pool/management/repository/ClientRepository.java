@@ -24,6 +24,15 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     @Query(value = "SELECT c FROM Client c WHERE c.id = :id")
     Optional<Client> findById(@Param("id") Long id);
 
+    /**
+     * Блокировка строки клиента до конца текущей транзакции
+     *
+     * @param id идентификатор клиента
+     * @return {@link Optional} - контейнер, который может содержать идентификатор заблокированного клиента
+     */
+    @Query(value = "SELECT id FROM clients WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
     /**
      * Выборка всех клиентов
      *
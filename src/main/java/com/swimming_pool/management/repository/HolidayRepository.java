@@ -2,11 +2,13 @@ package com.swimming_pool.management.repository;
 
 import com.swimming_pool.management.model.entity.Holiday;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,4 +26,63 @@ public interface HolidayRepository extends JpaRepository<Holiday, Long> {
     @Query("SELECT h FROM Holiday h WHERE h.date = :date")
     Optional<Holiday> findByDate(@Param("date")LocalDate date);
 
+    /**
+     * Выборка дат праздничных дней по интервалу дат
+     *
+     * @param startDate дата, с которой будет выполняться поиск
+     * @param endDate дата, по которую будет выполняться поиск
+     * @return список дат праздничных дней по указанному интервалу дат
+     */
+    @Query("SELECT h.date FROM Holiday h WHERE h.date BETWEEN :startDate AND :endDate")
+    List<LocalDate> findDatesByDateRange(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Выборка праздничных дней по интервалу дат
+     *
+     * @param startDate дата, с которой будет выполняться поиск
+     * @param endDate дата, по которую будет выполняться поиск
+     * @return список праздничных дней по указанному интервалу дат, упорядоченный по дате
+     */
+    @Query("SELECT h FROM Holiday h WHERE h.date BETWEEN :startDate AND :endDate ORDER BY h.date")
+    List<Holiday> findByDateRange(@Param("startDate") LocalDate startDate,
+                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * Выборка всех праздничных дней
+     *
+     * @return список всех праздничных дней, упорядоченный по дате
+     */
+    @Query("SELECT h FROM Holiday h ORDER BY h.date")
+    List<Holiday> findAllOrderByDate();
+
+    /**
+     * Добавление праздничных дней одним запросом с заменой описания праздничных дней, уже существующих на эти даты
+     *
+     * @param dates даты праздничных дней
+     * @param descriptions описания праздничных дней в том же порядке
+     * @return количество добавленных и изменённых праздничных дней
+     */
+    @Modifying
+    @Query(value = "INSERT INTO holidays (date, description) " +
+            "SELECT holiday.date, holiday.description " +
+            "FROM unnest(CAST(:dates AS date[]), CAST(:descriptions AS varchar[])) AS holiday (date, description) " +
+            "ON CONFLICT (date) DO UPDATE SET description = EXCLUDED.description", nativeQuery = true)
+    int upsertAll(@Param("dates") LocalDate[] dates, @Param("descriptions") String[] descriptions);
+
+    /**
+     * Удаление праздничных дней по интервалу дат, кроме указанных дат
+     *
+     * @param startDate дата, с которой будут удаляться праздничные дни
+     * @param endDate дата, по которую будут удаляться праздничные дни
+     * @param keptDates даты праздничных дней, которые не удаляются
+     * @return количество удалённых праздничных дней
+     */
+    @Modifying
+    @Query(value = "DELETE FROM holidays WHERE date BETWEEN :startDate AND :endDate " +
+            "AND date <> ALL(CAST(:keptDates AS date[]))", nativeQuery = true)
+    int deleteByDateRangeExcept(@Param("startDate") LocalDate startDate,
+                                @Param("endDate") LocalDate endDate,
+                                @Param("keptDates") LocalDate[] keptDates);
+
 }
@@ -0,0 +1,100 @@
+package com.swimming_pool.management.repository;
+
+import com.swimming_pool.management.model.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий для управления сущностью {@link IdempotencyRecord} между приложением и БД.
+ * <p>Изменяющие методы выполняются в собственных транзакциях: захват ключа должен быть виден другим узлам
+ * до начала обработки запроса, а сохранение ответа - сразу после её окончания
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Выборка записи по операции и ключу идемпотентности
+     *
+     * @param operation операция, к которой относится ключ
+     * @param idempotencyKey ключ идемпотентности
+     * @return {@link Optional} - контейнер, который может содержать запись {@link IdempotencyRecord}
+     */
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.operation = :operation AND r.idempotencyKey = :idempotencyKey")
+    Optional<IdempotencyRecord> findByOperationAndKey(@Param("operation") String operation,
+                                                      @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Атомарный захват ключа идемпотентности для обработки запроса.
+     * <p>Ключ захватывается, если он ещё не использовался, истёк срок его хранения или предыдущая обработка
+     * зависла (узел упал, не сохранив ответ)
+     *
+     * @param operation операция, к которой относится ключ
+     * @param idempotencyKey ключ идемпотентности
+     * @param requestHash SHA-256 тела запроса
+     * @param ttlSeconds срок хранения ответа в секундах
+     * @param pendingTimeoutSeconds время в секундах, после которого незавершённая обработка считается зависшей
+     * @return 1 - ключ захвачен, 0 - ключ уже занят
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_records " +
+            "(operation, idempotency_key, request_hash, status, expires_at, created_at, modified_at) " +
+            "VALUES (:operation, :idempotencyKey, :requestHash, 'PENDING', " +
+            "now() + make_interval(secs => :ttlSeconds), now(), now()) " +
+            "ON CONFLICT (operation, idempotency_key) DO UPDATE SET request_hash = EXCLUDED.request_hash, " +
+            "status = 'PENDING', response_body = NULL, expires_at = EXCLUDED.expires_at, " +
+            "created_at = now(), modified_at = now() " +
+            "WHERE idempotency_records.expires_at < now() OR (idempotency_records.status = 'PENDING' " +
+            "AND idempotency_records.modified_at < now() - make_interval(secs => :pendingTimeoutSeconds))",
+            nativeQuery = true)
+    int claim(@Param("operation") String operation,
+              @Param("idempotencyKey") String idempotencyKey,
+              @Param("requestHash") String requestHash,
+              @Param("ttlSeconds") long ttlSeconds,
+              @Param("pendingTimeoutSeconds") long pendingTimeoutSeconds);
+
+    /**
+     * Сохранение ответа на запрос и завершение обработки по ключу идемпотентности
+     *
+     * @param operation операция, к которой относится ключ
+     * @param idempotencyKey ключ идемпотентности
+     * @param responseBody сериализованный в JSON ответ
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE idempotency_records SET status = 'COMPLETED', response_body = :responseBody, " +
+            "modified_at = now() WHERE operation = :operation AND idempotency_key = :idempotencyKey",
+            nativeQuery = true)
+    void complete(@Param("operation") String operation,
+                  @Param("idempotencyKey") String idempotencyKey,
+                  @Param("responseBody") String responseBody);
+
+    /**
+     * Освобождение незавершённого ключа идемпотентности после ошибки обработки, чтобы запрос можно было повторить
+     *
+     * @param operation операция, к которой относится ключ
+     * @param idempotencyKey ключ идемпотентности
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_records WHERE operation = :operation " +
+            "AND idempotency_key = :idempotencyKey AND status = 'PENDING'", nativeQuery = true)
+    void release(@Param("operation") String operation, @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Удаление записей с истёкшим сроком хранения
+     *
+     * @return количество удалённых записей
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_records WHERE expires_at < now()", nativeQuery = true)
+    int deleteExpired();
+
+}
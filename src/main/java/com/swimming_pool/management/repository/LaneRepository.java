@@ -0,0 +1,27 @@
+package com.swimming_pool.management.repository;
+
+import com.swimming_pool.management.model.entity.Lane;
+import com.swimming_pool.management.model.enums.LaneActivity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Репозиторий для управления сущностью {@link Lane} между приложением и БД
+ */
+@Repository
+public interface LaneRepository extends JpaRepository<Lane, Long> {
+
+    /**
+     * Выборка дорожек с определённым видом занятий
+     *
+     * @param activity вид занятий
+     * @return список дорожек, упорядоченный по идентификатору
+     */
+    @Query("SELECT l FROM Lane l WHERE l.activity = :activity ORDER BY l.id")
+    List<Lane> findByActivity(@Param("activity") LaneActivity activity);
+
+}
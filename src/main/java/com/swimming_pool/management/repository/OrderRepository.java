@@ -1,12 +1,19 @@
 package com.swimming_pool.management.repository;
 
 import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.projection.CancelledOrderSlot;
+import com.swimming_pool.management.model.projection.ClientDailyUsageDrift;
+import com.swimming_pool.management.model.projection.DateTimeCount;
+import com.swimming_pool.management.model.projection.OrderSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -79,4 +86,289 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                                                    @Param("startDateTime") LocalDateTime startDateTime,
                                                    @Param("endDateTime") LocalDateTime endDateTime);
 
+    /**
+     * Выборка количества занятых записей, сгруппированных по датам с временем, среди указанных дат с временем
+     *
+     * @param dateTimes даты с временем, на которые будет выполняться поиск
+     * @return список пар: дата с временем и количество занятых записей на неё (даты без записей отсутствуют)
+     */
+    @Query("SELECT o.dateTime AS dateTime, COUNT(o) AS count FROM Order o WHERE o.status = 'RESERVED' " +
+            "AND o.dateTime IN :dateTimes GROUP BY o.dateTime")
+    List<DateTimeCount> countReservationsGroupedByDateTime(@Param("dateTimes") Collection<LocalDateTime> dateTimes);
+
+    /**
+     * Выборка всех дат с временами занятых клиентом записей по его идентификатору и по интервалу дат с временами
+     *
+     * @param clientId идентификатор клиента
+     * @param startDateTime дата с временем, с которой будет выполняться поиск
+     * @param endDateTime дата с временем, по которую будет выполняться поиск
+     * @return список дат с временами занятых клиентом записей по указанному интервалу
+     */
+    @Query("SELECT o.dateTime FROM Order o WHERE o.client.id = :clientId AND o.status = 'RESERVED' " +
+            "AND o.dateTime BETWEEN :startDateTime AND :endDateTime")
+    List<LocalDateTime> findReservedDateTimesForClientByDateRange(@Param("clientId") Long clientId,
+                                                                  @Param("startDateTime") LocalDateTime startDateTime,
+                                                                  @Param("endDateTime") LocalDateTime endDateTime);
+
+    /**
+     * Выборка всех занятых записей по интервалу дат с временами
+     *
+     * @param startDateTime дата с временем, с которой будет выполняться поиск
+     * @param endDateTime дата с временем, по которую будет выполняться поиск
+     * @return список занятых записей по указанному интервалу
+     */
+    @Query("SELECT o.id AS id, o.client.id AS clientId, o.dateTime AS dateTime, o.lane.id AS laneId " +
+            "FROM Order o " +
+            "WHERE o.status = 'RESERVED' AND o.dateTime BETWEEN :startDateTime AND :endDateTime")
+    List<OrderSlot> findReservedSlotsByDateTimeRange(@Param("startDateTime") LocalDateTime startDateTime,
+                                                     @Param("endDateTime") LocalDateTime endDateTime);
+
+    /**
+     * Выборка всех записей серии регулярных записей
+     *
+     * @param seriesId идентификатор серии записей
+     * @return список записей серии, упорядоченный по дате с временем
+     */
+    @Query("SELECT o FROM Order o WHERE o.series.id = :seriesId ORDER BY o.dateTime")
+    List<Order> findBySeriesId(@Param("seriesId") Long seriesId);
+
+    /**
+     * Добавление занятых записей серии одним запросом на все даты с временем
+     *
+     * @param clientId идентификатор клиента
+     * @param seriesId идентификатор серии записей
+     * @param dateTimes даты с временем добавляемых записей
+     * @param laneIds идентификаторы дорожек записей в том же порядке, {@code null} - запись не распределена
+     * @return количество добавленных записей
+     */
+    @Modifying
+    @Query(value = "INSERT INTO orders (client_id, series_id, datetime, lane_id, status, created_at, modified_at) " +
+            "SELECT :clientId, :seriesId, slot.datetime, slot.lane_id, 'RESERVED', now(), now() " +
+            "FROM unnest(CAST(:dateTimes AS timestamp[]), CAST(:laneIds AS bigint[])) AS slot (datetime, lane_id)",
+            nativeQuery = true)
+    int insertReservedForSeries(@Param("clientId") Long clientId,
+                                @Param("seriesId") Long seriesId,
+                                @Param("dateTimes") LocalDateTime[] dateTimes,
+                                @Param("laneIds") Long[] laneIds);
+
+    /**
+     * Отмена занятой записи одним условным запросом, если клиент существует.
+     * <p>Из одновременных отмен одной записи запись возвращает только та, что её отменила. Запрос не помечен
+     * {@link Modifying}, так как возвращает отменённую запись через {@code RETURNING} вместе с признаком ожидающих
+     * заявок листа ожидания на её таймслот
+     *
+     * @param id идентификатор записи
+     * @param clientId идентификатор клиента
+     * @return {@link Optional} - контейнер, который содержит отменённую запись, если она была занята и клиент существует
+     */
+    @Query(value = "UPDATE orders SET status = 'CANCELLED', version = version + 1, modified_at = now() " +
+            "WHERE id = :id AND status = 'RESERVED' AND EXISTS (SELECT 1 FROM clients WHERE id = :clientId) " +
+            "RETURNING id AS \"id\", client_id AS \"clientId\", datetime AS \"dateTime\", lane_id AS \"laneId\", " +
+            "EXISTS (SELECT 1 FROM waitlist_entries w WHERE w.datetime = orders.datetime AND w.status = 'WAITING') " +
+            "AS \"waitlisted\"",
+            nativeQuery = true)
+    Optional<CancelledOrderSlot> cancelReserved(@Param("id") Long id, @Param("clientId") Long clientId);
+
+    /**
+     * Отмена одним запросом всех занятых записей серии, начиная с указанной даты с временем.
+     * <p>Запрос не помечен {@link Modifying}, так как возвращает отменённые записи через {@code RETURNING} вместе
+     * с признаками ожидающих заявок листа ожидания на их таймслоты
+     *
+     * @param seriesId идентификатор серии записей
+     * @param fromDateTime дата с временем, начиная с которой отменяются записи
+     * @return список отменённых записей
+     */
+    @Query(value = "UPDATE orders SET status = 'CANCELLED', version = version + 1, modified_at = now() " +
+            "WHERE series_id = :seriesId AND status = 'RESERVED' AND datetime > :fromDateTime " +
+            "RETURNING id AS \"id\", client_id AS \"clientId\", datetime AS \"dateTime\", lane_id AS \"laneId\", " +
+            "EXISTS (SELECT 1 FROM waitlist_entries w WHERE w.datetime = orders.datetime AND w.status = 'WAITING') " +
+            "AS \"waitlisted\"",
+            nativeQuery = true)
+    List<CancelledOrderSlot> cancelReservedBySeries(@Param("seriesId") Long seriesId,
+                                                    @Param("fromDateTime") LocalDateTime fromDateTime);
+
+    /**
+     * Отмена одним запросом всех занятых записей по интервалу дат с временами.
+     * <p>Запрос не помечен {@link Modifying}, так как возвращает отменённые записи через {@code RETURNING} вместе
+     * с признаками ожидающих заявок листа ожидания на их таймслоты
+     *
+     * @param startDateTime дата с временем, с которой отменяются записи (включительно)
+     * @param endDateTime дата с временем, до которой отменяются записи (не включительно)
+     * @return список отменённых записей
+     */
+    @Query(value = "UPDATE orders SET status = 'CANCELLED', version = version + 1, modified_at = now() " +
+            "WHERE status = 'RESERVED' AND datetime >= :startDateTime AND datetime < :endDateTime " +
+            "RETURNING id AS \"id\", client_id AS \"clientId\", datetime AS \"dateTime\", lane_id AS \"laneId\", " +
+            "EXISTS (SELECT 1 FROM waitlist_entries w WHERE w.datetime = orders.datetime AND w.status = 'WAITING') " +
+            "AS \"waitlisted\"",
+            nativeQuery = true)
+    List<CancelledOrderSlot> cancelReservedByDateTimeRange(@Param("startDateTime") LocalDateTime startDateTime,
+                                                           @Param("endDateTime") LocalDateTime endDateTime);
+
+    /**
+     * Блокировка строк таймслотов до конца текущей транзакции одним запросом.
+     * <p>Отсутствующие строки таймслотов добавляются. Запрос не помечен {@link Modifying}, так как возвращает
+     * количество заблокированных таймслотов через {@code RETURNING}
+     *
+     * @param dateTimes даты с временем таймслотов, упорядоченные по возрастанию
+     * @return количество заблокированных таймслотов
+     */
+    @Query(value = "WITH locked AS (INSERT INTO slot_locks (datetime) " +
+            "SELECT dt FROM unnest(CAST(:dateTimes AS timestamp[])) AS dt " +
+            "ON CONFLICT (datetime) DO UPDATE SET datetime = EXCLUDED.datetime RETURNING datetime) " +
+            "SELECT count(*) FROM locked", nativeQuery = true)
+    long lockSlots(@Param("dateTimes") LocalDateTime[] dateTimes);
+
+    /**
+     * Захват рекомендательных блокировок PostgreSQL до конца текущей транзакции одним запросом
+     *
+     * @param keys ключи блокировок, упорядоченные по возрастанию
+     * @return количество захваченных блокировок
+     */
+    @Query(value = "SELECT count(pg_advisory_xact_lock(k)) FROM unnest(CAST(:keys AS bigint[])) AS k",
+            nativeQuery = true)
+    long lockAdvisory(@Param("keys") long[] keys);
+
+    /**
+     * Учёт таймслотов записей клиента на дату в счётчике {@code client_daily_usage}, если с ними не будет превышен
+     * дневной лимит.
+     * <p>Строка счётчика блокируется до конца текущей транзакции, поэтому одновременные записи одного клиента
+     * на одну дату проверяют лимит по очереди
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записей
+     * @param slots количество таймслотов записей
+     * @param dailyLimit лимит таймслотов записей клиента на дату
+     * @return 1 - таймслоты учтены, 0 - с ними был бы превышен дневной лимит
+     */
+    @Modifying
+    @Query(value = "INSERT INTO client_daily_usage (client_id, date, slots) " +
+            "SELECT :clientId, :date, :slots WHERE :slots <= :dailyLimit " +
+            "ON CONFLICT (client_id, date) DO UPDATE SET slots = client_daily_usage.slots + EXCLUDED.slots " +
+            "WHERE client_daily_usage.slots + EXCLUDED.slots <= :dailyLimit", nativeQuery = true)
+    int reserveDailySlots(@Param("clientId") Long clientId,
+                          @Param("date") LocalDate date,
+                          @Param("slots") int slots,
+                          @Param("dailyLimit") int dailyLimit);
+
+    /**
+     * Учёт одной записи клиента на каждую из дат в счётчиках {@code client_daily_usage} одним запросом на те даты,
+     * на которых с ней не будет превышен дневной лимит.
+     * <p>Строки счётчиков блокируются по возрастанию дат до конца текущей транзакции. Запрос не помечен
+     * {@link Modifying}, так как возвращает даты, на которые запись не учтена
+     *
+     * @param clientId идентификатор клиента
+     * @param dates различные даты записей
+     * @param dailyLimits лимиты таймслотов записей клиента на даты в том же порядке
+     * @return номера дат, начиная с 1, на которые запись не учтена, по возрастанию
+     */
+    @Query(value = "WITH reserved AS (INSERT INTO client_daily_usage (client_id, date, slots) " +
+            "SELECT :clientId, requested.date, 1 " +
+            "FROM unnest(CAST(:dates AS date[]), CAST(:dailyLimits AS integer[])) AS requested (date, daily_limit) " +
+            "WHERE requested.daily_limit >= 1 ORDER BY requested.date " +
+            "ON CONFLICT (client_id, date) DO UPDATE SET slots = client_daily_usage.slots + 1 " +
+            "WHERE client_daily_usage.slots < (SELECT limits.daily_limit " +
+            "FROM unnest(CAST(:dates AS date[]), CAST(:dailyLimits AS integer[])) AS limits (date, daily_limit) " +
+            "WHERE limits.date = EXCLUDED.date) " +
+            "RETURNING date) " +
+            "SELECT CAST(requested.position AS integer) " +
+            "FROM unnest(CAST(:dates AS date[])) WITH ORDINALITY AS requested (date, position) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM reserved WHERE reserved.date = requested.date) " +
+            "ORDER BY requested.position", nativeQuery = true)
+    List<Integer> reserveDailySlotForDates(@Param("clientId") Long clientId,
+                                           @Param("dates") LocalDate[] dates,
+                                           @Param("dailyLimits") int[] dailyLimits);
+
+    /**
+     * Выборка количества таймслотов в счётчике записей клиента на дату
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записей
+     * @return количество учтённых таймслотов записей клиента на дату
+     */
+    @Query(value = "SELECT COALESCE((SELECT CAST(slots AS bigint) FROM client_daily_usage " +
+            "WHERE client_id = :clientId AND date = :date), 0)", nativeQuery = true)
+    long findDailySlots(@Param("clientId") Long clientId, @Param("date") LocalDate date);
+
+    /**
+     * Учёт таймслотов записей в счётчиках клиентов по датам одним запросом без проверки дневного лимита.
+     * <p>Строки счётчиков блокируются в порядке клиентов и дат, чтобы одновременные запросы не блокировали
+     * друг друга взаимно
+     *
+     * @param clientIds идентификаторы клиентов записей
+     * @param dateTimes даты с временем записей в том же порядке
+     * @return количество изменённых счётчиков
+     */
+    @Modifying
+    @Query(value = "INSERT INTO client_daily_usage (client_id, date, slots) " +
+            "SELECT client_id, CAST(datetime AS date), count(*) " +
+            "FROM unnest(CAST(:clientIds AS bigint[]), CAST(:dateTimes AS timestamp[])) " +
+            "AS reserved (client_id, datetime) " +
+            "GROUP BY 1, 2 ORDER BY 1, 2 " +
+            "ON CONFLICT (client_id, date) DO UPDATE SET slots = client_daily_usage.slots + EXCLUDED.slots",
+            nativeQuery = true)
+    int addDailySlots(@Param("clientIds") long[] clientIds, @Param("dateTimes") LocalDateTime[] dateTimes);
+
+    /**
+     * Освобождение таймслотов отменённых записей в счётчиках клиентов по датам одним запросом
+     *
+     * @param clientIds идентификаторы клиентов записей
+     * @param dateTimes даты с временем записей в том же порядке
+     * @return количество изменённых счётчиков
+     */
+    @Modifying
+    @Query(value = "UPDATE client_daily_usage AS usage SET slots = usage.slots - released.slots " +
+            "FROM (SELECT client_id, CAST(datetime AS date) AS date, count(*) AS slots " +
+            "FROM unnest(CAST(:clientIds AS bigint[]), CAST(:dateTimes AS timestamp[])) " +
+            "AS slot (client_id, datetime) " +
+            "GROUP BY 1, 2) AS released " +
+            "WHERE usage.client_id = released.client_id AND usage.date = released.date", nativeQuery = true)
+    int releaseDailySlots(@Param("clientIds") long[] clientIds, @Param("dateTimes") LocalDateTime[] dateTimes);
+
+    /**
+     * Выборка расхождений счётчиков таймслотов записей клиентов с занятыми записями, начиная с указанной даты.
+     * <p>Счётчики и записи читаются одним запросом, то есть по одному снимку БД
+     *
+     * @param fromDate дата, начиная с которой сравниваются счётчики
+     * @return список расхождений
+     */
+    @Query(value = "SELECT COALESCE(actual.client_id, usage.client_id) AS \"clientId\", " +
+            "COALESCE(actual.date, usage.date) AS \"date\", COALESCE(actual.slots, 0) AS \"slots\", " +
+            "COALESCE(usage.slots, 0) AS \"countedSlots\" " +
+            "FROM (SELECT client_id, CAST(datetime AS date) AS date, CAST(count(*) AS integer) AS slots " +
+            "FROM orders WHERE status = 'RESERVED' AND datetime >= CAST(:fromDate AS timestamp) " +
+            "GROUP BY 1, 2) AS actual " +
+            "FULL JOIN (SELECT client_id, date, slots FROM client_daily_usage WHERE date >= :fromDate) AS usage " +
+            "ON usage.client_id = actual.client_id AND usage.date = actual.date " +
+            "WHERE COALESCE(actual.slots, 0) <> COALESCE(usage.slots, 0)", nativeQuery = true)
+    List<ClientDailyUsageDrift> findDailySlotsDrift(@Param("fromDate") LocalDate fromDate);
+
+    /**
+     * Исправление счётчика таймслотов записей клиента на дату, если он не изменился с момента выборки расхождения
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записей
+     * @param slots количество таймслотов по занятым записям
+     * @param countedSlots количество таймслотов в счётчике на момент выборки расхождения
+     * @return 1 - счётчик исправлен, 0 - счётчик изменён одновременным запросом
+     */
+    @Modifying
+    @Query(value = "INSERT INTO client_daily_usage (client_id, date, slots) VALUES (:clientId, :date, :slots) " +
+            "ON CONFLICT (client_id, date) DO UPDATE SET slots = EXCLUDED.slots " +
+            "WHERE client_daily_usage.slots = :countedSlots", nativeQuery = true)
+    int correctDailySlots(@Param("clientId") Long clientId,
+                          @Param("date") LocalDate date,
+                          @Param("slots") int slots,
+                          @Param("countedSlots") int countedSlots);
+
+    /**
+     * Удаление счётчиков таймслотов записей клиентов на прошедшие даты
+     *
+     * @param date дата, до которой удаляются счётчики (не включительно)
+     * @return количество удалённых счётчиков
+     */
+    @Modifying
+    @Query(value = "DELETE FROM client_daily_usage WHERE date < :date", nativeQuery = true)
+    int deleteDailySlotsBefore(@Param("date") LocalDate date);
+
 }
@@ -0,0 +1,27 @@
+package com.swimming_pool.management.repository;
+
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Репозиторий для управления сущностью {@link ReservationSeries} между приложением и БД
+ */
+@Repository
+public interface ReservationSeriesRepository extends JpaRepository<ReservationSeries, Long> {
+
+    /**
+     * Выборка серии записей по её идентификатору
+     *
+     * @param id идентификатор серии записей
+     * @return {@link Optional} - контейнер, который может содержать серию записей {@link ReservationSeries}
+     * по указанному идентификатору
+     */
+    @Query("SELECT s FROM ReservationSeries s WHERE s.id = :id")
+    Optional<ReservationSeries> findById(@Param("id") Long id);
+
+}
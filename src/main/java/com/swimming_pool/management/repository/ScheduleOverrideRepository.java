@@ -0,0 +1,39 @@
+package com.swimming_pool.management.repository;
+
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Репозиторий для управления сущностью {@link ScheduleOverride} между приложением и БД
+ */
+@Repository
+public interface ScheduleOverrideRepository extends JpaRepository<ScheduleOverride, Long> {
+
+    /**
+     * Выборка особого графика по дате
+     *
+     * @param date дата
+     * @return {@link Optional} - контейнер, который может содержать особый график на указанную дату
+     */
+    @Query("SELECT so FROM ScheduleOverride so WHERE so.date = :date")
+    Optional<ScheduleOverride> findByDate(@Param("date") LocalDate date);
+
+    /**
+     * Выборка особых графиков по интервалу дат
+     *
+     * @param startDate дата, с которой будет выполняться поиск
+     * @param endDate дата, по которую будет выполняться поиск
+     * @return список особых графиков по указанному интервалу дат, упорядоченный по дате
+     */
+    @Query("SELECT so FROM ScheduleOverride so WHERE so.date BETWEEN :startDate AND :endDate ORDER BY so.date")
+    List<ScheduleOverride> findByDateRange(@Param("startDate") LocalDate startDate,
+                                           @Param("endDate") LocalDate endDate);
+
+}
@@ -0,0 +1,103 @@
+package com.swimming_pool.management.repository;
+
+import com.swimming_pool.management.model.entity.SlotInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Репозиторий для управления сущностью {@link SlotInventory} между приложением и БД.
+ * <p>Изменяющие несколько таймслотов запросы блокируют их строки по возрастанию даты с временем, чтобы одновременные
+ * запросы не блокировали друг друга взаимно
+ */
+@Repository
+public interface SlotInventoryRepository extends JpaRepository<SlotInventory, LocalDateTime> {
+
+    /**
+     * Выборка таймслотов по интервалу дат с временами по первичному ключу
+     *
+     * @param startDateTime дата с временем, с которой будет выполняться поиск (включительно)
+     * @param endDateTime дата с временем, до которой будет выполняться поиск (не включительно)
+     * @return список таймслотов, упорядоченный по дате с временем
+     */
+    @Query("SELECT s FROM SlotInventory s WHERE s.dateTime >= :startDateTime AND s.dateTime < :endDateTime " +
+            "ORDER BY s.dateTime")
+    List<SlotInventory> findByDateTimeRange(@Param("startDateTime") LocalDateTime startDateTime,
+                                            @Param("endDateTime") LocalDateTime endDateTime);
+
+    /**
+     * Занятие по одному месту на каждом из таймслотов, на которых оно есть
+     *
+     * @param dateTimes различные даты с временем таймслотов
+     * @return количество таймслотов, на которых занято место
+     */
+    @Modifying
+    @Query(value = "WITH locked AS (SELECT datetime FROM slot_inventory " +
+            "WHERE datetime = ANY(CAST(:dateTimes AS timestamp[])) ORDER BY datetime FOR UPDATE) " +
+            "UPDATE slot_inventory AS slot SET reserved = slot.reserved + 1 FROM locked " +
+            "WHERE slot.datetime = locked.datetime AND slot.reserved < slot.capacity", nativeQuery = true)
+    int reserve(@Param("dateTimes") LocalDateTime[] dateTimes);
+
+    /**
+     * Учёт занятых записей на таймслотах без проверки вместимости (вместимость проверена до добавления записей)
+     *
+     * @param dateTimes даты с временем записей, дата с временем повторяется для каждой записи на таймслот
+     * @return количество изменённых таймслотов
+     */
+    @Modifying
+    @Query(value = "WITH changed AS (SELECT dt AS datetime, count(*) AS count " +
+            "FROM unnest(CAST(:dateTimes AS timestamp[])) AS dt GROUP BY dt), " +
+            "locked AS (SELECT slot.datetime FROM slot_inventory AS slot JOIN changed USING (datetime) " +
+            "ORDER BY slot.datetime FOR UPDATE OF slot) " +
+            "UPDATE slot_inventory AS slot SET reserved = slot.reserved + changed.count FROM changed, locked " +
+            "WHERE slot.datetime = changed.datetime AND slot.datetime = locked.datetime", nativeQuery = true)
+    int addReserved(@Param("dateTimes") LocalDateTime[] dateTimes);
+
+    /**
+     * Освобождение мест отменённых записей на таймслотах
+     *
+     * @param dateTimes даты с временем записей, дата с временем повторяется для каждой записи на таймслот
+     * @return количество изменённых таймслотов
+     */
+    @Modifying
+    @Query(value = "WITH changed AS (SELECT dt AS datetime, count(*) AS count " +
+            "FROM unnest(CAST(:dateTimes AS timestamp[])) AS dt GROUP BY dt), " +
+            "locked AS (SELECT slot.datetime FROM slot_inventory AS slot JOIN changed USING (datetime) " +
+            "ORDER BY slot.datetime FOR UPDATE OF slot) " +
+            "UPDATE slot_inventory AS slot SET reserved = slot.reserved - changed.count FROM changed, locked " +
+            "WHERE slot.datetime = changed.datetime AND slot.datetime = locked.datetime", nativeQuery = true)
+    int releaseReserved(@Param("dateTimes") LocalDateTime[] dateTimes);
+
+    /**
+     * Добавление таймслотов или изменение их вместимости одним запросом.
+     * <p>Количество занятых записей добавляемого таймслота подсчитывается по записям, у существующего не изменяется
+     *
+     * @param dateTimes даты с временем таймслотов, упорядоченные по возрастанию
+     * @param capacities вместимости таймслотов в том же порядке
+     * @return количество добавленных и изменённых таймслотов
+     */
+    @Modifying
+    @Query(value = "INSERT INTO slot_inventory (datetime, capacity, reserved) " +
+            "SELECT slot.datetime, slot.capacity, (SELECT count(*) FROM orders " +
+            "WHERE orders.datetime = slot.datetime AND orders.status = 'RESERVED') " +
+            "FROM unnest(CAST(:dateTimes AS timestamp[]), CAST(:capacities AS integer[])) " +
+            "AS slot (datetime, capacity) ORDER BY slot.datetime " +
+            "ON CONFLICT (datetime) DO UPDATE SET capacity = EXCLUDED.capacity", nativeQuery = true)
+    int upsertCapacity(@Param("dateTimes") LocalDateTime[] dateTimes, @Param("capacities") int[] capacities);
+
+    /**
+     * Удаление таймслотов до указанной даты с временем
+     *
+     * @param dateTime дата с временем, до которой удаляются таймслоты (не включительно)
+     * @return количество удалённых таймслотов
+     */
+    @Modifying
+    @Query(value = "DELETE FROM slot_inventory WHERE datetime < :dateTime", nativeQuery = true)
+    int deleteBefore(@Param("dateTime") LocalDateTime dateTime);
+
+}
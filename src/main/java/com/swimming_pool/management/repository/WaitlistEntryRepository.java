@@ -0,0 +1,63 @@
+package com.swimming_pool.management.repository;
+
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Репозиторий для управления сущностью {@link WaitlistEntry} между приложением и БД
+ */
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Выборка заявки в листе ожидания по её идентификатору
+     *
+     * @param id идентификатор заявки
+     * @return {@link Optional} - контейнер, который может содержать заявку {@link WaitlistEntry}
+     * по указанному идентификатору
+     */
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.id = :id")
+    Optional<WaitlistEntry> findById(@Param("id") Long id);
+
+    /**
+     * Выборка головы очереди ожидания таймслота с блокировкой строки.
+     * <p>Заявки, уже заблокированные параллельной транзакцией, пропускаются, поэтому одновременные отмены
+     * продвигают разные заявки
+     *
+     * @param dateTime дата с временем таймслота
+     * @return {@link Optional} - контейнер, который может содержать первую ожидающую заявку на таймслот
+     */
+    @Query(value = "SELECT * FROM waitlist_entries WHERE datetime = :dateTime AND status = 'WAITING' " +
+            "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<WaitlistEntry> findHeadForUpdate(@Param("dateTime") LocalDateTime dateTime);
+
+    /**
+     * Подсчёт количества ожидающих заявок на таймслот, стоящих в очереди перед указанной заявкой.
+     * <p>Заявки считаются по интервалу частичного индекса, поэтому время подсчёта растёт с позицией заявки
+     *
+     * @param dateTime дата с временем таймслота
+     * @param id идентификатор заявки
+     * @return количество заявок перед указанной
+     */
+    @Query("SELECT COUNT(w) FROM WaitlistEntry w WHERE w.dateTime = :dateTime AND w.status = 'WAITING' " +
+            "AND w.id < :id")
+    Long countWaitingBefore(@Param("dateTime") LocalDateTime dateTime, @Param("id") Long id);
+
+    /**
+     * Проверка наличия ожидающей заявки клиента на таймслот
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTime дата с временем таймслота
+     * @return результат проверки
+     */
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.client.id = :clientId AND w.dateTime = :dateTime " +
+            "AND w.status = 'WAITING'")
+    boolean existsWaitingForClient(@Param("clientId") Long clientId, @Param("dateTime") LocalDateTime dateTime);
+
+}
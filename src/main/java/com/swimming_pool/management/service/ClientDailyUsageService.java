@@ -0,0 +1,74 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.projection.ClientDailyUsageDrift;
+import com.swimming_pool.management.model.projection.OrderSlot;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Сервис для ведения счётчиков таймслотов занятых записей клиентов по датам.
+ * <p>Счётчики изменяются в транзакции добавления и отмены записей, поэтому дневной лимит записей клиента
+ * проверяется по одной строке счётчика без подсчёта записей клиента на дату.
+ * <p>Порядок блокировок: во всех транзакциях добавления, отмены и продвижения записей строки счётчиков клиентов
+ * изменяются раньше строк таймслотов {@link SlotInventoryService}, счётчики нескольких дат - по возрастанию даты
+ */
+public interface ClientDailyUsageService {
+
+    /**
+     * Учёт таймслотов записей клиента на дату, если с ними не будет превышен дневной лимит.
+     * <p>Проверка и учёт выполняются одним запросом, строка счётчика блокируется до конца текущей транзакции
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записей
+     * @param slotCount количество таймслотов записей
+     * @param dailyLimit лимит таймслотов записей клиента на дату
+     * @return {@code true}, если таймслоты учтены, {@code false}, если с ними был бы превышен дневной лимит
+     */
+    boolean tryReserveSlots(Long clientId, LocalDate date, int slotCount, int dailyLimit);
+
+    /**
+     * Учёт одной записи клиента на каждую из дат, если ни на одной из них не будет превышен дневной лимит.
+     * <p>Проверка и учёт выполняются одним запросом, строки счётчиков блокируются по возрастанию дат до конца
+     * текущей транзакции. Если запись учтена не на все даты, вызывающий должен откатить транзакцию
+     *
+     * @param clientId идентификатор клиента
+     * @param dailyLimits лимиты таймслотов записей клиента по различным датам записей
+     * @return даты по возрастанию, на которые с записью был бы превышен дневной лимит, пустой список - запись
+     * учтена на все даты
+     */
+    List<LocalDate> tryReserveSlotPerDate(Long clientId, SortedMap<LocalDate, Integer> dailyLimits);
+
+    /**
+     * Получение количества учтённых таймслотов записей клиента на дату
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записей
+     * @return количество таймслотов
+     */
+    long getReservedSlots(Long clientId, LocalDate date);
+
+    /**
+     * Учёт таймслотов добавленных записей без проверки дневного лимита (лимит проверен до добавления записей)
+     *
+     * @param orders добавленные записи
+     */
+    void addReservedSlots(List<Order> orders);
+
+    /**
+     * Освобождение таймслотов отменённых записей
+     *
+     * @param orderSlots отменённые записи
+     */
+    void releaseReservedSlots(List<OrderSlot> orderSlots);
+
+    /**
+     * Пересчёт счётчиков на ещё не прошедшие даты по занятым записям и удаление счётчиков на прошедшие даты
+     *
+     * @return список найденных расхождений счётчиков с записями
+     */
+    List<ClientDailyUsageDrift> reconcile();
+
+}
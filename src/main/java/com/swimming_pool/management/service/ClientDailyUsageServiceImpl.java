@@ -0,0 +1,165 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.projection.ClientDailyUsageDrift;
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Реализация сервиса для ведения счётчиков таймслотов занятых записей клиентов по датам в таблице
+ * {@code client_daily_usage}.
+ * <p>Сверка пересчитывает счётчики по таблице {@code orders} каждые {@code client-daily-usage.reconciliation-interval}.
+ * Расхождения выбираются одним запросом по одному снимку счётчиков и записей, а исправляются условными
+ * запросами: счётчик, изменённый одновременной записью или отменой после выборки, не перезаписывается
+ * и сверяется при следующем запуске. Количество исправленных счётчиков учитывается в метрике
+ * {@code client.daily.usage.drift}
+ */
+@Service
+public class ClientDailyUsageServiceImpl implements ClientDailyUsageService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientDailyUsageServiceImpl.class);
+
+    /**
+     * Репозиторий для управления записями и их счётчиками в БД
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * Количество исправленных при сверке счётчиков
+     */
+    private final Counter driftCounter;
+
+    /**
+     * Конструктор для инициализации {@link OrderRepository} и метрики сверки счётчиков
+     *
+     * @param orderRepository репозиторий для управления записями и их счётчиками в БД
+     * @param meterRegistry реестр метрик
+     */
+    public ClientDailyUsageServiceImpl(OrderRepository orderRepository, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.driftCounter = Counter.builder("client.daily.usage.drift")
+                .description("Количество счётчиков таймслотов записей клиентов, исправленных при сверке с записями")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Учёт таймслотов записей клиента на дату, если с ними не будет превышен дневной лимит
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записей
+     * @param slotCount количество таймслотов записей
+     * @param dailyLimit лимит таймслотов записей клиента на дату
+     * @return {@code true}, если таймслоты учтены, {@code false}, если с ними был бы превышен дневной лимит
+     */
+    @Override
+    public boolean tryReserveSlots(Long clientId, LocalDate date, int slotCount, int dailyLimit) {
+        return orderRepository.reserveDailySlots(clientId, date, slotCount, dailyLimit) > 0;
+    }
+
+    /**
+     * Учёт одной записи клиента на каждую из дат, если ни на одной из них не будет превышен дневной лимит
+     *
+     * @param clientId идентификатор клиента
+     * @param dailyLimits лимиты таймслотов записей клиента по различным датам записей
+     * @return даты по возрастанию, на которые с записью был бы превышен дневной лимит, пустой список - запись
+     * учтена на все даты
+     */
+    @Override
+    public List<LocalDate> tryReserveSlotPerDate(Long clientId, SortedMap<LocalDate, Integer> dailyLimits) {
+        LocalDate[] dates = dailyLimits.keySet().toArray(LocalDate[]::new);
+        int[] limits = dailyLimits.values().stream().mapToInt(Integer::intValue).toArray();
+        return orderRepository.reserveDailySlotForDates(clientId, dates, limits).stream()
+                .map(position -> dates[position - 1])
+                .toList();
+    }
+
+    /**
+     * Получение количества учтённых таймслотов записей клиента на дату
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записей
+     * @return количество таймслотов
+     */
+    @Override
+    public long getReservedSlots(Long clientId, LocalDate date) {
+        return orderRepository.findDailySlots(clientId, date);
+    }
+
+    /**
+     * Учёт таймслотов добавленных записей одним запросом
+     *
+     * @param orders добавленные записи
+     */
+    @Override
+    public void addReservedSlots(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        long[] clientIds = new long[orders.size()];
+        LocalDateTime[] dateTimes = new LocalDateTime[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            clientIds[i] = orders.get(i).getClient().getId();
+            dateTimes[i] = orders.get(i).getDateTime();
+        }
+        orderRepository.addDailySlots(clientIds, dateTimes);
+    }
+
+    /**
+     * Освобождение таймслотов отменённых записей одним запросом
+     *
+     * @param orderSlots отменённые записи
+     */
+    @Override
+    public void releaseReservedSlots(List<OrderSlot> orderSlots) {
+        if (orderSlots.isEmpty()) {
+            return;
+        }
+        long[] clientIds = new long[orderSlots.size()];
+        LocalDateTime[] dateTimes = new LocalDateTime[orderSlots.size()];
+        for (int i = 0; i < orderSlots.size(); i++) {
+            clientIds[i] = orderSlots.get(i).getClientId();
+            dateTimes[i] = orderSlots.get(i).getDateTime();
+        }
+        orderRepository.releaseDailySlots(clientIds, dateTimes);
+    }
+
+    /**
+     * Пересчёт счётчиков на ещё не прошедшие даты по занятым записям и удаление счётчиков на прошедшие даты
+     *
+     * @return список найденных расхождений счётчиков с записями
+     */
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${client-daily-usage.reconciliation-interval:PT1H}",
+            initialDelayString = "${client-daily-usage.reconciliation-interval:PT1H}")
+    public List<ClientDailyUsageDrift> reconcile() {
+        LocalDate today = LocalDate.now();
+        orderRepository.deleteDailySlotsBefore(today);
+        List<ClientDailyUsageDrift> drifts = orderRepository.findDailySlotsDrift(today);
+        int corrected = 0;
+        for (ClientDailyUsageDrift drift : drifts) {
+            corrected += orderRepository.correctDailySlots(drift.getClientId(), drift.getDate(), drift.getSlots(),
+                    drift.getCountedSlots());
+        }
+        if (!drifts.isEmpty()) {
+            driftCounter.increment(corrected);
+            log.warn("Client daily usage drift: {} counters differ from reservations, {} corrected, " +
+                    "{} changed concurrently and left for the next reconciliation", drifts.size(), corrected,
+                    drifts.size() - corrected);
+        }
+        return drifts;
+    }
+
+}
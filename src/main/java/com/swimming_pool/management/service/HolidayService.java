@@ -0,0 +1,39 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.entity.Holiday;
+
+import java.util.List;
+
+/**
+ * Сервис для управления сущностью {@link Holiday}.
+ * <p>Праздничные дни изменяются целиком за год одной транзакцией. После фиксации транзакции календарь графика
+ * и таймслоты изменённых дат перестраиваются, а кэши ответов со свободными таймслотами и с праздничными днями
+ * сбрасываются
+ */
+public interface HolidayService {
+
+    /**
+     * Получение всех праздничных дней
+     *
+     * @return список праздничных дней, упорядоченный по дате
+     */
+    List<Holiday> getAll();
+
+    /**
+     * Замена праздничных дней года: праздничные дни из списка добавляются или заменяют описание существующих,
+     * остальные праздничные дни года удаляются
+     *
+     * @param year год
+     * @param holidays праздничные дни года
+     * @return список праздничных дней года после замены, упорядоченный по дате
+     */
+    List<Holiday> replaceForYear(int year, List<Holiday> holidays);
+
+    /**
+     * Удаление всех праздничных дней года
+     *
+     * @param year год
+     */
+    void deleteForYear(int year);
+
+}
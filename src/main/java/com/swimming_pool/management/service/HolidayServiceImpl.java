@@ -0,0 +1,132 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.event.ScheduleChangedEvent;
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.Holiday;
+import com.swimming_pool.management.repository.HolidayRepository;
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Реализация сервиса для управления сущностью {@link Holiday}
+ */
+@Service
+public class HolidayServiceImpl implements HolidayService {
+
+    /**
+     * Репозиторий для управления праздничными днями в БД
+     */
+    private final HolidayRepository holidayRepository;
+
+    /**
+     * Публикатор событий об изменении графика
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Конструктор для инициализации {@link HolidayRepository} и {@link ApplicationEventPublisher}
+     *
+     * @param holidayRepository репозиторий для управления праздничными днями в БД
+     * @param eventPublisher публикатор событий об изменении графика
+     */
+    public HolidayServiceImpl(HolidayRepository holidayRepository, ApplicationEventPublisher eventPublisher) {
+        this.holidayRepository = holidayRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Получение всех праздничных дней
+     *
+     * @return список праздничных дней, упорядоченный по дате
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Holiday> getAll() {
+        return holidayRepository.findAllOrderByDate();
+    }
+
+    /**
+     * Замена праздничных дней года
+     *
+     * @param year год
+     * @param holidays праздничные дни года
+     * @return список праздничных дней года после замены, упорядоченный по дате
+     */
+    @Override
+    @Transactional
+    public List<Holiday> replaceForYear(int year, List<Holiday> holidays) {
+        if (holidays == null) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "Holiday: передан пустой список для сохранения"
+            );
+        }
+        LocalDate startDate = LocalDate.ofYearDay(year, 1);
+        applyForYear(startDate, holidays);
+        return holidayRepository.findByDateRange(startDate, startDate.plusYears(1).minusDays(1));
+    }
+
+    /**
+     * Удаление всех праздничных дней года
+     *
+     * @param year год
+     */
+    @Override
+    @Transactional
+    public void deleteForYear(int year) {
+        applyForYear(LocalDate.ofYearDay(year, 1), List.of());
+    }
+
+    /**
+     * Применение праздничных дней года без перебора по датам: добавление праздничных дней из списка с заменой
+     * описания существующих одним запросом и удаление остальных праздничных дней года одним запросом.
+     * <p>Событие изменения графика публикуется на даты праздничных дней года до и после изменения
+     *
+     * @param startDate первая дата года
+     * @param holidays праздничные дни года
+     */
+    private void applyForYear(LocalDate startDate, List<Holiday> holidays) {
+        int year = startDate.getYear();
+        LocalDate endDate = startDate.plusYears(1).minusDays(1);
+        Set<LocalDate> dates = new TreeSet<>();
+        for (Holiday holiday : holidays) {
+            LocalDate date = holiday.getDate();
+            if (date.getYear() != year) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.BAD_REQUEST,
+                        String.format("Праздничный день %s не относится к %d году",
+                                DateTimeUtils.formatToDateString(date), year)
+                );
+            }
+            if (!dates.add(date)) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.BAD_REQUEST,
+                        String.format("Праздничный день %s указан несколько раз",
+                                DateTimeUtils.formatToDateString(date))
+                );
+            }
+        }
+
+        Set<LocalDate> changedDates = new TreeSet<>(holidayRepository.findDatesByDateRange(startDate, endDate));
+        changedDates.addAll(dates);
+        if (!holidays.isEmpty()) {
+            holidayRepository.upsertAll(
+                    holidays.stream().map(Holiday::getDate).toArray(LocalDate[]::new),
+                    holidays.stream().map(Holiday::getDescription).toArray(String[]::new)
+            );
+        }
+        holidayRepository.deleteByDateRangeExcept(startDate, endDate, dates.toArray(LocalDate[]::new));
+        if (!changedDates.isEmpty()) {
+            eventPublisher.publishEvent(new ScheduleChangedEvent(changedDates));
+        }
+    }
+
+}
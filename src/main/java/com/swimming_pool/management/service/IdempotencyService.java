@@ -0,0 +1,28 @@
+package com.swimming_pool.management.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.util.function.Supplier;
+
+/**
+ * Сервис для обработки запросов с ключом идемпотентности {@code Idempotency-Key}
+ */
+public interface IdempotencyService {
+
+    /**
+     * Выполнение операции не более одного раза для ключа идемпотентности.
+     * <p>Повтор запроса с тем же ключом получает сохранённый ответ исходного запроса без повторного выполнения
+     * операции, а одновременные повторы дожидаются результата исходного запроса
+     *
+     * @param operation название операции, в рамках которой уникален ключ
+     * @param idempotencyKey ключ идемпотентности, при его отсутствии операция просто выполняется
+     * @param request тело запроса для проверки, что ключ повторно используется с тем же запросом
+     * @param responseType тип ответа для восстановления сохранённого ответа
+     * @param action операция
+     * @param <T> тип ответа
+     * @return ответ на запрос
+     */
+    <T> T execute(String operation, String idempotencyKey, Object request, TypeReference<T> responseType,
+                  Supplier<T> action);
+
+}
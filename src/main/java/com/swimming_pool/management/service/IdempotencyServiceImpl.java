@@ -0,0 +1,307 @@
+package com.swimming_pool.management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swimming_pool.management.cache.IdempotencyResponseCache;
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.IdempotencyRecord;
+import com.swimming_pool.management.model.enums.IdempotencyStatus;
+import com.swimming_pool.management.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Реализация сервиса для обработки запросов с ключом идемпотентности {@code Idempotency-Key}.
+ * <p>Ответы хранятся в двух уровнях: в локальном кэше {@link IdempotencyResponseCache} и в таблице
+ * {@code idempotency_records}, общей для всех узлов. Одновременные запросы с одним ключом на одном узле
+ * объединяются в одно выполнение операции, а между узлами ключ захватывается атомарной вставкой в таблицу.
+ * <p>Захват ключа, операция и сохранение её ответа выполняются в разных транзакциях: операция может выполняться
+ * писателем даты {@code ReservationProcessor} или повторяться стратегией защиты лимитов в новых транзакциях. Если узел
+ * остановится после фиксации операции, но до сохранения ответа, ключ останется захваченным до истечения
+ * {@code idempotency.pending-timeout}, после чего повтор запроса выполнит операцию заново. Повторная запись клиента
+ * на тот же таймслот при этом отклоняется уникальным индексом записей, поэтому время ожидания должно превышать
+ * наибольшее время обработки запроса, включая {@code reservation-processor.timeout} и повторы транзакций
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    /**
+     * Репозиторий для управления сохранёнными ответами в БД
+     */
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    /**
+     * Локальный кэш сохранённых ответов
+     */
+    private final IdempotencyResponseCache responseCache;
+
+    /**
+     * Сериализатор ответов в JSON
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Срок хранения ответа в секундах
+     */
+    private final long ttlSeconds;
+
+    /**
+     * Время в секундах, после которого незавершённая обработка на другом узле считается зависшей
+     */
+    private final long pendingTimeoutSeconds;
+
+    /**
+     * Выполняющиеся на этом узле операции по ключам кэша
+     */
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Конструктор для инициализации {@link IdempotencyRecordRepository}, {@link IdempotencyResponseCache},
+     * {@link ObjectMapper} и сроков хранения
+     *
+     * @param idempotencyRecordRepository репозиторий для управления сохранёнными ответами в БД
+     * @param responseCache локальный кэш сохранённых ответов
+     * @param objectMapper сериализатор ответов в JSON
+     * @param ttl срок хранения ответа
+     * @param pendingTimeout время, после которого незавершённая обработка считается зависшей
+     */
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+                                  IdempotencyResponseCache responseCache, ObjectMapper objectMapper,
+                                  @Value("${idempotency.ttl:PT24H}") Duration ttl,
+                                  @Value("${idempotency.pending-timeout:PT5M}") Duration pendingTimeout) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttl.toSeconds();
+        this.pendingTimeoutSeconds = pendingTimeout.toSeconds();
+    }
+
+    /**
+     * Выполнение операции не более одного раза для ключа идемпотентности
+     *
+     * @param operation название операции, в рамках которой уникален ключ
+     * @param idempotencyKey ключ идемпотентности, при его отсутствии операция просто выполняется
+     * @param request тело запроса для проверки, что ключ повторно используется с тем же запросом
+     * @param responseType тип ответа для восстановления сохранённого ответа
+     * @param action операция
+     * @param <T> тип ответа
+     * @return ответ на запрос
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String idempotencyKey, Object request, TypeReference<T> responseType,
+                         Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String cacheKey = operation + ':' + idempotencyKey;
+        String requestHash = hash(request);
+
+        IdempotencyResponseCache.CachedResponse cachedResponse = responseCache.get(cacheKey);
+        if (cachedResponse != null) {
+            checkSameRequest(idempotencyKey, cachedResponse.requestHash(), requestHash);
+            return (T) cachedResponse.response();
+        }
+
+        InFlight own = new InFlight(requestHash);
+        InFlight leader = inFlight.putIfAbsent(cacheKey, own);
+        if (leader != null) {
+            checkSameRequest(idempotencyKey, leader.requestHash, requestHash);
+            return (T) awaitLeader(leader);
+        }
+        try {
+            T response = executeOnce(operation, idempotencyKey, requestHash, responseType, action);
+            responseCache.put(cacheKey, requestHash, response);
+            own.result.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            own.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(cacheKey, own);
+        }
+    }
+
+    /**
+     * Удаление из БД ответов с истёкшим сроком хранения
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT1H}")
+    public void deleteExpiredRecords() {
+        idempotencyRecordRepository.deleteExpired();
+    }
+
+    /**
+     * Выполнение операции после захвата ключа в БД или восстановление ответа, сохранённого другим узлом.
+     * <p>Ответ сохраняется отдельной транзакцией после фиксации операции, поэтому при остановке узла между ними
+     * операция может быть выполнена повторно после истечения времени ожидания незавершённой обработки
+     *
+     * @param operation название операции
+     * @param idempotencyKey ключ идемпотентности
+     * @param requestHash SHA-256 тела запроса
+     * @param responseType тип ответа
+     * @param action операция
+     * @param <T> тип ответа
+     * @return ответ на запрос
+     */
+    private <T> T executeOnce(String operation, String idempotencyKey, String requestHash,
+                              TypeReference<T> responseType, Supplier<T> action) {
+        if (idempotencyRecordRepository.claim(operation, idempotencyKey, requestHash, ttlSeconds,
+                pendingTimeoutSeconds) == 0) {
+            return replay(operation, idempotencyKey, requestHash, responseType);
+        }
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            idempotencyRecordRepository.release(operation, idempotencyKey);
+            throw ex;
+        }
+        idempotencyRecordRepository.complete(operation, idempotencyKey, toJson(response));
+        return response;
+    }
+
+    /**
+     * Восстановление ответа, сохранённого в БД по ранее захваченному ключу
+     *
+     * @param operation название операции
+     * @param idempotencyKey ключ идемпотентности
+     * @param requestHash SHA-256 тела запроса
+     * @param responseType тип ответа
+     * @param <T> тип ответа
+     * @return сохранённый ответ на исходный запрос
+     */
+    private <T> T replay(String operation, String idempotencyKey, String requestHash,
+                         TypeReference<T> responseType) {
+        IdempotencyRecord record = idempotencyRecordRepository.findByOperationAndKey(operation, idempotencyKey)
+                .orElseThrow(() -> inProgressException(idempotencyKey));
+        checkSameRequest(idempotencyKey, record.getRequestHash(), requestHash);
+        if (record.getStatus() != IdempotencyStatus.COMPLETED) {
+            throw inProgressException(idempotencyKey);
+        }
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException ex) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    String.format("Не удалось восстановить ответ по ключу идемпотентности %s", idempotencyKey)
+            );
+        }
+    }
+
+    /**
+     * Ожидание результата операции, выполняющейся на этом узле по тому же ключу
+     *
+     * @param leader выполняющаяся операция
+     * @return ответ выполняющейся операции
+     */
+    private Object awaitLeader(@NonNull InFlight leader) {
+        try {
+            return leader.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Проверка, что ключ идемпотентности повторно используется с тем же телом запроса
+     *
+     * @param idempotencyKey ключ идемпотентности
+     * @param expectedHash SHA-256 тела исходного запроса
+     * @param actualHash SHA-256 тела текущего запроса
+     */
+    private void checkSameRequest(String idempotencyKey, @NonNull String expectedHash, String actualHash) {
+        if (!expectedHash.equals(actualHash)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.VALIDATION_ERROR,
+                    String.format("Ключ идемпотентности %s уже использован для другого запроса", idempotencyKey)
+            );
+        }
+    }
+
+    /**
+     * Исключение о том, что запрос с тем же ключом ещё обрабатывается
+     *
+     * @param idempotencyKey ключ идемпотентности
+     * @return исключение с кодом {@link ErrorCode#CONFLICT}
+     */
+    private SwimmingPoolManagementException inProgressException(String idempotencyKey) {
+        return new SwimmingPoolManagementException(
+                ErrorCode.CONFLICT,
+                String.format("Запрос с ключом идемпотентности %s ещё обрабатывается, повторите позже", idempotencyKey)
+        );
+    }
+
+    /**
+     * Вычисление SHA-256 JSON-представления тела запроса
+     *
+     * @param request тело запроса
+     * @return хэш в шестнадцатеричном виде
+     */
+    private String hash(Object request) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request))
+            );
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "Не удалось вычислить хэш запроса с ключом идемпотентности"
+            );
+        }
+    }
+
+    /**
+     * Сериализация ответа в JSON для сохранения в БД
+     *
+     * @param response ответ на запрос
+     * @return JSON-представление ответа
+     */
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "Не удалось сохранить ответ на запрос с ключом идемпотентности"
+            );
+        }
+    }
+
+    /**
+     * Операция, выполняющаяся на этом узле, с результатом для одновременных повторов
+     */
+    private static final class InFlight {
+
+        /**
+         * SHA-256 тела запроса, запустившего операцию
+         */
+        private final String requestHash;
+
+        /**
+         * Результат операции
+         */
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+    }
+
+}
@@ -1,11 +1,13 @@
 package com.swimming_pool.management.service;
 
 import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Сервис для управления сущностью {@link Order}
@@ -21,20 +23,31 @@ public interface OrderService {
     Order getById(Long id);
 
     /**
-     * Получение ассоциативного массива, содержащего занятые записями временные слоты на определённую дату
+     * Получение занятых записями временных слотов на определённую дату
      *
      * @param date дата для поиска занятых записей
-     * @return ассоциативный массив, содержащий пары: время и количество занятых записей на это время, на основе даты
+     * @return количество занятых записей по таймслотам на указанную дату
      */
-    Map<LocalTime, Integer> getReservedSlotCountsForDate(LocalDate date);
+    DailySlotCounts getReservedSlotCountsForDate(LocalDate date);
 
     /**
-     * Получение ассоциативного массива, содержащего свободные для записей временные слоты на определённую дату
+     * Получение свободных для записей временных слотов на определённую дату
      *
      * @param date дата для поиска свободных записей
-     * @return ассоциативный массив, содержащий пары: время и количество свободных записей на это время, на основе даты
+     * @return количество свободных записей по таймслотам на указанную дату
      */
-    Map<LocalTime, Integer> getAvailableSlotCountsForDate(LocalDate date);
+    DailySlotCounts getAvailableSlotCountsForDate(LocalDate date);
+
+    /**
+     * Получение количества мест, свободных во всех таймслотах интервала времени
+     *
+     * @param availableSlots количество свободных записей по таймслотам на дату интервала
+     * @param startDateTime начало интервала, совпадающее с началом таймслота
+     * @param minutes длительность интервала в минутах, кратная длительности таймслота
+     * @return количество клиентов, которые могут записаться на весь интервал, или 0, если хотя бы один таймслот
+     * интервала недоступен
+     */
+    int getAvailableCountForWindow(DailySlotCounts availableSlots, LocalDateTime startDateTime, int minutes);
 
     /**
      * Получение списка записей клиента по его ФИО
@@ -61,6 +74,15 @@ public interface OrderService {
      */
     Order reserve(Order order, Long clientId);
 
+    /**
+     * Добавление записи для клиента на определённые дату и время через обработчик с одним писателем на дату
+     *
+     * @param order запись для добавления в систему
+     * @param clientId идентификатор клиента
+     * @return добавленная запись
+     */
+    Order reserveWithProcessor(Order order, Long clientId);
+
     /**
      * Добавление записей для клиента с определённых даты и времени на несколько часов подряд
      *
@@ -79,4 +101,32 @@ public interface OrderService {
      */
     void cancelReservation(Long clientId, Long orderId);
 
+    /**
+     * Добавление серии регулярных записей для клиента по дням недели и времени на несколько недель
+     *
+     * @param series серия записей для добавления в систему
+     * @param clientId идентификатор клиента
+     * @return список добавленных записей серии
+     */
+    List<Order> reserveSeries(ReservationSeries series, Long clientId);
+
+    /**
+     * Отмена серии регулярных записей по идентификаторам клиента и самой серии
+     *
+     * @param clientId идентификатор клиента
+     * @param seriesId идентификатор серии записей
+     * @return количество отменённых записей серии
+     */
+    int cancelSeries(Long clientId, Long seriesId);
+
+    /**
+     * Отмена всех занятых записей по интервалу дат с временами (например, при закрытии бассейна).
+     * Уже прошедшие записи интервала не отменяются
+     *
+     * @param startDateTime дата с временем, с которой отменяются записи (включительно)
+     * @param endDateTime дата с временем, до которой отменяются записи (не включительно)
+     * @return список отменённых записей
+     */
+    List<OrderSlot> cancelReservationsInRange(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
 }
@@ -1,23 +1,48 @@
 package com.swimming_pool.management.service;
 
+import com.swimming_pool.management.concurrency.ReservationConcurrencyStrategy;
+import com.swimming_pool.management.event.ReservationsChangedEvent;
 import com.swimming_pool.management.exception_handler.ErrorCode;
 import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.metrics.ReservationMetrics;
 import com.swimming_pool.management.model.entity.Client;
+import com.swimming_pool.management.model.entity.Lane;
 import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import com.swimming_pool.management.model.entity.SlotInventory;
+import com.swimming_pool.management.model.entity.WorkHour;
 import com.swimming_pool.management.model.enums.OrderStatus;
+import com.swimming_pool.management.model.enums.SeriesStatus;
+import com.swimming_pool.management.model.projection.CancelledOrderSlot;
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.model.slot.DailySlotCounts;
+import com.swimming_pool.management.model.slot.TimeSlotGrid;
+import com.swimming_pool.management.occupancy.LaneAllocationEngine;
+import com.swimming_pool.management.occupancy.OccupancyEngine;
+import com.swimming_pool.management.occupancy.ReservationProcessor;
+import com.swimming_pool.management.occupancy.SlotOccupancy;
 import com.swimming_pool.management.repository.OrderRepository;
 import com.swimming_pool.management.util.DateTimeUtils;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -42,17 +67,105 @@ public class OrderServiceImpl implements OrderService {
     private final WorkHourService workHourService;
 
     /**
-     * Конструктор для инициализации {@link OrderRepository}, {@link ClientService} и {@link WorkHourService}
+     * Сервис для управления сериями регулярных записей
+     */
+    private final ReservationSeriesService reservationSeriesService;
+
+    /**
+     * Публикатор событий об изменении записей
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Сервис для управления листом ожидания
+     */
+    private final WaitlistService waitlistService;
+
+    /**
+     * Метрики этапов добавления записей
+     */
+    private final ReservationMetrics reservationMetrics;
+
+    /**
+     * Движок допуска записей по занятости таймслотов в памяти
+     */
+    private final OccupancyEngine occupancyEngine;
+
+    /**
+     * Обработчик добавления записей с одним писателем на каждую группу дат
+     */
+    private final ReservationProcessor reservationProcessor;
+
+    /**
+     * Стратегия защиты лимитов записей от одновременного добавления записей
+     */
+    private final ReservationConcurrencyStrategy concurrencyStrategy;
+
+    /**
+     * Сервис для ведения счётчиков часов записей клиентов по датам
+     */
+    private final ClientDailyUsageService clientDailyUsageService;
+
+    /**
+     * Сервис для управления таймслотами на горизонт записей
+     */
+    private final SlotInventoryService slotInventoryService;
+
+    /**
+     * Сетка таймслотов суток
+     */
+    private final TimeSlotGrid timeSlotGrid;
+
+    /**
+     * Движок распределения записей по дорожкам бассейна
+     */
+    private final LaneAllocationEngine laneAllocationEngine;
+
+    /**
+     * Конструктор для инициализации {@link OrderRepository}, {@link ClientService}, {@link WorkHourService},
+     * {@link ReservationSeriesService}, {@link ApplicationEventPublisher}, {@link WaitlistService},
+     * {@link ReservationMetrics}, {@link OccupancyEngine}, {@link ReservationProcessor},
+     * {@link ReservationConcurrencyStrategy}, {@link ClientDailyUsageService}, {@link SlotInventoryService},
+     * {@link TimeSlotGrid} и {@link LaneAllocationEngine}
      *
      * @param orderRepository репозиторий для управления записями в БД
      * @param clientService сервис для управления клиентами
      * @param workHourService сервис для управления рабочими часами(графиком)
+     * @param reservationSeriesService сервис для управления сериями регулярных записей
+     * @param eventPublisher публикатор событий об изменении записей
+     * @param waitlistService сервис для управления листом ожидания
+     * @param reservationMetrics метрики этапов добавления записей
+     * @param occupancyEngine движок допуска записей по занятости таймслотов в памяти
+     * @param reservationProcessor обработчик добавления записей с одним писателем на каждую группу дат
+     * @param concurrencyStrategy стратегия защиты лимитов записей от одновременного добавления записей
+     * @param clientDailyUsageService сервис для ведения счётчиков часов записей клиентов по датам
+     * @param slotInventoryService сервис для управления таймслотами на горизонт записей
+     * @param timeSlotGrid сетка таймслотов суток
+     * @param laneAllocationEngine движок распределения записей по дорожкам бассейна
      */
     public OrderServiceImpl(OrderRepository orderRepository, ClientService clientService,
-                            WorkHourService workHourService) {
+                            WorkHourService workHourService, ReservationSeriesService reservationSeriesService,
+                            ApplicationEventPublisher eventPublisher, WaitlistService waitlistService,
+                            ReservationMetrics reservationMetrics, OccupancyEngine occupancyEngine,
+                            ReservationProcessor reservationProcessor,
+                            ReservationConcurrencyStrategy concurrencyStrategy,
+                            ClientDailyUsageService clientDailyUsageService,
+                            SlotInventoryService slotInventoryService, TimeSlotGrid timeSlotGrid,
+                            LaneAllocationEngine laneAllocationEngine) {
         this.orderRepository = orderRepository;
         this.clientService = clientService;
         this.workHourService = workHourService;
+        this.reservationSeriesService = reservationSeriesService;
+        this.eventPublisher = eventPublisher;
+        this.waitlistService = waitlistService;
+        this.reservationMetrics = reservationMetrics;
+        this.occupancyEngine = occupancyEngine;
+        this.reservationProcessor = reservationProcessor;
+        this.concurrencyStrategy = concurrencyStrategy;
+        this.clientDailyUsageService = clientDailyUsageService;
+        this.slotInventoryService = slotInventoryService;
+        this.timeSlotGrid = timeSlotGrid;
+        this.laneAllocationEngine = laneAllocationEngine;
     }
 
     /**
@@ -73,21 +186,19 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Получение ассоциативного массива, содержащего занятые записями временные слоты на определённую дату.
+     * Получение занятых записями временных слотов на определённую дату.
      *
      * @param date дата для поиска занятых записей
-     * @return ассоциативный массив, содержащий пары: время и количество занятых записей на это время, на основе даты
+     * @return количество занятых записей по таймслотам на указанную дату
      */
     @Override
     @Transactional(readOnly = true)
-    public Map<LocalTime, Integer> getReservedSlotCountsForDate(LocalDate date) {
+    public DailySlotCounts getReservedSlotCountsForDate(LocalDate date) {
         validateDateNotInPast(date);
         validateMaxFutureDate(date);
-        List<LocalTime> reservedTimesForDate = getReservedTimesForDate(date);
-        Map<LocalTime, Integer> reservedSlots = new LinkedHashMap<>();
-
-        for (LocalTime time : reservedTimesForDate) {
-            reservedSlots.compute(time, (t, count) -> (count == null) ? 1 : count + 1);
+        DailySlotCounts reservedSlots = new DailySlotCounts();
+        for (LocalDateTime dateTime : getReservedDateTimesForDate(date)) {
+            reservedSlots.increment(DailySlotCounts.indexOf(dateTime.toLocalTime()));
         }
 
         if (reservedSlots.isEmpty()) {
@@ -99,24 +210,23 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Получение ассоциативного массива, содержащего свободные для записей временные слоты на определённую дату.
+     * Получение свободных для записей временных слотов на определённую дату.
+     * <p>Свободные места читаются одним запросом по интервалу таймслотов {@link SlotInventoryService}
      *
      * @param date дата для поиска свободных записей
-     * @return ассоциативный массив, содержащий пары: время и количество свободных записей на это время, на основе даты
+     * @return количество свободных записей по таймслотам на указанную дату
      */
     @Override
     @Transactional(readOnly = true)
-    public Map<LocalTime, Integer> getAvailableSlotCountsForDate(LocalDate date) {
+    public DailySlotCounts getAvailableSlotCountsForDate(LocalDate date) {
         validateDateNotInPast(date);
         validateMaxFutureDate(date);
-        List<LocalTime> reservedTimesForDate = getReservedTimesForDate(date);
-        List<LocalTime> allHourlyTimeSlots = workHourService.getGeneratedTimeSlotsForDate(date);
-        int limitPerHour = workHourService.getLimitPerHour(date);
+        LocalDateTime startDateTime = date.equals(LocalDate.now()) ?
+                timeSlotGrid.getFirstListedSlot(LocalDateTime.now()) : date.atStartOfDay();
 
-        Map<LocalTime, Integer> availableSlots = new LinkedHashMap<>();
-        allHourlyTimeSlots.forEach(timeSlot -> availableSlots.put(timeSlot, limitPerHour));
-        for (LocalTime time : reservedTimesForDate) {
-            availableSlots.computeIfPresent(time, (t, count) -> count - 1);
+        DailySlotCounts availableSlots = new DailySlotCounts();
+        for (SlotInventory slot : slotInventoryService.getOpenSlots(startDateTime)) {
+            availableSlots.put(DailySlotCounts.indexOf(slot.getDateTime().toLocalTime()), slot.getAvailable());
         }
 
         if (availableSlots.isEmpty()) {
@@ -128,6 +238,49 @@ public class OrderServiceImpl implements OrderService {
         return availableSlots;
     }
 
+    /**
+     * Получение количества мест, свободных во всех таймслотах интервала времени.
+     * <p>Интервал доступен, если в нём нет пропущенных таймслотов, тогда количество мест - минимум свободных мест
+     * по таймслотам интервала, который вычисляется за O(log n) по {@link DailySlotCounts#getMinCount}
+     *
+     * @param availableSlots количество свободных записей по таймслотам на дату интервала
+     * @param startDateTime начало интервала, совпадающее с началом таймслота
+     * @param minutes длительность интервала в минутах, кратная длительности таймслота
+     * @return количество клиентов, которые могут записаться на весь интервал, или 0, если хотя бы один таймслот
+     * интервала недоступен
+     */
+    @Override
+    public int getAvailableCountForWindow(DailySlotCounts availableSlots, LocalDateTime startDateTime, int minutes) {
+        validateTimeSlotStart(startDateTime);
+        if (minutes <= 0 || minutes % timeSlotGrid.getMinutes() != 0) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Длительность интервала %d минут должна быть положительной и кратной длительности " +
+                                    "таймслота %d минут",
+                            minutes,
+                            timeSlotGrid.getMinutes()
+                    )
+            );
+        }
+        int fromIndex = DailySlotCounts.indexOf(startDateTime.toLocalTime());
+        int toIndex = fromIndex + minutes / DailySlotCounts.SLOT_MINUTES;
+        if (toIndex > DailySlotCounts.SLOTS_PER_DAY) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Интервал не может пересекать границы одного дня: %s",
+                            DateTimeUtils.formatToDateString(startDateTime.toLocalDate())
+                    )
+            );
+        }
+
+        if (availableSlots.size(fromIndex, toIndex) < minutes / timeSlotGrid.getMinutes()) {
+            return 0;
+        }
+        return Math.max(0, availableSlots.getMinCount(fromIndex, toIndex));
+    }
+
     /**
      * Получение списка записей клиента по его ФИО
      *
@@ -166,41 +319,101 @@ public class OrderServiceImpl implements OrderService {
     }
 
     /**
-     * Добавление записи для клиента на определённые дату и время
+     * Добавление записи для клиента на определённые дату и время.
+     * <p>Время каждого этапа и отказы по правилам учитываются в {@link ReservationMetrics}. При включённом
+     * {@link OccupancyEngine} лимиты и пересечения записей проверяются им без запросов к БД, иначе перед их
+     * проверкой лимиты защищаются {@link ReservationConcurrencyStrategy}, в транзакции которой добавляется запись,
+     * а дневной лимит клиента и лимит записей в час проверяются по счётчику клиента {@link ClientDailyUsageService}
+     * и таймслотам {@link SlotInventoryService}. Повторная запись клиента
+     * на тот же таймслот отклоняется при сохранении уникальным индексом БД
      *
      * @param order запись для добавления в систему
      * @param clientId идентификатор клиента
      * @return добавленная запись
      */
     @Override
-    @Transactional
     public Order reserve(Order order, Long clientId) {
-        checkOrderNotNull(order);
-        Client client = clientService.getById(clientId);
-        LocalDateTime orderDateTime = order.getDateTime();
-        validateDateTimeNotInPastForReserve(orderDateTime);
-        validateMaxFutureDateTimeForReserve(orderDateTime);
+        return concurrencyStrategy.execute(() -> doReserve(order, clientId));
+    }
 
-        if (!workHourService.isWithinWorkHour(orderDateTime)) {
-            throw new SwimmingPoolManagementException(
-                    ErrorCode.BAD_REQUEST,
-                    String.format(
-                            "Дата и время %s для добавления записей находятся вне рабочего графика бассейна",
-                            DateTimeUtils.formatToDateTimeString(orderDateTime)
-                    )
-            );
+    /**
+     * Добавление записи для клиента на определённые дату и время в текущей транзакции.
+     * <p>Переданная запись не изменяется, поэтому добавление можно повторить в новой транзакции
+     *
+     * @param order запись для добавления в систему
+     * @param clientId идентификатор клиента
+     * @return добавленная запись
+     */
+    private Order doReserve(Order order, Long clientId) {
+        ReservationMetrics.Operation operation = ReservationMetrics.Operation.RESERVE;
+        Client client = validateReservation(operation, order, clientId);
+        LocalDateTime orderDateTime = order.getDateTime();
+        if (occupancyEngine.isEnabled()) {
+            admitToOccupancy(operation, clientId, List.of(orderDateTime));
+        } else {
+            concurrencyStrategy.lock(clientId, List.of(orderDateTime));
+            reservationMetrics.record(operation, ReservationMetrics.Stage.DAILY_LIMIT_CHECK,
+                    () -> reserveClientDailySlots(clientId, orderDateTime.toLocalDate(), 1));
+            reservationMetrics.record(operation, ReservationMetrics.Stage.HOURLY_LIMIT_CHECK,
+                    () -> reserveSlots(List.of(orderDateTime)));
         }
+        List<Lane> lanes = allocateLanes(operation, List.of(orderDateTime));
+        Order newOrder = Order.Builder.newBuilder()
+                .client(client)
+                .dateTime(orderDateTime)
+                .status(OrderStatus.RESERVED)
+                .lane(lanes.get(0))
+                .build();
+        Order savedOrder = reservationMetrics.record(operation, ReservationMetrics.Stage.INSERT,
+                () -> orderRepository.save(newOrder));
+        if (occupancyEngine.isEnabled()) {
+            clientDailyUsageService.addReservedSlots(List.of(savedOrder));
+            slotInventoryService.addReserved(List.of(orderDateTime));
+        }
+        eventPublisher.publishEvent(ReservationsChangedEvent.of(orderDateTime.toLocalDate()));
+        return savedOrder;
+    }
 
-        validateClientDailyLimit(clientId, orderDateTime.toLocalDate(), 1);
-        validateNoReservationsForClientAtDateTime(clientId, orderDateTime);
-        validateHourlyLimit(orderDateTime);
+    /**
+     * Добавление записи для клиента на определённые дату и время писателем {@link ReservationProcessor} её даты.
+     * <p>Клиент, дата с временем и рабочий график проверяются в вызывающем потоке, лимиты и пересечения записей -
+     * писателем, который добавляет записи в БД своей транзакцией. Метод не выполняется в транзакции, чтобы
+     * не удерживать соединение с БД во время ожидания писателя. Время каждого этапа и отказы по правилам
+     * учитываются в {@link ReservationMetrics}, этап сохранения включает ожидание писателя
+     *
+     * @param order запись для добавления в систему
+     * @param clientId идентификатор клиента
+     * @return добавленная запись
+     */
+    @Override
+    public Order reserveWithProcessor(Order order, Long clientId) {
+        ReservationMetrics.Operation operation = ReservationMetrics.Operation.RESERVE;
+        Client client = validateReservation(operation, order, clientId);
+        LocalDate date = order.getDateTime().toLocalDate();
+        SlotOccupancy.DailyLimits limits = new SlotOccupancy.DailyLimits(workHourService.getLimitPerHour(date),
+                workHourService.getDailySlotLimitPerClients(date));
         order.setClient(client);
         order.setStatus(OrderStatus.RESERVED);
-        return orderRepository.save(order);
+        ReservationProcessor.Result result = reservationMetrics.record(operation, ReservationMetrics.Stage.INSERT,
+                () -> reservationProcessor.reserve(order, limits));
+        SlotOccupancy.Rejection rejection = result.rejection();
+        reservationMetrics.record(operation, ReservationMetrics.Stage.DAILY_LIMIT_CHECK,
+                () -> throwIfRejected(clientId, rejection, SlotOccupancy.Reason.DAILY_LIMIT_EXCEEDED));
+        reservationMetrics.record(operation, ReservationMetrics.Stage.DUPLICATE_CHECK,
+                () -> throwIfRejected(clientId, rejection, SlotOccupancy.Reason.ALREADY_RESERVED));
+        reservationMetrics.record(operation, ReservationMetrics.Stage.HOURLY_LIMIT_CHECK,
+                () -> throwIfRejected(clientId, rejection, SlotOccupancy.Reason.HOURLY_LIMIT_EXCEEDED));
+        return result.order();
     }
 
     /**
-     * Добавление записей для клиента с определённых даты и времени на несколько часов подряд
+     * Добавление записей для клиента с определённых даты и времени на несколько часов подряд.
+     * <p>Время каждого этапа и отказы по правилам учитываются в {@link ReservationMetrics}. При включённом
+     * {@link OccupancyEngine} лимиты и пересечения записей проверяются им без запросов к БД, иначе перед их
+     * проверкой лимиты защищаются {@link ReservationConcurrencyStrategy}, в транзакции которой добавляются записи,
+     * а дневной лимит клиента и лимит записей в час проверяются по счётчику клиента {@link ClientDailyUsageService}
+     * и таймслотам {@link SlotInventoryService}. Повторная запись клиента
+     * на тот же таймслот отклоняется при сохранении уникальным индексом БД
      *
      * @param order запись для добавления в систему
      * @param clientId идентификатор клиента
@@ -208,74 +421,346 @@ public class OrderServiceImpl implements OrderService {
      * @return список добавленных записей
      */
     @Override
-    @Transactional
     public List<Order> reserveForMultiHours(Order order, Long clientId, Integer hourCount) {
+        return concurrencyStrategy.execute(() -> doReserveForMultiHours(order, clientId, hourCount));
+    }
+
+    /**
+     * Добавление записей для клиента с определённых даты и времени на несколько часов подряд в текущей транзакции
+     *
+     * @param order запись для добавления в систему
+     * @param clientId идентификатор клиента
+     * @param hourCount количество часов для записей
+     * @return список добавленных записей
+     */
+    private List<Order> doReserveForMultiHours(Order order, Long clientId, Integer hourCount) {
         checkOrderNotNull(order);
-        Client client = clientService.getById(clientId);
+        ReservationMetrics.Operation operation = ReservationMetrics.Operation.RESERVE_MULTI_HOUR;
+        Client client = reservationMetrics.record(operation, ReservationMetrics.Stage.CLIENT_LOOKUP,
+                () -> clientService.getById(clientId));
         LocalDateTime startDateTime = order.getDateTime();
         LocalDateTime endDateTime = startDateTime.plusHours(hourCount);
-        if (!startDateTime.toLocalDate().equals(endDateTime.toLocalDate())) {
+        reservationMetrics.record(operation, ReservationMetrics.Stage.DATETIME_RANGE_CHECK, () -> {
+            if (!startDateTime.toLocalDate().equals(endDateTime.toLocalDate())) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.BAD_REQUEST,
+                        String.format(
+                                "Интервал для добавления записей не может пересекать границы одного дня: %s",
+                                DateTimeUtils.formatToDateString(startDateTime.toLocalDate())
+                        )
+                );
+            }
+            validateTimeSlotStart(startDateTime);
+            validateDateTimeNotInPastForReserve(startDateTime);
+            validateMaxFutureDateTimeForReserve(startDateTime);
+        });
+
+        LocalDate orderDate = order.getDateTime().toLocalDate();
+        reservationMetrics.record(operation, ReservationMetrics.Stage.SCHEDULE_CHECK, () -> {
+            if (!workHourService.isWithinWorkHourRange(orderDate, startDateTime.toLocalTime(),
+                    endDateTime.toLocalTime())) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.BAD_REQUEST,
+                        String.format(
+                                "Интервал для добавления записей (с %s по %s) находится вне рабочего графика бассейна",
+                                DateTimeUtils.formatToDateTimeString(startDateTime),
+                                DateTimeUtils.formatToDateTimeString(endDateTime)
+                        )
+                );
+            }
+        });
+
+        List<LocalDateTime> dateTimes = Stream.iterate(
+                        startDateTime,
+                        dateTime -> dateTime.isBefore(endDateTime),
+                        dateTime -> dateTime.plusMinutes(timeSlotGrid.getMinutes())
+                )
+                .toList();
+        if (occupancyEngine.isEnabled()) {
+            admitToOccupancy(operation, clientId, dateTimes);
+        } else {
+            concurrencyStrategy.lock(clientId, dateTimes);
+            reservationMetrics.record(operation, ReservationMetrics.Stage.DAILY_LIMIT_CHECK,
+                    () -> reserveClientDailySlots(clientId, orderDate, dateTimes.size()));
+            reservationMetrics.record(operation, ReservationMetrics.Stage.HOURLY_LIMIT_CHECK,
+                    () -> reserveSlots(dateTimes));
+        }
+        List<Lane> lanes = allocateLanes(operation, dateTimes);
+        List<Order> orders = IntStream.range(0, dateTimes.size())
+                .mapToObj(i -> Order.Builder.newBuilder()
+                        .client(client)
+                        .dateTime(dateTimes.get(i))
+                        .status(OrderStatus.RESERVED)
+                        .lane(lanes.get(i))
+                        .build())
+                .toList();
+        List<Order> savedOrders = reservationMetrics.record(operation, ReservationMetrics.Stage.INSERT,
+                () -> orderRepository.saveAll(orders));
+        if (occupancyEngine.isEnabled()) {
+            clientDailyUsageService.addReservedSlots(savedOrders);
+            slotInventoryService.addReserved(dateTimes);
+        }
+        eventPublisher.publishEvent(ReservationsChangedEvent.of(orderDate));
+        return savedOrders;
+    }
+
+    /**
+     * Отмена записи по идентификаторам клиента и самой записи.
+     * <p>Запись отменяется одним условным запросом, поэтому из одновременных отмен одной записи успешна только одна,
+     * остальные получают ошибку об уже отменённой записи. Место отменённой записи в той же транзакции передаётся
+     * первой подходящей заявке из листа ожидания, а если передать его некому, освобождается
+     * ({@link #releaseCancelled})
+     *
+     * @param clientId идентификатор клиента
+     * @param orderId идентификатор записи
+     */
+    @Override
+    @Transactional
+    public void cancelReservation(Long clientId, Long orderId) {
+        CancelledOrderSlot cancelledOrder = orderRepository.cancelReserved(orderId, clientId)
+                .orElseThrow(() -> cancellationFailedException(clientId, orderId));
+        releaseCancelled(List.of(cancelledOrder));
+    }
+
+    /**
+     * Добавление серии регулярных записей для клиента по дням недели и времени на несколько недель.
+     * <p>Все даты серии проверяются на рабочий график, лимиты и пересечения фиксированным количеством запросов
+     * к БД, после чего записи добавляются одним запросом. Даты серии, на которые время посещения находится вне
+     * рабочего графика (например, праздничные дни с сокращённым графиком), пропускаются. Нарушение лимитов
+     * или существующая запись клиента хотя бы на одну из дат отклоняет всю серию. Перед проверкой лимитов они
+     * защищаются блокировками {@link ReservationConcurrencyStrategy}, серия добавляется в транзакции с уровнем
+     * изоляции по умолчанию
+     *
+     * @param series серия записей для добавления в систему
+     * @param clientId идентификатор клиента
+     * @return список добавленных записей серии
+     */
+    @Override
+    @Transactional
+    public List<Order> reserveSeries(ReservationSeries series, Long clientId) {
+        checkSeriesNotNull(series);
+        Client client = clientService.getById(clientId);
+        LocalDate startDate = series.getStartDate();
+        LocalDate endDate = series.getEndDate();
+        Set<DayOfWeek> daysOfWeek = series.getDaysOfWeek();
+        List<LocalDateTime> occurrences = startDate.datesUntil(endDate.plusDays(1))
+                .filter(date -> daysOfWeek.contains(date.getDayOfWeek()))
+                .map(date -> date.atTime(series.getTime()))
+                .toList();
+        if (occurrences.isEmpty()) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.BAD_REQUEST,
                     String.format(
-                            "Интервал для добавления записей не может пересекать границы одного дня: %s",
-                            DateTimeUtils.formatToDateString(startDateTime.toLocalDate())
+                            "В серии записей с %s по %s нет ни одной даты по указанным дням недели",
+                            DateTimeUtils.formatToDateString(startDate),
+                            DateTimeUtils.formatToDateString(endDate)
                     )
             );
         }
 
-        validateDateTimeNotInPastForReserve(startDateTime);
-        validateMaxFutureDateTimeForReserve(startDateTime);
-        LocalDate orderDate = order.getDateTime().toLocalDate();
-        if (!workHourService.isWithinWorkHourRange(orderDate, startDateTime.toLocalTime(), endDateTime.toLocalTime())) {
+        validateTimeSlotStart(occurrences.get(0));
+        validateDateTimeNotInPastForReserve(occurrences.get(0));
+        validateMaxFutureDateTimeForReserve(occurrences.get(occurrences.size() - 1));
+        Map<LocalDate, WorkHour> workHours = workHourService.getWorkHoursForDateRange(startDate, endDate);
+        List<LocalDateTime> bookableDateTimes = occurrences.stream()
+                .filter(dateTime -> {
+                    LocalDate date = dateTime.toLocalDate();
+                    return workHourService.generateTimeSlots(date, workHours.get(date))
+                            .contains(dateTime.toLocalTime());
+                })
+                .toList();
+        if (bookableDateTimes.isEmpty()) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.BAD_REQUEST,
                     String.format(
-                            "Интервал для добавления записей (с %s по %s) находится вне рабочего графика бассейна",
-                            DateTimeUtils.formatToDateTimeString(startDateTime),
-                            DateTimeUtils.formatToDateTimeString(endDateTime)
+                            "Время %s для серии записей находится вне рабочего графика бассейна во все даты серии",
+                            DateTimeUtils.formatToTimeString(series.getTime())
                     )
             );
         }
 
-        validateClientDailyLimit(clientId, orderDate, hourCount);
-        List<Order> orders = Stream.iterate(
-                        startDateTime,
-                        dateTime -> dateTime.isBefore(endDateTime),
-                        dateTime -> dateTime.plusHours(1)
-                )
-                .map(dateTime -> {
-                    validateNoReservationsForClientAtDateTime(clientId, dateTime);
-                    validateHourlyLimit(dateTime);
-                    return Order.Builder.newBuilder()
-                            .client(client)
-                            .dateTime(dateTime)
-                            .status(OrderStatus.RESERVED)
-                            .build();
-                })
-                .toList();
-        return orderRepository.saveAll(orders);
+        if (occupancyEngine.isEnabled()) {
+            SlotOccupancy.Rejection rejection = occupancyEngine.tryAdmit(clientId, bookableDateTimes, date ->
+                    new SlotOccupancy.DailyLimits(workHours.get(date).getLimitPerHour(),
+                            timeSlotGrid.getSlotCount(workHours.get(date).getDailyLimitPerClients())));
+            if (rejection != null) {
+                throw occupancyRejectionException(clientId, rejection);
+            }
+        } else {
+            concurrencyStrategy.lock(clientId, bookableDateTimes);
+            validateSeriesNotReserved(clientId, bookableDateTimes);
+            reserveSeriesDailySlots(clientId, bookableDateTimes, workHours);
+            reserveSlots(bookableDateTimes);
+        }
+        List<Lane> lanes = allocateLanes(bookableDateTimes);
+        series.setClient(client);
+        series.setStatus(SeriesStatus.ACTIVE);
+        ReservationSeries savedSeries = reservationSeriesService.save(series);
+        orderRepository.insertReservedForSeries(
+                clientId,
+                savedSeries.getId(),
+                bookableDateTimes.toArray(LocalDateTime[]::new),
+                lanes.stream().map(lane -> lane != null ? lane.getId() : null).toArray(Long[]::new)
+        );
+        List<Order> seriesOrders = orderRepository.findBySeriesId(savedSeries.getId());
+        if (occupancyEngine.isEnabled()) {
+            clientDailyUsageService.addReservedSlots(seriesOrders);
+            slotInventoryService.addReserved(bookableDateTimes);
+        }
+        eventPublisher.publishEvent(new ReservationsChangedEvent(
+                bookableDateTimes.stream().map(LocalDateTime::toLocalDate).toList()
+        ));
+        return seriesOrders;
     }
 
     /**
-     * Отмена записи по идентификаторам клиента и самой записи
+     * Отмена серии регулярных записей по идентификаторам клиента и самой серии.
+     * <p>Все ещё не прошедшие занятые записи серии отменяются одним запросом, места отменённых записей
+     * передаются заявкам из листа ожидания или освобождаются ({@link #releaseCancelled})
      *
      * @param clientId идентификатор клиента
-     * @param orderId идентификатор записи
+     * @param seriesId идентификатор серии записей
+     * @return количество отменённых записей серии
      */
     @Override
     @Transactional
-    public void cancelReservation(Long clientId, Long orderId) {
-        clientService.getById(clientId);
-        Order order = getById(orderId);
-        if (order.getStatus() == OrderStatus.CANCELLED) {
+    public int cancelSeries(Long clientId, Long seriesId) {
+        ReservationSeries series = reservationSeriesService.getById(seriesId);
+        if (!series.getClient().getId().equals(clientId)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.NOT_FOUND,
+                    String.format("Серия записей с ID %s клиента с ID %s не найдена в базе", seriesId, clientId)
+            );
+        }
+        if (series.getStatus() == SeriesStatus.CANCELLED) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.BAD_REQUEST,
-                    String.format("Запись c ID %s уже отменена", orderId)
+                    String.format("Серия записей c ID %s уже отменена", seriesId)
             );
         }
-        order.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        series.setStatus(SeriesStatus.CANCELLED);
+        reservationSeriesService.save(series);
+        List<CancelledOrderSlot> cancelledOrders =
+                orderRepository.cancelReservedBySeries(seriesId, LocalDateTime.now());
+        if (!cancelledOrders.isEmpty()) {
+            releaseCancelled(cancelledOrders);
+        }
+        return cancelledOrders.size();
+    }
+
+    /**
+     * Отмена всех занятых записей по интервалу дат с временами (например, при закрытии бассейна).
+     * <p>Записи отменяются одним запросом {@code UPDATE ... RETURNING}, независимо от их количества.
+     * Если начало интервала уже прошло, отменяются только записи начиная с текущего момента, чтобы не изменять
+     * историю посещений. Места отменённых записей передаются заявкам из листа ожидания или освобождаются
+     * ({@link #releaseCancelled})
+     *
+     * @param startDateTime дата с временем, с которой отменяются записи (включительно)
+     * @param endDateTime дата с временем, до которой отменяются записи (не включительно)
+     * @return список отменённых записей
+     */
+    @Override
+    @Transactional
+    public List<OrderSlot> cancelReservationsInRange(@NonNull LocalDateTime startDateTime,
+                                                     @NonNull LocalDateTime endDateTime) {
+        if (!startDateTime.isBefore(endDateTime)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Начало интервала для отмены записей %s должно быть раньше его окончания %s",
+                            DateTimeUtils.formatToDateTimeString(startDateTime),
+                            DateTimeUtils.formatToDateTimeString(endDateTime)
+                    )
+            );
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!endDateTime.isAfter(now)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Нельзя отменить записи до %s, так как это время уже прошло",
+                            DateTimeUtils.formatToDateTimeString(endDateTime)
+                    )
+            );
+        }
+
+        LocalDateTime fromDateTime = startDateTime.isAfter(now) ? startDateTime : now;
+        List<CancelledOrderSlot> cancelledOrders =
+                orderRepository.cancelReservedByDateTimeRange(fromDateTime, endDateTime);
+        if (!cancelledOrders.isEmpty()) {
+            releaseCancelled(cancelledOrders);
+        }
+        return List.copyOf(cancelledOrders);
+    }
+
+    /**
+     * Передача мест отменённых записей заявкам из листа ожидания и освобождение остальных мест.
+     * <p>Счётчики клиентов отменённых записей освобождаются одним запросом. Место каждой отменённой записи, на таймслот
+     * которой есть ожидающие заявки, передаётся первой подходящей из них {@link WaitlistService#promoteNext}
+     * в порядке дат с временем, остальные места освобождаются на таймслотах одним запросом после всех продвижений.
+     * Поэтому счётчики клиентов изменяются раньше таймслотов, как и при добавлении записей. Переведённые записи
+     * учитываются в занятости раньше освобождения отменённых, чтобы место между ними не было занято другим клиентом,
+     * а дорожки отменённых записей освобождаются, только если они не переданы переведённым записям
+     *
+     * @param cancelledOrders отменённые записи
+     */
+    private void releaseCancelled(List<CancelledOrderSlot> cancelledOrders) {
+        List<OrderSlot> orderSlots = List.copyOf(cancelledOrders);
+        clientDailyUsageService.releaseReservedSlots(orderSlots);
+        List<Order> promotedOrders = new ArrayList<>();
+        List<OrderSlot> releasedOrders = new ArrayList<>(cancelledOrders.size());
+        cancelledOrders.stream()
+                .sorted(Comparator.comparing(OrderSlot::getDateTime))
+                .forEach(cancelledOrder -> {
+                    Optional<Order> promotedOrder = cancelledOrder.isWaitlisted()
+                            ? waitlistService.promoteNext(cancelledOrder)
+                            : Optional.empty();
+                    promotedOrder.ifPresentOrElse(promotedOrders::add, () -> releasedOrders.add(cancelledOrder));
+                });
+        if (!releasedOrders.isEmpty()) {
+            slotInventoryService.release(releasedOrders.stream().map(OrderSlot::getDateTime).toList());
+        }
+        for (Order promotedOrder : promotedOrders) {
+            occupancyEngine.addAfterCommit(promotedOrder.getClient().getId(), promotedOrder.getDateTime());
+        }
+        occupancyEngine.releaseAfterCommit(orderSlots);
+        laneAllocationEngine.releaseAfterCommit(releasedOrders);
+        eventPublisher.publishEvent(new ReservationsChangedEvent(
+                orderSlots.stream().map(orderSlot -> orderSlot.getDateTime().toLocalDate()).toList()
+        ));
+    }
+
+    /**
+     * Проверка клиента, даты с временем и рабочего графика при добавлении записи
+     *
+     * @param operation операция добавления записей
+     * @param order запись для добавления в систему
+     * @param clientId идентификатор клиента
+     * @return клиент
+     */
+    private Client validateReservation(ReservationMetrics.Operation operation, Order order, Long clientId) {
+        checkOrderNotNull(order);
+        Client client = reservationMetrics.record(operation, ReservationMetrics.Stage.CLIENT_LOOKUP,
+                () -> clientService.getById(clientId));
+        LocalDateTime orderDateTime = order.getDateTime();
+        reservationMetrics.record(operation, ReservationMetrics.Stage.DATETIME_RANGE_CHECK, () -> {
+            validateTimeSlotStart(orderDateTime);
+            validateDateTimeNotInPastForReserve(orderDateTime);
+            validateMaxFutureDateTimeForReserve(orderDateTime);
+        });
+
+        reservationMetrics.record(operation, ReservationMetrics.Stage.SCHEDULE_CHECK, () -> {
+            if (!workHourService.isWithinWorkHour(orderDateTime)) {
+                throw new SwimmingPoolManagementException(
+                        ErrorCode.BAD_REQUEST,
+                        String.format(
+                                "Дата и время %s для добавления записей находятся вне рабочего графика бассейна",
+                                DateTimeUtils.formatToDateTimeString(orderDateTime)
+                        )
+                );
+            }
+        });
+        return client;
     }
 
     /**
@@ -292,6 +777,20 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    /**
+     * Проверка инициализации серии записей при добавлении в систему
+     *
+     * @param series проверяемая серия записей
+     */
+    private void checkSeriesNotNull(ReservationSeries series) {
+        if (series == null) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "ReservationSeries: передан пустой объект для сохранения"
+            );
+        }
+    }
+
     /**
      * Валидация верхней границы даты получения занятых или доступных записей
      *
@@ -341,118 +840,291 @@ public class OrderServiceImpl implements OrderService {
         if (dateTime.isAfter(maxAvailableDateTime)) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.BAD_REQUEST,
-                    String.format(
-                            "Нельзя добавить запись на %s, записи доступны только на 2 месяца вперёд: по %s",
-                            DateTimeUtils.formatToDateTimeString(dateTime),
+                    "Нельзя добавить запись на " + DateTimeUtils.formatToDateTimeString(dateTime) +
+                            ", записи доступны только на 2 месяца вперёд: по " +
                             DateTimeUtils.formatToDateTimeString(maxAvailableDateTime)
-                    )
             );
         }
     }
 
     /**
-     * Валидация даты с временем на то, что она не находится в прошлом, для добавления записи
+     * Валидация даты с временем на то, что она совпадает с началом таймслота сетки {@link TimeSlotGrid}
      *
      * @param dateTime проверяемая дата с временем
      */
-    // TODO вынести в отдельный сервис
-    private void validateDateTimeNotInPastForReserve(@NonNull LocalDateTime dateTime) {
-        if (dateTime.isBefore(LocalDateTime.now())) {
+    private void validateTimeSlotStart(@NonNull LocalDateTime dateTime) {
+        if (!timeSlotGrid.isSlotStart(dateTime.toLocalTime())) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.BAD_REQUEST,
                     String.format(
-                            "Нельзя добавить запись на %s, так как это время уже прошло",
-                            DateTimeUtils.formatToDateTimeString(dateTime)
+                            "Время %s не совпадает с началом таймслота, таймслоты начинаются каждые %d минут",
+                            DateTimeUtils.formatToTimeString(dateTime.toLocalTime()),
+                            timeSlotGrid.getMinutes()
                     )
             );
         }
     }
 
     /**
-     * Валидация отсутствия занятой записи клиентом по его идентификатору на определённую дату с временем
+     * Валидация даты с временем на то, что она не находится в прошлом, для добавления записи
      *
-     * @param clientId идентификатор клиента
-     * @param dateTime проверяемые дата с временем
+     * @param dateTime проверяемая дата с временем
      */
     // TODO вынести в отдельный сервис
-    private void validateNoReservationsForClientAtDateTime(Long clientId, LocalDateTime dateTime) {
-        if (orderRepository.countReservationsForClientByDateTimeRange(clientId, dateTime, dateTime) > 0) {
+    private void validateDateTimeNotInPastForReserve(@NonNull LocalDateTime dateTime) {
+        if (dateTime.isBefore(LocalDateTime.now())) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.BAD_REQUEST,
-                    String.format(
-                            "Запись клиента c ID %s на %s уже существует",
-                            clientId,
-                            DateTimeUtils.formatToDateTimeString(dateTime)
-                    )
+                    "Нельзя добавить запись на " + DateTimeUtils.formatToDateTimeString(dateTime) +
+                            ", так как это время уже прошло"
             );
         }
     }
 
     /**
-     * Валидация ограничения на количество записей в час по определённой дате с временем
+     * Занятие места на таймслотах с проверкой ограничения на количество записей в час.
+     * <p>Проверка и занятие выполняются одним условным запросом к таймслотам {@link SlotInventoryService}, строки
+     * таймслотов блокируются до конца транзакции, поэтому лимит не превышается одновременными записями
      *
-     * @param dateTime дата с временем для добавления записи
+     * @param dateTimes различные даты с временем для добавления записей
      */
-    // TODO вынести в отдельный сервис
-    private void validateHourlyLimit(LocalDateTime dateTime) {
-        Long ordersForDateTime = orderRepository.countReservationsForDateTime(dateTime);
-        LocalDate date = dateTime.toLocalDate();
-        Integer limitPerHourForDate = workHourService.getLimitPerHour(date);
-        if (ordersForDateTime >= limitPerHourForDate) {
-            throw new SwimmingPoolManagementException(
-                    ErrorCode.BAD_REQUEST,
-                    String.format(
-                            "Лимит записей в час на %s превышен, доступный лимит часов %s",
-                            DateTimeUtils.formatToDateString(date),
-                            limitPerHourForDate - ordersForDateTime
-                    )
-            );
+    private void reserveSlots(List<LocalDateTime> dateTimes) {
+        if (!slotInventoryService.tryReserve(dateTimes)) {
+            LocalDateTime fullDateTime = slotInventoryService.findFirstFull(dateTimes);
+            throw hourlyLimitExceededException(fullDateTime.toLocalDate(),
+                    slotInventoryService.getAvailableCount(fullDateTime));
         }
     }
 
     /**
-     * Валидация ограничения на количество записей в день на клиента по его идентификатору и количеству часов для записи
+     * Учёт таймслотов записи в счётчике клиента на дату с проверкой ограничения на количество записей в день
+     * на клиента.
+     * <p>Проверка и учёт выполняются одним условным запросом к счётчику {@link ClientDailyUsageService}, строка
+     * счётчика блокируется до конца транзакции, поэтому лимит не превышается одновременными записями клиента.
+     * Лимит графика задаётся в часах и сравнивается со счётчиком в таймслотах сетки {@link TimeSlotGrid}
      *
      * @param clientId идентификатор клиента
      * @param date дата для добавления записи
-     * @param hourCount количество часов для записи
+     * @param slotCount количество таймслотов для записи
      */
-    // TODO вынести в отдельный сервис
-    private void validateClientDailyLimit(Long clientId, @NonNull LocalDate date, Integer hourCount) {
-        Long clientOrderCountForDate = orderRepository.countReservationsForClientByDateTimeRange(
+    private void reserveClientDailySlots(Long clientId, @NonNull LocalDate date, Integer slotCount) {
+        Integer dailySlotLimitForDate = workHourService.getDailySlotLimitPerClients(date);
+        if (!clientDailyUsageService.tryReserveSlots(clientId, date, slotCount, dailySlotLimitForDate)) {
+            throw dailyLimitExceededException(clientId, date,
+                    dailySlotLimitForDate - clientDailyUsageService.getReservedSlots(clientId, date));
+        }
+    }
+
+    /**
+     * Учёт записей серии в счётчиках клиента по датам с проверкой ограничения на количество записей в день
+     * на клиента.
+     * <p>Проверка и учёт на всех датах серии выполняются одним условным запросом к счётчикам
+     * {@link ClientDailyUsageService}, как и для отдельных записей, поэтому серия и одновременные записи клиента
+     * не превышают лимит
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем серии, по одной на дату
+     * @param workHours рабочие часы(график) на каждую дату серии
+     */
+    private void reserveSeriesDailySlots(Long clientId, @NonNull List<LocalDateTime> dateTimes,
+                                         Map<LocalDate, WorkHour> workHours) {
+        SortedMap<LocalDate, Integer> dailySlotLimits = new TreeMap<>();
+        for (LocalDateTime dateTime : dateTimes) {
+            LocalDate date = dateTime.toLocalDate();
+            dailySlotLimits.put(date, timeSlotGrid.getSlotCount(workHours.get(date).getDailyLimitPerClients()));
+        }
+        List<LocalDate> exceededDates = clientDailyUsageService.tryReserveSlotPerDate(clientId, dailySlotLimits);
+        if (!exceededDates.isEmpty()) {
+            LocalDate date = exceededDates.get(0);
+            throw dailyLimitExceededException(clientId, date,
+                    dailySlotLimits.get(date) - clientDailyUsageService.getReservedSlots(clientId, date));
+        }
+    }
+
+    /**
+     * Валидация всех дат с временем серии записей на отсутствие записей клиента.
+     * <p>Выполняет один запрос к БД независимо от количества дат серии
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTimes проверяемые даты с временем серии
+     */
+    private void validateSeriesNotReserved(Long clientId, @NonNull List<LocalDateTime> dateTimes) {
+        Set<LocalDateTime> clientDateTimes = new HashSet<>(orderRepository.findReservedDateTimesForClientByDateRange(
                 clientId,
-                date.atStartOfDay(),
-                date.atTime(LocalTime.MAX)
-        );
-        Integer dailyLimitPerClientsForDate = workHourService.getDailyLimitPerClients(date);
-        if (clientOrderCountForDate + hourCount > dailyLimitPerClientsForDate) {
+                dateTimes.get(0),
+                dateTimes.get(dateTimes.size() - 1)
+        ));
+        for (LocalDateTime dateTime : dateTimes) {
+            if (clientDateTimes.contains(dateTime)) {
+                throw reservationAlreadyExistsException(clientId, dateTime);
+            }
+        }
+    }
+
+    /**
+     * Проверка лимитов и пересечений записей клиента движком {@link OccupancyEngine}.
+     * <p>Проверка выполняется одной операцией, отказ учитывается в метриках этапа, соответствующего нарушенному правилу
+     *
+     * @param operation операция добавления записей
+     * @param clientId идентификатор клиента
+     * @param dateTimes даты с временем добавляемых записей
+     */
+    private void admitToOccupancy(ReservationMetrics.Operation operation, Long clientId,
+                                  List<LocalDateTime> dateTimes) {
+        SlotOccupancy.Rejection rejection = occupancyEngine.tryAdmit(clientId, dateTimes, date ->
+                new SlotOccupancy.DailyLimits(workHourService.getLimitPerHour(date),
+                        workHourService.getDailySlotLimitPerClients(date)));
+        reservationMetrics.record(operation, ReservationMetrics.Stage.DAILY_LIMIT_CHECK,
+                () -> throwIfRejected(clientId, rejection, SlotOccupancy.Reason.DAILY_LIMIT_EXCEEDED));
+        reservationMetrics.record(operation, ReservationMetrics.Stage.DUPLICATE_CHECK,
+                () -> throwIfRejected(clientId, rejection, SlotOccupancy.Reason.ALREADY_RESERVED));
+        reservationMetrics.record(operation, ReservationMetrics.Stage.HOURLY_LIMIT_CHECK,
+                () -> throwIfRejected(clientId, rejection, SlotOccupancy.Reason.HOURLY_LIMIT_EXCEEDED));
+    }
+
+    /**
+     * Распределение добавляемых записей по дорожкам движком {@link LaneAllocationEngine} с учётом отказа в метриках
+     *
+     * @param operation операция добавления записей
+     * @param dateTimes даты с временем добавляемых записей
+     * @return дорожки в порядке дат с временем, {@code null} - запись не распределяется по дорожкам
+     */
+    private List<Lane> allocateLanes(ReservationMetrics.Operation operation, List<LocalDateTime> dateTimes) {
+        if (!laneAllocationEngine.isEnabled()) {
+            return Collections.nCopies(dateTimes.size(), null);
+        }
+        return reservationMetrics.record(operation, ReservationMetrics.Stage.LANE_ALLOCATION,
+                () -> allocateLanes(dateTimes));
+    }
+
+    /**
+     * Распределение добавляемых записей по дорожкам движком {@link LaneAllocationEngine}, если он включён
+     *
+     * @param dateTimes даты с временем добавляемых записей
+     * @return дорожки в порядке дат с временем, {@code null} - запись не распределяется по дорожкам
+     */
+    private List<Lane> allocateLanes(List<LocalDateTime> dateTimes) {
+        if (!laneAllocationEngine.isEnabled()) {
+            return Collections.nCopies(dateTimes.size(), null);
+        }
+        List<Lane> lanes = laneAllocationEngine.tryAllocate(dateTimes);
+        if (lanes == null) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.BAD_REQUEST,
                     String.format(
-                            "Лимит записей на указанный день для клиента с ID %s на %s превышен, " +
-                                    "доступный лимит часов %s",
-                            clientId,
-                            DateTimeUtils.formatToDateString(date),
-                            dailyLimitPerClientsForDate - clientOrderCountForDate
+                            "Нет дорожек со свободными местами на все таймслоты записи с %s",
+                            DateTimeUtils.formatToDateTimeString(dateTimes.get(0))
                     )
             );
         }
+        return lanes;
     }
 
     /**
-     * Получение списка занятых записями времён на определённую дату
+     * Выброс исключения, если движок {@link OccupancyEngine} отказал в добавлении записей по указанному правилу
      *
-     * @param date дата для извлечения
-     * @return список занятых записями времён на указанную дату
+     * @param clientId идентификатор клиента
+     * @param rejection нарушенное правило или {@code null}
+     * @param reason проверяемое правило
      */
-    private List<LocalTime> getReservedTimesForDate(@NonNull LocalDate date) {
-        List<LocalDateTime> reservedDateTimesForDate = orderRepository.findReservedDateTimesByDateRange(
-                date.atStartOfDay(),
-                date.atTime(LocalTime.MAX)
+    private void throwIfRejected(Long clientId, SlotOccupancy.Rejection rejection, SlotOccupancy.Reason reason) {
+        if (rejection != null && rejection.reason() == reason) {
+            throw occupancyRejectionException(clientId, rejection);
+        }
+    }
+
+    /**
+     * Создание исключения по правилу, нарушенному при проверке движком {@link OccupancyEngine}
+     *
+     * @param clientId идентификатор клиента
+     * @param rejection нарушенное правило
+     * @return исключение с описанием ошибки
+     */
+    private SwimmingPoolManagementException occupancyRejectionException(Long clientId,
+                                                                       SlotOccupancy.Rejection rejection) {
+        LocalDate date = rejection.dateTime().toLocalDate();
+        return switch (rejection.reason()) {
+            case DAILY_LIMIT_EXCEEDED -> dailyLimitExceededException(clientId, date, rejection.availableCount());
+            case ALREADY_RESERVED -> reservationAlreadyExistsException(clientId, rejection.dateTime());
+            case HOURLY_LIMIT_EXCEEDED -> hourlyLimitExceededException(date, rejection.availableCount());
+        };
+    }
+
+    /**
+     * Создание исключения для неудавшейся отмены записи: клиент или запись не найдены (исключение выбрасывается
+     * при поиске) либо запись уже отменена
+     *
+     * @param clientId идентификатор клиента
+     * @param orderId идентификатор записи
+     * @return исключение об уже отменённой записи
+     */
+    private SwimmingPoolManagementException cancellationFailedException(Long clientId, Long orderId) {
+        clientService.getById(clientId);
+        getById(orderId);
+        return new SwimmingPoolManagementException(
+                ErrorCode.BAD_REQUEST,
+                String.format("Запись c ID %s уже отменена", orderId)
         );
-        return reservedDateTimesForDate.stream()
-                .map(LocalDateTime::toLocalTime)
-                .collect(Collectors.toList());
+    }
+
+    /**
+     * Создание исключения о существующей записи клиента на определённую дату с временем
+     *
+     * @param clientId идентификатор клиента
+     * @param dateTime дата с временем записи
+     * @return исключение с описанием ошибки
+     */
+    private SwimmingPoolManagementException reservationAlreadyExistsException(Long clientId,
+                                                                             LocalDateTime dateTime) {
+        return new SwimmingPoolManagementException(
+                ErrorCode.BAD_REQUEST,
+                "Запись клиента c ID " + clientId + " на " + DateTimeUtils.formatToDateTimeString(dateTime) +
+                        " уже существует"
+        );
+    }
+
+    /**
+     * Создание исключения о превышении лимита записей в час на определённую дату
+     *
+     * @param date дата записи
+     * @param availableCount доступный лимит записей
+     * @return исключение с описанием ошибки
+     */
+    private SwimmingPoolManagementException hourlyLimitExceededException(LocalDate date, long availableCount) {
+        return new SwimmingPoolManagementException(
+                ErrorCode.BAD_REQUEST,
+                "Лимит записей в час на " + DateTimeUtils.formatToDateString(date) +
+                        " превышен, доступный лимит часов " + availableCount
+        );
+    }
+
+    /**
+     * Создание исключения о превышении лимита записей в день для клиента на определённую дату.
+     * <p>Доступный лимит указывается в часах, как он задаётся в графике
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записи
+     * @param availableSlotCount доступный лимит таймслотов
+     * @return исключение с описанием ошибки
+     */
+    private SwimmingPoolManagementException dailyLimitExceededException(Long clientId, LocalDate date,
+                                                                       long availableSlotCount) {
+        return new SwimmingPoolManagementException(
+                ErrorCode.BAD_REQUEST,
+                "Лимит записей на указанный день для клиента с ID " + clientId + " на " +
+                        DateTimeUtils.formatToDateString(date) + " превышен, доступный лимит часов " +
+                        timeSlotGrid.getHours(availableSlotCount).toPlainString()
+        );
+    }
+
+    /**
+     * Получение списка занятых записями дат с временами на определённую дату
+     *
+     * @param date дата для извлечения
+     * @return список занятых записями дат с временами на указанную дату
+     */
+    private List<LocalDateTime> getReservedDateTimesForDate(@NonNull LocalDate date) {
+        return orderRepository.findReservedDateTimesByDateRange(date.atStartOfDay(), date.atTime(LocalTime.MAX));
     }
 
 }
@@ -0,0 +1,26 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.entity.ReservationSeries;
+
+/**
+ * Сервис для управления сущностью {@link ReservationSeries}
+ */
+public interface ReservationSeriesService {
+
+    /**
+     * Получение серии записей по её идентификатору
+     *
+     * @param id идентификатор серии записей
+     * @return серия записей
+     */
+    ReservationSeries getById(Long id);
+
+    /**
+     * Сохранение серии записей в системе
+     *
+     * @param series серия записей для сохранения
+     * @return сохранённая серия записей
+     */
+    ReservationSeries save(ReservationSeries series);
+
+}
@@ -0,0 +1,65 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.ReservationSeries;
+import com.swimming_pool.management.repository.ReservationSeriesRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Реализация сервиса для управления сущностью {@link ReservationSeries}
+ */
+@Service
+public class ReservationSeriesServiceImpl implements ReservationSeriesService {
+
+    /**
+     * Репозиторий для управления сериями записей в БД
+     */
+    private final ReservationSeriesRepository reservationSeriesRepository;
+
+    /**
+     * Конструктор для инициализации {@link ReservationSeriesRepository}
+     *
+     * @param reservationSeriesRepository репозиторий для управления сериями записей в БД
+     */
+    public ReservationSeriesServiceImpl(ReservationSeriesRepository reservationSeriesRepository) {
+        this.reservationSeriesRepository = reservationSeriesRepository;
+    }
+
+    /**
+     * Получение серии записей по её идентификатору
+     *
+     * @param id идентификатор серии записей
+     * @return серия записей
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationSeries getById(Long id) {
+        return reservationSeriesRepository.findById(id)
+                .orElseThrow(() -> new SwimmingPoolManagementException(
+                                ErrorCode.NOT_FOUND,
+                                String.format("Серия записей с ID %s не найдена в базе", id)
+                        )
+                );
+    }
+
+    /**
+     * Сохранение серии записей в системе
+     *
+     * @param series серия записей для сохранения
+     * @return сохранённая серия записей
+     */
+    @Override
+    @Transactional
+    public ReservationSeries save(ReservationSeries series) {
+        if (series == null) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "ReservationSeries: передан пустой объект для сохранения"
+            );
+        }
+        return reservationSeriesRepository.save(series);
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Сервис для управления сущностью {@link ScheduleOverride}.
+ * <p>Изменение особого графика после фиксации транзакции перестраивает календарь графика и таймслоты изменённой
+ * даты и сбрасывает кэш ответов со свободными таймслотами на неё
+ */
+public interface ScheduleOverrideService {
+
+    /**
+     * Получение особых графиков по интервалу дат
+     *
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     * @return список особых графиков, упорядоченный по дате
+     */
+    List<ScheduleOverride> getByDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Добавление особого графика на дату или замена существующего особого графика на эту дату
+     *
+     * @param override особый график для сохранения
+     * @return сохранённый особый график
+     */
+    ScheduleOverride save(ScheduleOverride override);
+
+    /**
+     * Удаление особого графика на дату, после чего на дату действует основной график
+     *
+     * @param date дата особого графика
+     */
+    void delete(LocalDate date);
+
+}
@@ -0,0 +1,161 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.event.ScheduleChangedEvent;
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.ScheduleOverride;
+import com.swimming_pool.management.repository.ScheduleOverrideRepository;
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Реализация сервиса для управления сущностью {@link ScheduleOverride}
+ */
+@Service
+public class ScheduleOverrideServiceImpl implements ScheduleOverrideService {
+
+    /**
+     * Репозиторий для управления особыми графиками в БД
+     */
+    private final ScheduleOverrideRepository scheduleOverrideRepository;
+
+    /**
+     * Публикатор событий об изменении графика
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Конструктор для инициализации {@link ScheduleOverrideRepository} и {@link ApplicationEventPublisher}
+     *
+     * @param scheduleOverrideRepository репозиторий для управления особыми графиками в БД
+     * @param eventPublisher публикатор событий об изменении графика
+     */
+    public ScheduleOverrideServiceImpl(ScheduleOverrideRepository scheduleOverrideRepository,
+                                       ApplicationEventPublisher eventPublisher) {
+        this.scheduleOverrideRepository = scheduleOverrideRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Получение особых графиков по интервалу дат
+     *
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     * @return список особых графиков, упорядоченный по дате
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScheduleOverride> getByDateRange(@NonNull LocalDate startDate, @NonNull LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Начальная дата интервала %s не может быть позже конечной даты %s",
+                            DateTimeUtils.formatToDateString(startDate),
+                            DateTimeUtils.formatToDateString(endDate)
+                    )
+            );
+        }
+        return scheduleOverrideRepository.findByDateRange(startDate, endDate);
+    }
+
+    /**
+     * Добавление особого графика на дату или замена существующего особого графика на эту дату
+     *
+     * @param override особый график для сохранения
+     * @return сохранённый особый график
+     */
+    @Override
+    @Transactional
+    public ScheduleOverride save(ScheduleOverride override) {
+        if (override == null) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "ScheduleOverride: передан пустой объект для сохранения"
+            );
+        }
+        LocalDate date = override.getDate();
+        validateDateNotInPast(date);
+        validateWorkingTime(override);
+
+        ScheduleOverride savedOverride = scheduleOverrideRepository.findByDate(date)
+                .map(existing -> {
+                    existing.setStartTime(override.getStartTime());
+                    existing.setEndTime(override.getEndTime());
+                    existing.setLimitPerHour(override.getLimitPerHour());
+                    existing.setDailyLimitPerClients(override.getDailyLimitPerClients());
+                    existing.setDescription(override.getDescription());
+                    return existing;
+                })
+                .orElse(override);
+        savedOverride = scheduleOverrideRepository.save(savedOverride);
+        eventPublisher.publishEvent(ScheduleChangedEvent.of(date));
+        return savedOverride;
+    }
+
+    /**
+     * Удаление особого графика на дату, после чего на дату действует основной график
+     *
+     * @param date дата особого графика
+     */
+    @Override
+    @Transactional
+    public void delete(@NonNull LocalDate date) {
+        validateDateNotInPast(date);
+        ScheduleOverride override = scheduleOverrideRepository.findByDate(date)
+                .orElseThrow(() -> new SwimmingPoolManagementException(
+                        ErrorCode.NOT_FOUND,
+                        String.format("Особый график на %s не найден в базе", DateTimeUtils.formatToDateString(date))
+                ));
+        scheduleOverrideRepository.delete(override);
+        eventPublisher.publishEvent(ScheduleChangedEvent.of(date));
+    }
+
+    /**
+     * Валидация даты особого графика на то, что она не в прошлом
+     *
+     * @param date дата особого графика
+     */
+    private void validateDateNotInPast(LocalDate date) {
+        if (date.isBefore(LocalDate.now())) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Нельзя изменить график на %s, так как эта дата уже прошла",
+                            DateTimeUtils.formatToDateString(date)
+                    )
+            );
+        }
+    }
+
+    /**
+     * Валидация рабочего времени особого графика: начало и конец рабочего дня задаются вместе, и начало раньше конца
+     *
+     * @param override особый график
+     */
+    private void validateWorkingTime(ScheduleOverride override) {
+        if ((override.getStartTime() == null) != (override.getEndTime() == null)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    "Начало и конец рабочего дня особого графика задаются вместе"
+            );
+        }
+        if (override.getStartTime() != null && !override.getStartTime().isBefore(override.getEndTime())) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Начало рабочего дня %s должно быть раньше его конца %s",
+                            DateTimeUtils.formatToTimeString(override.getStartTime()),
+                            DateTimeUtils.formatToTimeString(override.getEndTime())
+                    )
+            );
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.entity.SlotInventory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Сервис для управления таймслотами на горизонт записей {@link SlotInventory}.
+ * <p>Таймслоты с вместимостью строятся по рабочим часам(графику) и праздничным дням, а количество занятых записей
+ * на таймслоте изменяется в транзакции добавления и отмены записей. Поэтому свободные места на дату читаются
+ * одним запросом по интервалу первичного ключа, а место на таймслоте занимается изменением одной строки.
+ * <p>Порядок блокировок: строки таймслотов изменяются только после счётчиков клиентов
+ * {@link ClientDailyUsageService} той же транзакции, несколько таймслотов - по возрастанию даты с временем
+ */
+public interface SlotInventoryService {
+
+    /**
+     * Получение таймслотов по рабочему графику с даты с временем до конца её дня
+     *
+     * @param startDateTime дата с временем, с которой выбираются таймслоты (включительно)
+     * @return список таймслотов по возрастанию времени
+     */
+    List<SlotInventory> getOpenSlots(LocalDateTime startDateTime);
+
+    /**
+     * Занятие места на каждом из таймслотов, если на всех таймслотах есть место.
+     * <p>Строки таймслотов блокируются до конца текущей транзакции. Если место занято не на всех таймслотах,
+     * вызывающий должен откатить транзакцию
+     *
+     * @param dateTimes различные даты с временем таймслотов
+     * @return {@code true}, если место занято на всех таймслотах
+     */
+    boolean tryReserve(List<LocalDateTime> dateTimes);
+
+    /**
+     * Получение первого по порядку таймслота без свободных мест
+     *
+     * @param dateTimes даты с временем таймслотов
+     * @return дата с временем таймслота без свободных мест или первого таймслота, если места есть на всех
+     */
+    LocalDateTime findFirstFull(List<LocalDateTime> dateTimes);
+
+    /**
+     * Получение количества свободных мест таймслота
+     *
+     * @param dateTime дата с временем таймслота
+     * @return количество свободных мест, 0 для отсутствующего таймслота
+     */
+    long getAvailableCount(LocalDateTime dateTime);
+
+    /**
+     * Учёт добавленных записей на таймслотах без проверки вместимости (вместимость проверена до добавления записей)
+     *
+     * @param dateTimes даты с временем добавленных записей
+     */
+    void addReserved(List<LocalDateTime> dateTimes);
+
+    /**
+     * Освобождение мест отменённых записей на таймслотах
+     *
+     * @param dateTimes даты с временем отменённых записей
+     */
+    void release(List<LocalDateTime> dateTimes);
+
+    /**
+     * Продвижение горизонта таймслотов: удаление прошедших дат и перестроение таймслотов с текущей даты
+     * до конца горизонта записей
+     */
+    void refresh();
+
+    /**
+     * Перестроение таймслотов по интервалу дат по текущим рабочим часам(графику) и праздничным дням
+     *
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     */
+    void regenerate(LocalDate startDate, LocalDate endDate);
+
+}
@@ -0,0 +1,251 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.cache.ScheduleCalendar;
+import com.swimming_pool.management.event.ReservationsChangedEvent;
+import com.swimming_pool.management.event.ScheduleChangedEvent;
+import com.swimming_pool.management.model.entity.SlotInventory;
+import com.swimming_pool.management.model.entity.WorkHour;
+import com.swimming_pool.management.model.slot.TimeSlotGrid;
+import com.swimming_pool.management.repository.SlotInventoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Реализация сервиса для управления таймслотами на горизонт записей в таблице {@code slot_inventory}.
+ * <p>Горизонт таймслотов - с текущей даты до {@link ScheduleCalendar#getHorizonEndDate}. Горизонт продвигается
+ * при запуске приложения и далее каждые {@code slot-inventory.refresh-interval}; при этом календарь графика
+ * перестраивается, а таймслоты всего горизонта сверяются с ним, и изменённые в БД напрямую праздничные дни и графики
+ * учитываются без перезапуска. После фиксации изменения особого графика ({@link ScheduleChangedEvent}) календарь
+ * и таймслоты изменённых дат перестраиваются сразу. Перестраиваются только отличающиеся таймслоты, после чего ответы
+ * со свободными таймслотами на их даты сбрасываются {@link ReservationsChangedEvent}
+ */
+@Service
+public class SlotInventoryServiceImpl implements SlotInventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotInventoryServiceImpl.class);
+
+    /**
+     * Репозиторий для управления таймслотами в БД
+     */
+    private final SlotInventoryRepository slotInventoryRepository;
+
+    /**
+     * Сервис для управления рабочими часами(графиком)
+     */
+    private final WorkHourService workHourService;
+
+    /**
+     * Публикатор событий об изменении таймслотов
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Сетка таймслотов суток
+     */
+    private final TimeSlotGrid timeSlotGrid;
+
+    /**
+     * Конструктор для инициализации {@link SlotInventoryRepository}, {@link WorkHourService},
+     * {@link ApplicationEventPublisher} и {@link TimeSlotGrid}
+     *
+     * @param slotInventoryRepository репозиторий для управления таймслотами в БД
+     * @param workHourService сервис для управления рабочими часами(графиком)
+     * @param eventPublisher публикатор событий об изменении таймслотов
+     * @param timeSlotGrid сетка таймслотов суток
+     */
+    public SlotInventoryServiceImpl(SlotInventoryRepository slotInventoryRepository, WorkHourService workHourService,
+                                    ApplicationEventPublisher eventPublisher, TimeSlotGrid timeSlotGrid) {
+        this.slotInventoryRepository = slotInventoryRepository;
+        this.workHourService = workHourService;
+        this.eventPublisher = eventPublisher;
+        this.timeSlotGrid = timeSlotGrid;
+    }
+
+    /**
+     * Получение таймслотов по рабочему графику с даты с временем до конца её дня
+     *
+     * @param startDateTime дата с временем, с которой выбираются таймслоты (включительно)
+     * @return список таймслотов по возрастанию времени
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SlotInventory> getOpenSlots(LocalDateTime startDateTime) {
+        return slotInventoryRepository.findByDateTimeRange(
+                        startDateTime,
+                        startDateTime.toLocalDate().plusDays(1).atStartOfDay()
+                )
+                .stream()
+                .filter(slot -> slot.getCapacity() > 0)
+                .toList();
+    }
+
+    /**
+     * Занятие места на каждом из таймслотов одним запросом, если на всех таймслотах есть место
+     *
+     * @param dateTimes различные даты с временем таймслотов
+     * @return {@code true}, если место занято на всех таймслотах
+     */
+    @Override
+    public boolean tryReserve(List<LocalDateTime> dateTimes) {
+        return slotInventoryRepository.reserve(dateTimes.toArray(LocalDateTime[]::new)) == dateTimes.size();
+    }
+
+    /**
+     * Получение первого по порядку таймслота без свободных мест
+     *
+     * @param dateTimes даты с временем таймслотов
+     * @return дата с временем таймслота без свободных мест или первого таймслота, если места есть на всех
+     */
+    @Override
+    public LocalDateTime findFirstFull(List<LocalDateTime> dateTimes) {
+        Map<LocalDateTime, SlotInventory> slots = new TreeMap<>();
+        slotInventoryRepository.findAllById(dateTimes).forEach(slot -> slots.put(slot.getDateTime(), slot));
+        return dateTimes.stream()
+                .filter(dateTime -> !slots.containsKey(dateTime) || slots.get(dateTime).getAvailable() <= 0)
+                .findFirst()
+                .orElse(dateTimes.get(0));
+    }
+
+    /**
+     * Получение количества свободных мест таймслота
+     *
+     * @param dateTime дата с временем таймслота
+     * @return количество свободных мест, 0 для отсутствующего таймслота
+     */
+    @Override
+    public long getAvailableCount(LocalDateTime dateTime) {
+        return slotInventoryRepository.findById(dateTime)
+                .map(SlotInventory::getAvailable)
+                .orElse(0);
+    }
+
+    /**
+     * Учёт добавленных записей на таймслотах одним запросом
+     *
+     * @param dateTimes даты с временем добавленных записей
+     */
+    @Override
+    public void addReserved(List<LocalDateTime> dateTimes) {
+        if (!dateTimes.isEmpty()) {
+            slotInventoryRepository.addReserved(dateTimes.toArray(LocalDateTime[]::new));
+        }
+    }
+
+    /**
+     * Освобождение мест отменённых записей на таймслотах одним запросом
+     *
+     * @param dateTimes даты с временем отменённых записей
+     */
+    @Override
+    public void release(List<LocalDateTime> dateTimes) {
+        if (!dateTimes.isEmpty()) {
+            slotInventoryRepository.releaseReserved(dateTimes.toArray(LocalDateTime[]::new));
+        }
+    }
+
+    /**
+     * Продвижение горизонта таймслотов: удаление прошедших дат и перестроение таймслотов с текущей даты
+     * до конца горизонта записей
+     */
+    @Override
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${slot-inventory.refresh-interval:PT1H}",
+            initialDelayString = "${slot-inventory.refresh-interval:PT1H}")
+    public void refresh() {
+        LocalDate today = LocalDate.now();
+        workHourService.reloadCalendar();
+        slotInventoryRepository.deleteBefore(today.atStartOfDay());
+        regenerate(today, ScheduleCalendar.getHorizonEndDate(today));
+    }
+
+    /**
+     * Перестроение календаря графика и таймслотов на даты изменённого графика после фиксации изменения
+     *
+     * @param event событие изменения графика
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onScheduleChanged(ScheduleChangedEvent event) {
+        workHourService.reloadCalendar();
+        List<LocalDate> dates = List.copyOf(event.getDates());
+        regenerate(dates.get(0), dates.get(dates.size() - 1));
+    }
+
+    /**
+     * Перестроение таймслотов по интервалу дат, ограниченному горизонтом записей.
+     * <p>Таймслоты, которых нет в рабочем графике на дату, сохраняются с нулевой вместимостью, чтобы не потерять
+     * количество занятых на них записей
+     *
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     */
+    @Override
+    @Transactional
+    public void regenerate(LocalDate startDate, LocalDate endDate) {
+        LocalDate today = LocalDate.now();
+        LocalDate horizonEndDate = ScheduleCalendar.getHorizonEndDate(today);
+        LocalDate fromDate = startDate.isBefore(today) ? today : startDate;
+        LocalDate toDate = endDate.isAfter(horizonEndDate) ? horizonEndDate : endDate;
+        if (fromDate.isAfter(toDate)) {
+            return;
+        }
+
+        NavigableMap<LocalDateTime, Integer> changedCapacities = new TreeMap<>();
+        workHourService.getWorkHoursForDateRange(fromDate, toDate)
+                .forEach((date, workHour) -> putTimeSlots(changedCapacities, date, workHour));
+        for (SlotInventory slot : slotInventoryRepository.findByDateTimeRange(fromDate.atStartOfDay(),
+                toDate.plusDays(1).atStartOfDay())) {
+            Integer capacity = changedCapacities.get(slot.getDateTime());
+            if (capacity == null && slot.getCapacity() != 0) {
+                changedCapacities.put(slot.getDateTime(), 0);
+            } else if (slot.getCapacity().equals(capacity)) {
+                changedCapacities.remove(slot.getDateTime());
+            }
+        }
+        if (changedCapacities.isEmpty()) {
+            return;
+        }
+
+        slotInventoryRepository.upsertCapacity(
+                changedCapacities.keySet().toArray(LocalDateTime[]::new),
+                changedCapacities.values().stream().mapToInt(Integer::intValue).toArray()
+        );
+        eventPublisher.publishEvent(new ReservationsChangedEvent(
+                changedCapacities.keySet().stream().map(LocalDateTime::toLocalDate).toList()
+        ));
+        log.info("Slot inventory regenerated {} time slots from {} to {}", changedCapacities.size(), fromDate, toDate);
+    }
+
+    /**
+     * Добавление таймслотов даты по рабочим часам(графику) с вместимостью, равной лимиту записей в час: лимит
+     * ограничивает количество посетителей, одновременно находящихся в бассейне в любой таймслот
+     *
+     * @param capacities ассоциативный массив таймслотов и их вместимостей
+     * @param date дата
+     * @param workHour рабочие часы(график) на дату
+     */
+    private void putTimeSlots(Map<LocalDateTime, Integer> capacities, LocalDate date, WorkHour workHour) {
+        for (LocalTime time : timeSlotGrid.getSlotStarts(workHour.getStartTime(), workHour.getEndTime())) {
+            capacities.put(date.atTime(time), workHour.getLimitPerHour());
+        }
+    }
+
+}
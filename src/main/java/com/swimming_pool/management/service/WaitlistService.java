@@ -0,0 +1,57 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+import com.swimming_pool.management.model.projection.OrderSlot;
+
+import java.util.Optional;
+
+/**
+ * Сервис для управления сущностью {@link WaitlistEntry}
+ */
+public interface WaitlistService {
+
+    /**
+     * Получение заявки в листе ожидания по её идентификатору
+     *
+     * @param id идентификатор заявки
+     * @return заявка в листе ожидания
+     */
+    WaitlistEntry getById(Long id);
+
+    /**
+     * Добавление клиента в лист ожидания заполненного таймслота
+     *
+     * @param entry заявка для добавления в лист ожидания
+     * @param clientId идентификатор клиента
+     * @return добавленная заявка
+     */
+    WaitlistEntry join(WaitlistEntry entry, Long clientId);
+
+    /**
+     * Получение позиции заявки в очереди ожидания таймслота
+     *
+     * @param entry заявка в листе ожидания
+     * @return позиция заявки, начиная с 1, или 0, если заявка уже не ожидает
+     */
+    long getPosition(WaitlistEntry entry);
+
+    /**
+     * Выход клиента из листа ожидания по идентификаторам клиента и заявки
+     *
+     * @param clientId идентификатор клиента
+     * @param entryId идентификатор заявки
+     */
+    void leave(Long clientId, Long entryId);
+
+    /**
+     * Передача места отменённой записи на таймслоте первой подходящей заявке из очереди ожидания таймслота.
+     * <p>Выполняется в транзакции, отменившей запись, до освобождения её места на таймслоте: если заявка продвинута,
+     * место переходит к её записи и не освобождается. Запись заявки получает дорожку отменённой записи
+     *
+     * @param cancelledOrder отменённая запись
+     * @return {@link Optional} - контейнер, который может содержать добавленную при продвижении запись
+     */
+    Optional<Order> promoteNext(OrderSlot cancelledOrder);
+
+}
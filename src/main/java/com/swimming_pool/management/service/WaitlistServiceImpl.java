@@ -0,0 +1,323 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.Client;
+import com.swimming_pool.management.model.entity.Lane;
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.entity.WaitlistEntry;
+import com.swimming_pool.management.model.enums.OrderStatus;
+import com.swimming_pool.management.model.enums.WaitlistStatus;
+import com.swimming_pool.management.model.projection.OrderSlot;
+import com.swimming_pool.management.occupancy.LaneAllocationEngine;
+import com.swimming_pool.management.repository.OrderRepository;
+import com.swimming_pool.management.repository.WaitlistEntryRepository;
+import com.swimming_pool.management.util.DateTimeUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Реализация сервиса для управления сущностью {@link WaitlistEntry}.
+ * <p>Очередь ожидания таймслота обслуживается в порядке поступления заявок (FIFO). Голова очереди и позиция
+ * заявки определяются по частичному индексу {@code (datetime, id) WHERE status = 'WAITING'}: поиск головы очереди
+ * выполняется за O(log n), а позиция заявки - подсчётом заявок перед ней по интервалу индекса за O(log n + позиция)
+ */
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+
+    /**
+     * Репозиторий для управления заявками листа ожидания в БД
+     */
+    private final WaitlistEntryRepository waitlistEntryRepository;
+
+    /**
+     * Репозиторий для управления записями в БД
+     */
+    private final OrderRepository orderRepository;
+
+    /**
+     * Сервис для управления клиентами
+     */
+    private final ClientService clientService;
+
+    /**
+     * Сервис для управления рабочими часами(графиком)
+     */
+    private final WorkHourService workHourService;
+
+    /**
+     * Сервис для ведения счётчиков таймслотов занятых записей клиентов по датам
+     */
+    private final ClientDailyUsageService clientDailyUsageService;
+
+    /**
+     * Сервис для управления таймслотами на горизонт записей
+     */
+    private final SlotInventoryService slotInventoryService;
+
+    /**
+     * Движок распределения записей по дорожкам
+     */
+    private final LaneAllocationEngine laneAllocationEngine;
+
+    /**
+     * Конструктор для инициализации {@link WaitlistEntryRepository}, {@link OrderRepository}, {@link ClientService},
+     * {@link WorkHourService}, {@link ClientDailyUsageService}, {@link SlotInventoryService}
+     * и {@link LaneAllocationEngine}
+     *
+     * @param waitlistEntryRepository репозиторий для управления заявками листа ожидания в БД
+     * @param orderRepository репозиторий для управления записями в БД
+     * @param clientService сервис для управления клиентами
+     * @param workHourService сервис для управления рабочими часами(графиком)
+     * @param clientDailyUsageService сервис для ведения счётчиков таймслотов занятых записей клиентов по датам
+     * @param slotInventoryService сервис для управления таймслотами на горизонт записей
+     * @param laneAllocationEngine движок распределения записей по дорожкам
+     */
+    public WaitlistServiceImpl(WaitlistEntryRepository waitlistEntryRepository, OrderRepository orderRepository,
+                               ClientService clientService, WorkHourService workHourService,
+                               ClientDailyUsageService clientDailyUsageService,
+                               SlotInventoryService slotInventoryService,
+                               LaneAllocationEngine laneAllocationEngine) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.orderRepository = orderRepository;
+        this.clientService = clientService;
+        this.workHourService = workHourService;
+        this.clientDailyUsageService = clientDailyUsageService;
+        this.slotInventoryService = slotInventoryService;
+        this.laneAllocationEngine = laneAllocationEngine;
+    }
+
+    /**
+     * Получение заявки в листе ожидания по её идентификатору
+     *
+     * @param id идентификатор заявки
+     * @return заявка в листе ожидания
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public WaitlistEntry getById(Long id) {
+        return waitlistEntryRepository.findById(id)
+                .orElseThrow(() -> new SwimmingPoolManagementException(
+                                ErrorCode.NOT_FOUND,
+                                String.format("Заявка в листе ожидания с ID %s не найдена в базе", id)
+                        )
+                );
+    }
+
+    /**
+     * Добавление клиента в лист ожидания заполненного таймслота.
+     * <p>Встать в лист ожидания можно только на заполненный таймслот в рамках рабочего графика, если у клиента
+     * нет записи на это время и не исчерпан дневной лимит записей
+     *
+     * @param entry заявка для добавления в лист ожидания
+     * @param clientId идентификатор клиента
+     * @return добавленная заявка
+     */
+    @Override
+    @Transactional
+    public WaitlistEntry join(WaitlistEntry entry, Long clientId) {
+        if (entry == null) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "WaitlistEntry: передан пустой объект для сохранения"
+            );
+        }
+        Client client = clientService.getById(clientId);
+        LocalDateTime dateTime = entry.getDateTime();
+        validateDateTimeForWaitlist(dateTime);
+        LocalDate date = dateTime.toLocalDate();
+        if (slotInventoryService.getAvailableCount(dateTime) > 0) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "На %s есть свободные места, добавьте запись без листа ожидания",
+                            DateTimeUtils.formatToDateTimeString(dateTime)
+                    )
+            );
+        }
+        if (orderRepository.countReservationsForClientByDateTimeRange(clientId, dateTime, dateTime) > 0) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Запись клиента c ID %s на %s уже существует",
+                            clientId,
+                            DateTimeUtils.formatToDateTimeString(dateTime)
+                    )
+            );
+        }
+        if (exceedsDailyLimit(clientId, date)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Лимит записей на указанный день для клиента с ID %s на %s исчерпан",
+                            clientId,
+                            DateTimeUtils.formatToDateString(date)
+                    )
+            );
+        }
+        if (waitlistEntryRepository.existsWaitingForClient(clientId, dateTime)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Клиент с ID %s уже находится в листе ожидания на %s",
+                            clientId,
+                            DateTimeUtils.formatToDateTimeString(dateTime)
+                    )
+            );
+        }
+        entry.setClient(client);
+        entry.setStatus(WaitlistStatus.WAITING);
+        return waitlistEntryRepository.save(entry);
+    }
+
+    /**
+     * Получение позиции заявки в очереди ожидания таймслота
+     *
+     * @param entry заявка в листе ожидания
+     * @return позиция заявки, начиная с 1, или 0, если заявка уже не ожидает
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long getPosition(@NonNull WaitlistEntry entry) {
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            return 0;
+        }
+        return waitlistEntryRepository.countWaitingBefore(entry.getDateTime(), entry.getId()) + 1;
+    }
+
+    /**
+     * Выход клиента из листа ожидания по идентификаторам клиента и заявки
+     *
+     * @param clientId идентификатор клиента
+     * @param entryId идентификатор заявки
+     */
+    @Override
+    @Transactional
+    public void leave(Long clientId, Long entryId) {
+        WaitlistEntry entry = getById(entryId);
+        if (!entry.getClient().getId().equals(clientId)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.NOT_FOUND,
+                    String.format("Заявка в листе ожидания с ID %s клиента с ID %s не найдена в базе",
+                            entryId, clientId)
+            );
+        }
+        if (entry.getStatus() != WaitlistStatus.WAITING) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format("Заявка в листе ожидания с ID %s уже не ожидает: %s",
+                            entryId, entry.getStatus().getDescription())
+            );
+        }
+        entry.setStatus(WaitlistStatus.CANCELLED);
+        waitlistEntryRepository.save(entry);
+    }
+
+    /**
+     * Передача места отменённой записи на таймслоте первой подходящей заявке из очереди ожидания таймслота.
+     * <p>Место на таймслоте {@link SlotInventoryService} не занимается заново: оно переходит от отменённой записи
+     * к записи заявки, поэтому строка таймслота не блокируется раньше счётчика клиента и порядок блокировок
+     * совпадает с добавлением записи. Место не передаётся, если вместимость таймслота уменьшилась ниже количества
+     * записей. Заявки клиентов, у которых к моменту продвижения уже есть запись на это время или исчерпан дневной
+     * лимит записей, отклоняются, и продвигается следующая заявка очереди. Таймслот продвинутой записи учитывается
+     * в счётчике клиента на дату той же проверкой дневного лимита.
+     * <p>При включённом {@link LaneAllocationEngine} продвинутая запись сохраняется сразу с дорожкой
+     * {@link LaneAllocationEngine#allocateForPromotion}; если свободной дорожки нет, место не передаётся
+     *
+     * @param cancelledOrder отменённая запись
+     * @return {@link Optional} - контейнер, который может содержать добавленную при продвижении запись
+     */
+    @Override
+    @Transactional
+    public Optional<Order> promoteNext(@NonNull OrderSlot cancelledOrder) {
+        LocalDateTime dateTime = cancelledOrder.getDateTime();
+        if (dateTime.isBefore(LocalDateTime.now()) || slotInventoryService.getAvailableCount(dateTime) < 0) {
+            return Optional.empty();
+        }
+        Lane lane = null;
+        if (laneAllocationEngine.isEnabled()) {
+            lane = laneAllocationEngine.allocateForPromotion(cancelledOrder);
+            if (lane == null) {
+                return Optional.empty();
+            }
+        }
+        LocalDate date = dateTime.toLocalDate();
+        while (true) {
+            Optional<WaitlistEntry> head = waitlistEntryRepository.findHeadForUpdate(dateTime);
+            if (head.isEmpty()) {
+                if (lane != null) {
+                    laneAllocationEngine.releaseUnpromoted(cancelledOrder, lane);
+                }
+                return Optional.empty();
+            }
+
+            WaitlistEntry entry = head.get();
+            Long clientId = entry.getClient().getId();
+            if (orderRepository.countReservationsForClientByDateTimeRange(clientId, dateTime, dateTime) > 0
+                    || !clientDailyUsageService.tryReserveSlots(clientId, date, 1,
+                    workHourService.getDailySlotLimitPerClients(date))) {
+                entry.setStatus(WaitlistStatus.REJECTED);
+                waitlistEntryRepository.save(entry);
+                continue;
+            }
+
+            Order order = orderRepository.save(Order.Builder.newBuilder()
+                    .client(entry.getClient())
+                    .dateTime(dateTime)
+                    .status(OrderStatus.RESERVED)
+                    .lane(lane)
+                    .build());
+            entry.setStatus(WaitlistStatus.PROMOTED);
+            entry.setOrder(order);
+            waitlistEntryRepository.save(entry);
+            return Optional.of(order);
+        }
+    }
+
+    /**
+     * Валидация даты с временем для листа ожидания: не в прошлом, не дальше 2 месяцев и в рамках рабочего графика
+     *
+     * @param dateTime проверяемая дата с временем
+     */
+    private void validateDateTimeForWaitlist(@NonNull LocalDateTime dateTime) {
+        LocalDateTime maxAvailableDateTime = LocalDateTime.now().plusMonths(2);
+        if (dateTime.isBefore(LocalDateTime.now()) || dateTime.isAfter(maxAvailableDateTime)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Нельзя встать в лист ожидания на %s, записи доступны только с текущего момента по %s",
+                            DateTimeUtils.formatToDateTimeString(dateTime),
+                            DateTimeUtils.formatToDateTimeString(maxAvailableDateTime)
+                    )
+            );
+        }
+        if (!workHourService.isWithinWorkHour(dateTime)) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.BAD_REQUEST,
+                    String.format(
+                            "Дата и время %s находятся вне рабочего графика бассейна",
+                            DateTimeUtils.formatToDateTimeString(dateTime)
+                    )
+            );
+        }
+    }
+
+    /**
+     * Проверка по счётчику таймслотов записей клиента, что ещё одна запись клиента на определённую дату превысит его
+     * дневной лимит записей
+     *
+     * @param clientId идентификатор клиента
+     * @param date дата записи
+     * @return результат проверки
+     */
+    private boolean exceedsDailyLimit(Long clientId, @NonNull LocalDate date) {
+        return clientDailyUsageService.getReservedSlots(clientId, date) + 1
+                > workHourService.getDailySlotLimitPerClients(date);
+    }
+
+}
@@ -1,24 +1,28 @@
 package com.swimming_pool.management.service;
 
 import com.swimming_pool.management.model.entity.WorkHour;
+import com.swimming_pool.management.model.slot.TimeSlotGrid;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Сервис для управления сущностью {@link WorkHour}
+ * Сервис для управления сущностью {@link WorkHour}.
+ * <p>Все методы возвращают действующий график на дату с учётом праздничных дней и особых графиков
  */
 public interface WorkHourService {
 
     /**
-     * Получение дневного лимита для клиентов на определённую дату
+     * Получение дневного лимита для клиентов на определённую дату в таймслотах.
+     * <p>Лимит графика задаётся в часах и переводится в количество таймслотов сетки {@link TimeSlotGrid}
      *
      * @param date дата для определения дневного лимита для клиентов
-     * @return дневной лимит для клиентов на указанную дату
+     * @return дневной лимит для клиентов на указанную дату в таймслотах
      */
-    Integer getDailyLimitPerClients(LocalDate date);
+    Integer getDailySlotLimitPerClients(LocalDate date);
 
     /**
      * Получение лимита записей в час на определённую дату
@@ -36,6 +40,25 @@ public interface WorkHourService {
      */
     List<LocalTime> getGeneratedTimeSlotsForDate(LocalDate date);
 
+    /**
+     * Получение рабочих часов(графика) для каждой даты интервала.
+     * <p>Количество запросов к БД не зависит от длины интервала
+     *
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     * @return ассоциативный массив, содержащий пары: дата и рабочие часы(график) на эту дату
+     */
+    Map<LocalDate, WorkHour> getWorkHoursForDateRange(LocalDate startDate, LocalDate endDate);
+
+    /**
+     * Генерация списка таймслотов на определённую дату по заранее полученным рабочим часам(графику)
+     *
+     * @param date дата для генерации таймслотов
+     * @param workHour рабочие часы(график) на указанную дату
+     * @return сгенерированный список таймслотов на указанную дату, пустой, если рабочее время на дату уже прошло
+     */
+    List<LocalTime> generateTimeSlots(LocalDate date, WorkHour workHour);
+
     /**
      * Проверка нахождения даты с временем в рамках рабочего времени(графика)
      *
@@ -54,4 +77,11 @@ public interface WorkHourService {
      */
     boolean isWithinWorkHourRange(LocalDate date, LocalTime startTime, LocalTime endTime);
 
+    /**
+     * Перестроение календаря действующего графика на горизонт записей по БД и сброс кэша ответа с праздничными
+     * днями.
+     * <p>Вызывается при продвижении горизонта и после изменения графика, праздничных дней или особых графиков
+     */
+    void reloadCalendar();
+
 }
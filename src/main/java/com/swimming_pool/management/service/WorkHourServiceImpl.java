@@ -1,9 +1,14 @@
 package com.swimming_pool.management.service;
 
+import com.swimming_pool.management.cache.HolidaysResponseCache;
+import com.swimming_pool.management.cache.ScheduleCalendar;
 import com.swimming_pool.management.exception_handler.ErrorCode;
 import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.ScheduleOverride;
 import com.swimming_pool.management.model.entity.WorkHour;
+import com.swimming_pool.management.model.slot.TimeSlotGrid;
 import com.swimming_pool.management.repository.HolidayRepository;
+import com.swimming_pool.management.repository.ScheduleOverrideRepository;
 import com.swimming_pool.management.repository.WorkHourRepository;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
@@ -12,11 +17,19 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * Реализация сервиса для управления сущностью {@link WorkHour}
+ * Реализация сервиса для управления сущностью {@link WorkHour}.
+ * <p>Действующий график на дату - повседневный или праздничный график, поверх которого применён особый график
+ * {@link ScheduleOverride} на эту дату. Графики дат горизонта записей берутся из {@link ScheduleCalendar} без
+ * обращений к БД, графики остальных дат вычисляются по БД
  */
 @Service
 public class WorkHourServiceImpl implements WorkHourService {
@@ -32,26 +45,59 @@ public class WorkHourServiceImpl implements WorkHourService {
     private final HolidayRepository holidayRepository;
 
     /**
-     * Конструктор для инициализации {@link WorkHourRepository} и {@link HolidayRepository}
+     * Репозиторий для управления особыми графиками в БД
+     */
+    private final ScheduleOverrideRepository scheduleOverrideRepository;
+
+    /**
+     * Календарь действующего графика по датам горизонта записей
+     */
+    private final ScheduleCalendar scheduleCalendar;
+
+    /**
+     * Кэш сериализованного ответа со всеми праздничными днями
+     */
+    private final HolidaysResponseCache holidaysResponseCache;
+
+    /**
+     * Сетка таймслотов суток
+     */
+    private final TimeSlotGrid timeSlotGrid;
+
+    /**
+     * Конструктор для инициализации {@link WorkHourRepository}, {@link HolidayRepository},
+     * {@link ScheduleOverrideRepository}, {@link ScheduleCalendar}, {@link HolidaysResponseCache}
+     * и {@link TimeSlotGrid}
      *
      * @param workHourRepository репозиторий для управления рабочими часами(графиком) в БД
      * @param holidayRepository репозиторий для управления праздничными днями в БД
+     * @param scheduleOverrideRepository репозиторий для управления особыми графиками в БД
+     * @param scheduleCalendar календарь действующего графика по датам горизонта записей
+     * @param holidaysResponseCache кэш сериализованного ответа со всеми праздничными днями
+     * @param timeSlotGrid сетка таймслотов суток
      */
-    public WorkHourServiceImpl(WorkHourRepository workHourRepository, HolidayRepository holidayRepository) {
+    public WorkHourServiceImpl(WorkHourRepository workHourRepository, HolidayRepository holidayRepository,
+                               ScheduleOverrideRepository scheduleOverrideRepository,
+                               ScheduleCalendar scheduleCalendar, HolidaysResponseCache holidaysResponseCache,
+                               TimeSlotGrid timeSlotGrid) {
         this.workHourRepository = workHourRepository;
         this.holidayRepository = holidayRepository;
+        this.scheduleOverrideRepository = scheduleOverrideRepository;
+        this.scheduleCalendar = scheduleCalendar;
+        this.holidaysResponseCache = holidaysResponseCache;
+        this.timeSlotGrid = timeSlotGrid;
     }
 
     /**
-     * Получение дневного лимита для клиентов на определённую дату
+     * Получение дневного лимита для клиентов на определённую дату в таймслотах
      *
      * @param date дата для определения дневного лимита для клиентов
-     * @return дневной лимит для клиентов на указанную дату
+     * @return дневной лимит для клиентов на указанную дату в таймслотах
      */
     @Override
     @Transactional(readOnly = true)
-    public Integer getDailyLimitPerClients(LocalDate date) {
-        return getWorkHour(date).getDailyLimitPerClients();
+    public Integer getDailySlotLimitPerClients(LocalDate date) {
+        return timeSlotGrid.getSlotCount(getWorkHour(date).getDailyLimitPerClients());
     }
 
     /**
@@ -75,18 +121,75 @@ public class WorkHourServiceImpl implements WorkHourService {
     @Override
     @Transactional(readOnly = true)
     public List<LocalTime> getGeneratedTimeSlotsForDate(LocalDate date) {
-        WorkHour workHour = getWorkHour(date);
-        LocalTime startTime = date.equals(LocalDate.now()) ?
-                LocalTime.now().plusHours(1) : workHour.getStartTime();
-        LocalTime endTime = workHour.getEndTime();
-        if (!startTime.isBefore(endTime)) {
+        List<LocalTime> timeSlots = generateTimeSlots(date, getWorkHour(date));
+        if (timeSlots.isEmpty()) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.INTERNAL_SERVER_ERROR,
                     "Некорректный временной диапазон рабочего графика"
             );
         }
-        return Stream.iterate(startTime, time -> time.isBefore(endTime), time -> time.plusHours(1))
-                .toList();
+        return timeSlots;
+    }
+
+    /**
+     * Получение рабочих часов(графика) для каждой даты интервала.
+     * <p>Интервал в пределах горизонта записей читается из календаря, иначе выполняет три запроса к БД: выборку
+     * праздничных дней интервала, выборку обоих графиков и выборку особых графиков интервала
+     *
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     * @return ассоциативный массив, содержащий пары: дата и рабочие часы(график) на эту дату
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<LocalDate, WorkHour> getWorkHoursForDateRange(@NonNull LocalDate startDate,
+                                                             @NonNull LocalDate endDate) {
+        Map<LocalDate, WorkHour> workHoursByDate = new LinkedHashMap<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            WorkHour workHour = scheduleCalendar.get(date);
+            if (workHour == null) {
+                return loadWorkHours(startDate, endDate);
+            }
+            workHoursByDate.put(date, workHour);
+        }
+        return workHoursByDate;
+    }
+
+    /**
+     * Перестроение календаря действующего графика на горизонт записей по БД и сброс ответа с праздничными днями,
+     * чтобы следующий запрос праздничных дней получил их вместе с новым ETag
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void reloadCalendar() {
+        LocalDate today = LocalDate.now();
+        scheduleCalendar.replace(today,
+                List.copyOf(loadWorkHours(today, ScheduleCalendar.getHorizonEndDate(today)).values()));
+        holidaysResponseCache.clear();
+    }
+
+    /**
+     * Генерация списка таймслотов на определённую дату по заранее полученным рабочим часам(графику).
+     * <p>Таймслоты начинаются по сетке {@link TimeSlotGrid}; на текущую дату - не раньше таймслота, в который
+     * попадает момент через час от текущего
+     *
+     * @param date дата для генерации таймслотов
+     * @param workHour рабочие часы(график) на указанную дату
+     * @return сгенерированный список таймслотов на указанную дату, пустой, если рабочее время на дату уже прошло
+     */
+    @Override
+    public List<LocalTime> generateTimeSlots(@NonNull LocalDate date, @NonNull WorkHour workHour) {
+        LocalTime startTime = workHour.getStartTime();
+        if (date.equals(LocalDate.now())) {
+            LocalDateTime earliestDateTime = timeSlotGrid.getFirstListedSlot(LocalDateTime.now());
+            if (earliestDateTime.toLocalDate().isAfter(date)) {
+                return List.of();
+            }
+            if (earliestDateTime.toLocalTime().isAfter(startTime)) {
+                startTime = earliestDateTime.toLocalTime();
+            }
+        }
+        return timeSlotGrid.getSlotStarts(startTime, workHour.getEndTime());
     }
 
     /**
@@ -116,7 +219,8 @@ public class WorkHourServiceImpl implements WorkHourService {
     @Transactional(readOnly = true)
     public boolean isWithinWorkHourRange(LocalDate date, LocalTime startTime, LocalTime endTime) {
         List<LocalTime> timeSlotsForDate = getGeneratedTimeSlotsForDate(date);
-        return timeSlotsForDate.contains(startTime) && timeSlotsForDate.contains(endTime.minusHours(1));
+        return timeSlotsForDate.contains(startTime) &&
+                timeSlotsForDate.contains(endTime.minusMinutes(timeSlotGrid.getMinutes()));
     }
 
     /**
@@ -126,21 +230,43 @@ public class WorkHourServiceImpl implements WorkHourService {
      * @return рабочие часы(график) на указанную дату
      */
     private WorkHour getWorkHour(LocalDate date) {
-        return workHourRepository.findWorkHour(isHoliday(date))
-                .orElseThrow(() -> new SwimmingPoolManagementException(
-                        ErrorCode.INTERNAL_SERVER_ERROR,
-                        "Ошибка инициализации рабочего графика"
-                ));
+        WorkHour workHour = scheduleCalendar.get(date);
+        return workHour != null ? workHour : loadWorkHours(date, date).get(date);
     }
 
     /**
-     * Проверка, что дата является праздничным днём
+     * Вычисление рабочих часов(графика) для каждой даты интервала по БД.
+     * <p>Выполняет три запроса к БД: выборку праздничных дней интервала, выборку обоих графиков и выборку особых
+     * графиков интервала
      *
-     * @param date проверяемая дата
-     * @return результат проверки
+     * @param startDate начальная дата интервала
+     * @param endDate конечная дата интервала (включительно)
+     * @return ассоциативный массив, содержащий пары: дата и рабочие часы(график) на эту дату
      */
-    private boolean isHoliday(LocalDate date) {
-        return holidayRepository.findByDate(date).isPresent();
+    private Map<LocalDate, WorkHour> loadWorkHours(LocalDate startDate, LocalDate endDate) {
+        Set<LocalDate> holidays = new HashSet<>(holidayRepository.findDatesByDateRange(startDate, endDate));
+        Map<Boolean, WorkHour> workHours = workHourRepository.findAll().stream()
+                .collect(Collectors.toMap(WorkHour::getHoliday, Function.identity()));
+        WorkHour weekdayWorkHour = workHours.get(Boolean.FALSE);
+        WorkHour holidayWorkHour = workHours.get(Boolean.TRUE);
+        if (weekdayWorkHour == null || holidayWorkHour == null) {
+            throw new SwimmingPoolManagementException(
+                    ErrorCode.INTERNAL_SERVER_ERROR,
+                    "Ошибка инициализации рабочего графика"
+            );
+        }
+        Map<LocalDate, ScheduleOverride> overrides = scheduleOverrideRepository.findByDateRange(startDate, endDate)
+                .stream()
+                .collect(Collectors.toMap(ScheduleOverride::getDate, Function.identity()));
+
+        Map<LocalDate, WorkHour> workHoursByDate = new LinkedHashMap<>();
+        startDate.datesUntil(endDate.plusDays(1))
+                .forEach(date -> {
+                    WorkHour workHour = holidays.contains(date) ? holidayWorkHour : weekdayWorkHour;
+                    ScheduleOverride override = overrides.get(date);
+                    workHoursByDate.put(date, override != null ? override.applyTo(workHour) : workHour);
+                });
+        return workHoursByDate;
     }
 
 }
@@ -53,7 +53,7 @@ public final class ClientDataUtils {
      * @param DTOPhone номер телефона в DTO
      */
     private static void validateDTOPhoneFormat(String DTOPhone) {
-        if (Pattern.matches(DTO_PHONE_REGEXP, DTOPhone)) {
+        if (!Pattern.matches(DTO_PHONE_REGEXP, DTOPhone)) {
             throw new SwimmingPoolManagementException(
                     ErrorCode.INTERNAL_SERVER_ERROR,
                     String.format("Ошибка в формате номера телефона: %s", DTOPhone)
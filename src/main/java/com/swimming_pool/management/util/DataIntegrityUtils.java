@@ -0,0 +1,30 @@
+package com.swimming_pool.management.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Утилитарный класс для разбора нарушений ограничений целостности БД.
+ * <p>Предоставляет статические поля и методы для работы напрямую через класс
+ */
+public final class DataIntegrityUtils {
+
+    private DataIntegrityUtils() {
+    }
+
+    /**
+     * Уникальный индекс занятых записей клиента по дате с временем
+     */
+    public static final String RESERVED_ORDER_UNIQUE_INDEX = "uq_orders_client_datetime_reserved";
+
+    /**
+     * Проверка, что нарушение ограничения целостности - повторная запись клиента на тот же таймслот
+     *
+     * @param ex нарушение ограничения целостности БД
+     * @return {@code true}, если нарушен уникальный индекс занятых записей клиента
+     */
+    public static boolean isReservedOrderDuplicate(DataIntegrityViolationException ex) {
+        String causeMessage = ex.getMostSpecificCause().getMessage();
+        return causeMessage != null && causeMessage.contains(RESERVED_ORDER_UNIQUE_INDEX);
+    }
+
+}
@@ -3,16 +3,21 @@ package com.swimming_pool.management.util;
 import com.swimming_pool.management.exception_handler.ErrorCode;
 import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.regex.Pattern;
 
 /**
  * Утилитарный класс для работы с датой и временем между.
- * <p>Предоставляет статические поля и методы для работы напрямую через класс
+ * <p>Предоставляет статические поля и методы для работы напрямую через класс.
+ * <p>Строки фиксированной ширины (даты с годом от 1 до 9999 и время 00:00-23:59) разбираются и форматируются вручную,
+ * без {@link DateTimeFormatter}. Остальные строки передаются форматтерам, поэтому набор допустимых значений
+ * и результат разбора совпадают с разбором через {@link DateTimeFormatter}
  */
 public final class DateTimeUtils {
 
@@ -24,7 +29,12 @@ public final class DateTimeUtils {
     /**
      * Шаблон даты с временем
      */
-    public static final String DATETIME_REGEXP = "^(\\d{2}\\.\\d{2}\\.\\d{4} \\d{2}):00$";
+    public static final String DATETIME_REGEXP = "^(\\d{2}\\.\\d{2}\\.\\d{4} \\d{2}):(\\d{2})$";
+
+    /**
+     * Шаблон времени
+     */
+    public static final String TIME_REGEXP = "^(\\d{2}):(\\d{2})$";
 
     /**
      * Формат даты
@@ -34,12 +44,43 @@ public final class DateTimeUtils {
     /**
      * Формат времени
      */
-    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:00");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
 
     /**
      * Формат даты с временем
      */
-    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:00");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    /**
+     * Длина строки с датой в формате dd.MM.yyyy
+     */
+    private static final int DATE_LENGTH = 10;
+
+    /**
+     * Длина строки с временем в формате HH:mm
+     */
+    private static final int TIME_LENGTH = 5;
+
+    /**
+     * Длина строки с датой и временем в формате dd.MM.yyyy HH:mm
+     */
+    private static final int DATE_TIME_LENGTH = DATE_LENGTH + 1 + TIME_LENGTH;
+
+    /**
+     * Количество минут в сутках
+     */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Строки с временем в формате HH:mm по минутам суток
+     */
+    private static final String[] TIME_STRINGS = new String[MINUTES_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < TIME_STRINGS.length; minute++) {
+            TIME_STRINGS[minute] = TIME_FORMAT.format(LocalTime.of(minute / 60, minute % 60));
+        }
+    }
 
     private DateTimeUtils() {
     }
@@ -51,13 +92,17 @@ public final class DateTimeUtils {
      * @return объект {@link LocalDateTime}, представляющий указанную дату и время
      */
     public static LocalDateTime parseToLocalDateTime(String dateTime) {
+        if (dateTime != null && dateTime.length() == DATE_TIME_LENGTH && dateTime.charAt(DATE_LENGTH) == ' ') {
+            LocalDate date = parseDate(dateTime, 0);
+            int minuteOfDay = parseTime(dateTime, DATE_LENGTH + 1);
+            if (date != null && minuteOfDay >= 0) {
+                return date.atTime(minuteOfDay / 60, minuteOfDay % 60);
+            }
+        }
         try {
             return LocalDateTime.parse(dateTime, DATE_TIME_FORMAT);
         } catch (DateTimeParseException ex) {
-            throw new SwimmingPoolManagementException(
-                    ErrorCode.BAD_REQUEST,
-                    String.format("Ошибка обработки даты: %s", dateTime)
-            );
+            throw new SwimmingPoolManagementException(ErrorCode.BAD_REQUEST, "Ошибка обработки даты: " + dateTime);
         }
     }
 
@@ -68,13 +113,36 @@ public final class DateTimeUtils {
      * @return объект {@link LocalDate}, представляющий указанную дату
      */
     public static LocalDate parseToLocalDate(String date) {
+        if (date != null && date.length() == DATE_LENGTH) {
+            LocalDate parsed = parseDate(date, 0);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
         try {
             return LocalDate.parse(date, DATE_FORMAT);
         } catch (DateTimeParseException ex) {
-            throw new SwimmingPoolManagementException(
-                    ErrorCode.BAD_REQUEST,
-                    String.format("Ошибка обработки даты: %s", date)
-            );
+            throw new SwimmingPoolManagementException(ErrorCode.BAD_REQUEST, "Ошибка обработки даты: " + date);
+        }
+    }
+
+    /**
+     * Преобразование времени из строки в объект {@link LocalTime}
+     *
+     * @param time строка с временем
+     * @return объект {@link LocalTime}, представляющий указанное время
+     */
+    public static LocalTime parseToLocalTime(String time) {
+        if (time != null && time.length() == TIME_LENGTH) {
+            int minuteOfDay = parseTime(time, 0);
+            if (minuteOfDay >= 0) {
+                return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+            }
+        }
+        try {
+            return LocalTime.parse(time, TIME_FORMAT);
+        } catch (DateTimeParseException ex) {
+            throw new SwimmingPoolManagementException(ErrorCode.BAD_REQUEST, "Ошибка обработки времени: " + time);
         }
     }
 
@@ -85,7 +153,12 @@ public final class DateTimeUtils {
      * @return строка с датой
      */
     public static String formatToDateString(LocalDate date) {
-        return DATE_FORMAT.format(date);
+        if (!isFixedWidthYear(date.getYear())) {
+            return DATE_FORMAT.format(date);
+        }
+        byte[] buffer = new byte[DATE_LENGTH];
+        writeDate(buffer, date);
+        return new String(buffer, StandardCharsets.ISO_8859_1);
     }
 
     /**
@@ -95,7 +168,7 @@ public final class DateTimeUtils {
      * @return строка с временем
      */
     public static String formatToTimeString(LocalTime time) {
-        return TIME_FORMAT.format(time);
+        return TIME_STRINGS[time.getHour() * 60 + time.getMinute()];
     }
 
     /**
@@ -105,7 +178,91 @@ public final class DateTimeUtils {
      * @return строка с датой и временем
      */
     public static String formatToDateTimeString(LocalDateTime dateTime) {
-        return DATE_TIME_FORMAT.format(dateTime);
+        if (!isFixedWidthYear(dateTime.getYear())) {
+            return DATE_TIME_FORMAT.format(dateTime);
+        }
+        byte[] buffer = new byte[DATE_TIME_LENGTH];
+        writeDate(buffer, dateTime.toLocalDate());
+        buffer[DATE_LENGTH] = ' ';
+        writeTwoDigits(buffer, DATE_LENGTH + 1, dateTime.getHour());
+        buffer[DATE_LENGTH + 3] = ':';
+        writeTwoDigits(buffer, DATE_LENGTH + 4, dateTime.getMinute());
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Разбор даты в формате dd.MM.yyyy, начинающейся с указанной позиции строки
+     *
+     * @param text строка
+     * @param offset позиция начала даты
+     * @return дата или {@code null}, если дата не разобрана и строку нужно передать форматтеру
+     */
+    private static LocalDate parseDate(String text, int offset) {
+        if (text.charAt(offset + 2) != '.' || text.charAt(offset + 5) != '.') {
+            return null;
+        }
+        int day = parseDigits(text, offset, 2);
+        int month = parseDigits(text, offset + 3, 2);
+        int year = parseDigits(text, offset + 6, 4);
+        if (day < 1 || month < 1 || month > 12 || year < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Разбор времени в формате HH:mm, начинающегося с указанной позиции строки
+     *
+     * @param text строка
+     * @param offset позиция начала времени
+     * @return минута суток от 0 до 1439 или -1, если время не разобрано и строку нужно передать форматтеру
+     */
+    private static int parseTime(String text, int offset) {
+        if (text.charAt(offset + 2) != ':') {
+            return -1;
+        }
+        int hour = parseDigits(text, offset, 2);
+        int minute = parseDigits(text, offset + 3, 2);
+        return hour < 0 || hour > 23 || minute < 0 || minute > 59 ? -1 : hour * 60 + minute;
+    }
+
+    /**
+     * Разбор неотрицательного числа из ASCII-цифр
+     *
+     * @param text строка
+     * @param offset позиция первой цифры
+     * @param length количество цифр
+     * @return число или -1, если среди символов есть не ASCII-цифра
+     */
+    private static int parseDigits(String text, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isFixedWidthYear(int year) {
+        return year >= 1 && year <= 9999;
+    }
+
+    private static void writeDate(byte[] buffer, LocalDate date) {
+        writeTwoDigits(buffer, 0, date.getDayOfMonth());
+        buffer[2] = '.';
+        writeTwoDigits(buffer, 3, date.getMonthValue());
+        buffer[5] = '.';
+        int year = date.getYear();
+        writeTwoDigits(buffer, 6, year / 100);
+        writeTwoDigits(buffer, 8, year % 100);
+    }
+
+    private static void writeTwoDigits(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) ('0' + value / 10);
+        buffer[offset + 1] = (byte) ('0' + value % 10);
     }
 
 }
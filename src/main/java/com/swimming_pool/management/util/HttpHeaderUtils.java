@@ -0,0 +1,59 @@
+package com.swimming_pool.management.util;
+
+/**
+ * Утилитарный класс для работы с заголовками HTTP-запросов.
+ * <p>Предоставляет статические методы для работы напрямую через класс
+ */
+public final class HttpHeaderUtils {
+
+    private HttpHeaderUtils() {
+    }
+
+    /**
+     * Проверка, принимает ли клиент ответ, сжатый gzip, по значению заголовка {@code Accept-Encoding}.
+     * <p>Кодировка принимается, если в заголовке указана {@code gzip} с ненулевым весом {@code q}, а при её
+     * отсутствии - {@code *} с ненулевым весом
+     *
+     * @param acceptEncoding значение заголовка {@code Accept-Encoding}, может быть {@code null}
+     * @return результат проверки
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return false;
+        }
+        boolean anyAccepted = false;
+        for (String coding : acceptEncoding.split(",")) {
+            int parametersStart = coding.indexOf(';');
+            String name = (parametersStart < 0 ? coding : coding.substring(0, parametersStart)).trim();
+            boolean accepted = parametersStart < 0 || !isZeroWeight(coding.substring(parametersStart + 1));
+            if (name.equalsIgnoreCase("gzip")) {
+                return accepted;
+            }
+            if (name.equals("*")) {
+                anyAccepted = accepted;
+            }
+        }
+        return anyAccepted;
+    }
+
+    /**
+     * Проверка нулевого веса {@code q=0} в параметрах кодировки
+     *
+     * @param parameters параметры кодировки после названия
+     * @return результат проверки
+     */
+    private static boolean isZeroWeight(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=") || trimmed.startsWith("Q=")) {
+                try {
+                    return Double.parseDouble(trimmed.substring(2).trim()) == 0;
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+}
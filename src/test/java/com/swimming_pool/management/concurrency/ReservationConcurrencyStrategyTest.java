@@ -0,0 +1,104 @@
+package com.swimming_pool.management.concurrency;
+
+import com.swimming_pool.management.repository.ClientRepository;
+import com.swimming_pool.management.repository.OrderRepository;
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Тесты стратегий защиты лимита записей в час от одновременного добавления записей разными клиентами
+ */
+class ReservationConcurrencyStrategyTest extends QueryBudgetTestSupport {
+
+    private static final int LIMIT_PER_HOUR = 10;
+
+    private static final int CLIENT_COUNT = 4 * LIMIT_PER_HOUR;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"slot-row-lock", "advisory-lock", "serializable"})
+    void doesNotExceedHourlyLimitUnderConcurrentReservations(String name) throws Exception {
+        ReservationConcurrencyStrategy strategy = switch (name) {
+            case "slot-row-lock" -> new SlotRowLockConcurrencyStrategy(transactionManager, clientRepository,
+                    orderRepository);
+            case "advisory-lock" -> new AdvisoryLockConcurrencyStrategy(transactionManager, orderRepository);
+            default -> new SerializableConcurrencyStrategy(transactionManager, 100, Duration.ofMillis(5),
+                    new SimpleMeterRegistry());
+        };
+        List<Long> clientIds = new ArrayList<>();
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            clientIds.add(insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru"));
+        }
+        LocalDateTime dateTime = workingDate.atTime(15, 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (long clientId : clientIds) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return strategy.execute(() -> reserveWithinLimit(strategy, clientId, dateTime));
+            }));
+        }
+        start.countDown();
+        int created = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(1, TimeUnit.MINUTES)) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(LIMIT_PER_HOUR, created);
+        assertEquals(LIMIT_PER_HOUR, countReservations(dateTime));
+    }
+
+    /**
+     * Проверка лимита записей в час и добавление записи с паузой между ними, расширяющей окно гонки
+     */
+    private boolean reserveWithinLimit(ReservationConcurrencyStrategy strategy, long clientId,
+                                       LocalDateTime dateTime) {
+        strategy.lock(clientId, List.of(dateTime));
+        if (countReservations(dateTime) >= LIMIT_PER_HOUR) {
+            return false;
+        }
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        insertOrder(clientId, dateTime);
+        return true;
+    }
+
+    private long countReservations(LocalDateTime dateTime) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE datetime = ? AND status = 'RESERVED'",
+                Long.class, Timestamp.valueOf(dateTime));
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты особых графиков на даты и праздничных дней: применения к свободным таймслотам и записям и сброса кэшей
+ * при их изменении
+ */
+class AdminScheduleControllerTest extends QueryBudgetTestSupport {
+
+    @Test
+    void appliesOverrideToAvailableSlotsAndReservations() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        String date = workingDate.format(DATE_FORMAT);
+        mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(jsonPath("$.length()").value(10));
+
+        mockMvc.perform(put(API + "/admin/schedule/override").contentType(MediaType.APPLICATION_JSON)
+                        .content(overrideJson(date, "12:00", "15:00", 2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.startTime").value("12:00"))
+                .andExpect(jsonPath("$.dailyLimitPerClients").doesNotExist());
+
+        mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].time").value("12:00"))
+                .andExpect(jsonPath("$[0].count").value(2));
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(10, 0))))
+                .andExpect(status().isBadRequest());
+        assertWithinBudget(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(12, 0))),
+                status().isCreated(), 4, 5, 1024);
+        mockMvc.perform(get(API + "/admin/schedule/overrides").param("startDate", date).param("endDate", date))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].limitPerHour").value(2));
+
+        mockMvc.perform(delete(API + "/admin/schedule/override").param("date", date))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[2].time").value("12:00"))
+                .andExpect(jsonPath("$[2].count").value(9));
+    }
+
+    @Test
+    void rejectsInvalidOverride() throws Exception {
+        String date = workingDate.format(DATE_FORMAT);
+        mockMvc.perform(put(API + "/admin/schedule/override").contentType(MediaType.APPLICATION_JSON)
+                        .content(overrideJson(date, "15:00", "12:00", 2)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Начало рабочего дня 15:00 должно быть раньше его конца 12:00"));
+        mockMvc.perform(delete(API + "/admin/schedule/override").param("date", date))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void replacesHolidaysOfYearAndChangesETag() throws Exception {
+        int year = workingDate.getYear();
+        String date = workingDate.format(DATE_FORMAT);
+        String eTag = mockMvc.perform(get(API + "/holidays"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(API + "/holidays").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put(API + "/admin/schedule/holidays").contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"year\":%d,\"holidays\":[{\"date\":\"%s\"," +
+                                        "\"description\":\"Праздник\"},{\"date\":\"%s\"}]}", year, date,
+                                LocalDate.of(year, 1, 1).format(DATE_FORMAT))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].date").value(date))
+                .andExpect(jsonPath("$[1].description").value("Праздник"));
+
+        mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(jsonPath("$.length()").value(7));
+        mockMvc.perform(get(API + "/holidays").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$[?(@.date == '" + date + "')].description").value("Праздник"));
+
+        mockMvc.perform(delete(API + "/admin/schedule/holidays").param("year", String.valueOf(year)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(jsonPath("$.length()").value(10));
+        mockMvc.perform(get(API + "/holidays").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void rejectsHolidayOutsideYear() throws Exception {
+        mockMvc.perform(put(API + "/admin/schedule/holidays").contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"year\":%d,\"holidays\":[{\"date\":\"%s\"}]}",
+                                workingDate.getYear() + 1, workingDate.format(DATE_FORMAT))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(String.format("Праздничный день %s не относится к %d году",
+                        workingDate.format(DATE_FORMAT), workingDate.getYear() + 1)));
+    }
+
+    private String overrideJson(String date, String startTime, String endTime, int limitPerHour) {
+        return String.format("{\"date\":\"%s\",\"startTime\":\"%s\",\"endTime\":\"%s\",\"limitPerHour\":%d}",
+                date, startTime, endTime, limitPerHour);
+    }
+
+    private String reserveJson(long clientId, LocalDateTime dateTime) {
+        return String.format("{\"clientId\":%d,\"datetime\":\"%s\"}", clientId, dateTime.format(DATETIME_FORMAT));
+    }
+
+}
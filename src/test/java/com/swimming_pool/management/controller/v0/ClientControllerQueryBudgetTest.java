@@ -0,0 +1,66 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Бюджеты обращений к БД и выделяемой памяти для эндпоинтов {@link ClientController}
+ */
+class ClientControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Test
+    void getClient() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        mockMvc.perform(get(API + "/client/get").param("id", String.valueOf(clientId)));
+
+        assertWithinBudget(get(API + "/client/get").param("id", String.valueOf(clientId)),
+                status().isOk(), 1, 2, 512);
+    }
+
+    @Test
+    void getClientsDoesNotDependOnClientCount() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru");
+        }
+        mockMvc.perform(get(API + "/client/all"));
+
+        assertWithinBudget(get(API + "/client/all"), status().isOk(), 1, 2, 1024);
+    }
+
+    @Test
+    void addClient() throws Exception {
+        mockMvc.perform(post(API + "/client/add").contentType(MediaType.APPLICATION_JSON)
+                .content(clientJson("Петров Пётр Петрович", "+79000000002", "petrov@mail.ru")));
+
+        assertWithinBudget(post(API + "/client/add").contentType(MediaType.APPLICATION_JSON)
+                        .content(clientJson("Сидоров Сидор Сидорович", "+79000000003", "sidorov@mail.ru")),
+                status().isCreated(), 3, 6, 512);
+    }
+
+    @Test
+    void updateClient() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        mockMvc.perform(put(API + "/client/update").contentType(MediaType.APPLICATION_JSON)
+                .content(updateJson(clientId, "Иванов Иван Петрович", "+79000000004", "ivanov@mail.ru")));
+
+        assertWithinBudget(put(API + "/client/update").contentType(MediaType.APPLICATION_JSON)
+                        .content(updateJson(clientId, "Иванов Иван Сергеевич", "+79000000005", "ivanov.ivan@mail.ru")),
+                status().isOk(), 4, 8, 1024);
+    }
+
+    private String clientJson(String name, String phone, String email) {
+        return String.format("{\"name\":\"%s\",\"phone\":\"%s\",\"email\":\"%s\"}", name, phone, email);
+    }
+
+    private String updateJson(long id, String name, String phone, String email) {
+        return String.format("{\"id\":%d,\"name\":\"%s\",\"phone\":\"%s\",\"email\":\"%s\"}",
+                id, name, phone, email);
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.occupancy.LaneAllocationEngine;
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты распределения записей по дорожкам бассейна
+ */
+@TestPropertySource(properties = "lane-allocation.enabled=true")
+class OrderControllerLaneAllocationTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private LaneAllocationEngine laneAllocationEngine;
+
+    @BeforeEach
+    void reloadLanes() {
+        laneAllocationEngine.load();
+    }
+
+    @Test
+    void keepsMultiHourReservationOnOneLane() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            long clientId = insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru");
+            mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                            .content(reserveJson(clientId, workingDate.atTime(13, 0))))
+                    .andExpect(status().isCreated());
+        }
+        long clientId = insertClient("Иванов Иван Иванович", "9000000099", "ivanov@mail.ru");
+
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(12, 0), 3)))
+                .andExpect(status().isCreated());
+
+        assertEquals(List.of("Дорожка 1", "Дорожка 1", "Дорожка 1", "Дорожка 2"), laneNames(workingDate.atTime(13, 0)));
+        assertEquals(List.of("Дорожка 2", "Дорожка 2", "Дорожка 2"), laneNamesOfClient(clientId));
+    }
+
+    @Test
+    void reusesLaneReleasedByCancellation() throws Exception {
+        long firstClientId = 0;
+        for (int i = 0; i < 3; i++) {
+            long reservingClientId = insertClient("Клиент " + i, String.format("90000000%02d", i),
+                    "client" + i + "@mail.ru");
+            mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                            .content(reserveJson(reservingClientId, workingDate.atTime(15, 0))))
+                    .andExpect(status().isCreated());
+            if (i == 0) {
+                firstClientId = reservingClientId;
+            }
+        }
+        long orderId = jdbcTemplate.queryForObject("SELECT id FROM orders WHERE client_id = ?", Long.class,
+                firstClientId);
+
+        mockMvc.perform(put(API + "/timetable/cancel").contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"clientId\":%d,\"orderId\":\"%d\"}", firstClientId, orderId)))
+                .andExpect(status().isOk());
+        long clientId = insertClient("Иванов Иван Иванович", "9000000099", "ivanov@mail.ru");
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(14, 0), 2)))
+                .andExpect(status().isCreated());
+
+        assertEquals(List.of("Дорожка 1", "Дорожка 1"), laneNamesOfClient(clientId));
+    }
+
+    @Test
+    void promotesWaitlistOnLanesOfCancelledSeries() throws Exception {
+        LocalDateTime dateTime = workingDate.atTime(16, 0);
+        List<LocalDateTime> dateTimes = List.of(dateTime, dateTime.plusWeeks(1));
+        for (int i = 0; i < 9; i++) {
+            long reservingClientId = insertClient("Клиент " + i, String.format("90000000%02d", i),
+                    "client" + i + "@mail.ru");
+            dateTimes.forEach(reservedDateTime -> insertOrder(reservingClientId, reservedDateTime));
+        }
+        long seriesClientId = insertClient("Петров Пётр Петрович", "9000000098", "petrov@mail.ru");
+        String seriesId = mockMvc.perform(post(API + "/timetable/reserve/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"clientId\":%d,\"daysOfWeek\":[\"%s\"],\"time\":\"16:00\"," +
+                                        "\"startDate\":\"%s\",\"weekCount\":2}", seriesClientId,
+                                workingDate.getDayOfWeek(), workingDate.format(DATE_FORMAT))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()
+                .replaceAll(".*\"seriesId\":\"(\\d+)\".*", "$1");
+        long firstClientId = insertClient("Иванов Иван Иванович", "9000000099", "ivanov@mail.ru");
+        long secondClientId = insertClient("Сидоров Сидор Сидорович", "9000000097", "sidorov@mail.ru");
+        joinWaitlist(firstClientId, dateTimes.get(0));
+        joinWaitlist(secondClientId, dateTimes.get(1));
+
+        mockMvc.perform(put(API + "/timetable/cancel/series").contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"clientId\":%d,\"seriesId\":\"%s\"}", seriesClientId, seriesId)))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of("Дорожка 1"), laneNamesOfClient(firstClientId));
+        assertEquals(List.of("Дорожка 1"), laneNamesOfClient(secondClientId));
+        for (LocalDateTime reservedDateTime : dateTimes) {
+            assertEquals(10, reservedSlots(reservedDateTime));
+        }
+    }
+
+    @Test
+    void promotesWaitlistOnFreeLaneAfterRangeCancellation() throws Exception {
+        LocalDateTime dateTime = workingDate.atTime(17, 0);
+        for (int i = 0; i < 10; i++) {
+            insertOrder(insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru"),
+                    dateTime);
+        }
+        long clientId = insertClient("Иванов Иван Иванович", "9000000099", "ivanov@mail.ru");
+        joinWaitlist(clientId, dateTime);
+
+        mockMvc.perform(put(API + "/admin/timetable/cancel/range").contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"startDatetime\":\"%s\",\"endDatetime\":\"%s\"}",
+                                dateTime.format(DATETIME_FORMAT), dateTime.plusHours(1).format(DATETIME_FORMAT))))
+                .andExpect(status().isOk());
+
+        assertEquals(List.of("Дорожка 1"), laneNamesOfClient(clientId));
+        assertEquals(1, reservedSlots(dateTime));
+    }
+
+    private void joinWaitlist(long clientId, LocalDateTime dateTime) throws Exception {
+        mockMvc.perform(post(API + "/timetable/waitlist/join").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime)))
+                .andExpect(status().isCreated());
+    }
+
+    private int reservedSlots(LocalDateTime dateTime) {
+        return jdbcTemplate.queryForObject("SELECT reserved FROM slot_inventory WHERE datetime = ?", Integer.class,
+                Timestamp.valueOf(dateTime));
+    }
+
+    private List<String> laneNames(LocalDateTime dateTime) {
+        return jdbcTemplate.queryForList("SELECT l.name FROM orders o JOIN lanes l ON l.id = o.lane_id " +
+                "WHERE o.datetime = ? AND o.status = 'RESERVED' ORDER BY o.id", String.class,
+                Timestamp.valueOf(dateTime));
+    }
+
+    private List<String> laneNamesOfClient(long clientId) {
+        return jdbcTemplate.queryForList("SELECT l.name FROM orders o JOIN lanes l ON l.id = o.lane_id " +
+                "WHERE o.client_id = ? AND o.status = 'RESERVED' ORDER BY o.datetime", String.class, clientId);
+    }
+
+    private String reserveJson(long clientId, LocalDateTime dateTime) {
+        return String.format("{\"clientId\":%d,\"datetime\":\"%s\"}", clientId, dateTime.format(DATETIME_FORMAT));
+    }
+
+    private String multiHourJson(long clientId, LocalDateTime dateTime, int hourCount) {
+        return String.format("{\"clientId\":%d,\"initialDatetime\":\"%s\",\"hourCount\":%d}",
+                clientId, dateTime.format(DATETIME_FORMAT), hourCount);
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import com.swimming_pool.management.model.entity.Client;
+import com.swimming_pool.management.model.entity.Order;
+import com.swimming_pool.management.model.enums.OrderStatus;
+import com.swimming_pool.management.occupancy.OccupancyEngine;
+import com.swimming_pool.management.occupancy.ReservationProcessor;
+import com.swimming_pool.management.occupancy.SlotOccupancy;
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты добавления записей через движок занятости в памяти и обработчик с одним писателем на дату
+ */
+@TestPropertySource(properties = {"occupancy-engine.enabled=true", "reservation-processor.enabled=true",
+        "reservation-processor.batch-window=PT0.02S", "spring.jpa.open-in-view=false"})
+class OrderControllerProcessorTest extends QueryBudgetTestSupport {
+
+    private static final int LIMIT_PER_HOUR = 10;
+
+    @Autowired
+    private OccupancyEngine occupancyEngine;
+
+    @Autowired
+    private ReservationProcessor reservationProcessor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void reloadOccupancy() {
+        occupancyEngine.load();
+    }
+
+    @Test
+    void reserve() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+
+        assertWithinBudget(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(13, 0))),
+                status().isCreated(), 7, 11, 1024);
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(13, 0))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void doesNotOverbookSlotUnderConcurrentReservations() throws Exception {
+        int clientCount = 4 * LIMIT_PER_HOUR;
+        List<Long> clientIds = new ArrayList<>();
+        for (int i = 0; i < clientCount; i++) {
+            clientIds.add(insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru"));
+        }
+        LocalDateTime dateTime = workingDate.atTime(15, 0);
+
+        Timer batchCommit = meterRegistry.get("reservation.batch.commit").timer();
+        long commitsBefore = batchCommit.count();
+        ExecutorService executor = Executors.newFixedThreadPool(clientCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        for (long clientId : clientIds) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime))).andReturn();
+            }));
+        }
+        start.countDown();
+        int created = 0;
+        for (Future<MvcResult> result : results) {
+            if (result.get(1, TimeUnit.MINUTES).getResponse().getStatus() == 201) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(LIMIT_PER_HOUR, created);
+        assertEquals(LIMIT_PER_HOUR, countReservations(dateTime));
+        assertTrue(batchCommit.count() - commitsBefore < LIMIT_PER_HOUR);
+    }
+
+    @Test
+    void reservesSlotReleasedByCancellation() throws Exception {
+        LocalDateTime dateTime = workingDate.atTime(16, 0);
+        long firstClientId = insertClient("Клиент 0", "9000000000", "client0@mail.ru");
+        long firstOrderId = insertOrder(firstClientId, dateTime);
+        for (int i = 1; i < LIMIT_PER_HOUR; i++) {
+            insertOrder(insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru"),
+                    dateTime);
+        }
+        occupancyEngine.load();
+        long clientId = insertClient("Иванов Иван Иванович", "9000000099", "ivanov@mail.ru");
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put(API + "/timetable/cancel").contentType(MediaType.APPLICATION_JSON)
+                        .content(cancelJson(firstClientId, firstOrderId)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime)))
+                .andExpect(status().isCreated());
+        assertEquals(LIMIT_PER_HOUR, countReservations(dateTime));
+    }
+
+    @Test
+    void keepsWriterRunningAfterCommandFailure() throws Exception {
+        LocalDateTime dateTime = workingDate.atTime(17, 0);
+        Order orderWithoutClient = new Order();
+        orderWithoutClient.setDateTime(dateTime);
+        orderWithoutClient.setStatus(OrderStatus.RESERVED);
+
+        assertThrows(NullPointerException.class, () -> reservationProcessor.reserve(orderWithoutClient,
+                new SlotOccupancy.DailyLimits(LIMIT_PER_HOUR, 4)));
+
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime)))
+                .andExpect(status().isCreated());
+        assertEquals(1, countReservations(dateTime));
+    }
+
+    @Test
+    void failsOnlyBadCommandOfBatch() throws Exception {
+        LocalDateTime dateTime = workingDate.atTime(18, 0);
+        List<Long> clientIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            clientIds.add(insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru"));
+        }
+        long deletedClientId = clientIds.get(clientIds.size() - 1) + 1000;
+        clientIds.add(2, deletedClientId);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clientIds.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReservationProcessor.Result>> results = new ArrayList<>();
+        for (long clientId : clientIds) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return reservationProcessor.reserve(newOrder(clientId, dateTime),
+                        new SlotOccupancy.DailyLimits(LIMIT_PER_HOUR, 4));
+            }));
+        }
+        start.countDown();
+        for (int i = 0; i < clientIds.size(); i++) {
+            Future<ReservationProcessor.Result> result = results.get(i);
+            if (clientIds.get(i) == deletedClientId) {
+                assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.MINUTES));
+            } else {
+                assertNotNull(result.get(1, TimeUnit.MINUTES).order());
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(clientIds.size() - 1, countReservations(dateTime));
+    }
+
+    @Test
+    void skipsCommandAbandonedByInterruptedRequest() throws Exception {
+        LocalDateTime blockedDateTime = workingDate.atTime(18, 0);
+        LocalDateTime dateTime = workingDate.atTime(19, 0);
+        long firstClientId = insertClient("Клиент 0", "9000000000", "client0@mail.ru");
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<ReservationProcessor.Result> blocked;
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        try (Connection connection = jdbcTemplate.getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT * FROM slot_inventory WHERE datetime = ? FOR UPDATE")) {
+                statement.setTimestamp(1, Timestamp.valueOf(blockedDateTime));
+                statement.executeQuery();
+            }
+            blocked = executor.submit(() -> reservationProcessor.reserve(newOrder(firstClientId, blockedDateTime),
+                    new SlotOccupancy.DailyLimits(LIMIT_PER_HOUR, 4)));
+            awaitLockWait();
+
+            Thread waiting = new Thread(() -> {
+                try {
+                    reservationProcessor.reserve(newOrder(clientId, dateTime),
+                            new SlotOccupancy.DailyLimits(LIMIT_PER_HOUR, 4));
+                } catch (RuntimeException ex) {
+                    failure.set(ex);
+                }
+            });
+            waiting.start();
+            while (waiting.getState() != Thread.State.TIMED_WAITING) {
+                Thread.onSpinWait();
+            }
+            waiting.interrupt();
+            waiting.join(TimeUnit.MINUTES.toMillis(1));
+            connection.rollback();
+        }
+        assertNotNull(blocked.get(1, TimeUnit.MINUTES).order());
+        executor.shutdown();
+
+        SwimmingPoolManagementException exception =
+                assertInstanceOf(SwimmingPoolManagementException.class, failure.get());
+        assertEquals(ErrorCode.SERVICE_UNAVAILABLE, exception.getErrorCode());
+        assertEquals(0, countReservations(dateTime));
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime)))
+                .andExpect(status().isCreated());
+        assertEquals(1, countReservations(dateTime));
+    }
+
+    private void awaitLockWait() throws InterruptedException {
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'",
+                Long.class) == 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Order newOrder(long clientId, LocalDateTime dateTime) {
+        Client client = new Client();
+        client.setId(clientId);
+        Order order = new Order();
+        order.setClient(client);
+        order.setDateTime(dateTime);
+        order.setStatus(OrderStatus.RESERVED);
+        return order;
+    }
+
+    private long countReservations(LocalDateTime dateTime) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE datetime = ? AND status = 'RESERVED'",
+                Long.class, Timestamp.valueOf(dateTime));
+    }
+
+    private String reserveJson(long clientId, LocalDateTime dateTime) {
+        return String.format("{\"clientId\":%d,\"datetime\":\"%s\"}", clientId, dateTime.format(DATETIME_FORMAT));
+    }
+
+    private String cancelJson(long clientId, long orderId) {
+        return String.format("{\"clientId\":%d,\"orderId\":\"%d\"}", clientId, orderId);
+    }
+
+}
@@ -0,0 +1,290 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.cache.SingleFlight;
+import com.swimming_pool.management.metrics.ReservationMetrics;
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Бюджеты обращений к БД и выделяемой памяти для эндпоинтов {@link OrderController}
+ */
+class OrderControllerQueryBudgetTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getReservedSlots() throws Exception {
+        fillDateWithOrders(10);
+        String date = workingDate.format(DATE_FORMAT);
+        mockMvc.perform(get(API + "/timetable/all").param("date", date));
+
+        assertWithinBudget(get(API + "/timetable/all").param("date", date),
+                status().isOk(), 1, 2, 512);
+    }
+
+    @Test
+    void getAvailableSlots() throws Exception {
+        fillDateWithOrders(10);
+        String date = workingDate.format(DATE_FORMAT);
+        Counter loads = meterRegistry.get(SingleFlight.METRIC_NAME)
+                .tag("name", "timetable.available")
+                .tag("outcome", "executed")
+                .counter();
+        double loadsBefore = loads.count();
+        mockMvc.perform(get(API + "/timetable/available").param("date", date));
+
+        assertWithinBudget(get(API + "/timetable/available").param("date", date),
+                status().isOk(), 0, 0, 256);
+        assertEquals(loadsBefore + 1, loads.count());
+    }
+
+    @Test
+    void getAvailableSlotsAfterReservation() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        String date = workingDate.format(DATE_FORMAT);
+        mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(jsonPath("$[2].time").value("12:00"))
+                .andExpect(jsonPath("$[2].count").value(10));
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(12, 0))))
+                .andExpect(status().isCreated());
+
+        assertWithinBudget(get(API + "/timetable/available").param("date", date),
+                status().isOk(), 1, 2, 768);
+        mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(jsonPath("$[2].count").value(9));
+    }
+
+    @Test
+    void getAvailableSlotsCompressed() throws Exception {
+        String date = workingDate.format(DATE_FORMAT);
+        String json = mockMvc.perform(get(API + "/timetable/available").param("date", date))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsString();
+
+        byte[] gzip = mockMvc.perform(get(API + "/timetable/available").param("date", date)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertEquals(json, new String(gzipStream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void getByClientNameDoesNotDependOnOrderCount() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        for (int day = 0; day < 20; day++) {
+            insertOrder(clientId, workingDate.plusDays(day).atTime(12, 0));
+        }
+        mockMvc.perform(get(API + "/timetable/by-client-name").param("clientName", "Иванов Иван Иванович"));
+
+        assertWithinBudget(get(API + "/timetable/by-client-name").param("clientName", "Иванов Иван Иванович"),
+                status().isOk(), 1, 2, 512);
+    }
+
+    @Test
+    void getByDateDoesNotDependOnClientCount() throws Exception {
+        fillDateWithOrders(10);
+        String date = workingDate.format(DATE_FORMAT);
+        mockMvc.perform(get(API + "/timetable/by-date").param("date", date));
+
+        assertWithinBudget(get(API + "/timetable/by-date").param("date", date),
+                status().isOk(), 1, 2, 1024);
+    }
+
+    @Test
+    void reserve() throws Exception {
+        long warmUpClientId = insertClient("Петров Пётр Петрович", "9000000002", "petrov@mail.ru");
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                .content(reserveJson(warmUpClientId, workingDate.atTime(12, 0))));
+
+        assertWithinBudget(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(13, 0))),
+                status().isCreated(), 4, 5, 1024);
+    }
+
+    @Test
+    void rejectsDuplicateReservationByUniqueIndex() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        LocalDateTime dateTime = workingDate.atTime(13, 0);
+        insertOrder(clientId, dateTime);
+        Counter duplicates = meterRegistry.get(ReservationMetrics.REJECTION_COUNTER)
+                .tag("operation", "reserve")
+                .tag("reason", "already_reserved")
+                .counter();
+        double duplicatesBefore = duplicates.count();
+
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Запись клиента c ID " + clientId + " на " +
+                        dateTime.format(DATETIME_FORMAT) + " уже существует"));
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(12, 0), 2)))
+                .andExpect(status().isBadRequest());
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE client_id = ?",
+                Long.class, clientId));
+        assertEquals(duplicatesBefore + 1, duplicates.count());
+    }
+
+    @Test
+    void reserveForMultiHours() throws Exception {
+        long warmUpClientId = insertClient("Петров Пётр Петрович", "9000000002", "petrov@mail.ru");
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                .content(multiHourJson(warmUpClientId, workingDate.atTime(12, 0), 3)));
+
+        assertWithinBudget(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(14, 0), 3)),
+                status().isCreated(), 6, 7, 1536);
+    }
+
+    @Test
+    void reserveSeries() throws Exception {
+        long warmUpClientId = insertClient("Петров Пётр Петрович", "9000000002", "petrov@mail.ru");
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        mockMvc.perform(post(API + "/timetable/reserve/series").contentType(MediaType.APPLICATION_JSON)
+                .content(seriesJson(warmUpClientId, "12:00", 4)));
+
+        assertWithinBudget(post(API + "/timetable/reserve/series").contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson(clientId, "13:00", 4)),
+                status().isCreated(), 7, 8, 1024);
+    }
+
+    @Test
+    void cancel() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        long warmUpOrderId = insertOrder(clientId, workingDate.atTime(12, 0));
+        long orderId = insertOrder(clientId, workingDate.atTime(13, 0));
+        mockMvc.perform(put(API + "/timetable/cancel").contentType(MediaType.APPLICATION_JSON)
+                .content(cancelJson(clientId, warmUpOrderId)));
+
+        assertWithinBudget(put(API + "/timetable/cancel").contentType(MediaType.APPLICATION_JSON)
+                        .content(cancelJson(clientId, orderId)),
+                status().isOk(), 6, 7, 768);
+    }
+
+    @Test
+    void cancelsOrderOnceUnderConcurrentCancels() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        long orderId = insertOrder(clientId, workingDate.atTime(13, 0));
+        int cancelCount = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(cancelCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        for (int i = 0; i < cancelCount; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(put(API + "/timetable/cancel").contentType(MediaType.APPLICATION_JSON)
+                        .content(cancelJson(clientId, orderId))).andReturn();
+            }));
+        }
+        start.countDown();
+        int cancelled = 0;
+        for (Future<MvcResult> result : results) {
+            int status = result.get(1, TimeUnit.MINUTES).getResponse().getStatus();
+            if (status == 200) {
+                cancelled++;
+            } else {
+                assertEquals(400, status);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(1, cancelled);
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT version FROM orders WHERE id = ?", Long.class, orderId));
+    }
+
+    @Test
+    void cancelSeries() throws Exception {
+        long warmUpClientId = insertClient("Петров Пётр Петрович", "9000000002", "petrov@mail.ru");
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        String warmUpSeriesId = reserveSeries(warmUpClientId, "12:00");
+        String seriesId = reserveSeries(clientId, "13:00");
+        mockMvc.perform(put(API + "/timetable/cancel/series").contentType(MediaType.APPLICATION_JSON)
+                .content(cancelSeriesJson(warmUpClientId, warmUpSeriesId)));
+
+        assertWithinBudget(put(API + "/timetable/cancel/series").contentType(MediaType.APPLICATION_JSON)
+                        .content(cancelSeriesJson(clientId, seriesId)),
+                status().isOk(), 5, 6, 1024);
+    }
+
+    /**
+     * Заполнение рабочего дня записями разных клиентов: по одной записи на каждый час графика
+     *
+     * @param clientCount количество клиентов
+     */
+    private void fillDateWithOrders(int clientCount) {
+        for (int i = 0; i < clientCount; i++) {
+            long clientId = insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru");
+            for (int hour = 10; hour < 20; hour++) {
+                insertOrder(clientId, workingDate.atTime(hour, 0));
+            }
+        }
+    }
+
+    private String reserveSeries(long clientId, String time) throws Exception {
+        MvcResult result = mockMvc.perform(post(API + "/timetable/reserve/series")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson(clientId, time, 4)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return result.getResponse().getContentAsString().replaceAll(".*\"seriesId\":\"(\\d+)\".*", "$1");
+    }
+
+    private String reserveJson(long clientId, LocalDateTime dateTime) {
+        return String.format("{\"clientId\":%d,\"datetime\":\"%s\"}", clientId, dateTime.format(DATETIME_FORMAT));
+    }
+
+    private String multiHourJson(long clientId, LocalDateTime dateTime, int hourCount) {
+        return String.format("{\"clientId\":%d,\"initialDatetime\":\"%s\",\"hourCount\":%d}",
+                clientId, dateTime.format(DATETIME_FORMAT), hourCount);
+    }
+
+    private String seriesJson(long clientId, String time, int weekCount) {
+        return String.format("{\"clientId\":%d,\"daysOfWeek\":[\"%s\"],\"time\":\"%s\",\"startDate\":\"%s\"," +
+                        "\"weekCount\":%d}",
+                clientId, workingDate.getDayOfWeek(), time, workingDate.format(DATE_FORMAT), weekCount);
+    }
+
+    private String cancelJson(long clientId, long orderId) {
+        return String.format("{\"clientId\":%d,\"orderId\":\"%d\"}", clientId, orderId);
+    }
+
+    private String cancelSeriesJson(long clientId, String seriesId) {
+        return String.format("{\"clientId\":%d,\"seriesId\":\"%s\"}", clientId, seriesId);
+    }
+
+}
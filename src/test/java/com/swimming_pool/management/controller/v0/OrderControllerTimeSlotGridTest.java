@@ -0,0 +1,116 @@
+package com.swimming_pool.management.controller.v0;
+
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты записей и свободных мест при 30-минутных таймслотах
+ */
+@TestPropertySource(properties = "time-slot.duration=PT30M")
+class OrderControllerTimeSlotGridTest extends QueryBudgetTestSupport {
+
+    @Test
+    void listsAndReservesHalfHourSlots() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+
+        mockMvc.perform(get(API + "/timetable/available").param("date", workingDate.format(DATE_FORMAT)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(20))
+                .andExpect(jsonPath("$[1].time").value("10:30"))
+                .andExpect(jsonPath("$[19].time").value("19:30"));
+
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(10, 15))))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(10, 30))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(12, 0), 1)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void countsDailyLimitInHoursOfHalfHourSlots() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(10, 0), 3)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(6));
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(14, 0), 2)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(dailyLimitMessage(clientId, "1")));
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(14, 0))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(15, 0), 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(dailyLimitMessage(clientId, "0.5")));
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(16, 30))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, workingDate.atTime(17, 0))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(dailyLimitMessage(clientId, "0")));
+    }
+
+    @Test
+    void countsPlacesAvailableForWholeWindow() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            long clientId = insertClient("Клиент " + i, String.format("90000000%02d", i), "client" + i + "@mail.ru");
+            mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                            .content(reserveJson(clientId, workingDate.atTime(10, 30))))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get(API + "/timetable/available/window")
+                        .param("datetime", workingDate.atTime(10, 0).format(DATETIME_FORMAT))
+                        .param("minutes", "90"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(7))
+                .andExpect(jsonPath("$.minutes").value(90));
+        mockMvc.perform(get(API + "/timetable/available/window")
+                        .param("datetime", workingDate.atTime(11, 0).format(DATETIME_FORMAT))
+                        .param("minutes", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(10));
+        mockMvc.perform(get(API + "/timetable/available/window")
+                        .param("datetime", workingDate.atTime(19, 0).format(DATETIME_FORMAT))
+                        .param("minutes", "90"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(0));
+        mockMvc.perform(get(API + "/timetable/available/window")
+                        .param("datetime", workingDate.atTime(10, 0).format(DATETIME_FORMAT))
+                        .param("minutes", "45"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String dailyLimitMessage(long clientId, String availableHours) {
+        return "Лимит записей на указанный день для клиента с ID " + clientId + " на " +
+                workingDate.format(DATE_FORMAT) + " превышен, доступный лимит часов " + availableHours;
+    }
+
+    private String reserveJson(long clientId, LocalDateTime dateTime) {
+        return String.format("{\"clientId\":%d,\"datetime\":\"%s\"}", clientId, dateTime.format(DATETIME_FORMAT));
+    }
+
+    private String multiHourJson(long clientId, LocalDateTime dateTime, int hourCount) {
+        return String.format("{\"clientId\":%d,\"initialDatetime\":\"%s\",\"hourCount\":%d}",
+                clientId, dateTime.format(DATETIME_FORMAT), hourCount);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.swimming_pool.management.exception_handler;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwimmingPoolManagementExceptionTest {
+
+    @Test
+    void rejectionsHaveNoStackTrace() {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            if (errorCode == ErrorCode.INTERNAL_SERVER_ERROR) {
+                continue;
+            }
+            SwimmingPoolManagementException ex = new SwimmingPoolManagementException(errorCode, "rejected");
+            assertEquals(0, ex.getStackTrace().length, errorCode.name());
+            ex.addSuppressed(new IllegalStateException());
+            assertEquals(0, ex.getSuppressed().length, errorCode.name());
+        }
+    }
+
+    @Test
+    void internalErrorsKeepStackTrace() {
+        SwimmingPoolManagementException ex =
+                new SwimmingPoolManagementException(ErrorCode.INTERNAL_SERVER_ERROR, "failed");
+        assertTrue(ex.getStackTrace().length > 0);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.swimming_pool.management.metrics;
+
+import com.swimming_pool.management.support.SqlStatementBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+class SqlStatisticsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new StatementIssuingController())
+                .addFilters(new SqlStatisticsFilter(meterRegistry, true))
+                .build();
+    }
+
+    @Test
+    void countsStatementsAndEntityLoadsOfRequest() throws Exception {
+        mockMvc.perform(get("/statements").param("count", "3"))
+                .andExpect(content().string("ok"))
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "3"))
+                .andExpect(header().string(SqlStatisticsFilter.ENTITY_LOADS_HEADER, "3"))
+                .andExpect(SqlStatementBudget.statementsAtMost(3))
+                .andExpect(SqlStatementBudget.entityLoadsAtMost(3));
+
+        assertEquals(3.0, meterRegistry.get("sql.statements").tag("uri", "/statements").summary().totalAmount());
+        assertNull(RequestSqlStatistics.current());
+    }
+
+    @Test
+    void failsWhenStatementBudgetExceeded() {
+        assertThrows(AssertionError.class, () -> mockMvc.perform(get("/statements").param("count", "4"))
+                .andExpect(SqlStatementBudget.statementsAtMost(3)));
+    }
+
+    @RestController
+    static class StatementIssuingController {
+
+        private final SqlStatisticsSessionEventListener listener = new SqlStatisticsSessionEventListener();
+
+        private final SqlStatisticsInterceptor interceptor = new SqlStatisticsInterceptor();
+
+        @GetMapping("/statements")
+        String issueStatements(@RequestParam("count") int count) {
+            listener.jdbcConnectionAcquisitionEnd();
+            for (int i = 0; i < count; i++) {
+                listener.jdbcExecuteStatementStart();
+                interceptor.onLoad(new Object(), (Object) i, null, null, null);
+            }
+            listener.jdbcConnectionReleaseStart();
+            return "ok";
+        }
+
+    }
+
+}
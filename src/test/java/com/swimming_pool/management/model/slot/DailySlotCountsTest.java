@@ -0,0 +1,62 @@
+package com.swimming_pool.management.model.slot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DailySlotCountsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void serializesAsTimeSlotListOrderedByTime() throws Exception {
+        DailySlotCounts slotCounts = new DailySlotCounts();
+        slotCounts.increment(index(19, 0));
+        slotCounts.put(index(9, 30), 10);
+        slotCounts.increment(index(19, 0));
+        slotCounts.put(index(0, 0), 0);
+        slotCounts.decrementIfPresent(index(9, 30));
+        slotCounts.decrementIfPresent(index(12, 0));
+        slotCounts.put(index(23, 45), 1);
+
+        assertEquals("[{\"time\":\"00:00\",\"count\":0},{\"time\":\"09:30\",\"count\":9}," +
+                "{\"time\":\"19:00\",\"count\":2},{\"time\":\"23:45\",\"count\":1}]",
+                objectMapper.writeValueAsString(slotCounts));
+        assertEquals(4, slotCounts.size());
+    }
+
+    @Test
+    void serializesEmptyCountsAsEmptyList() throws Exception {
+        assertEquals("[]", objectMapper.writeValueAsString(new DailySlotCounts()));
+    }
+
+    @Test
+    void countsSlotsAndMinimumInRange() {
+        DailySlotCounts slotCounts = new DailySlotCounts();
+        for (LocalTime time = LocalTime.of(9, 0); time.isBefore(LocalTime.of(12, 0)); time = time.plusMinutes(30)) {
+            slotCounts.put(DailySlotCounts.indexOf(time), 5);
+        }
+        slotCounts.put(index(10, 30), 2);
+        slotCounts.put(index(23, 30), 7);
+
+        assertEquals(3, slotCounts.size(index(9, 0), index(10, 30)));
+        assertEquals(5, slotCounts.getMinCount(index(9, 0), index(10, 30)));
+        assertEquals(2, slotCounts.getMinCount(index(9, 0), index(11, 0)));
+        assertEquals(Integer.MAX_VALUE, slotCounts.getMinCount(index(12, 0), index(23, 0)));
+        assertEquals(0, slotCounts.size(index(12, 0), index(23, 0)));
+
+        slotCounts.decrementIfPresent(index(9, 30));
+        slotCounts.put(index(10, 30), 6);
+        assertEquals(4, slotCounts.getMinCount(index(9, 0), index(11, 0)));
+        assertEquals(7, slotCounts.getMinCount(index(12, 0), DailySlotCounts.SLOTS_PER_DAY));
+        assertEquals(7, slotCounts.size(0, DailySlotCounts.SLOTS_PER_DAY));
+    }
+
+    private static int index(int hour, int minute) {
+        return DailySlotCounts.indexOf(LocalTime.of(hour, minute));
+    }
+
+}
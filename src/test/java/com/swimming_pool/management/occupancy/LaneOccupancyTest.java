@@ -0,0 +1,75 @@
+package com.swimming_pool.management.occupancy;
+
+import com.swimming_pool.management.model.entity.Lane;
+import com.swimming_pool.management.model.enums.LaneActivity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class LaneOccupancyTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 3, 4);
+
+    private final LaneOccupancy occupancy = new LaneOccupancy(List.of(lane(1, 1), lane(2, 2), lane(3, 1)));
+
+    @Test
+    void keepsSameLaneForAllHoursWhenPossible() {
+        LocalDateTime ten = DATE.atTime(10, 0);
+        assertEquals(List.of(1L), laneIds(occupancy.tryAllocate(List.of(ten))));
+
+        List<Lane> lanes = occupancy.tryAllocate(List.of(DATE.atTime(9, 0), ten, DATE.atTime(11, 0)));
+
+        assertEquals(List.of(2L, 2L, 2L), laneIds(lanes));
+        assertEquals(1, occupancy.getCount(2, ten));
+    }
+
+    @Test
+    void splitsReservationWithFewestLaneChanges() {
+        LocalDateTime nine = DATE.atTime(9, 0);
+        LocalDateTime ten = DATE.atTime(10, 0);
+        LocalDateTime eleven = DATE.atTime(11, 0);
+        occupancy.add(1, nine);
+        occupancy.add(2, eleven);
+        occupancy.add(2, eleven);
+        occupancy.add(3, ten);
+
+        List<Lane> lanes = occupancy.tryAllocate(List.of(nine, ten, eleven, DATE.atTime(12, 0)));
+
+        assertEquals(List.of(2L, 2L, 1L, 1L), laneIds(lanes));
+    }
+
+    @Test
+    void rejectsWholeReservationWhenOneSlotHasNoFreeLane() {
+        LocalDateTime ten = DATE.atTime(10, 0);
+        LocalDateTime nextDay = ten.plusDays(1);
+        for (long laneId = 1; laneId <= 3; laneId++) {
+            occupancy.add(laneId, ten);
+        }
+        occupancy.add(2, ten);
+
+        assertNull(occupancy.tryAllocate(List.of(nextDay, ten)));
+        assertEquals(0, occupancy.getCount(1, nextDay));
+
+        occupancy.release(2, ten);
+        assertEquals(List.of(1L, 2L), laneIds(occupancy.tryAllocate(List.of(nextDay, ten))));
+    }
+
+    private static List<Long> laneIds(List<Lane> lanes) {
+        return lanes.stream().map(Lane::getId).toList();
+    }
+
+    private static Lane lane(long id, int capacity) {
+        Lane lane = new Lane();
+        lane.setId(id);
+        lane.setName("Дорожка " + id);
+        lane.setActivity(LaneActivity.LAP_SWIM);
+        lane.setCapacity(capacity);
+        return lane;
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.swimming_pool.management.occupancy;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotOccupancyTest {
+
+    private static final int THREADS = 32;
+
+    private static final LocalDate DATE = LocalDate.of(2030, 3, 4);
+
+    private final SlotOccupancy occupancy = new SlotOccupancy();
+
+    @Test
+    void checksDailyLimitThenDuplicateThenHourlyLimit() {
+        LocalDateTime nine = DATE.atTime(9, 0);
+        LocalDateTime ten = DATE.atTime(10, 0);
+        SlotOccupancy.DailyLimits limits = new SlotOccupancy.DailyLimits(1, 2);
+
+        assertNull(occupancy.tryAdmit(1, List.of(nine), date -> limits));
+        assertEquals(SlotOccupancy.Reason.ALREADY_RESERVED,
+                occupancy.tryAdmit(1, List.of(nine), date -> limits).reason());
+        assertEquals(SlotOccupancy.Reason.HOURLY_LIMIT_EXCEEDED,
+                occupancy.tryAdmit(2, List.of(nine), date -> limits).reason());
+        assertEquals(SlotOccupancy.Reason.DAILY_LIMIT_EXCEEDED,
+                occupancy.tryAdmit(1, List.of(ten, ten.plusHours(1)), date -> limits).reason());
+        assertEquals(0, occupancy.getCount(ten));
+
+        occupancy.release(1, nine);
+        occupancy.release(1, nine);
+        assertEquals(0, occupancy.getCount(nine));
+        assertNull(occupancy.tryAdmit(2, List.of(nine), date -> limits));
+    }
+
+    @Test
+    void rejectsWholeReservationWhenOneDateIsFull() {
+        SlotOccupancy.DailyLimits limits = new SlotOccupancy.DailyLimits(1, 1);
+        LocalDateTime monday = DATE.atTime(18, 0);
+        LocalDateTime nextMonday = monday.plusWeeks(1);
+        assertNull(occupancy.tryAdmit(1, List.of(nextMonday), date -> limits));
+
+        SlotOccupancy.Rejection rejection = occupancy.tryAdmit(2, List.of(monday, nextMonday), date -> limits);
+
+        assertEquals(SlotOccupancy.Reason.HOURLY_LIMIT_EXCEEDED, rejection.reason());
+        assertEquals(nextMonday, rejection.dateTime());
+        assertEquals(0, occupancy.getCount(monday));
+    }
+
+    @Test
+    void doesNotOverbookSlotUnderConcurrentReservations() throws Exception {
+        int limitPerHour = 10;
+        LocalDateTime dateTime = DATE.atTime(12, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (int attempt = 0; attempt < 1000; attempt++) {
+                long clientId = thread * 1000L + attempt;
+                if (occupancy.tryAdmit(clientId, List.of(dateTime),
+                        date -> new SlotOccupancy.DailyLimits(limitPerHour, 1)) == null) {
+                    admitted.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(limitPerHour, admitted.get());
+        assertEquals(limitPerHour, occupancy.getCount(dateTime));
+    }
+
+    @Test
+    void keepsLimitsUnderConcurrentReservationsAndCancellations() throws Exception {
+        int limitPerHour = 5;
+        int dailyLimit = 3;
+        SlotOccupancy.DailyLimits limits = new SlotOccupancy.DailyLimits(limitPerHour, dailyLimit);
+        AtomicInteger violations = new AtomicInteger();
+        runConcurrently(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int attempt = 0; attempt < 20_000; attempt++) {
+                int hour = random.nextInt(8, 22);
+                LocalDateTime start = DATE.atTime(hour, 0);
+                List<LocalDateTime> dateTimes = random.nextBoolean()
+                        ? List.of(start)
+                        : List.of(start, start.plusHours(1));
+                // каждый поток работает от имени своего клиента и освобождает только его записи
+                long clientId = thread;
+                if (random.nextInt(3) == 0) {
+                    dateTimes.forEach(dateTime -> occupancy.release(clientId, dateTime));
+                } else if (occupancy.tryAdmit(clientId, dateTimes, date -> limits) == null) {
+                    for (LocalDateTime dateTime : dateTimes) {
+                        if (occupancy.getCount(dateTime) > limitPerHour) {
+                            violations.incrementAndGet();
+                        }
+                    }
+                }
+            }
+        });
+
+        assertEquals(0, violations.get());
+        for (int hour = 0; hour < 24; hour++) {
+            assertTrue(occupancy.getCount(DATE.atTime(hour, 0)) <= limitPerHour);
+        }
+        for (long clientId = 0; clientId < THREADS; clientId++) {
+            int clientTotal = 0;
+            for (int hour = 0; hour < 24; hour++) {
+                LocalDateTime dateTime = DATE.atTime(hour, 0);
+                int before = occupancy.getCount(dateTime);
+                occupancy.release(clientId, dateTime);
+                clientTotal += before - occupancy.getCount(dateTime);
+            }
+            assertTrue(clientTotal <= dailyLimit, "client " + clientId + " holds " + clientTotal + " hours");
+        }
+        for (int hour = 0; hour < 24; hour++) {
+            assertEquals(0, occupancy.getCount(DATE.atTime(hour, 0)));
+        }
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            int threadIndex = thread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(threadIndex);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+
+        void run(int thread);
+
+    }
+
+}
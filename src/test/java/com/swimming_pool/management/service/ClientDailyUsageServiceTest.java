@@ -0,0 +1,170 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.model.projection.ClientDailyUsageDrift;
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты счётчиков часов записей клиентов по датам и их сверки с записями
+ */
+class ClientDailyUsageServiceTest extends QueryBudgetTestSupport {
+
+    private static final int DAILY_LIMIT = 4;
+
+    @Autowired
+    private ClientDailyUsageService clientDailyUsageService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void countsReservedAndCancelledSlots() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(12, 0), 3)))
+                .andExpect(status().isCreated());
+        assertEquals(3, countedSlots(clientId, workingDate));
+
+        long orderId = jdbcTemplate.queryForObject("SELECT min(id) FROM orders WHERE client_id = ?", Long.class,
+                clientId);
+        mockMvc.perform(put(API + "/timetable/cancel").contentType(MediaType.APPLICATION_JSON)
+                        .content(cancelJson(clientId, orderId)))
+                .andExpect(status().isOk());
+        assertEquals(2, countedSlots(clientId, workingDate));
+
+        mockMvc.perform(post(API + "/timetable/reserve/multi-hour").contentType(MediaType.APPLICATION_JSON)
+                        .content(multiHourJson(clientId, workingDate.atTime(16, 0), 3)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Лимит записей на указанный день для клиента с ID " +
+                        clientId + " на " + workingDate.format(DATE_FORMAT) +
+                        " превышен, доступный лимит часов 2"));
+        assertEquals(2, countedSlots(clientId, workingDate));
+        assertTrue(clientDailyUsageService.reconcile().isEmpty());
+    }
+
+    @Test
+    void doesNotExceedDailyLimitUnderConcurrentReservations() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        int requestCount = 2 * DAILY_LIMIT;
+
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        for (int hour = 10; hour < 10 + requestCount; hour++) {
+            LocalDateTime dateTime = workingDate.atTime(hour, 0);
+            results.add(executor.submit(() -> {
+                start.await();
+                return mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                        .content(reserveJson(clientId, dateTime))).andReturn();
+            }));
+        }
+        start.countDown();
+        int created = 0;
+        for (Future<MvcResult> result : results) {
+            if (result.get(1, TimeUnit.MINUTES).getResponse().getStatus() == 201) {
+                created++;
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(DAILY_LIMIT, created);
+        assertEquals(DAILY_LIMIT, countedSlots(clientId, workingDate));
+        assertEquals(DAILY_LIMIT, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE client_id = ? " +
+                "AND status = 'RESERVED'", Long.class, clientId));
+    }
+
+    @Test
+    void checksSeriesAgainstDailyCounters() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        LocalDate lastDate = workingDate.plusWeeks(1);
+        jdbcTemplate.update("INSERT INTO client_daily_usage (client_id, date, slots) VALUES (?, ?, ?)",
+                clientId, lastDate, DAILY_LIMIT);
+
+        mockMvc.perform(post(API + "/timetable/reserve/series").contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson(clientId, 2)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Лимит записей на указанный день для клиента с ID " +
+                        clientId + " на " + lastDate.format(DATE_FORMAT) + " превышен, доступный лимит часов 0"));
+        assertEquals(0, countedSlots(clientId, workingDate));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE client_id = ?", Long.class,
+                clientId));
+
+        jdbcTemplate.update("DELETE FROM client_daily_usage WHERE client_id = ?", clientId);
+        mockMvc.perform(post(API + "/timetable/reserve/series").contentType(MediaType.APPLICATION_JSON)
+                        .content(seriesJson(clientId, 2)))
+                .andExpect(status().isCreated());
+        assertEquals(1, countedSlots(clientId, workingDate));
+        assertEquals(1, countedSlots(clientId, lastDate));
+        assertTrue(clientDailyUsageService.reconcile().isEmpty());
+    }
+
+    @Test
+    void reconcileCorrectsDriftedCounters() {
+        long firstClientId = insertClient("Клиент 1", "9000000001", "client1@mail.ru");
+        long secondClientId = insertClient("Клиент 2", "9000000002", "client2@mail.ru");
+        insertOrder(firstClientId, workingDate.atTime(12, 0));
+        jdbcTemplate.update("INSERT INTO orders (client_id, datetime, status, created_at, modified_at) " +
+                "VALUES (?, ?, 'RESERVED', now(), now())", firstClientId, Timestamp.valueOf(workingDate.atTime(13, 0)));
+        jdbcTemplate.update("INSERT INTO client_daily_usage (client_id, date, slots) VALUES (?, ?, 3)",
+                secondClientId, workingDate);
+        jdbcTemplate.update("INSERT INTO client_daily_usage (client_id, date, slots) VALUES (?, ?, 1)",
+                secondClientId, LocalDate.now().minusDays(1));
+        double correctedBefore = meterRegistry.get("client.daily.usage.drift").counter().count();
+
+        List<ClientDailyUsageDrift> drifts = clientDailyUsageService.reconcile();
+
+        assertEquals(2, drifts.size());
+        assertEquals(2, countedSlots(firstClientId, workingDate));
+        assertEquals(0, countedSlots(secondClientId, workingDate));
+        assertEquals(0, countedSlots(secondClientId, LocalDate.now().minusDays(1)));
+        assertEquals(2, meterRegistry.get("client.daily.usage.drift").counter().count() - correctedBefore);
+        assertTrue(clientDailyUsageService.reconcile().isEmpty());
+    }
+
+    private long countedSlots(long clientId, LocalDate date) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(slots), 0) FROM client_daily_usage " +
+                "WHERE client_id = ? AND date = ?", Long.class, clientId, date);
+    }
+
+    private String reserveJson(long clientId, LocalDateTime dateTime) {
+        return String.format("{\"clientId\":%d,\"datetime\":\"%s\"}", clientId, dateTime.format(DATETIME_FORMAT));
+    }
+
+    private String multiHourJson(long clientId, LocalDateTime dateTime, int hourCount) {
+        return String.format("{\"clientId\":%d,\"initialDatetime\":\"%s\",\"hourCount\":%d}",
+                clientId, dateTime.format(DATETIME_FORMAT), hourCount);
+    }
+
+    private String seriesJson(long clientId, int weekCount) {
+        return String.format("{\"clientId\":%d,\"daysOfWeek\":[\"%s\"],\"time\":\"12:00\",\"startDate\":\"%s\"," +
+                        "\"weekCount\":%d}",
+                clientId, workingDate.getDayOfWeek(), workingDate.format(DATE_FORMAT), weekCount);
+    }
+
+    private String cancelJson(long clientId, long orderId) {
+        return String.format("{\"clientId\":%d,\"orderId\":\"%d\"}", clientId, orderId);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.swimming_pool.management.service;
+
+import com.swimming_pool.management.support.QueryBudgetTestSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Тесты таймслотов на горизонт записей: перестроения по графику и учёта занятых записей
+ */
+class SlotInventoryServiceTest extends QueryBudgetTestSupport {
+
+    @Autowired
+    private SlotInventoryService slotInventoryService;
+
+    @Test
+    void refreshesTimeSlotsForChangedHoliday() throws Exception {
+        long clientId = insertClient("Иванов Иван Иванович", "9000000001", "ivanov@mail.ru");
+        insertOrder(clientId, workingDate.atTime(10, 0));
+        insertOrder(clientId, workingDate.atTime(12, 0));
+        jdbcTemplate.update("INSERT INTO holidays (date, description) VALUES (?, 'Праздник')", workingDate);
+
+        slotInventoryService.refresh();
+
+        assertSlot(workingDate.atTime(10, 0), 0, 1);
+        assertSlot(workingDate.atTime(12, 0), 8, 1);
+        assertSlot(workingDate.atTime(19, 0), 0, 0);
+        mockMvc.perform(get(API + "/timetable/available").param("date", workingDate.format(DATE_FORMAT)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(7))
+                .andExpect(jsonPath("$[0].time").value("11:00"))
+                .andExpect(jsonPath("$[1].count").value(7));
+
+        jdbcTemplate.update("DELETE FROM holidays WHERE date = ?", workingDate);
+        slotInventoryService.refresh();
+
+        assertSlot(workingDate.atTime(10, 0), 10, 1);
+        assertSlot(workingDate.atTime(12, 0), 10, 1);
+    }
+
+    @Test
+    void doesNotExceedHourlyLimitUnderConcurrentReservations() throws Exception {
+        int limitPerHour = 2;
+        int requestCount = 3 * limitPerHour;
+        LocalDateTime dateTime = workingDate.atTime(13, 0);
+        jdbcTemplate.update("UPDATE work_hours SET limit_per_hour = ? WHERE is_holiday = false", limitPerHour);
+        try {
+            slotInventoryService.refresh();
+            List<Long> clientIds = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                clientIds.add(insertClient("Клиент " + i, "900000000" + i, "client" + i + "@mail.ru"));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (long clientId : clientIds) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post(API + "/timetable/reserve").contentType(MediaType.APPLICATION_JSON)
+                            .content(reserveJson(clientId, dateTime))).andReturn();
+                }));
+            }
+            start.countDown();
+            int created = 0;
+            for (Future<MvcResult> result : results) {
+                if (result.get(1, TimeUnit.MINUTES).getResponse().getStatus() == 201) {
+                    created++;
+                }
+            }
+            executor.shutdown();
+
+            assertEquals(limitPerHour, created);
+            assertSlot(dateTime, limitPerHour, limitPerHour);
+
+            long orderId = jdbcTemplate.queryForObject("SELECT min(id) FROM orders", Long.class);
+            long clientId = jdbcTemplate.queryForObject("SELECT client_id FROM orders WHERE id = ?", Long.class,
+                    orderId);
+            mockMvc.perform(put(API + "/timetable/cancel").contentType(MediaType.APPLICATION_JSON)
+                            .content(String.format("{\"clientId\":%d,\"orderId\":\"%d\"}", clientId, orderId)))
+                    .andExpect(status().isOk());
+            assertSlot(dateTime, limitPerHour, limitPerHour - 1);
+        } finally {
+            jdbcTemplate.update("UPDATE work_hours SET limit_per_hour = 10 WHERE is_holiday = false");
+            slotInventoryService.refresh();
+        }
+    }
+
+    private void assertSlot(LocalDateTime dateTime, int capacity, int reserved) {
+        assertEquals(List.of(capacity, reserved), jdbcTemplate.queryForObject(
+                "SELECT capacity, reserved FROM slot_inventory WHERE datetime = ?",
+                (rs, rowNum) -> List.of(rs.getInt("capacity"), rs.getInt("reserved")),
+                Timestamp.valueOf(dateTime)));
+    }
+
+    private String reserveJson(long clientId, LocalDateTime dateTime) {
+        return String.format("{\"clientId\":%d,\"datetime\":\"%s\"}", clientId, dateTime.format(DATETIME_FORMAT));
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.swimming_pool.management.support;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Замер объёма памяти, выделенной текущим потоком при выполнении действия.
+ * <p>MockMvc обрабатывает запрос в потоке теста, поэтому замер охватывает всю обработку запроса
+ */
+public final class AllocationBudget {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationBudget() {
+    }
+
+    /**
+     * Выполнение действия с замером выделенной потоком памяти
+     *
+     * @param action действие
+     * @return объём выделенной памяти в байтах
+     * @throws Exception исключение, выброшенное действием
+     */
+    public static long allocatedBytes(ThrowingRunnable action) throws Exception {
+        long threadId = Thread.currentThread().getId();
+        long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+        action.run();
+        return THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    /**
+     * Проверка, что действие выделило не больше указанного объёма памяти
+     *
+     * @param maxBytes максимальный объём памяти в байтах
+     * @param action действие
+     * @throws Exception исключение, выброшенное действием
+     */
+    public static void assertAllocatesAtMost(long maxBytes, ThrowingRunnable action) throws Exception {
+        long allocated = allocatedBytes(action);
+        if (allocated > maxBytes) {
+            throw new AssertionError(String.format(
+                    "Ожидалось выделение не больше %d КБ памяти, выделено %d КБ", maxBytes / 1024, allocated / 1024));
+        }
+    }
+
+    /**
+     * Действие, которое может выбросить проверяемое исключение
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+
+        void run() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.swimming_pool.management.support;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Встроенная PostgreSQL для интеграционных тестов.
+ * <p>Запускается один раз на JVM при первом обращении и останавливается при её завершении, поэтому все тестовые
+ * классы с одинаковой конфигурацией используют одну базу и один контекст Spring. Схема создаётся миграциями
+ * Liquibase при запуске контекста
+ */
+public final class EmbeddedPostgresDatabase {
+
+    private static volatile EmbeddedPostgres instance;
+
+    private EmbeddedPostgresDatabase() {
+    }
+
+    /**
+     * Регистрация свойств подключения к встроенной БД в контексте Spring
+     *
+     * @param registry реестр динамических свойств теста
+     */
+    public static void registerDataSource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgres postgres = get();
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    private static EmbeddedPostgres get() {
+        if (instance == null) {
+            synchronized (EmbeddedPostgresDatabase.class) {
+                if (instance == null) {
+                    instance = start();
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                    // БД останавливается вместе с JVM
+                }
+            }));
+            return postgres;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Не удалось запустить встроенную PostgreSQL", ex);
+        }
+    }
+
+}
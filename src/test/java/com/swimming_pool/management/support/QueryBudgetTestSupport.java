@@ -0,0 +1,112 @@
+package com.swimming_pool.management.support;
+
+import com.swimming_pool.management.cache.AvailabilityResponseCache;
+import com.swimming_pool.management.service.SlotInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Базовый класс интеграционных тестов бюджета обращений к БД по эндпоинтам.
+ * <p>Тесты выполняются на встроенной PostgreSQL {@link EmbeddedPostgresDatabase} со схемой из миграций Liquibase.
+ * Перед каждым тестом данные клиентов и записей очищаются, а дата записей - ближайший будний день через неделю -
+ * убирается из праздничных дней, чтобы на неё действовал обычный график, а дневной лимит записей клиента
+ * увеличивается для проверки записей на несколько часов. Таймслоты горизонта записей строятся заново по графику.
+ * Данные изменяются в обход сервисов, поэтому кэш ответов со свободными таймслотами сбрасывается.
+ * <p>Бюджеты проверяют количество SQL-запросов, обращений к БД (SQL-запросы и завершения транзакций) и объём
+ * выделенной при обработке запроса памяти. Превышение бюджета означает регрессию производительности
+ */
+@SpringBootTest(properties = "sql-statistics.response-headers.enabled=true")
+@AutoConfigureMockMvc
+public abstract class QueryBudgetTestSupport {
+
+    protected static final String API = "/api/v0/pool";
+
+    protected static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    protected static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AvailabilityResponseCache availabilityResponseCache;
+
+    @Autowired
+    private SlotInventoryService slotInventoryService;
+
+    /**
+     * Будний день, на который добавляются записи в тестах
+     */
+    protected LocalDate workingDate;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.registerDataSource(registry);
+    }
+
+    @BeforeEach
+    void resetData() {
+        jdbcTemplate.execute("TRUNCATE waitlist_entries, orders, reservation_series, idempotency_records, " +
+                "client_daily_usage, slot_inventory, schedule_overrides, clients RESTART IDENTITY CASCADE");
+        LocalDate date = LocalDate.now().plusWeeks(1);
+        while (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            date = date.plusDays(1);
+        }
+        workingDate = date;
+        jdbcTemplate.update("DELETE FROM holidays WHERE date = ?", workingDate);
+        jdbcTemplate.update("UPDATE work_hours SET daily_limit_per_clients = 4");
+        slotInventoryService.refresh();
+        availabilityResponseCache.clear();
+    }
+
+    /**
+     * Выполнение запроса с проверкой статуса ответа и бюджетов обращений к БД и выделяемой памяти
+     *
+     * @param request запрос
+     * @param expectedStatus ожидаемый статус ответа
+     * @param maxStatements максимальное количество SQL-запросов
+     * @param maxRoundTrips максимальное количество обращений к БД
+     * @param maxAllocatedKilobytes максимальный объём выделенной памяти в килобайтах
+     * @throws Exception ошибка выполнения запроса
+     */
+    protected void assertWithinBudget(RequestBuilder request, ResultMatcher expectedStatus, int maxStatements,
+                                      int maxRoundTrips, long maxAllocatedKilobytes) throws Exception {
+        AllocationBudget.assertAllocatesAtMost(maxAllocatedKilobytes * 1024, () -> mockMvc.perform(request)
+                .andExpect(expectedStatus)
+                .andExpect(SqlStatementBudget.statementsAtMost(maxStatements))
+                .andExpect(SqlStatementBudget.roundTripsAtMost(maxRoundTrips)));
+    }
+
+    protected long insertClient(String name, String phone, String email) {
+        return jdbcTemplate.queryForObject("INSERT INTO clients (name, phone, email, created_at, modified_at) " +
+                "VALUES (?, ?, ?, now(), now()) RETURNING id", Long.class, name, phone, email);
+    }
+
+    protected long insertOrder(long clientId, LocalDateTime dateTime) {
+        jdbcTemplate.update("INSERT INTO client_daily_usage (client_id, date, slots) VALUES (?, ?, 1) " +
+                "ON CONFLICT (client_id, date) DO UPDATE SET slots = client_daily_usage.slots + 1",
+                clientId, dateTime.toLocalDate());
+        jdbcTemplate.update("UPDATE slot_inventory SET reserved = reserved + 1 WHERE datetime = ?",
+                Timestamp.valueOf(dateTime));
+        return jdbcTemplate.queryForObject("INSERT INTO orders (client_id, datetime, status, created_at, modified_at) " +
+                "VALUES (?, ?, 'RESERVED', now(), now()) RETURNING id", Long.class, clientId, Timestamp.valueOf(dateTime));
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.swimming_pool.management.support;
+
+import com.swimming_pool.management.metrics.SqlStatisticsFilter;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/**
+ * Проверки бюджета обращений к БД для тестов через MockMvc.
+ * <p>Читают отладочные заголовки {@link SqlStatisticsFilter}, поэтому в тестовом контексте должно быть включено
+ * свойство {@code sql-statistics.response-headers.enabled=true}. Пример:
+ * <pre>{@code
+ * mockMvc.perform(get("/api/v0/pool/timetable/available").param("date", date))
+ *         .andExpect(status().isOk())
+ *         .andExpect(SqlStatementBudget.statementsAtMost(5));
+ * }</pre>
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    /**
+     * Проверка, что запрос выполнил не больше указанного количества SQL-запросов
+     *
+     * @param maxStatements максимальное количество SQL-запросов
+     * @return проверка результата запроса
+     */
+    public static ResultMatcher statementsAtMost(int maxStatements) {
+        return result -> assertAtMost(result, SqlStatisticsFilter.STATEMENTS_HEADER, "SQL-запросов", maxStatements);
+    }
+
+    /**
+     * Проверка, что запрос обратился к БД не больше указанного количества раз: SQL-запросы и завершения транзакций
+     *
+     * @param maxRoundTrips максимальное количество обращений к БД
+     * @return проверка результата запроса
+     */
+    public static ResultMatcher roundTripsAtMost(int maxRoundTrips) {
+        return result -> {
+            int actual = readHeader(result, SqlStatisticsFilter.STATEMENTS_HEADER)
+                    + readHeader(result, SqlStatisticsFilter.TRANSACTIONS_HEADER);
+            if (actual > maxRoundTrips) {
+                throw new AssertionError(String.format(
+                        "%s %s: ожидалось не больше %d обращений к БД, выполнено %d (%s=%s, %s=%s)",
+                        result.getRequest().getMethod(),
+                        result.getRequest().getRequestURI(),
+                        maxRoundTrips,
+                        actual,
+                        SqlStatisticsFilter.STATEMENTS_HEADER,
+                        result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER),
+                        SqlStatisticsFilter.TRANSACTIONS_HEADER,
+                        result.getResponse().getHeader(SqlStatisticsFilter.TRANSACTIONS_HEADER)
+                ));
+            }
+        };
+    }
+
+    /**
+     * Проверка, что запрос загрузил не больше указанного количества сущностей
+     *
+     * @param maxEntityLoads максимальное количество загруженных сущностей
+     * @return проверка результата запроса
+     */
+    public static ResultMatcher entityLoadsAtMost(int maxEntityLoads) {
+        return result -> assertAtMost(result, SqlStatisticsFilter.ENTITY_LOADS_HEADER, "загруженных сущностей",
+                maxEntityLoads);
+    }
+
+    /**
+     * Получение количества SQL-запросов, выполненных запросом
+     *
+     * @param result результат запроса
+     * @return количество SQL-запросов
+     */
+    public static int statementCount(MvcResult result) {
+        return readHeader(result, SqlStatisticsFilter.STATEMENTS_HEADER);
+    }
+
+    private static void assertAtMost(MvcResult result, String header, String subject, int max) {
+        int actual = readHeader(result, header);
+        if (actual > max) {
+            throw new AssertionError(String.format(
+                    "%s %s: ожидалось не больше %d %s, выполнено %d (%s=%s, %s=%s)",
+                    result.getRequest().getMethod(),
+                    result.getRequest().getRequestURI(),
+                    max,
+                    subject,
+                    actual,
+                    SqlStatisticsFilter.STATEMENTS_HEADER,
+                    result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS_HEADER),
+                    SqlStatisticsFilter.ENTITY_LOADS_HEADER,
+                    result.getResponse().getHeader(SqlStatisticsFilter.ENTITY_LOADS_HEADER)
+            ));
+        }
+    }
+
+    private static int readHeader(MvcResult result, String header) {
+        String value = result.getResponse().getHeader(header);
+        if (value == null) {
+            throw new AssertionError(String.format(
+                    "В ответе нет заголовка %s: включите sql-statistics.response-headers.enabled=true", header));
+        }
+        return Integer.parseInt(value);
+    }
+
+}
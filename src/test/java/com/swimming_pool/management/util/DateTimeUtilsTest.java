@@ -0,0 +1,131 @@
+package com.swimming_pool.management.util;
+
+import com.swimming_pool.management.exception_handler.ErrorCode;
+import com.swimming_pool.management.exception_handler.SwimmingPoolManagementException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Проверка совпадения разбора и форматирования {@link DateTimeUtils} с {@link DateTimeFormatter} по тем же шаблонам
+ */
+class DateTimeUtilsTest {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm");
+
+    private static final String[] YEARS = {"0000", "0001", "1900", "1999", "2000", "2023", "2024", "2100", "9999"};
+
+    private static final String[] MALFORMED = {"", " ", "1.1.2025", "01-01-2025", "01.01.25", "0a.01.2025",
+            "01.01.2025 ", " 01.01.2025", "+1.01.2025", "01.01.+2025", "01.01.20250", "１５.07.2025", "01.01.2025 1:00",
+            "01.01.2025 10:60", "01.01.2025T10:00", "01.01.2025  10:00", "10:0", "10:000", "1:00", "10-00", "+1:00"};
+
+    @Test
+    void parsesDatesLikeFormatter() {
+        for (String date : dates()) {
+            assertSameResult(date, DateTimeUtils::parseToLocalDate, text -> LocalDate.parse(text, DATE_FORMAT));
+        }
+        for (String text : MALFORMED) {
+            assertSameResult(text, DateTimeUtils::parseToLocalDate, value -> LocalDate.parse(value, DATE_FORMAT));
+        }
+    }
+
+    @Test
+    void parsesTimesLikeFormatter() {
+        for (String time : times()) {
+            assertSameResult(time, DateTimeUtils::parseToLocalTime, text -> LocalTime.parse(text, TIME_FORMAT));
+        }
+        for (String text : MALFORMED) {
+            assertSameResult(text, DateTimeUtils::parseToLocalTime, value -> LocalTime.parse(value, TIME_FORMAT));
+        }
+    }
+
+    @Test
+    void parsesDateTimesLikeFormatter() {
+        List<String> dates = dates();
+        for (String time : times()) {
+            for (int i = 0; i < dates.size(); i += 7) {
+                String dateTime = dates.get(i) + " " + time;
+                assertSameResult(dateTime, DateTimeUtils::parseToLocalDateTime,
+                        text -> LocalDateTime.parse(text, DATE_TIME_FORMAT));
+            }
+        }
+        for (String text : MALFORMED) {
+            assertSameResult(text, DateTimeUtils::parseToLocalDateTime,
+                    value -> LocalDateTime.parse(value, DATE_TIME_FORMAT));
+        }
+    }
+
+    @Test
+    void formatsLikeFormatter() {
+        for (int year : new int[]{-1, 0, 1, 999, 2024, 9999, 10000}) {
+            LocalDate date = LocalDate.of(year, 1, 1);
+            for (int day = 0; day < 366; day += 13) {
+                LocalDateTime dateTime = date.plusDays(day).atTime(day % 24, day % 60);
+                assertEquals(DATE_FORMAT.format(dateTime), DateTimeUtils.formatToDateString(dateTime.toLocalDate()));
+                assertEquals(DATE_TIME_FORMAT.format(dateTime), DateTimeUtils.formatToDateTimeString(dateTime));
+            }
+        }
+        for (int hour = 0; hour < 24; hour++) {
+            for (int minute = 0; minute < 60; minute += 15) {
+                LocalTime time = LocalTime.of(hour, minute, 30);
+                assertEquals(TIME_FORMAT.format(time), DateTimeUtils.formatToTimeString(time));
+            }
+        }
+    }
+
+    /**
+     * Строки с датами, включая несуществующие дни и месяцы
+     */
+    private static List<String> dates() {
+        List<String> dates = new ArrayList<>();
+        for (String year : YEARS) {
+            for (int month = 0; month <= 13; month++) {
+                for (int day = 0; day <= 32; day++) {
+                    dates.add(String.format("%02d.%02d.%s", day, month, year));
+                }
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * Строки с временем, включая несуществующие часы и минуты
+     */
+    private static List<String> times() {
+        List<String> times = new ArrayList<>();
+        for (int hour = 0; hour <= 25; hour++) {
+            for (int minute : new int[]{0, 1, 15, 30, 59, 60, 99}) {
+                times.add(String.format("%02d:%02d", hour, minute));
+            }
+        }
+        return times;
+    }
+
+    private static <T> void assertSameResult(String text, Function<String, T> actual, Function<String, T> expected) {
+        T expectedValue;
+        try {
+            expectedValue = expected.apply(text);
+        } catch (DateTimeParseException ex) {
+            SwimmingPoolManagementException thrown = assertThrows(SwimmingPoolManagementException.class,
+                    () -> actual.apply(text), text);
+            assertEquals(ErrorCode.BAD_REQUEST, thrown.getErrorCode(), text);
+            return;
+        }
+        assertEquals(expectedValue, actual.apply(text), text);
+    }
+
+}